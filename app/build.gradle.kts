@@ -35,10 +35,13 @@ android {
 }
 
 dependencies {
+    implementation(project(":core"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    implementation(libs.recyclerview)
+    implementation(libs.lifecycle.livedata)
     implementation(libs.firebase.database)
     implementation(libs.firebase.auth)
     implementation(libs.credentials)
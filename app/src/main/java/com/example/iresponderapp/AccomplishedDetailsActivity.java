@@ -12,11 +12,8 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
+import com.example.iresponderapp.core.Incident;
 import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 import com.squareup.picasso.Picasso;
 
 public class AccomplishedDetailsActivity extends AppCompatActivity {
@@ -62,9 +59,8 @@ public class AccomplishedDetailsActivity extends AppCompatActivity {
         incidentKey = getIntent().getStringExtra("INCIDENT_KEY");
 
         if (incidentKey != null) {
-            incidentRef = FirebaseDatabase.getInstance().getReference("IresponderApp")
-                    .child("Incidents_")
-                    .child(incidentKey);
+            // Rows paged in from the archive carry their shard (see IncidentArchiver)
+            incidentRef = IresponderRepository.incident(incidentKey, getIntent().getStringExtra("ARCHIVE_SHARD"));
             loadIncidentDetails();
         } else {
             Toast.makeText(this, "Error: Incident key not found.", Toast.LENGTH_LONG).show();
@@ -73,75 +69,62 @@ public class AccomplishedDetailsActivity extends AppCompatActivity {
     }
 
     private void loadIncidentDetails() {
-        incidentRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-
-                    String code = getIntent().getStringExtra("INCIDENT_CODE");
-                    String status = snapshot.child("Status").getValue(String.class);
-                    String type = snapshot.child("incidentType").getValue(String.class);
-                    String reporter = snapshot.child("reporterName").getValue(String.class);
-                    String date = snapshot.child("date").getValue(String.class);
-                    String time = snapshot.child("Time").getValue(String.class);
-                    String address = snapshot.child("address").getValue(String.class);
-                    String latitude = snapshot.child("latitude").getValue(String.class);
-                    String longitude = snapshot.child("longitude").getValue(String.class);
-                    String info = snapshot.child("additionalInfo").getValue(String.class);
-                    String imageUrl = snapshot.child("imageURL").getValue(String.class);
-
-                    // History Data
-                    String assignedName = snapshot.child("AssignedResponderName").getValue(String.class);
-
-                    // --- Populate Views ---
-                    detail_incidentCode.setText("Incident #" + code);
-                    detail_status.setText("Status: " + status);
-                    detail_incidentType.setText("Type: " + type);
-                    detail_reporterName.setText("Reported by: " + reporter);
-                    detail_dateTime.setText("Date/Time: " + date + ", " + time);
-                    detail_additionalInfo.setText("Additional Info: " + info);
-
-                    detail_address_full.setText("Address: " + address);
-                    detail_coordinate_display.setText(latitude + ", " + longitude);
-                    detail_location_context.setText("Camarines Norte, Philippines");
-
-                    // Populate History Field
-                    if (status.equalsIgnoreCase("Rejected")) {
-                        detail_assignment_info.setText("Reason: Incident was deemed unsuitable for dispatch.");
-                    } else if (assignedName != null && !assignedName.isEmpty()) {
-                        detail_assignment_info.setText("Assigned Responder: " + assignedName);
-                    } else {
-                        detail_assignment_info.setText("Status: " + status + " (No responder assigned)");
-                    }
-
-                    if (imageUrl != null && !imageUrl.isEmpty()) {
-                        Picasso.get().load(imageUrl).into(detail_incidentImage);
-                    } else {
-                        detail_incidentImage.setImageResource(R.drawable.placeholder_image);
-                    }
-
-                    // Set Map Click Listener (Read-only functionality)
-                    mapClickableArea.setOnClickListener(v -> {
-                        double decimalLat = convertDMSToDecimal(latitude);
-                        double decimalLon = convertDMSToDecimal(longitude);
-                        if (decimalLat != 0.0 && decimalLon != 0.0) {
-                            openMap(decimalLat, decimalLon);
-                        } else {
-                            Toast.makeText(AccomplishedDetailsActivity.this, "Location coordinates invalid.", Toast.LENGTH_SHORT).show();
-                        }
-                    });
-
-
-                } else {
-                    Toast.makeText(AccomplishedDetailsActivity.this, "Incident data not found.", Toast.LENGTH_SHORT).show();
-                    finish();
-                }
+        // Shows IncidentCache's copy at once, then the live record
+        IresponderRepository.incidentRecord(incidentRef).observe(this, incident -> {
+            if (incident == null) {
+                Toast.makeText(this, "Incident data not found.", Toast.LENGTH_SHORT).show();
+                finish();
+                return;
             }
+            showIncident(incident);
+        });
+    }
+
+    private void showIncident(Incident incident) {
+        String code = getIntent().getStringExtra("INCIDENT_CODE");
+        String status = incident.status;
+        String latitude = incident.latitude;
+        String longitude = incident.longitude;
+        String imageUrl = incident.imageURL;
+
+        // History Data
+        String assignedName = incident.assignedResponderName;
+
+        // --- Populate Views ---
+        detail_incidentCode.setText("Incident #" + code);
+        detail_status.setText("Status: " + status);
+        detail_incidentType.setText("Type: " + incident.incidentType);
+        detail_reporterName.setText("Reported by: " + incident.reporterName);
+        detail_dateTime.setText("Date/Time: " + incident.date + ", " + incident.time);
+        detail_additionalInfo.setText("Additional Info: " + incident.additionalInfo);
+
+        detail_address_full.setText("Address: " + incident.address);
+        detail_coordinate_display.setText(latitude + ", " + longitude);
+        detail_location_context.setText("Camarines Norte, Philippines");
+
+        // Populate History Field
+        if ("Rejected".equalsIgnoreCase(status)) {
+            detail_assignment_info.setText("Reason: Incident was deemed unsuitable for dispatch.");
+        } else if (assignedName != null && !assignedName.isEmpty()) {
+            detail_assignment_info.setText("Assigned Responder: " + assignedName);
+        } else {
+            detail_assignment_info.setText("Status: " + status + " (No responder assigned)");
+        }
+
+        if (imageUrl != null && !imageUrl.isEmpty()) {
+            Picasso.get().load(imageUrl).into(detail_incidentImage);
+        } else {
+            detail_incidentImage.setImageResource(R.drawable.placeholder_image);
+        }
 
-            @Override
-            public void onCancelled(DatabaseError error) {
-                Log.e(TAG, "Database Error: " + error.getMessage());
-                Toast.makeText(AccomplishedDetailsActivity.this, "Failed to load details: " + error.getMessage(), Toast.LENGTH_LONG).show();
+        // Set Map Click Listener (Read-only functionality)
+        mapClickableArea.setOnClickListener(v -> {
+            double decimalLat = convertDMSToDecimal(latitude);
+            double decimalLon = convertDMSToDecimal(longitude);
+            if (decimalLat != 0.0 && decimalLon != 0.0) {
+                openMap(decimalLat, decimalLon);
+            } else {
+                Toast.makeText(AccomplishedDetailsActivity.this, "Location coordinates invalid.", Toast.LENGTH_SHORT).show();
             }
         });
     }
@@ -9,22 +9,38 @@ import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 import android.widget.Button;
 
-import com.google.firebase.database.DataSnapshot;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.StatusFilter;
+import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 public class AccomplishedFragment extends Fragment {
 
     private static final String TAG = "AccomplishedFragment";
-    private LinearLayout incidentListContainer;
-    private DatabaseReference incidentRef;
+    private RecyclerView accomplishedList;
+    private CardListAdapter<Incident> adapter;
+    private final List<Incident> loadedIncidents = new ArrayList<>();
+    // Incident key -> archive shard, for rows paged in from IncidentsArchive
+    private final Map<String, String> archiveShards = new HashMap<>();
+    private IncidentStatusPager pager;
+    // Bumped per load, so a profile read for a superseded filter is ignored
+    private int loadGeneration = 0;
+    private final Executor decodeLane = AppExecutors.serial();
 
     private TextView filterApproved;
     private TextView filterDeclined;
@@ -43,12 +59,11 @@ public class AccomplishedFragment extends Fragment {
         // Assuming fragment_accomplished.xml has been updated with filterApproved/filterDeclined IDs
         View view = inflater.inflate(R.layout.fragment_accomplished, container, false);
 
-        incidentListContainer = view.findViewById(R.id.accomplishedListContainer);
+        accomplishedList = view.findViewById(R.id.accomplishedList);
         filterApproved = view.findViewById(R.id.filterApproved);
         filterDeclined = view.findViewById(R.id.filterDeclined);
 
-        incidentRef = FirebaseDatabase.getInstance().getReference("IresponderApp").child("Incidents_");
-
+        setupList();
         setupFilters();
         loadAccomplishedIncidents();
 
@@ -72,6 +87,24 @@ public class AccomplishedFragment extends Fragment {
         updateFilterUI();
     }
 
+    private void setupList() {
+        adapter = new CardListAdapter<>(R.layout.incident_card_accomplished, this::bindCard);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        accomplishedList.setLayoutManager(layoutManager);
+        accomplishedList.setAdapter(adapter);
+
+        // Fetch the next page when the user scrolls near the end of the list
+        accomplishedList.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= adapter.getItemCount() - 5) {
+                    loadNextPage();
+                }
+            }
+        });
+    }
+
     private void updateFilterUI() {
         // NOTE: Define R.color.white, R.color.black, R.color.red, R.color.green in your colors.xml
 
@@ -106,90 +139,116 @@ public class AccomplishedFragment extends Fragment {
     }
 
 
-    private void loadAccomplishedIncidents() {
-        incidentRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-
-                if (getContext() == null) return;
-                incidentListContainer.removeAllViews();
-                LayoutInflater inflater = LayoutInflater.from(getContext());
-
-                for (DataSnapshot data : snapshot.getChildren()) {
-                    String status = data.child("Status").getValue(String.class);
+    // Each filter maps to one or more exact "Status" values served by the Status index
+    private IncidentStatusPager pagerForFilter(String filter, @Nullable String municipality) {
+        return new IncidentStatusPager(municipality, StatusFilter.valueOf(filter).statuses().toArray(new String[0]));
+    }
 
-                    if (status == null) continue;
+    private void loadAccomplishedIncidents() {
+        // Switching tabs starts a fresh, bounded first page for the selected filter
+        if (pager != null) pager.reset();
+        pager = null;
+        loadedIncidents.clear();
+        archiveShards.clear();
+        adapter.submitList(new ArrayList<>(loadedIncidents));
+
+        // Pages are scoped to the receiver's municipality; provincial supervisors see all
+        final int load = ++loadGeneration;
+        final String filter = currentFilterStatus;
+        String uid = FirebaseAuth.getInstance().getCurrentUser() != null
+                ? FirebaseAuth.getInstance().getCurrentUser().getUid() : null;
+        if (uid == null) {
+            startPager(filter, null);
+            return;
+        }
+        ProfileStore.getReceiverScope(uid, municipality -> {
+            if (getContext() == null || load != loadGeneration) return;
+            startPager(filter, municipality);
+        });
+    }
 
-                    // --- FILTERING LOGIC: LOCAL FILTER BY STATUS ---
-                    boolean matchesFilter = false;
-                    String statusUpper = status.toUpperCase();
+    private void startPager(String filter, @Nullable String municipality) {
+        pager = pagerForFilter(filter, municipality);
+        loadNextPage();
+    }
 
-                    // 1. Check if the status is a finalized one
-                    boolean isFinalized = !statusUpper.equals("PENDING");
+    private void loadNextPage() {
+        if (pager == null || pager.isLoading() || !pager.hasMore()) return;
 
-                    // 2. Filter based on the selected UI tab
-                    if (currentFilterStatus.equals("ALL")) {
-                        matchesFilter = isFinalized;
-                    } else if (currentFilterStatus.equals("ASSIGNED")) {
-                        // Check for assigned status
-                        matchesFilter = statusUpper.equals("ASSIGNED");
-                    } else if (currentFilterStatus.equals("REJECTED")) {
-                        // Check for rejected or declined status
-                        matchesFilter = statusUpper.equals("REJECTED") || statusUpper.equals("DECLINED");
+        final IncidentStatusPager requestPager = pager;
+        requestPager.loadNextPage(new IncidentStatusPager.PageCallback() {
+            @Override
+            public void onPage(List<IncidentStatusPager.Row> page, boolean hasMore) {
+
+                if (getContext() == null || requestPager != pager) return;
+
+                // Decode on the background lane (in page order), append on the main thread
+                decodeLane.execute(() -> {
+                    List<Incident> decoded = new ArrayList<>(page.size());
+                    Map<String, String> shards = new HashMap<>();
+                    for (IncidentStatusPager.Row row : page) {
+                        Incident incident = IncidentSnapshots.fromSnapshot(row.snapshot);
+                        if (incident.status == null) continue;
+                        decoded.add(incident);
+                        if (row.archiveShard != null) shards.put(incident.key, row.archiveShard);
                     }
 
-                    if (matchesFilter) {
-
-                        final String incidentKey = data.getKey();
-                        String incidentCode = incidentKey;
-                        String type = data.child("incidentType").getValue(String.class);
-                        String date = data.child("date").getValue(String.class);
-                        String location = data.child("address").getValue(String.class);
-
-                        // Inflate the NEW, dedicated incident card layout
-                        View card = inflater.inflate(R.layout.incident_card_accomplished, incidentListContainer, false);
-
-                        // Populate card views
-                        ((TextView) card.findViewById(R.id.incidentCode)).setText("#IR-" + incidentCode);
-                        ((TextView) card.findViewById(R.id.incidentType)).setText(type);
-                        ((TextView) card.findViewById(R.id.incidentDate)).setText(date);
-                        ((TextView) card.findViewById(R.id.incidentLocation)).setText(location);
-
-                        // Set the status text where the priority used to be
-                        TextView statusTv = card.findViewById(R.id.incidentPriority);
-                        statusTv.setText(statusUpper);
-
-                        // Adjust color based on final status
-                        if (statusUpper.equals("REJECTED") || statusUpper.equals("DECLINED")) {
-                            statusTv.setTextColor(getResources().getColor(R.color.red));
-                        } else {
-                            statusTv.setTextColor(getResources().getColor(R.color.green));
-                        }
-
-                        // === BUTTONS ADJUSTMENT ===
-                        // ONLY reference the button that exists in incident_card_accomplished.xml
-                        Button btnView = card.findViewById(R.id.btnViewDetails);
-
-                        btnView.setText("SEE MORE DETAILS");
-
-                        // Handle click to view full history/details (AccomplishedDetailsActivity)
-                        btnView.setOnClickListener(v -> {
-                            Intent intent = new Intent(getContext(), AccomplishedDetailsActivity.class);
-                            intent.putExtra("INCIDENT_KEY", incidentKey);
-                            intent.putExtra("INCIDENT_CODE", incidentCode);
-                            startActivity(intent);
-                        });
-
-                        incidentListContainer.addView(card);
-                    }
-                }
+                    AppExecutors.main(() -> {
+                        // A filter switch while decoding makes this page stale
+                        if (getContext() == null || requestPager != pager) return;
+                        loadedIncidents.addAll(decoded);
+                        archiveShards.putAll(shards);
+
+                        // The adapter diffs in the background and only binds the appended rows
+                        adapter.submitList(new ArrayList<>(loadedIncidents));
+                    });
+                });
             }
 
             @Override
-            public void onCancelled(DatabaseError error) {
+            public void onError(DatabaseError error) {
                 Log.e(TAG, "Database Error: " + error.getMessage());
                 Toast.makeText(getContext(), "Failed to load accomplished incidents.", Toast.LENGTH_LONG).show();
             }
         });
     }
+
+    private void bindCard(CardListAdapter.CardHolder card, Incident incident) {
+        final String incidentKey = incident.key;
+        String incidentCode = incidentKey;
+        String statusUpper = incident.status.toUpperCase();
+
+        // Populate card views
+        card.<TextView>view(R.id.incidentCode).setText("#IR-" + incidentCode);
+        card.<TextView>view(R.id.incidentType).setText(incident.incidentType);
+        card.<TextView>view(R.id.incidentDate).setText(incident.date);
+        card.<TextView>view(R.id.incidentLocation).setText(incident.address);
+
+        // Set the status text where the priority used to be
+        TextView statusTv = card.view(R.id.incidentPriority);
+        statusTv.setText(statusUpper);
+
+        // Adjust color based on final status
+        if (statusUpper.equals("REJECTED") || statusUpper.equals("DECLINED")) {
+            statusTv.setTextColor(getResources().getColor(R.color.red));
+        } else {
+            statusTv.setTextColor(getResources().getColor(R.color.green));
+        }
+
+        // === BUTTONS ADJUSTMENT ===
+        // ONLY reference the button that exists in incident_card_accomplished.xml
+        Button btnView = card.view(R.id.btnViewDetails);
+
+        btnView.setText("SEE MORE DETAILS");
+
+        // Handle click to view full history/details (AccomplishedDetailsActivity)
+        btnView.setOnClickListener(v -> {
+            Intent intent = new Intent(getContext(), AccomplishedDetailsActivity.class);
+            intent.putExtra("INCIDENT_KEY", incidentKey);
+            intent.putExtra("INCIDENT_CODE", incidentCode);
+            String shard = archiveShards.get(incidentKey);
+            if (shard != null) intent.putExtra("ARCHIVE_SHARD", shard);
+            startActivity(intent);
+        });
+    }
 }
\ No newline at end of file
@@ -3,28 +3,31 @@ package com.example.iresponderapp;
 import android.content.Intent;
 import android.os.Bundle;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.LifecycleOwner;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.IncidentRules;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 public class AlertFragment extends Fragment {
 
     private static final String TAG = "AlertFragment";
-    private LinearLayout incidentListContainer;
-    private DatabaseReference incidentRef;
+    private RecyclerView incidentList;
+    private CardListAdapter<Incident> adapter;
+    private LifecycleOwner visibleOwner;
     private String currentResponderUid;
 
     public AlertFragment() {
@@ -36,8 +39,11 @@ public class AlertFragment extends Fragment {
 
         View view = inflater.inflate(R.layout.fragment_alert, container, false);
 
-        // Link to the container in fragment_alert.xml
-        incidentListContainer = view.findViewById(R.id.responderIncidentListContainer);
+        // Link to the list in fragment_alert.xml
+        incidentList = view.findViewById(R.id.responderIncidentList);
+        adapter = new CardListAdapter<>(R.layout.incident_card_responder, this::bindCard);
+        incidentList.setLayoutManager(new LinearLayoutManager(getContext()));
+        incidentList.setAdapter(adapter);
 
         // --- 1. Get Current User UID ---
         FirebaseAuth mAuth = FirebaseAuth.getInstance();
@@ -51,88 +57,69 @@ public class AlertFragment extends Fragment {
             return view;
         }
 
-        incidentRef = FirebaseDatabase.getInstance().getReference("IresponderApp").child("Incidents_");
-        loadAssignedIncidents();
-
         return view;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        // Observers pause while this tab is hidden (see DashboardTabs)
+        visibleOwner = ResumedLifecycleOwner.of(getViewLifecycleOwner());
+        loadAssignedIncidents();
+    }
+
     private void loadAssignedIncidents() {
         if (currentResponderUid == null) return;
 
-        // --- 2. Query Database: Find incidents assigned to this user ---
-        incidentRef.orderByChild("AssignedResponderUID").equalTo(currentResponderUid)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot snapshot) {
-
-                        if (getContext() == null) return;
-                        incidentListContainer.removeAllViews();
-                        LayoutInflater inflater = LayoutInflater.from(getContext());
-
-                        if (snapshot.getChildrenCount() == 0) {
-                            Log.d(TAG, "No incidents currently assigned to this responder.");
-                        }
-
-                        for (DataSnapshot data : snapshot.getChildren()) {
-                            try {
-                                String status = data.child("Status").getValue(String.class);
-
-                                // Only show incidents that are actively assigned
-                                if (status == null || !status.equalsIgnoreCase("Assigned")) {
-                                    continue;
-                                }
-
-                                // --- 3. Retrieve Data ---
-                                final String incidentKey = data.getKey();
-                                String incidentCode = incidentKey;
-                                String type = data.child("incidentType").getValue(String.class);
-                                String date = data.child("date").getValue(String.class);
-                                String location = data.child("address").getValue(String.class);
-                                String agency = data.child("agency").getValue(String.class);
-
-                                // --- 4. Inflate the NEW Responder Card ---
-                                // Make sure you are inflating 'incident_card_responder'
-                                View card = inflater.inflate(R.layout.incident_card_responder, incidentListContainer, false);
-
-                                // --- 5. Populate Views ---
-                                ((TextView) card.findViewById(R.id.incidentCode)).setText("#IR-" + incidentCode);
-                                ((TextView) card.findViewById(R.id.incidentType)).setText(type);
-                                ((TextView) card.findViewById(R.id.incidentDate)).setText(date);
-                                ((TextView) card.findViewById(R.id.incidentLocation)).setText(location);
-
-                                // Status/Priority Display
-                                TextView priorityTv = card.findViewById(R.id.incidentPriority);
-                                priorityTv.setText("ACTIVE");
-                                // Ensure R.color.blue is defined in colors.xml, otherwise change to Color.BLUE
-                                priorityTv.setTextColor(getResources().getColor(R.color.blue));
-
-                                // Action button setup (The only button on this card)
-                                Button btnView = card.findViewById(R.id.btnViewDetails);
-                                btnView.setText("TAKE ACTION");
-
-                                // Handle click to open ResponderDetailActivity
-                                btnView.setOnClickListener(v -> {
-                                    Intent intent = new Intent(getContext(), ResponderDetailActivity.class);
-                                    intent.putExtra("INCIDENT_KEY", incidentKey);
-                                    intent.putExtra("INCIDENT_CODE", incidentCode);
-                                    intent.putExtra("AGENCY", agency);
-                                    startActivity(intent);
-                                });
-
-                                incidentListContainer.addView(card);
-
-                            } catch (Exception e) {
-                                Log.e(TAG, "Error displaying card: " + e.getMessage());
-                            }
-                        }
-                    }
+        // --- 2. Observe the shared feed of incidents assigned to this user ---
+        // Only show incidents that are actively assigned
+        IncidentListLiveData assigned = IresponderRepository.assignedIncidents(currentResponderUid);
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        Log.e(TAG, "Database Error: " + error.getMessage());
-                        Toast.makeText(getContext(), "Failed to load assigned incidents.", Toast.LENGTH_LONG).show();
+        IresponderRepository.filter(assigned, IncidentRules.ASSIGNED)
+                .observe(visibleOwner, incidents -> {
+                    if (incidents.isEmpty()) {
+                        Log.d(TAG, "No incidents currently assigned to this responder.");
                     }
+
+                    // Only cards whose incident actually changed get rebound
+                    adapter.submitList(incidents);
                 });
+
+        assigned.errors().observe(visibleOwner, error -> {
+            Log.e(TAG, "Database Error: " + error.getMessage());
+            Toast.makeText(getContext(), "Failed to load assigned incidents.", Toast.LENGTH_LONG).show();
+        });
+    }
+
+    private void bindCard(CardListAdapter.CardHolder card, Incident incident) {
+        // --- 3. Retrieve Data ---
+        final String incidentKey = incident.key;
+        String incidentCode = incidentKey;
+        String agency = incident.agency;
+
+        // --- 4. Populate Views (incident_card_responder) ---
+        card.<TextView>view(R.id.incidentCode).setText("#IR-" + incidentCode);
+        card.<TextView>view(R.id.incidentType).setText(incident.incidentType);
+        card.<TextView>view(R.id.incidentDate).setText(incident.date);
+        card.<TextView>view(R.id.incidentLocation).setText(incident.address);
+
+        // Status/Priority Display
+        TextView priorityTv = card.view(R.id.incidentPriority);
+        priorityTv.setText("ACTIVE");
+        // Ensure R.color.blue is defined in colors.xml, otherwise change to Color.BLUE
+        priorityTv.setTextColor(getResources().getColor(R.color.blue));
+
+        // Action button setup (The only button on this card)
+        Button btnView = card.view(R.id.btnViewDetails);
+        btnView.setText("TAKE ACTION");
+
+        // Handle click to open ResponderDetailActivity
+        btnView.setOnClickListener(v -> {
+            Intent intent = new Intent(getContext(), ResponderDetailActivity.class);
+            intent.putExtra("INCIDENT_KEY", incidentKey);
+            intent.putExtra("INCIDENT_CODE", incidentCode);
+            intent.putExtra("AGENCY", agency);
+            startActivity(intent);
+        });
     }
 }
\ No newline at end of file
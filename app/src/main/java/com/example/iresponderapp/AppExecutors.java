@@ -0,0 +1,81 @@
+package com.example.iresponderapp;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Shared executors for decoding, filtering and sorting snapshots off the main thread.
+// The worker pool is bounded (at most 4 threads, background priority) so low-end devices keep
+// cores free for rendering; serial() gives a caller an ordered lane on top of that same pool.
+public final class AppExecutors {
+
+    private static final int WORKERS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static final ThreadPoolExecutor WORKER_POOL = new ThreadPoolExecutor(
+            WORKERS, WORKERS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new WorkerThreadFactory());
+
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+    static {
+        WORKER_POOL.allowCoreThreadTimeOut(true);
+    }
+
+    private AppExecutors() {}
+
+    public static Executor worker() {
+        return WORKER_POOL;
+    }
+
+    public static void main(Runnable task) {
+        MAIN.post(task);
+    }
+
+    // Runs tasks one at a time, in submission order, on the worker pool
+    public static Executor serial() {
+        return new SerialExecutor();
+    }
+
+    private static final class SerialExecutor implements Executor {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private Runnable active;
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            tasks.add(() -> {
+                try {
+                    task.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+            if (active == null) scheduleNext();
+        }
+
+        private synchronized void scheduleNext() {
+            active = tasks.poll();
+            if (active != null) WORKER_POOL.execute(active);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "iresponder-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.iresponderapp;
+
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.IdRes;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.iresponderapp.core.Keyed;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+// Shared card list used by the incident and report screens.
+// submitList() diffs the new list against the old one on a background thread, so a live
+// update to one incident only rebinds that one row instead of re-inflating every card.
+// Rows are matched by Keyed.getKey(); equals() decides whether the contents changed.
+public class CardListAdapter<T extends Keyed> extends ListAdapter<T, CardListAdapter.CardHolder> {
+
+    public interface CardBinder<T> {
+        void bind(CardHolder holder, T item);
+    }
+
+    private static final Executor DIFF_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    private final int layoutRes;
+    private final CardBinder<T> binder;
+
+    // Stable ids keyed on the item key, so RecyclerView can keep a row's holder across updates
+    private final Map<String, Long> stableIds = new HashMap<>();
+    private long nextStableId = 0;
+
+    public CardListAdapter(@LayoutRes int layoutRes, CardBinder<T> binder) {
+        super(new AsyncDifferConfig.Builder<T>(new KeyDiff<T>())
+                .setBackgroundThreadExecutor(DIFF_EXECUTOR)
+                .build());
+        this.layoutRes = layoutRes;
+        this.binder = binder;
+        setHasStableIds(true);
+    }
+
+    @NonNull
+    @Override
+    public CardHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View v = LayoutInflater.from(parent.getContext()).inflate(layoutRes, parent, false);
+        return new CardHolder(v);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CardHolder holder, int position) {
+        binder.bind(holder, getItem(position));
+    }
+
+    @Override
+    public long getItemId(int position) {
+        String key = getItem(position).getKey();
+        Long id = stableIds.get(key);
+        if (id == null) {
+            id = nextStableId++;
+            stableIds.put(key, id);
+        }
+        return id;
+    }
+
+    private static class KeyDiff<T extends Keyed> extends DiffUtil.ItemCallback<T> {
+        @Override
+        public boolean areItemsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+            return oldItem.getKey().equals(newItem.getKey());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+            return oldItem.equals(newItem);
+        }
+    }
+
+    // Caches findViewById lookups so a recycled card is only searched once
+    public static class CardHolder extends RecyclerView.ViewHolder {
+        private final SparseArray<View> views = new SparseArray<>();
+
+        CardHolder(@NonNull View itemView) {
+            super(itemView);
+        }
+
+        @SuppressWarnings("unchecked")
+        public <V extends View> V view(@IdRes int id) {
+            View v = views.get(id);
+            if (v == null) {
+                v = itemView.findViewById(id);
+                views.put(id, v);
+            }
+            return (V) v;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.iresponderapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.iresponderapp.core.DashboardCounter;
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.StoreQueries;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+// Per-responder, per-day dashboard counters kept at ResponderStats/{uid}/{yyyy-MM-dd}.
+// Counters are bumped with transactions when an incident's status changes, so the home screen
+// reads two integers instead of recounting the responder's whole assignment history.
+// They are best-effort: a bump is its own transaction after the status write is acknowledged,
+// not part of that write, so a process killed in between loses it. reconcile() repairs a day
+// from the responder's assignment records each time the home screen opens.
+public final class DashboardStats {
+
+    private static final String TAG = "DashboardStats";
+
+    private DashboardStats() {}
+
+    public static String todayKey() {
+        return DashboardCounter.dayKey(System.currentTimeMillis(), TimeZone.getDefault());
+    }
+
+    public static DatabaseReference dayRef(String uid, String day) {
+        return root().child("ResponderStats").child(uid).child(day);
+    }
+
+    // --- Status -> Assigned ---
+    public static void recordAssignment(String uid, String day, @Nullable Incident previous) {
+        // Re-assigning an open incident moves it off the previous responder's count
+        if (previous != null && previous.assignedResponderUid != null
+                && "Assigned".equalsIgnoreCase(previous.status) && previous.assignedDay != null) {
+            add(dayRef(previous.assignedResponderUid, previous.assignedDay).child("active"), -1);
+        }
+        add(dayRef(uid, day).child("active"), 1);
+    }
+
+    // --- Status -> Completed ---
+    // Guarded by a statsCompleted flag on the incident, so an outbox resend never counts twice
+    public static void recordCompletion(String incidentKey) {
+        DatabaseReference incidentRef = root().child("Incidents_").child(incidentKey);
+
+        incidentRef.child("statsCompleted").runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                Boolean counted = currentData.getValue(Boolean.class);
+                if (counted != null && counted) return Transaction.abort();
+                currentData.setValue(true);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(@Nullable DatabaseError error, boolean committed, @Nullable DataSnapshot currentData) {
+                if (error != null || !committed) return;
+
+                incidentRef.addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        String uid = snapshot.child("AssignedResponderUID").getValue(String.class);
+                        String assignedDay = snapshot.child("assignedDay").getValue(String.class);
+                        if (uid == null) return;
+
+                        String day = assignedDay != null ? assignedDay : todayKey();
+                        if (assignedDay != null) add(dayRef(uid, day).child("active"), -1);
+                        add(dayRef(uid, day).child("completed"), 1);
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {}
+                });
+            }
+        });
+    }
+
+    // --- Recount a day from the responder's assignments; rewrite the counters if they disagree ---
+    // Reads the full Incidents_ records (summaries have no assignedDay). Counted completions are
+    // flagged statsCompleted in the same update, so a recordCompletion() still pending for one of
+    // them does not count it again.
+    public static void reconcile(String uid, String day) {
+        FirebaseRealtimeStore.unwrap(StoreQueries.assignedIncidentRecords(IresponderRepository.store(), uid))
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        AppExecutors.worker().execute(() -> {
+                            List<Incident> assigned = new ArrayList<>();
+                            for (DataSnapshot data : snapshot.getChildren()) assigned.add(IncidentSnapshots.fromSnapshot(data));
+                            DashboardCounter.Counts counts = DashboardCounter.count(assigned, day, TimeZone.getDefault());
+                            AppExecutors.main(() -> repair(uid, day, counts));
+                        });
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        Log.w(TAG, "Assignments of " + uid + " not read, counters not reconciled: " + error.getMessage());
+                    }
+                });
+    }
+
+    private static void repair(String uid, String day, DashboardCounter.Counts counts) {
+        dayRef(uid, day).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Long active = snapshot.child("active").getValue(Long.class);
+                Long completed = snapshot.child("completed").getValue(Long.class);
+                if ((active != null ? active : 0) == counts.active
+                        && (completed != null ? completed : 0) == counts.completed) return;
+
+                Log.d(TAG, "Repairing " + uid + "/" + day + ": " + active + "/" + completed
+                        + " -> " + counts.active + "/" + counts.completed);
+                Map<String, Object> update = new HashMap<>();
+                String base = "ResponderStats/" + uid + "/" + day + "/";
+                update.put(base + "active", counts.active);
+                update.put(base + "completed", counts.completed);
+                for (String key : counts.completedKeys) update.put("Incidents_/" + key + "/statsCompleted", true);
+                root().updateChildren(update);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.w(TAG, "Counters for " + day + " not reconciled: " + error.getMessage());
+            }
+        });
+    }
+
+    private static void add(DatabaseReference counter, long delta) {
+        counter.runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                Long value = currentData.getValue(Long.class);
+                long next = (value != null ? value : 0) + delta;
+                currentData.setValue(Math.max(0, next));
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(@Nullable DatabaseError error, boolean committed, @Nullable DataSnapshot currentData) {}
+        });
+    }
+
+    private static DatabaseReference root() {
+        return IresponderRepository.root();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.iresponderapp;
+
+import androidx.annotation.IdRes;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+import androidx.fragment.app.FragmentTransaction;
+import androidx.lifecycle.Lifecycle;
+
+// Bottom-navigation tab host that keeps ONE fragment instance per tab.
+// Switching tabs hides the current fragment (capped at STARTED, so it gets onPause) and shows
+// the selected one (RESUMED) instead of replace()-ing it with a new instance, so each tab keeps
+// its views, scroll position and loaded data, and re-selecting a tab costs no queries.
+public class DashboardTabs {
+
+    public interface TabFactory {
+        @Nullable
+        Fragment create(@IdRes int itemId);
+    }
+
+    private final FragmentManager fragmentManager;
+    private final int containerId;
+    private final TabFactory factory;
+
+    public DashboardTabs(FragmentManager fragmentManager, @IdRes int containerId, TabFactory factory) {
+        this.fragmentManager = fragmentManager;
+        this.containerId = containerId;
+        this.factory = factory;
+    }
+
+    public boolean select(@IdRes int itemId) {
+        String tag = "tab_" + itemId;
+        Fragment target = fragmentManager.findFragmentByTag(tag);
+        FragmentTransaction transaction = fragmentManager.beginTransaction().setReorderingAllowed(true);
+
+        if (target == null) {
+            target = factory.create(itemId);
+            if (target == null) return false;
+            transaction.add(containerId, target, tag);
+        }
+
+        for (Fragment fragment : fragmentManager.getFragments()) {
+            if (fragment != target && fragment.getId() == containerId && !fragment.isHidden()) {
+                transaction.hide(fragment);
+                transaction.setMaxLifecycle(fragment, Lifecycle.State.STARTED);
+            }
+        }
+
+        transaction.show(target);
+        transaction.setMaxLifecycle(target, Lifecycle.State.RESUMED);
+        transaction.commit();
+        return true;
+    }
+}
@@ -6,11 +6,8 @@ import android.widget.Button;
 import android.widget.EditText;
 import android.widget.Toast;
 
-import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,24 +17,20 @@ public class EditProfileActivity extends AppCompatActivity {
     private EditText editFullName, editContactNumber, editAgency, editLocation;
     private Button btnSaveProfile;
 
-    private DatabaseReference responderRef;
-    private String dbKey;
+    private String currentUid;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_edit_profile);
 
-        // Get key passed from Fragment
-        dbKey = getIntent().getStringExtra("DB_KEY");
-        if (dbKey == null) {
-            Toast.makeText(this, "Error: Profile Key Missing", Toast.LENGTH_SHORT).show();
+        // Profiles are keyed by the Auth UID (Responders/{uid})
+        if (FirebaseAuth.getInstance().getCurrentUser() == null) {
+            Toast.makeText(this, "Error: Not signed in", Toast.LENGTH_SHORT).show();
             finish();
             return;
         }
-
-        // Point directly to the specific responder node (e.g., .../Responders/-Oew...)
-        responderRef = FirebaseDatabase.getInstance().getReference("IresponderApp").child("Responders").child(dbKey);
+        currentUid = FirebaseAuth.getInstance().getCurrentUser().getUid();
 
         editFullName = findViewById(R.id.editFullName);
         editContactNumber = findViewById(R.id.editContactNumber);
@@ -51,18 +44,19 @@ public class EditProfileActivity extends AppCompatActivity {
     }
 
     private void loadCurrentData() {
-        responderRef.addListenerForSingleValueEvent(new ValueEventListener() {
+        ProfileStore.getResponder(currentUid, new ProfileStore.Callback<ResponderModel>() {
             @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    editFullName.setText(snapshot.child("fullName").getValue(String.class));
-                    editContactNumber.setText(snapshot.child("contactNumber").getValue(String.class));
-                    editAgency.setText(snapshot.child("agency").getValue(String.class));
-                    editLocation.setText(snapshot.child("location").getValue(String.class));
+            public void onProfile(ResponderModel responder) {
+                if (responder != null) {
+                    editFullName.setText(responder.fullName);
+                    editContactNumber.setText(responder.contactNumber);
+                    editAgency.setText(responder.agency);
+                    editLocation.setText(responder.location);
                 }
             }
+
             @Override
-            public void onCancelled(DatabaseError error) {}
+            public void onError(DatabaseError error) {}
         });
     }
 
@@ -72,8 +66,10 @@ public class EditProfileActivity extends AppCompatActivity {
         updates.put("contactNumber", editContactNumber.getText().toString().trim());
         updates.put("agency", editAgency.getText().toString().trim());
         updates.put("location", editLocation.getText().toString().trim());
+        updates.put("agencyLocation", ResponderModel.agencyLocationKey(
+                editAgency.getText().toString(), editLocation.getText().toString()));
 
-        responderRef.updateChildren(updates).addOnSuccessListener(aVoid -> {
+        ProfileStore.updateResponder(currentUid, updates).addOnSuccessListener(aVoid -> {
             Toast.makeText(this, "Profile Updated", Toast.LENGTH_SHORT).show();
             finish();
         }).addOnFailureListener(e -> {
@@ -10,11 +10,7 @@ import android.widget.Toast;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -27,7 +23,6 @@ public class EditReceiverProfileActivity extends AppCompatActivity {
     private Button btnSaveProfile;
 
     private FirebaseAuth mAuth;
-    private DatabaseReference receiverRef;
     private String currentReceiverId;
 
     @Override
@@ -53,11 +48,6 @@ public class EditReceiverProfileActivity extends AppCompatActivity {
         }
         currentReceiverId = user.getUid();
 
-        // Reference to the current receiver's database node
-        receiverRef = FirebaseDatabase.getInstance().getReference("IresponderApp")
-                .child("Receivers")
-                .child(currentReceiverId);
-
         // --- 3. Load existing data to pre-fill the form ---
         loadCurrentProfileData();
 
@@ -66,22 +56,22 @@ public class EditReceiverProfileActivity extends AppCompatActivity {
     }
 
     private void loadCurrentProfileData() {
-        receiverRef.addListenerForSingleValueEvent(new ValueEventListener() {
+        ProfileStore.getReceiver(currentReceiverId, new ProfileStore.Callback<ReceiverModel>() {
             @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                if (snapshot.exists()) {
+            public void onProfile(ReceiverModel receiver) {
+                if (receiver != null) {
                     // Pre-fill fields with existing data
-                    editFullName.setText(snapshot.child("fullName").getValue(String.class));
-                    editContactNumber.setText(snapshot.child("contactNumber").getValue(String.class));
-                    editAgency.setText(snapshot.child("agency").getValue(String.class));
-                    editLocation.setText(snapshot.child("location").getValue(String.class));
+                    editFullName.setText(receiver.fullName);
+                    editContactNumber.setText(receiver.contactNumber);
+                    editAgency.setText(receiver.agency);
+                    editLocation.setText(receiver.location);
                 } else {
                     Toast.makeText(EditReceiverProfileActivity.this, "Existing data not found.", Toast.LENGTH_SHORT).show();
                 }
             }
 
             @Override
-            public void onCancelled(DatabaseError error) {
+            public void onError(DatabaseError error) {
                 Log.e(TAG, "Failed to load current profile: " + error.getMessage());
                 Toast.makeText(EditReceiverProfileActivity.this, "Failed to load data.", Toast.LENGTH_SHORT).show();
             }
@@ -106,8 +96,8 @@ public class EditReceiverProfileActivity extends AppCompatActivity {
         updates.put("agency", newAgency);
         updates.put("location", newLocation);
 
-        // Push updates to Firebase
-        receiverRef.updateChildren(updates)
+        // Push updates to Firebase (invalidates the cached profile)
+        ProfileStore.updateReceiver(currentReceiverId, updates)
                 .addOnSuccessListener(aVoid -> {
                     Toast.makeText(EditReceiverProfileActivity.this, "Profile updated successfully!", Toast.LENGTH_LONG).show();
                     // Close the activity and return to the profile fragment
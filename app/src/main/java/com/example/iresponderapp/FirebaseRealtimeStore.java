@@ -0,0 +1,258 @@
+package com.example.iresponderapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.iresponderapp.core.RealtimeStore;
+import com.example.iresponderapp.core.StoreSnapshot;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// RealtimeStore backed by the Firebase Realtime Database, rooted at one reference.
+// Screens keep their Firebase listeners; the queries they run come from core StoreQueries and
+// are unwrapped here, so the query shapes exercised by the in-memory load tests are the real ones.
+public final class FirebaseRealtimeStore implements RealtimeStore {
+
+    private final DatabaseReference root;
+
+    public FirebaseRealtimeStore(DatabaseReference root) {
+        this.root = root;
+    }
+
+    // For runs against the local emulator (e.g. "10.0.2.2", 9000 from an Android emulator);
+    // must be called before the first database access
+    public static void connectToEmulator(String host, int port) {
+        FirebaseDatabase.getInstance().useEmulator(host, port);
+    }
+
+    // The Firebase query behind a query built on a FirebaseRealtimeStore
+    public static Query unwrap(RealtimeStore.Query query) {
+        return ((FirebaseQuery) query).query;
+    }
+
+    public static DatabaseReference unwrap(RealtimeStore.Ref ref) {
+        return ((FirebaseRef) ref).ref;
+    }
+
+    @Override
+    public Ref ref(String path) {
+        return new FirebaseRef(path.isEmpty() ? root : root.child(path));
+    }
+
+    @Override
+    public Object serverTimestamp() {
+        return ServerValue.TIMESTAMP;
+    }
+
+    private static class FirebaseQuery implements RealtimeStore.Query {
+        final Query query;
+
+        FirebaseQuery(Query query) {
+            this.query = query;
+        }
+
+        @Override public RealtimeStore.Query orderByChild(String path) { return new FirebaseQuery(query.orderByChild(path)); }
+        @Override public RealtimeStore.Query orderByKey() { return new FirebaseQuery(query.orderByKey()); }
+        @Override public RealtimeStore.Query startAt(Object value) { return startAt(value, null); }
+        @Override public RealtimeStore.Query startAfter(Object value) { return startAfter(value, null); }
+        @Override public RealtimeStore.Query endAt(Object value) { return new FirebaseQuery(bound(query, Edge.END_AT, value, null)); }
+        @Override public RealtimeStore.Query equalTo(Object value) { return new FirebaseQuery(bound(query, Edge.EQUAL_TO, value, null)); }
+        @Override public RealtimeStore.Query limitToFirst(int limit) { return new FirebaseQuery(query.limitToFirst(limit)); }
+        @Override public RealtimeStore.Query limitToLast(int limit) { return new FirebaseQuery(query.limitToLast(limit)); }
+
+        @Override
+        public RealtimeStore.Query startAt(Object value, String key) {
+            return new FirebaseQuery(bound(query, Edge.START_AT, value, key));
+        }
+
+        @Override
+        public RealtimeStore.Query startAfter(Object value, String key) {
+            return new FirebaseQuery(bound(query, Edge.START_AFTER, value, key));
+        }
+
+        @Override
+        public RealtimeStore.Query endBefore(Object value, String key) {
+            return new FirebaseQuery(bound(query, Edge.END_BEFORE, value, key));
+        }
+
+        @Override
+        public void get(ValueListener listener) {
+            query.addListenerForSingleValueEvent(valueListener(listener));
+        }
+
+        @Override
+        public Registration addValueListener(ValueListener listener) {
+            ValueEventListener firebaseListener = query.addValueEventListener(valueListener(listener));
+            return () -> query.removeEventListener(firebaseListener);
+        }
+
+        @Override
+        public Registration addChildListener(ChildListener listener) {
+            ChildEventListener firebaseListener = query.addChildEventListener(new ChildEventListener() {
+                @Override
+                public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                    listener.onChildAdded(toSnapshot(snapshot), previousChildName);
+                }
+
+                @Override
+                public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                    listener.onChildChanged(toSnapshot(snapshot), previousChildName);
+                }
+
+                @Override
+                public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                    listener.onChildRemoved(toSnapshot(snapshot));
+                }
+
+                @Override
+                public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                    listener.onChildMoved(toSnapshot(snapshot), previousChildName);
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    listener.onError(error.toException());
+                }
+            });
+            return () -> query.removeEventListener(firebaseListener);
+        }
+    }
+
+    private static final class FirebaseRef extends FirebaseQuery implements RealtimeStore.Ref {
+        final DatabaseReference ref;
+
+        FirebaseRef(DatabaseReference ref) {
+            super(ref);
+            this.ref = ref;
+        }
+
+        @Override
+        public String getKey() {
+            return ref.getKey();
+        }
+
+        @Override
+        public String getPath() {
+            return ref.getPath().toString();
+        }
+
+        @Override
+        public RealtimeStore.Ref child(String path) {
+            return new FirebaseRef(ref.child(path));
+        }
+
+        @Override
+        public RealtimeStore.Ref push() {
+            return new FirebaseRef(ref.push());
+        }
+
+        @Override
+        public void setValue(Object value, Completion completion) {
+            ref.setValue(value, completionListener(completion));
+        }
+
+        @Override
+        public void updateChildren(Map<String, Object> update, Completion completion) {
+            ref.updateChildren(update, completionListener(completion));
+        }
+
+        @Override
+        public void removeValue(Completion completion) {
+            ref.removeValue(completionListener(completion));
+        }
+
+        @Override
+        public void runTransaction(Transaction transaction, TransactionCompletion completion) {
+            ref.runTransaction(new com.google.firebase.database.Transaction.Handler() {
+                @NonNull
+                @Override
+                public com.google.firebase.database.Transaction.Result doTransaction(@NonNull MutableData data) {
+                    Object next = transaction.apply(data.getValue());
+                    if (next == Transaction.ABORT) return com.google.firebase.database.Transaction.abort();
+                    data.setValue(next);
+                    return com.google.firebase.database.Transaction.success(data);
+                }
+
+                @Override
+                public void onComplete(@Nullable DatabaseError error, boolean committed, @Nullable DataSnapshot snapshot) {
+                    if (completion != null) completion.onComplete(error != null ? error.toException() : null, committed);
+                }
+            });
+        }
+    }
+
+    // --- Translation helpers ---
+    private enum Edge { START_AT, START_AFTER, END_AT, END_BEFORE, EQUAL_TO }
+
+    // Firebase overloads bounds per value type; a null value bounds the "no value" group
+    private static Query bound(Query query, Edge edge, Object value, @Nullable String key) {
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            switch (edge) {
+                case START_AT: return key != null ? query.startAt(number, key) : query.startAt(number);
+                case START_AFTER: return key != null ? query.startAfter(number, key) : query.startAfter(number);
+                case END_AT: return key != null ? query.endAt(number, key) : query.endAt(number);
+                case END_BEFORE: return key != null ? query.endBefore(number, key) : query.endBefore(number);
+                default: return key != null ? query.equalTo(number, key) : query.equalTo(number);
+            }
+        }
+        if (value instanceof Boolean) {
+            boolean flag = (Boolean) value;
+            switch (edge) {
+                case START_AT: return key != null ? query.startAt(flag, key) : query.startAt(flag);
+                case START_AFTER: return key != null ? query.startAfter(flag, key) : query.startAfter(flag);
+                case END_AT: return key != null ? query.endAt(flag, key) : query.endAt(flag);
+                case END_BEFORE: return key != null ? query.endBefore(flag, key) : query.endBefore(flag);
+                default: return key != null ? query.equalTo(flag, key) : query.equalTo(flag);
+            }
+        }
+        String text = value != null ? value.toString() : null;
+        switch (edge) {
+            case START_AT: return key != null ? query.startAt(text, key) : query.startAt(text);
+            case START_AFTER: return key != null ? query.startAfter(text, key) : query.startAfter(text);
+            case END_AT: return key != null ? query.endAt(text, key) : query.endAt(text);
+            case END_BEFORE: return key != null ? query.endBefore(text, key) : query.endBefore(text);
+            default: return key != null ? query.equalTo(text, key) : query.equalTo(text);
+        }
+    }
+
+    private static ValueEventListener valueListener(RealtimeStore.ValueListener listener) {
+        return new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                listener.onValue(toSnapshot(snapshot));
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                listener.onError(error.toException());
+            }
+        };
+    }
+
+    @Nullable
+    private static DatabaseReference.CompletionListener completionListener(@Nullable RealtimeStore.Completion completion) {
+        if (completion == null) return null;
+        return (error, ref) -> completion.onComplete(error != null ? error.toException() : null);
+    }
+
+    // Keeps the children in result order (getValue() alone returns an unordered HashMap)
+    static StoreSnapshot toSnapshot(DataSnapshot snapshot) {
+        if (!snapshot.hasChildren()) return new StoreSnapshot(snapshot.getKey(), snapshot.getValue());
+        Map<String, Object> children = new LinkedHashMap<>();
+        for (DataSnapshot child : snapshot.getChildren()) {
+            children.put(child.getKey(), child.getValue());
+        }
+        return new StoreSnapshot(snapshot.getKey(), children);
+    }
+}
@@ -7,21 +7,27 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageButton;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.iresponderapp.core.SubmittedReport;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
+
+import java.util.List;
 
 public class FormsFragment extends Fragment {
 
-    private LinearLayout formsListContainer;
+    private RecyclerView formsList;
+    private CardListAdapter<SubmittedReport> adapter;
     private String currentUid;
 
+    // Process-wide, so loaded pages survive tab switches and resumes
+    private SubmittedReportFeed feed;
+
     public FormsFragment() {
         // Required empty public constructor
     }
@@ -29,12 +35,27 @@ public class FormsFragment extends Fragment {
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         View view = inflater.inflate(R.layout.fragment_forms, container, false);
-        formsListContainer = view.findViewById(R.id.formsListContainer);
+        formsList = view.findViewById(R.id.formsList);
+        adapter = new CardListAdapter<>(R.layout.item_submitted_form, this::bindRow);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        formsList.setLayoutManager(layoutManager);
+        formsList.setAdapter(adapter);
 
         if (FirebaseAuth.getInstance().getCurrentUser() != null) {
             currentUid = FirebaseAuth.getInstance().getCurrentUser().getUid();
-            // REMOVED load calls here to prevent duplicates on startup.
-            // The onResume() method will handle it.
+            feed = SubmittedReportFeed.get(currentUid);
+            adapter.submitList(feed.getReports());
+
+            // Load the next page when the user nears the end of what is already loaded
+            formsList.addOnScrollListener(new RecyclerView.OnScrollListener() {
+                @Override
+                public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                    int lastVisible = layoutManager.findLastVisibleItemPosition();
+                    if (lastVisible >= adapter.getItemCount() - 5) {
+                        feed.loadNextPage();
+                    }
+                }
+            });
         }
         return view;
     }
@@ -42,84 +63,46 @@ public class FormsFragment extends Fragment {
     @Override
     public void onResume() {
         super.onResume();
-        // Clear the list completely before reloading to prevent duplicates
-        if(formsListContainer != null) formsListContainer.removeAllViews();
-
-        if (currentUid != null) {
-            loadReportsFromFolder("PNP");
-            loadReportsFromFolder("BFP");
-            loadReportsFromFolder("MDRRMO");
-        }
-    }
-
-    private void loadReportsFromFolder(String agencyFolder) {
-        DatabaseReference ref = FirebaseDatabase.getInstance().getReference("IresponderApp").child("Reports").child(agencyFolder);
-
-        // Use SingleValueEvent to load data ONCE.
-        // This prevents the "infinite duplication" bug when navigating back and forth.
-        ref.orderByChild("responderUid").equalTo(currentUid)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot snapshot) {
-                        if (!snapshot.exists()) return;
-
-                        LayoutInflater inflater = LayoutInflater.from(getContext());
+        if (feed == null) return;
 
-                        for (DataSnapshot data : snapshot.getChildren()) {
-                            try {
-                                final String incidentKey = data.child("incidentKey").getValue(String.class);
-                                String date = data.child("timestamp").getValue(String.class);
+        feed.setListener(new SubmittedReportFeed.Listener() {
+            @Override
+            public void onReportsChanged(List<SubmittedReport> reports, boolean hasMore) {
+                adapter.submitList(reports);
+            }
 
-                                // --- NEW DISPLAY LOGIC ---
-                                String displayName = agencyFolder + " Incident"; // Default
+            @Override
+            public void onError(DatabaseError error) {}
+        });
 
-                                if (agencyFolder.equals("MDRRMO")) {
-                                    // CHANGED: Now looks for Nature/Type instead of Patient Name
-                                    String nature = data.child("natureOfCall").getValue(String.class);
-                                    String type = data.child("emergencyType").getValue(String.class);
-
-                                    if (nature != null && !nature.isEmpty()) {
-                                        displayName = nature;
-                                        if (type != null && !type.isEmpty()) displayName += " (" + type + ")";
-                                    } else {
-                                        displayName = "Medical/Trauma Incident";
-                                    }
-
-                                } else if (agencyFolder.equals("BFP")) {
-                                    String loc = data.child("fireLocation").getValue(String.class);
-                                    if (loc != null) displayName = "Fire: " + loc;
-
-                                } else if (agencyFolder.equals("PNP")) {
-                                    displayName = "Crime Incident Report";
-                                }
-
-                                // Create the Card Row
-                                View row = inflater.inflate(R.layout.item_submitted_form, formsListContainer, false);
-
-                                String shortId = (incidentKey != null && incidentKey.length() > 5)
-                                        ? incidentKey.substring(incidentKey.length() - 5) : "---";
+        // First visit loads page one; later resumes only pick up newer submissions
+        if (feed.isEmpty()) feed.loadNextPage();
+        else feed.refreshNewer();
+    }
 
-                                ((TextView) row.findViewById(R.id.rowIncidentId)).setText("#" + shortId);
-                                ((TextView) row.findViewById(R.id.rowPrimaryName)).setText(displayName);
-                                ((TextView) row.findViewById(R.id.rowDate)).setText(date != null ? date.split(" ")[0] : "--");
+    @Override
+    public void onPause() {
+        super.onPause();
+        if (feed != null) feed.setListener(null);
+    }
 
-                                ImageButton btnEdit = row.findViewById(R.id.btnRowEdit);
-                                btnEdit.setOnClickListener(v -> openEditForm(agencyFolder, incidentKey));
+    private void bindRow(CardListAdapter.CardHolder row, SubmittedReport report) {
+        String incidentKey = report.incidentKey;
+        String date = report.timestamp;
 
-                                formsListContainer.addView(row);
+        String shortId = (incidentKey != null && incidentKey.length() > 5)
+                ? incidentKey.substring(incidentKey.length() - 5) : "---";
 
-                            } catch (Exception e) {
-                                e.printStackTrace();
-                            }
-                        }
-                    }
+        row.<TextView>view(R.id.rowIncidentId).setText("#" + shortId);
+        row.<TextView>view(R.id.rowPrimaryName).setText(report.displayName);
+        row.<TextView>view(R.id.rowDate).setText(date != null ? date.split(" ")[0] : "--");
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {}
-                });
+        ImageButton btnEdit = row.view(R.id.btnRowEdit);
+        btnEdit.setOnClickListener(v -> openEditForm(report.agency, incidentKey, report.archiveShard));
     }
 
-    private void openEditForm(String agency, String incidentKey) {
+    // Archived reports open read-only from their shard
+    private void openEditForm(String agency, String incidentKey, String archiveShard) {
         Class<?> targetActivity;
         if (agency.equals("PNP")) targetActivity = PnpReportFormActivity.class;
         else if (agency.equals("BFP")) targetActivity = BfpReportFormActivity.class;
@@ -128,6 +111,7 @@ public class FormsFragment extends Fragment {
         Intent intent = new Intent(getContext(), targetActivity);
         intent.putExtra("INCIDENT_KEY", incidentKey);
         intent.putExtra("IS_EDIT_MODE", true);
+        if (archiveShard != null) intent.putExtra("ARCHIVE_SHARD", archiveShard);
         startActivity(intent);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.example.iresponderapp;
+
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import com.example.iresponderapp.core.Incident;
+
+// Process-wide cache of fully decoded incidents, shared by the detail screens and the forms.
+// Lists only hold summaries (see IncidentSummaries), so they never put here. Only this device's
+// writes evict an entry, so an entry is a placeholder to render while IncidentLiveData reads
+// the record, never a substitute for reading it.
+public final class IncidentCache {
+
+    private static final int MAX_ENTRIES = 500;
+
+    private static final LruCache<String, Incident> CACHE = new LruCache<>(MAX_ENTRIES);
+
+    private IncidentCache() {}
+
+    public static void put(Incident incident) {
+        if (incident != null && incident.key != null) CACHE.put(incident.key, incident);
+    }
+
+    @Nullable
+    public static Incident get(@Nullable String key) {
+        return key != null ? CACHE.get(key) : null;
+    }
+
+    public static void remove(@Nullable String key) {
+        if (key != null) CACHE.remove(key);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.iresponderapp;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.IncidentListModel;
+import com.example.iresponderapp.core.IncidentRules;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+// Live, incrementally synced list of incident summaries for one query (see IncidentSummaries).
+// A ChildEventListener applies added/changed/removed/moved deltas to an ordered in-memory
+// model (IncidentListModel), so one changed incident costs one decode and one in-place patch
+// instead of re-reading the whole result set.
+// Decoding and the model itself live on a serial background lane (see AppExecutors); deltas
+// arriving in the same burst (e.g. the initial load) produce one immutable list on the main thread.
+public class IncidentFeed {
+
+    public interface Listener {
+        void onIncidentsChanged(List<Incident> incidents);
+        void onError(DatabaseError error);
+    }
+
+    private final Query query;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Executor lane = AppExecutors.serial();
+
+    // Ordered, keyed rows (touched only on the lane)
+    private final IncidentListModel model;
+
+    private Listener listener;
+    private ChildEventListener childListener;
+    private boolean publishScheduled = false;
+
+    // Bumped by stop(), so lane work queued for an earlier start() is discarded
+    private volatile int generation = 0;
+
+    public IncidentFeed(Query query, @Nullable IncidentRules.Rule filter) {
+        this.query = query;
+        this.model = new IncidentListModel(filter);
+    }
+
+    public void start(@NonNull Listener listener) {
+        if (childListener != null) return;
+        this.listener = listener;
+        final int started = generation;
+
+        childListener = new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                lane.execute(() -> {
+                    if (started != generation) return;
+                    model.add(IncidentSnapshots.fromSnapshot(snapshot), previousChildName);
+                });
+                schedulePublish();
+            }
+
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                lane.execute(() -> {
+                    if (started != generation) return;
+                    model.change(IncidentSnapshots.fromSnapshot(snapshot));
+                });
+                schedulePublish();
+            }
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                String key = snapshot.getKey();
+                lane.execute(() -> {
+                    if (started != generation) return;
+                    model.remove(key);
+                });
+                schedulePublish();
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                String key = snapshot.getKey();
+                lane.execute(() -> {
+                    if (started != generation) return;
+                    model.move(key, previousChildName);
+                });
+                schedulePublish();
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                if (IncidentFeed.this.listener != null) IncidentFeed.this.listener.onError(error);
+            }
+        };
+        query.addChildEventListener(childListener);
+    }
+
+    public void stop() {
+        if (childListener != null) {
+            query.removeEventListener(childListener);
+            childListener = null;
+        }
+        listener = null;
+        generation++;
+        mainHandler.removeCallbacksAndMessages(null);
+        publishScheduled = false;
+        lane.execute(model::clear);
+    }
+
+    // Posted to the main looper first, so a whole callback burst is queued on the lane before
+    // the single snapshot that covers it
+    private void schedulePublish() {
+        if (publishScheduled) return;
+        publishScheduled = true;
+        final int requested = generation;
+        mainHandler.post(() -> {
+            publishScheduled = false;
+            lane.execute(() -> {
+                if (requested != generation) return;
+                List<Incident> incidents = model.snapshot();
+                mainHandler.post(() -> {
+                    if (requested == generation && listener != null) listener.onIncidentsChanged(incidents);
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.iresponderapp;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.iresponderapp.core.Incident;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+
+import java.util.List;
+
+// Shared, lifecycle-aware view of one incident query (see IresponderRepository).
+// Backed by an IncidentFeed, so deltas are applied child by child while any observer is active.
+public class IncidentListLiveData extends LingeringLiveData<List<Incident>> {
+
+    private final IncidentFeed feed;
+    private final MutableLiveData<DatabaseError> errors = new MutableLiveData<>();
+
+    IncidentListLiveData(Query query) {
+        feed = new IncidentFeed(query, null);
+    }
+
+    public LiveData<DatabaseError> errors() {
+        return errors;
+    }
+
+    @Override
+    protected void attach() {
+        feed.start(new IncidentFeed.Listener() {
+            @Override
+            public void onIncidentsChanged(List<Incident> incidents) {
+                setValue(incidents);
+            }
+
+            @Override
+            public void onError(DatabaseError error) {
+                errors.setValue(error);
+            }
+        });
+    }
+
+    @Override
+    protected void detach() {
+        feed.stop();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.iresponderapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.iresponderapp.core.Incident;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.ValueEventListener;
+
+// One full incident record for a detail screen or form, kept current while it is observed.
+// A copy in IncidentCache is published at once as a placeholder; the record's own listener then
+// replaces it, and keeps replacing it as other devices change the incident (their writes never
+// evict this device's cache). A record that does not exist is published as null.
+public class IncidentLiveData extends LingeringLiveData<Incident> {
+
+    private static final String TAG = "IncidentLiveData";
+
+    private final DatabaseReference ref;
+    private final ValueEventListener listener = new ValueEventListener() {
+        @Override
+        public void onDataChange(@NonNull DataSnapshot snapshot) {
+            if (!snapshot.exists()) {
+                IncidentCache.remove(ref.getKey());
+                setValue(null);
+                return;
+            }
+            Incident incident = IncidentSnapshots.fromSnapshot(snapshot);
+            IncidentCache.put(incident);
+            setValue(incident);
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            // The observers keep the placeholder, if there was one
+            Log.w(TAG, "Listener on " + ref.getPath() + " cancelled: " + error.getMessage());
+        }
+    };
+
+    IncidentLiveData(DatabaseReference ref) {
+        this.ref = ref;
+        Incident cached = IncidentCache.get(ref.getKey());
+        if (cached != null) setValue(cached);
+    }
+
+    @Override
+    protected void attach() {
+        ref.addValueEventListener(listener);
+    }
+
+    @Override
+    protected void detach() {
+        ref.removeEventListener(listener);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.iresponderapp;
+
+import com.example.iresponderapp.core.Incident;
+import com.google.firebase.database.DataSnapshot;
+
+// Firebase side of the core Incident decoder
+public final class IncidentSnapshots {
+
+    private IncidentSnapshots() {}
+
+    // --- One-pass decoder: walks the snapshot's children once instead of one child() lookup per field ---
+    public static Incident fromSnapshot(DataSnapshot data) {
+        Incident.Builder b = Incident.builder(data.getKey());
+        for (DataSnapshot field : data.getChildren()) {
+            b.set(field.getKey(), field.getValue());
+        }
+        return b.build();
+    }
+}
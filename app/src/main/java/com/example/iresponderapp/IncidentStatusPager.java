@@ -0,0 +1,241 @@
+package com.example.iresponderapp;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.iresponderapp.core.IncidentArchiver;
+import com.example.iresponderapp.core.StoreQueries;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Pages through IncidentSummaries using the server-side "Status" index (see database.rules.json).
+// Every status gets its own cursor, so a page only downloads PAGE_SIZE rows per status
+// instead of the whole incident history. Rows come back newest first (push keys sort by time).
+// Once the hot node is exhausted, paging continues lazily into the archive shards (see
+// IncidentArchiver), newest month first, so the first pages cost the same however much
+// history has been archived. A pager with a municipality reads only that municipality's rows
+// (the municipalityStatus index); without one it pages the whole province.
+public class IncidentStatusPager {
+
+    public interface PageCallback {
+        void onPage(List<Row> page, boolean hasMore);
+        void onError(DatabaseError error);
+    }
+
+    // One summary row and the archive shard it came from (null for the hot node)
+    public static final class Row {
+        public final DataSnapshot snapshot;
+        @Nullable public final String archiveShard;
+
+        Row(DataSnapshot snapshot, @Nullable String archiveShard) {
+            this.snapshot = snapshot;
+            this.archiveShard = archiveShard;
+        }
+    }
+
+    public static final int PAGE_SIZE = 20;
+
+    @Nullable private final String municipality;
+    private final List<StatusCursor> cursors = new ArrayList<>();
+    // Only statuses the archiver moves are looked up in the shards
+    private final List<String> archivedStatuses = new ArrayList<>();
+    private boolean loading = false;
+
+    // Segments: null for the hot node, then the shards once ArchiveShards has been read
+    private List<String> shards;
+    private int shardIndex = -1;
+
+    // Each call to reset() invalidates the callbacks of the previous load
+    private int generation = 0;
+
+    public IncidentStatusPager(@Nullable String municipality, String... statuses) {
+        this.municipality = municipality;
+        for (String status : statuses) {
+            cursors.add(new StatusCursor(municipality, status));
+            if (IncidentArchiver.isArchivable(status)) archivedStatuses.add(status);
+        }
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    public boolean hasMore() {
+        for (StatusCursor cursor : cursors) {
+            if (!cursor.buffer.isEmpty() || !cursor.exhausted) return true;
+        }
+        if (archivedStatuses.isEmpty()) return false;
+        return shards == null || shardIndex < shards.size() - 1;
+    }
+
+    public void reset() {
+        generation++;
+        loading = false;
+        shards = null;
+        shardIndex = -1;
+        for (StatusCursor cursor : cursors) cursor.restart(null);
+    }
+
+    // --- Load the next PAGE_SIZE incidents across all statuses, merged newest first ---
+    public void loadNextPage(@NonNull PageCallback callback) {
+        if (loading || !hasMore()) return;
+        loading = true;
+        fill(new ArrayList<>(), generation, callback);
+    }
+
+    // Tops up the cursors of the current segment, drains them into the page and moves on to
+    // the next shard while the page still has room
+    private void fill(List<Row> page, int requestGeneration, PageCallback callback) {
+        int needed = PAGE_SIZE - page.size();
+        List<StatusCursor> toFetch = new ArrayList<>();
+        for (StatusCursor cursor : cursors) {
+            if (cursor.buffer.size() < needed && !cursor.exhausted) toFetch.add(cursor);
+        }
+
+        if (toFetch.isEmpty()) {
+            drainInto(page);
+            if (page.size() < PAGE_SIZE && segmentDone() && hasMore()) {
+                nextShard(page, requestGeneration, callback);
+            } else {
+                loading = false;
+                callback.onPage(page, hasMore());
+            }
+            return;
+        }
+
+        final int[] pending = {toFetch.size()};
+        final boolean[] failed = {false};
+
+        for (StatusCursor cursor : toFetch) {
+            cursor.nextQuery().addListenerForSingleValueEvent(new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    if (requestGeneration != generation) return;
+                    cursor.append(snapshot);
+
+                    pending[0]--;
+                    if (pending[0] == 0 && !failed[0]) fill(page, requestGeneration, callback);
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    fail(error, failed, requestGeneration, callback);
+                }
+            });
+        }
+    }
+
+    // Merge the per-status buffers: repeatedly take the newest head until the page is full
+    private void drainInto(List<Row> page) {
+        while (page.size() < PAGE_SIZE) {
+            StatusCursor newest = null;
+            for (StatusCursor cursor : cursors) {
+                if (cursor.buffer.isEmpty()) continue;
+                if (newest == null || cursor.headKey().compareTo(newest.headKey()) > 0) {
+                    newest = cursor;
+                }
+            }
+            if (newest == null) break;
+            page.add(new Row(newest.buffer.remove(0), newest.shard));
+        }
+    }
+
+    private boolean segmentDone() {
+        for (StatusCursor cursor : cursors) {
+            if (!cursor.buffer.isEmpty() || !cursor.exhausted) return false;
+        }
+        return true;
+    }
+
+    // --- Archive: list the shards once, then point the archivable cursors at the next one ---
+    private void nextShard(List<Row> page, int requestGeneration, PageCallback callback) {
+        if (shards == null) {
+            FirebaseRealtimeStore.unwrap(StoreQueries.archiveShards(IresponderRepository.store()))
+                    .addListenerForSingleValueEvent(new ValueEventListener() {
+                        @Override
+                        public void onDataChange(@NonNull DataSnapshot snapshot) {
+                            if (requestGeneration != generation) return;
+                            shards = IncidentArchiver.shardsNewestFirst(FirebaseRealtimeStore.toSnapshot(snapshot));
+                            nextShard(page, requestGeneration, callback);
+                        }
+
+                        @Override
+                        public void onCancelled(@NonNull DatabaseError error) {
+                            fail(error, new boolean[1], requestGeneration, callback);
+                        }
+                    });
+            return;
+        }
+
+        shardIndex++;
+        if (shardIndex >= shards.size()) {
+            loading = false;
+            callback.onPage(page, false);
+            return;
+        }
+        String shard = shards.get(shardIndex);
+        for (StatusCursor cursor : cursors) {
+            cursor.restart(shard);
+            // Statuses that are never archived have nothing in a shard
+            if (!archivedStatuses.contains(cursor.status)) cursor.exhausted = true;
+        }
+        fill(page, requestGeneration, callback);
+    }
+
+    private void fail(DatabaseError error, boolean[] failed, int requestGeneration, PageCallback callback) {
+        if (requestGeneration != generation || failed[0]) return;
+        failed[0] = true;
+        loading = false;
+        callback.onError(error);
+    }
+
+    private static class StatusCursor {
+        final String municipality;
+        final String status;
+
+        // Fetched but not yet emitted, newest first
+        final List<DataSnapshot> buffer = new ArrayList<>();
+        // null while paging the hot node
+        String shard;
+        String oldestKey;
+        boolean exhausted;
+
+        StatusCursor(@Nullable String municipality, String status) {
+            this.municipality = municipality;
+            this.status = status;
+        }
+
+        void restart(@Nullable String shard) {
+            this.shard = shard;
+            buffer.clear();
+            oldestKey = null;
+            exhausted = false;
+        }
+
+        Query nextQuery() {
+            return FirebaseRealtimeStore.unwrap(shard == null
+                    ? StoreQueries.statusPage(IresponderRepository.store(), municipality, status, oldestKey, PAGE_SIZE)
+                    : StoreQueries.archivedStatusPage(IresponderRepository.store(), shard, municipality, status,
+                            oldestKey, PAGE_SIZE));
+        }
+
+        void append(DataSnapshot snapshot) {
+            // Results arrive oldest first; flip them so the buffer stays newest first
+            List<DataSnapshot> rows = new ArrayList<>();
+            for (DataSnapshot data : snapshot.getChildren()) rows.add(0, data);
+
+            if (!rows.isEmpty()) oldestKey = rows.get(rows.size() - 1).getKey();
+            if (rows.size() < PAGE_SIZE) exhausted = true;
+            buffer.addAll(rows);
+        }
+
+        String headKey() {
+            return buffer.get(0).getKey();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.iresponderapp;
+
+import android.app.Application;
+
+import com.google.firebase.database.FirebaseDatabase;
+
+public class IresponderApplication extends Application {
+
+    // Room for the incident lists, profiles and a responder's reports
+    private static final long DISK_CACHE_BYTES = 50L * 1024 * 1024;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // --- Offline store ---
+        // Must run before any other FirebaseDatabase call. Everything the app reads is kept
+        // in an on-device cache, listeners answer from it first and reconcile once online,
+        // and writes made offline are persisted and replayed when the connection returns.
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        database.setPersistenceEnabled(true);
+        database.setPersistenceCacheSizeBytes(DISK_CACHE_BYTES);
+
+        // Resend any report submissions still queued from an earlier session
+        ReportOutbox.get(this).start();
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.iresponderapp;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.IncidentArchiver;
+import com.example.iresponderapp.core.IncidentRules;
+import com.example.iresponderapp.core.IncidentSummaryProjector;
+import com.example.iresponderapp.core.RealtimeStore;
+import com.example.iresponderapp.core.StoreQueries;
+import com.example.iresponderapp.core.TimestampBackfill;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+// Single owner of the app's DatabaseReferences and live queries.
+// Each distinct query is backed by ONE shared LiveData, so any number of screens observing the
+// same data share one Firebase listener. The listener follows the observers' lifecycles (see
+// LingeringLiveData), which keeps callbacks and memory flat however often screens are recreated.
+public final class IresponderRepository {
+
+    private static final Map<String, LingeringLiveData<?>> shared = new HashMap<>();
+    private static FirebaseRealtimeStore store;
+    private static TimestampBackfill backfill;
+    private static IncidentSummaryProjector projector;
+    private static IncidentArchiver archiver;
+
+    private IresponderRepository() {}
+
+    // --- References ---
+    public static DatabaseReference root() {
+        return FirebaseDatabase.getInstance().getReference("IresponderApp");
+    }
+
+    // Same root as a RealtimeStore, for the query shapes shared with :core (StoreQueries)
+    public static synchronized RealtimeStore store() {
+        if (store == null) store = new FirebaseRealtimeStore(root());
+        return store;
+    }
+
+    public static DatabaseReference incidents() {
+        return root().child("Incidents_");
+    }
+
+    public static DatabaseReference responders() {
+        return root().child("Responders");
+    }
+
+    public static DatabaseReference receivers() {
+        return root().child("Receivers");
+    }
+
+    public static DatabaseReference reports(String agency) {
+        return root().child("Reports").child(agency);
+    }
+
+    // Incidents_/{key}, or its copy in an archive shard ("yyyy/MM", see IncidentArchiver)
+    public static DatabaseReference incident(String key, @Nullable String archiveShard) {
+        if (archiveShard == null) return incidents().child(key);
+        return root().child(IncidentArchiver.INCIDENTS_ARCHIVE).child(archiveShard).child(key);
+    }
+
+    // Live full record of incident(...), starting from IncidentCache's copy (see IncidentLiveData); one per screen
+    public static IncidentLiveData incidentRecord(DatabaseReference incidentRef) {
+        return new IncidentLiveData(incidentRef);
+    }
+
+    public static DatabaseReference reports(String agency, @Nullable String archiveShard) {
+        if (archiveShard == null) return reports(agency);
+        return root().child(IncidentArchiver.REPORTS_ARCHIVE).child(archiveShard).child(agency);
+    }
+
+    // --- Shared live queries ---
+    public static IncidentListLiveData assignedIncidents(String responderUid) {
+        String key = "assigned/" + responderUid;
+        IncidentListLiveData live = (IncidentListLiveData) shared.get(key);
+        if (live == null) {
+            live = new IncidentListLiveData(FirebaseRealtimeStore.unwrap(
+                    StoreQueries.assignedIncidents(store(), responderUid)));
+            shared.put(key, live);
+        }
+        return live;
+    }
+
+    public static IncidentListLiveData pendingIncidents() {
+        return pendingIncidents(null);
+    }
+
+    // Pending queue of one municipality (see ProfileStore.getReceiverScope); null is province-wide
+    public static IncidentListLiveData pendingIncidents(@Nullable String municipality) {
+        String key = municipality == null ? "pending" : "pending/" + municipality;
+        IncidentListLiveData live = (IncidentListLiveData) shared.get(key);
+        if (live == null) {
+            live = new IncidentListLiveData(FirebaseRealtimeStore.unwrap(
+                    StoreQueries.pendingIncidents(store(), municipality)));
+            shared.put(key, live);
+        }
+        return live;
+    }
+
+    public static SnapshotLiveData dashboardStats(String responderUid, String day) {
+        String key = "stats/" + responderUid + "/" + day;
+        SnapshotLiveData live = (SnapshotLiveData) shared.get(key);
+        if (live == null) {
+            live = new SnapshotLiveData(DashboardStats.dayRef(responderUid, day));
+            shared.put(key, live);
+        }
+        return live;
+    }
+
+    // Per-screen view of a shared list; the shared listener is untouched. Filtering runs on the
+    // worker pool and a newer list supersedes one still being filtered.
+    public static LiveData<List<Incident>> filter(LiveData<List<Incident>> source, @Nullable IncidentRules.Rule filter) {
+        if (filter == null) return source;
+
+        MediatorLiveData<List<Incident>> filtered = new MediatorLiveData<>();
+        LatestOnly<List<Incident>> latest = new LatestOnly<>();
+        filtered.addSource(source, incidents -> latest.submit(
+                () -> IncidentRules.apply(incidents, filter), filtered::setValue));
+        return filtered;
+    }
+
+    // Called on sign-out so the next user starts with no listeners or data from this one
+    public static void clear() {
+        stopProjectingSummaries();
+        for (LingeringLiveData<?> live : shared.values()) {
+            live.detachNow();
+        }
+        shared.clear();
+    }
+
+    // --- Migrations ---
+    // Gives legacy incidents/reports numeric createdAt/updatedAt/submittedAt, at most once per
+    // process. Progress is stored under Migrations/, so a later run resumes and a finished
+    // migration costs one small read per node.
+    public static synchronized void backfillTimestamps() {
+        if (backfill != null) return;
+        backfill = new TimestampBackfill(store(), TimeZone.getDefault(), TimestampBackfill.DEFAULT_BATCH);
+        backfill.run(new TimestampBackfill.Listener() {
+            @Override
+            public void onBatch(String node, int scanned, int converted) {
+                Log.d("TimestampBackfill", node + ": " + converted + "/" + scanned + " records updated");
+            }
+
+            @Override
+            public void onFinished() {
+                Log.d("TimestampBackfill", "Done");
+            }
+
+            @Override
+            public void onError(Exception error) {
+                Log.e("TimestampBackfill", "Stopped; will resume on next launch", error);
+            }
+        });
+    }
+
+    // Moves incidents closed more than DEFAULT_MAX_AGE ago into month shards, at most once per
+    // process; the hot nodes (and every list query on them) stay the size of recent activity
+    public static synchronized void archiveClosedIncidents() {
+        if (archiver != null) return;
+        archiver = new IncidentArchiver(store(), TimeZone.getDefault(),
+                IncidentArchiver.DEFAULT_MAX_AGE, IncidentArchiver.DEFAULT_BATCH);
+        archiver.run(System.currentTimeMillis(), new IncidentArchiver.Listener() {
+            @Override
+            public void onBatch(int scanned, int archived) {
+                Log.d("IncidentArchiver", archived + "/" + scanned + " incidents archived");
+            }
+
+            @Override
+            public void onFinished(int archived) {
+                Log.d("IncidentArchiver", "Done, " + archived + " archived");
+            }
+
+            @Override
+            public void onError(Exception error) {
+                Log.e("IncidentArchiver", "Stopped; will retry on next launch", error);
+            }
+        });
+    }
+
+    // Incidents filed by the reporter app arrive without an IncidentSummaries entry; a signed-in
+    // receiver projects them (catch-up from a stored cursor, then live) so the lists can see them
+    public static synchronized void projectSummaries() {
+        if (projector != null) return;
+        projector = new IncidentSummaryProjector(store(), IncidentSummaryProjector.DEFAULT_BATCH);
+        projector.start(new IncidentSummaryProjector.Listener() {
+            @Override
+            public void onProjected(int count) {
+                Log.d("SummaryProjector", "Projected " + count + " incident(s)");
+            }
+
+            @Override
+            public void onError(Exception error) {
+                Log.e("SummaryProjector", "Stopped", error);
+                stopProjectingSummaries();
+            }
+        });
+    }
+
+    public static synchronized void stopProjectingSummaries() {
+        if (projector == null) return;
+        projector.stop();
+        projector = null;
+    }
+}
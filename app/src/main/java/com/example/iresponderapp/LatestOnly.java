@@ -0,0 +1,34 @@
+package com.example.iresponderapp;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs background work where only the newest request matters.
+// Each submit() supersedes the previous one: a result computed for an older request (or after
+// cancel()) is dropped instead of being delivered to the main thread.
+public class LatestOnly<T> {
+
+    public interface Work<T> {
+        T run();
+    }
+
+    public interface Result<T> {
+        void deliver(T result);
+    }
+
+    private final AtomicInteger generation = new AtomicInteger();
+
+    public void submit(Work<T> work, Result<T> result) {
+        int requested = generation.incrementAndGet();
+        AppExecutors.worker().execute(() -> {
+            if (requested != generation.get()) return;
+            T value = work.run();
+            AppExecutors.main(() -> {
+                if (requested == generation.get()) result.deliver(value);
+            });
+        });
+    }
+
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.iresponderapp;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+
+// LiveData that owns one Firebase listener, shared by all of its observers.
+// The listener is attached when the first observer becomes active and detached a short while
+// after the last one goes away, so a rotation or quick tab switch does not tear down and
+// re-download the query, while a screen left in the background costs no callbacks.
+public abstract class LingeringLiveData<T> extends LiveData<T> {
+
+    private static final long LINGER_MS = 2_000;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable detachRunnable = this::detachNow;
+    private boolean attached = false;
+
+    protected abstract void attach();
+
+    protected abstract void detach();
+
+    @Override
+    protected void onActive() {
+        mainHandler.removeCallbacks(detachRunnable);
+        if (!attached) {
+            attached = true;
+            attach();
+        }
+    }
+
+    @Override
+    protected void onInactive() {
+        mainHandler.postDelayed(detachRunnable, LINGER_MS);
+    }
+
+    // Used on sign-out, when the shared instances are dropped
+    void detachNow() {
+        mainHandler.removeCallbacks(detachRunnable);
+        if (attached) {
+            attached = false;
+            detach();
+        }
+    }
+}
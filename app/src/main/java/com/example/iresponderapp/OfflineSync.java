@@ -0,0 +1,65 @@
+package com.example.iresponderapp;
+
+import com.example.iresponderapp.core.StoreQueries;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Background sync for the data a signed-in user needs offline.
+// keepSynced() keeps these queries mirrored in the on-device store (see IresponderApplication)
+// even while no screen is listening, so every screen can render instantly from disk.
+public final class OfflineSync {
+
+    private static final String[] REPORT_FOLDERS = {"PNP", "BFP", "MDRRMO"};
+
+    private static final List<Query> syncedQueries = new ArrayList<>();
+    // Bumped by stop(), so a profile read finishing after sign-out starts nothing
+    private static int generation = 0;
+
+    private OfflineSync() {}
+
+    // --- Responder: assigned incidents, own profile and own reports ---
+    public static synchronized void startForResponder(String uid) {
+        stop();
+        DatabaseReference root = IresponderRepository.root();
+
+        keep(FirebaseRealtimeStore.unwrap(StoreQueries.assignedIncidents(IresponderRepository.store(), uid)));
+        keep(root.child("Responders").child(uid));
+        for (String folder : REPORT_FOLDERS) {
+            keep(FirebaseRealtimeStore.unwrap(StoreQueries.agencyReportsBy(IresponderRepository.store(), folder, uid)));
+        }
+    }
+
+    // --- Receiver: own profile and the pending queue of the receiver's municipality ---
+    public static synchronized void startForReceiver(String uid) {
+        stop();
+        DatabaseReference root = IresponderRepository.root();
+
+        keep(root.child("Receivers").child(uid));
+        // Only this municipality's slice is mirrored; provincial supervisors get the whole queue
+        int started = generation;
+        ProfileStore.getReceiverScope(uid, municipality -> {
+            synchronized (OfflineSync.class) {
+                if (started != generation) return;
+                keep(FirebaseRealtimeStore.unwrap(
+                        StoreQueries.pendingIncidents(IresponderRepository.store(), municipality)));
+            }
+        });
+    }
+
+    // Called on sign-out so the next user does not keep syncing someone else's data
+    public static synchronized void stop() {
+        generation++;
+        for (Query query : syncedQueries) {
+            query.keepSynced(false);
+        }
+        syncedQueries.clear();
+    }
+
+    private static void keep(Query query) {
+        query.keepSynced(true);
+        syncedQueries.add(query);
+    }
+}
@@ -3,27 +3,31 @@ package com.example.iresponderapp;
 import android.content.Intent;
 import android.os.Bundle;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.LifecycleOwner;
 
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.IncidentRules;
+import com.google.firebase.auth.FirebaseAuth;
 
 public class OnProcessFragment extends Fragment {
 
     private static final String TAG = "OnProcessFragment";
-    private LinearLayout incidentListContainer;
-    private DatabaseReference incidentRef;
+    private RecyclerView incidentList;
+    private CardListAdapter<Incident> adapter;
+    private LifecycleOwner visibleOwner;
 
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
@@ -31,103 +35,89 @@ public class OnProcessFragment extends Fragment {
 
         View view = inflater.inflate(R.layout.fragment_on_process, container, false);
 
-        incidentListContainer = view.findViewById(R.id.incidentListContainer);
+        incidentList = view.findViewById(R.id.incidentList);
+        adapter = new CardListAdapter<>(R.layout.incident_card_item, this::bindCard);
+        incidentList.setLayoutManager(new LinearLayoutManager(getContext()));
+        incidentList.setAdapter(adapter);
 
-        // Correct Firebase path to IresponderApp/Incidents_
-        incidentRef = FirebaseDatabase.getInstance().getReference("IresponderApp").child("Incidents_");
+        return view;
+    }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        // Observers pause while this tab is hidden (see DashboardTabs)
+        visibleOwner = ResumedLifecycleOwner.of(getViewLifecycleOwner());
         loadIncidents();
-
-        return view;
     }
 
     private void loadIncidents() {
-        // Query for incidents where the key "Status" is "Pending"
-        incidentRef.orderByChild("Status").equalTo("Pending")
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot snapshot) {
-
-                        // CRITICAL FIX: Ensure the fragment and its context are still valid
-                        if (getContext() == null) {
-                            Log.w(TAG, "Fragment is detached, skipping UI update.");
-                            return;
-                        }
-
-                        incidentListContainer.removeAllViews();
-
-                        if (snapshot.getChildrenCount() == 0) {
-                            Log.d(TAG, "No pending incidents found. Check Status indexing/rules.");
-                            return;
-                        }
-
-                        // Use the LayoutInflater safely from the Activity's context
-                        LayoutInflater inflater = LayoutInflater.from(getContext());
-
-                        for (DataSnapshot data : snapshot.getChildren()) {
-
-                            final String incidentKey = data.getKey();
-                            String incidentCode = incidentKey;
-
-                            // Data Retrieval (Matching keys from your JSON)
-                            String type = data.child("incidentType").getValue(String.class);
-                            String date = data.child("date").getValue(String.class);
-                            String location = data.child("address").getValue(String.class);
-
-                            // Priority Derivation
-                            String priority = "Low";
-                            if ("Fire".equalsIgnoreCase(type) || "Crime".equalsIgnoreCase(type)) {
-                                priority = "High";
-                            }
-
-                            if (incidentCode == null || type == null || date == null || location == null) {
-                                Log.e(TAG, "Missing essential data for incident: " + incidentKey);
-                                continue;
-                            }
-
-                            // Inflate the incident card layout using the safe inflater
-                            View card = inflater.inflate(R.layout.incident_card_item, incidentListContainer, false);
-
-                            // Populate card views
-                            ((TextView) card.findViewById(R.id.incidentCode)).setText("#IR-" + incidentCode);
-                            ((TextView) card.findViewById(R.id.incidentType)).setText(type);
-                            ((TextView) card.findViewById(R.id.incidentDate)).setText(date);
-                            ((TextView) card.findViewById(R.id.incidentLocation)).setText(location);
-                            ((TextView) card.findViewById(R.id.incidentPriority)).setText("Priority: " + priority);
-
-                            // Apply color based on derived priority
-                            TextView priorityTv = card.findViewById(R.id.incidentPriority);
-                            if ("High".equals(priority)) {
-                                priorityTv.setTextColor(getResources().getColor(R.color.red));
-                            } else if ("Medium".equals(priority)) {
-                                priorityTv.setTextColor(getResources().getColor(R.color.orange));
-                            } else {
-                                priorityTv.setTextColor(getResources().getColor(R.color.gray));
-                            }
-
-                            // Button setup
-                            Button btnView = card.findViewById(R.id.btnViewDetails);
-
-                            // Handle View Details Click
-                            btnView.setOnClickListener(v -> {
-                                Intent intent = new Intent(getContext(), activity_incident_details.class);
-                                intent.putExtra("INCIDENT_KEY", incidentKey);
-                                intent.putExtra("INCIDENT_CODE", incidentCode);
-                                startActivity(intent);
-                            });
-
-                            // NOTE: btnEscalate and btnReject logic REMOVED as requested.
-                            // The buttons must also be removed from incident_card_item.xml
-
-                            incidentListContainer.addView(card);
-                        }
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        Log.e(TAG, "Database Error: " + error.getMessage());
-                        Toast.makeText(getContext(), "Failed to load incidents: " + error.getMessage(), Toast.LENGTH_LONG).show();
-                    }
-                });
+        // The queue is scoped to the receiver's municipality; provincial supervisors see all
+        String uid = FirebaseAuth.getInstance().getCurrentUser() != null
+                ? FirebaseAuth.getInstance().getCurrentUser().getUid() : null;
+        if (uid == null) {
+            observePending(null);
+            return;
+        }
+        ProfileStore.getReceiverScope(uid, municipality -> {
+            if (getView() == null) return;
+            observePending(municipality);
+        });
+    }
+
+    private void observePending(@Nullable String municipality) {
+        // Shared feed of the municipality's "Pending" incidents; deltas are applied per child
+        IncidentListLiveData pending = IresponderRepository.pendingIncidents(municipality);
+
+        // Incidents missing essential card data are skipped (IncidentRules.LISTABLE)
+        IresponderRepository.filter(pending, IncidentRules.LISTABLE).observe(visibleOwner, incidents -> {
+            // The adapter diffs off the main thread and rebinds only changed cards
+            adapter.submitList(incidents);
+        });
+
+        pending.errors().observe(visibleOwner, error -> {
+            Log.e(TAG, "Database Error: " + error.getMessage());
+            Toast.makeText(getContext(), "Failed to load incidents: " + error.getMessage(), Toast.LENGTH_LONG).show();
+        });
+    }
+
+    private void bindCard(CardListAdapter.CardHolder card, Incident incident) {
+        final String incidentKey = incident.key;
+        String incidentCode = incidentKey;
+        String type = incident.incidentType;
+
+        // Priority Derivation
+        String priority = "Low";
+        if ("Fire".equalsIgnoreCase(type) || "Crime".equalsIgnoreCase(type)) {
+            priority = "High";
+        }
+
+        // Populate card views
+        card.<TextView>view(R.id.incidentCode).setText("#IR-" + incidentCode);
+        card.<TextView>view(R.id.incidentType).setText(type);
+        card.<TextView>view(R.id.incidentDate).setText(incident.date);
+        card.<TextView>view(R.id.incidentLocation).setText(incident.address);
+
+        // Apply color based on derived priority
+        TextView priorityTv = card.view(R.id.incidentPriority);
+        priorityTv.setText("Priority: " + priority);
+        if ("High".equals(priority)) {
+            priorityTv.setTextColor(getResources().getColor(R.color.red));
+        } else if ("Medium".equals(priority)) {
+            priorityTv.setTextColor(getResources().getColor(R.color.orange));
+        } else {
+            priorityTv.setTextColor(getResources().getColor(R.color.gray));
+        }
+
+        // Button setup
+        Button btnView = card.view(R.id.btnViewDetails);
+
+        // Handle View Details Click
+        btnView.setOnClickListener(v -> {
+            Intent intent = new Intent(getContext(), activity_incident_details.class);
+            intent.putExtra("INCIDENT_KEY", incidentKey);
+            intent.putExtra("INCIDENT_CODE", incidentCode);
+            startActivity(intent);
+        });
     }
 }
\ No newline at end of file
@@ -2,7 +2,6 @@ package com.example.iresponderapp;
 
 import android.content.Intent;
 import android.os.Bundle;
-import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
 import android.view.LayoutInflater;
@@ -13,11 +12,7 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 public class ProfileFragment extends Fragment {
 
@@ -25,9 +20,8 @@ public class ProfileFragment extends Fragment {
     private Button btnEditProfile, btnDeleteProfile, btnSignOut;
 
     private FirebaseAuth mAuth;
-    private DatabaseReference respondersRef;
     private String currentUid;
-    private String databaseKey; // Important: To store the random key (-Oew...)
+    private boolean profileLoaded = false;
 
     public ProfileFragment() {
         // Required empty public constructor
@@ -41,7 +35,6 @@ public class ProfileFragment extends Fragment {
         mAuth = FirebaseAuth.getInstance();
         if (mAuth.getCurrentUser() != null) {
             currentUid = mAuth.getCurrentUser().getUid();
-            respondersRef = FirebaseDatabase.getInstance().getReference("IresponderApp").child("Responders");
         }
 
         // 2. Initialize Views
@@ -53,8 +46,7 @@ public class ProfileFragment extends Fragment {
         btnDeleteProfile = view.findViewById(R.id.btnDeleteProfile);
         btnSignOut = view.findViewById(R.id.btnSignOut);
 
-        // 3. Load Data & Listeners
-        loadResponderProfile();
+        // 3. Listeners (data is loaded in onResume)
         setupListeners();
 
         return view;
@@ -63,40 +55,33 @@ public class ProfileFragment extends Fragment {
     private void loadResponderProfile() {
         if (currentUid == null) return;
 
-        // Query Responders where "userId" matches current Login UID
-        respondersRef.orderByChild("userId").equalTo(currentUid)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(@NonNull DataSnapshot snapshot) {
-                        if (snapshot.exists()) {
-                            // Loop through results (should be only 1)
-                            for (DataSnapshot data : snapshot.getChildren()) {
-                                databaseKey = data.getKey(); // Capture the key (-Oew...) for editing later
-
-                                String name = data.child("fullName").getValue(String.class);
-                                String email = data.child("email").getValue(String.class);
-                                String agency = data.child("agency").getValue(String.class);
-                                String loc = data.child("location").getValue(String.class);
-
-                                profileFullName.setText(name != null ? name : "N/A");
-                                profileEmail.setText(email != null ? email : "N/A");
-                                profileAgency.setText(agency != null ? agency : "N/A");
-                                profileLocation.setText(loc != null ? loc : "N/A");
-                            }
-                        } else {
-                            profileFullName.setText("Profile Not Found");
-                        }
-                    }
+        // Direct Responders/{uid} read, cached in ProfileStore and invalidated when the profile is edited
+        ProfileStore.getResponder(currentUid, new ProfileStore.Callback<ResponderModel>() {
+            @Override
+            public void onProfile(ResponderModel responder) {
+                if (responder != null) {
+                    profileFullName.setText(responder.fullName != null ? responder.fullName : "N/A");
+                    profileEmail.setText(responder.email != null ? responder.email : "N/A");
+                    profileAgency.setText(responder.agency != null ? responder.agency : "N/A");
+                    profileLocation.setText(responder.location != null ? responder.location : "N/A");
+                    profileLoaded = true;
+                } else {
+                    profileFullName.setText("Profile Not Found");
+                }
+            }
 
-                    @Override
-                    public void onCancelled(@NonNull DatabaseError error) {
-                        Toast.makeText(getContext(), "Error loading profile", Toast.LENGTH_SHORT).show();
-                    }
-                });
+            @Override
+            public void onError(DatabaseError error) {
+                Toast.makeText(getContext(), "Error loading profile", Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     private void setupListeners() {
         btnSignOut.setOnClickListener(v -> {
+            OfflineSync.stop();
+            IresponderRepository.clear();
+            ProfileStore.clear();
             mAuth.signOut();
             Intent intent = new Intent(getActivity(), responderSignIn.class);
             intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
@@ -104,10 +89,8 @@ public class ProfileFragment extends Fragment {
         });
 
         btnEditProfile.setOnClickListener(v -> {
-            if (databaseKey != null) {
-                Intent intent = new Intent(getActivity(), EditProfileActivity.class);
-                intent.putExtra("DB_KEY", databaseKey); // Pass the key so EditActivity knows which node to update
-                startActivity(intent);
+            if (profileLoaded) {
+                startActivity(new Intent(getActivity(), EditProfileActivity.class));
             } else {
                 Toast.makeText(getContext(), "Please wait for profile to load...", Toast.LENGTH_SHORT).show();
             }
@@ -124,10 +107,10 @@ public class ProfileFragment extends Fragment {
     }
 
     private void deleteAccount() {
-        if (databaseKey == null) return;
+        if (currentUid == null) return;
 
-        // Delete from Database using the captured key
-        respondersRef.child(databaseKey).removeValue().addOnSuccessListener(aVoid -> {
+        // Delete Responders/{uid} through the store so the cached profile goes with it
+        ProfileStore.deleteResponder(currentUid).addOnSuccessListener(aVoid -> {
             // Delete Auth
             if (mAuth.getCurrentUser() != null) {
                 mAuth.getCurrentUser().delete().addOnCompleteListener(task -> {
@@ -0,0 +1,163 @@
+package com.example.iresponderapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.iresponderapp.core.Municipalities;
+import com.example.iresponderapp.core.StoreQueries;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Shared store for the signed-in user's own profile.
+// Profiles live at Responders/{uid} and Receivers/{uid}, so a lookup is one direct child read
+// (never a query over the whole node) and the decoded model is cached in memory for every screen.
+// Writes go through here and invalidate the cached copy. Responder records written under a push
+// key by older builds are found once by "userId" and moved to their uid key.
+public final class ProfileStore {
+
+    public interface Callback<T> {
+        void onProfile(@Nullable T profile);
+        void onError(DatabaseError error);
+    }
+
+    public interface ScopeCallback {
+        void onScope(@Nullable String municipality);
+    }
+
+    private static final String TAG = "ProfileStore";
+
+    private static final Map<String, ResponderModel> responders = new HashMap<>();
+    private static final Map<String, ReceiverModel> receivers = new HashMap<>();
+
+    private ProfileStore() {}
+
+    // --- Responders ---
+    public static void getResponder(String uid, @NonNull Callback<ResponderModel> callback) {
+        ResponderModel cached = responders.get(uid);
+        if (cached != null) {
+            callback.onProfile(cached);
+            return;
+        }
+
+        IresponderRepository.responders().child(uid).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (snapshot.exists()) {
+                    ResponderModel profile = snapshot.getValue(ResponderModel.class);
+                    responders.put(uid, profile);
+                    callback.onProfile(profile);
+                } else {
+                    migrateLegacyResponder(uid, callback);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    public static Task<Void> updateResponder(String uid, Map<String, Object> updates) {
+        responders.remove(uid);
+        return IresponderRepository.responders().child(uid).updateChildren(updates);
+    }
+
+    public static Task<Void> deleteResponder(String uid) {
+        responders.remove(uid);
+        return IresponderRepository.responders().child(uid).removeValue();
+    }
+
+    // Older sign-ups were stored under a push key; move the record to Responders/{uid} in one write
+    private static void migrateLegacyResponder(String uid, Callback<ResponderModel> callback) {
+        DatabaseReference respondersRef = IresponderRepository.responders();
+
+        FirebaseRealtimeStore.unwrap(StoreQueries.legacyResponder(IresponderRepository.store(), uid))
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        for (DataSnapshot legacy : snapshot.getChildren()) {
+                            Map<String, Object> move = new HashMap<>();
+                            move.put(uid, legacy.getValue());
+                            move.put(legacy.getKey(), null);
+                            respondersRef.updateChildren(move);
+
+                            ResponderModel profile = legacy.getValue(ResponderModel.class);
+                            responders.put(uid, profile);
+                            callback.onProfile(profile);
+                            return;
+                        }
+                        callback.onProfile(null);
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        callback.onError(error);
+                    }
+                });
+    }
+
+    // --- Receivers ---
+    public static void getReceiver(String uid, @NonNull Callback<ReceiverModel> callback) {
+        ReceiverModel cached = receivers.get(uid);
+        if (cached != null) {
+            callback.onProfile(cached);
+            return;
+        }
+
+        IresponderRepository.receivers().child(uid).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                ReceiverModel profile = snapshot.exists() ? snapshot.getValue(ReceiverModel.class) : null;
+                if (profile != null) receivers.put(uid, profile);
+                callback.onProfile(profile);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    // Municipality a receiver's incident lists are scoped to. null (no profile, a provincial
+    // location, or a failed read) means the province-wide view.
+    public static void getReceiverScope(String uid, @NonNull ScopeCallback callback) {
+        getReceiver(uid, new Callback<ReceiverModel>() {
+            @Override
+            public void onProfile(@Nullable ReceiverModel profile) {
+                callback.onScope(profile != null ? Municipalities.scopeOf(profile.location) : null);
+            }
+
+            @Override
+            public void onError(DatabaseError error) {
+                Log.w(TAG, "Receiver profile unavailable, showing all municipalities: " + error.getMessage());
+                callback.onScope(null);
+            }
+        });
+    }
+
+    public static Task<Void> updateReceiver(String uid, Map<String, Object> updates) {
+        receivers.remove(uid);
+        return IresponderRepository.receivers().child(uid).updateChildren(updates);
+    }
+
+    public static Task<Void> deleteReceiver(String uid) {
+        receivers.remove(uid);
+        return IresponderRepository.receivers().child(uid).removeValue();
+    }
+
+    // Called on sign-out
+    public static void clear() {
+        responders.clear();
+        receivers.clear();
+    }
+}
@@ -15,11 +15,7 @@ import android.widget.Toast;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 public class ReceiverProfileFragment extends Fragment {
 
@@ -31,7 +27,6 @@ public class ReceiverProfileFragment extends Fragment {
 
     // Firebase components
     private FirebaseAuth mAuth;
-    private DatabaseReference receiverRef;
     private String currentReceiverId;
 
     public ReceiverProfileFragment() {
@@ -55,11 +50,6 @@ public class ReceiverProfileFragment extends Fragment {
         }
         currentReceiverId = user.getUid();
 
-        // Initialize Database reference to the current receiver's node
-        receiverRef = FirebaseDatabase.getInstance().getReference("IresponderApp")
-                .child("Receivers")
-                .child(currentReceiverId);
-
         // --- 1. Initialize Views ---
         profileFullName = view.findViewById(R.id.profileFullName);
         profileEmail = view.findViewById(R.id.profileEmail);
@@ -79,21 +69,16 @@ public class ReceiverProfileFragment extends Fragment {
     }
 
     private void loadReceiverProfile() {
-        receiverRef.addListenerForSingleValueEvent(new ValueEventListener() {
+        // Direct Receivers/{uid} read, cached in ProfileStore and shared with the edit screen
+        ProfileStore.getReceiver(currentReceiverId, new ProfileStore.Callback<ReceiverModel>() {
             @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    // Extract data based on the database structure (image_2f7722.png)
-                    String fullName = snapshot.child("fullName").getValue(String.class);
-                    String email = snapshot.child("email").getValue(String.class);
-                    String agency = snapshot.child("agency").getValue(String.class);
-                    String location = snapshot.child("location").getValue(String.class);
-
+            public void onProfile(ReceiverModel receiver) {
+                if (receiver != null) {
                     // Populate UI
-                    profileFullName.setText(fullName);
-                    profileEmail.setText(email);
-                    profileAgency.setText(agency);
-                    profileLocation.setText(location);
+                    profileFullName.setText(receiver.fullName);
+                    profileEmail.setText(receiver.email);
+                    profileAgency.setText(receiver.agency);
+                    profileLocation.setText(receiver.location);
                 } else {
                     Toast.makeText(getContext(), "Profile data not found.", Toast.LENGTH_SHORT).show();
                     // Force sign-out if profile doesn't exist but user is authenticated
@@ -102,7 +87,7 @@ public class ReceiverProfileFragment extends Fragment {
             }
 
             @Override
-            public void onCancelled(DatabaseError error) {
+            public void onError(DatabaseError error) {
                 Log.e(TAG, "Failed to read profile data: " + error.getMessage());
                 Toast.makeText(getContext(), "Error loading profile.", Toast.LENGTH_SHORT).show();
             }
@@ -112,6 +97,9 @@ public class ReceiverProfileFragment extends Fragment {
     private void setupListeners() {
 
         btnSignOut.setOnClickListener(v -> {
+            OfflineSync.stop();
+            IresponderRepository.clear();
+            ProfileStore.clear();
             mAuth.signOut();
             Toast.makeText(getContext(), "Signed out successfully.", Toast.LENGTH_SHORT).show();
             // TODO: Navigate user back to the Login/Main Activity
@@ -139,8 +127,8 @@ public class ReceiverProfileFragment extends Fragment {
     }
 
     private void deleteReceiverAccount() {
-        // Step 1: Delete database entry
-        receiverRef.removeValue()
+        // Step 1: Delete database entry (and the cached profile)
+        ProfileStore.deleteReceiver(currentReceiverId)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Database profile entry deleted.");
 
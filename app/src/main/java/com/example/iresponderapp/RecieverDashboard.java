@@ -1,16 +1,15 @@
 package com.example.iresponderapp;
 
 import android.os.Bundle;
-import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
-
-import androidx.fragment.app.Fragment;
+import com.google.firebase.auth.FirebaseAuth;
 
 public class RecieverDashboard extends AppCompatActivity {
 
     BottomNavigationView bottomNavigationView;
+    private DashboardTabs tabs;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -19,40 +18,38 @@ public class RecieverDashboard extends AppCompatActivity {
 
         bottomNavigationView = findViewById(R.id.bottomNavigation);
 
-        // Load default fragment (On Process)
-        if (savedInstanceState == null) {
-            loadFragment(new OnProcessFragment());
+        // Mirror the pending queue and this receiver's profile into the offline store
+        if (FirebaseAuth.getInstance().getCurrentUser() != null) {
+            OfflineSync.startForReceiver(FirebaseAuth.getInstance().getCurrentUser().getUid());
+            // Summaries for incidents the reporter app wrote since the last projection
+            IresponderRepository.projectSummaries();
+            // Numeric timestamps on records written before createdAt/updatedAt existed
+            IresponderRepository.backfillTimestamps();
+            // Closed incidents past the retention window move to IncidentsArchive
+            IresponderRepository.archiveClosedIncidents();
         }
 
-        // Handle bottom nav clicks
-        bottomNavigationView.setOnItemSelectedListener(item -> {
-
-            Fragment selectedFragment = null;
-
-            int id = item.getItemId();
-
+        // One retained fragment per tab; switching tabs shows/hides instead of recreating
+        tabs = new DashboardTabs(getSupportFragmentManager(), R.id.receiverdashboardFragmentContainer, id -> {
             if (id == R.id.nav_process) {
-                selectedFragment = new OnProcessFragment();
-
+                return new OnProcessFragment();
             } else if (id == R.id.nav_accomplished) {
-                selectedFragment = new AccomplishedFragment();
-
+                return new AccomplishedFragment();
             } else if (id == R.id.nav_receiver_profile) {
-                selectedFragment = new ReceiverProfileFragment();
+                return new ReceiverProfileFragment();
             }
+            return null;
+        });
 
-            if (selectedFragment != null) {
-                loadFragment(selectedFragment);
-            }
+        // Load default fragment (On Process)
+        if (savedInstanceState == null) {
+            tabs.select(R.id.nav_process);
+        }
 
+        // Handle bottom nav clicks
+        bottomNavigationView.setOnItemSelectedListener(item -> {
+            tabs.select(item.getItemId());
             return true;
         });
     }
-
-    private void loadFragment(@NonNull Fragment fragment) {
-        getSupportFragmentManager()
-                .beginTransaction()
-                .replace(R.id.receiverdashboardFragmentContainer, fragment)
-                .commit();
-    }
 }
@@ -0,0 +1,137 @@
+package com.example.iresponderapp;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.iresponderapp.core.ReportDraft;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+// On-device drafts of report forms that have not been submitted yet, one file per agency + incident.
+// Edits are checkpointed on a debounce: the form is copied on the main thread when the timer fires
+// and the JSON is written on a serial background lane, through AtomicFile so a write cut short by
+// process death or a dead battery leaves the previous checkpoint intact. Opening the form reads
+// the draft back without touching the network; submitting hands it to the ReportOutbox and
+// deletes it; so does discarding it when the form reopens.
+public class ReportDrafts {
+
+    private static final String TAG = "ReportDrafts";
+    private static final String DIR = "report_drafts";
+    private static final long DEBOUNCE_MS = 1_500;
+
+    public interface Snapshot {
+        ReportDraft take();
+    }
+
+    public interface LoadCallback {
+        void onLoaded(@Nullable ReportDraft draft);
+    }
+
+    private static ReportDrafts instance;
+
+    private final File dir;
+    private final Executor lane = AppExecutors.serial();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    // Checkpoints waiting out the debounce, by draft key
+    private final Map<String, Runnable> pending = new HashMap<>();
+
+    public static synchronized ReportDrafts get(Context context) {
+        if (instance == null) instance = new ReportDrafts(context.getApplicationContext());
+        return instance;
+    }
+
+    private ReportDrafts(Context context) {
+        dir = new File(context.getFilesDir(), DIR);
+    }
+
+    // --- Main thread: (re)start the debounce for this draft ---
+    public void schedule(String agency, String incidentKey, Snapshot snapshot) {
+        String key = draftKey(agency, incidentKey);
+        Runnable previous = pending.remove(key);
+        if (previous != null) handler.removeCallbacks(previous);
+
+        Runnable checkpoint = () -> {
+            pending.remove(key);
+            write(key, snapshot.take().toMap());
+        };
+        pending.put(key, checkpoint);
+        handler.postDelayed(checkpoint, DEBOUNCE_MS);
+    }
+
+    // Writes a pending checkpoint now (the form is going to the background); no-op if none
+    public void flush(String agency, String incidentKey) {
+        Runnable checkpoint = pending.remove(draftKey(agency, incidentKey));
+        if (checkpoint == null) return;
+        handler.removeCallbacks(checkpoint);
+        checkpoint.run();
+    }
+
+    public void load(String agency, String incidentKey, LoadCallback callback) {
+        File file = file(draftKey(agency, incidentKey));
+        lane.execute(() -> {
+            ReportDraft draft = null;
+            if (file.exists()) {
+                try {
+                    byte[] bytes = new AtomicFile(file).readFully();
+                    draft = ReportDraft.fromMap(ReportOutbox.toMap(new JSONObject(new String(bytes, StandardCharsets.UTF_8))));
+                } catch (IOException | JSONException e) {
+                    Log.e(TAG, "Dropping unreadable draft " + file.getName(), e);
+                    new AtomicFile(file).delete();
+                }
+            }
+            ReportDraft loaded = draft;
+            AppExecutors.main(() -> callback.onLoaded(loaded));
+        });
+    }
+
+    // The draft became a queued submission (or is abandoned); queued behind any write in flight
+    public void delete(String agency, String incidentKey) {
+        String key = draftKey(agency, incidentKey);
+        Runnable checkpoint = pending.remove(key);
+        if (checkpoint != null) handler.removeCallbacks(checkpoint);
+        File file = file(key);
+        lane.execute(() -> new AtomicFile(file).delete());
+    }
+
+    private void write(String key, Map<String, Object> draft) {
+        File file = file(key);
+        lane.execute(() -> {
+            if (!dir.exists() && !dir.mkdirs()) {
+                Log.e(TAG, "Cannot create " + dir);
+                return;
+            }
+            AtomicFile atomic = new AtomicFile(file);
+            FileOutputStream out = null;
+            try {
+                out = atomic.startWrite();
+                out.write(new JSONObject(draft).toString().getBytes(StandardCharsets.UTF_8));
+                atomic.finishWrite(out);
+            } catch (IOException e) {
+                Log.e(TAG, "Draft " + key + " not saved", e);
+                if (out != null) atomic.failWrite(out);
+            }
+        });
+    }
+
+    private File file(String key) {
+        return new File(dir, key + ".json");
+    }
+
+    private static String draftKey(String agency, String incidentKey) {
+        return agency + "_" + incidentKey;
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.iresponderapp;
+
+import androidx.appcompat.app.AlertDialog;
+import androidx.appcompat.app.AppCompatActivity;
+
+import android.os.Bundle;
+import android.view.View;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.Toast;
+
+import com.example.iresponderapp.core.DashboardCounter;
+import com.example.iresponderapp.core.EpochTimes;
+import com.example.iresponderapp.core.FormValues;
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.ReportDraft;
+import com.example.iresponderapp.core.ReportSchema;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.ValueEventListener;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+// Shared flow of the agency report forms: load the incident and (in edit mode) the saved report,
+// render the agency's ReportSchema through SchemaForm, then submit through the ReportOutbox.
+// Until it is submitted the form is checkpointed to ReportDrafts and reopens from there, with the
+// choice to discard the draft (for the saved report, when that was updated after the draft).
+// Subclasses only pick the schema, the layout and how the incident header is shown.
+public abstract class ReportFormActivity extends AppCompatActivity {
+
+    protected SchemaForm form;
+    protected String incidentKey;
+    protected boolean isEditMode;
+    // Municipality of the incident, carried into the submission (see IncidentSummaries)
+    protected String incidentMunicipality;
+
+    private ReportSchema schema;
+    // createdAt of the report being edited, so a resubmission keeps it
+    private Long existingCreatedAt;
+    // The edited report's schema fields as loaded, the baseline its changed paths are taken against
+    private Map<String, Object> loadedReport;
+    private String archiveShard;
+    private String currentResponderUid;
+    private Button btnSubmit;
+    // Null for read-only archived reports, which are never drafted
+    private ReportDrafts drafts;
+    private Incident incident;
+
+    protected abstract ReportSchema schema();
+
+    protected abstract int layoutId();
+
+    // Header card of the layout, if it has one
+    protected void showIncidentHeader(Incident incident) {}
+
+    // Defaults taken from the incident, once both it and the form are ready. Runs again if the
+    // form rebinds, so only blank fields should be filled.
+    protected void prefill(Incident incident) {}
+
+    protected String confirmMessage() {
+        return "Are you sure you want to submit this report?";
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(layoutId());
+
+        incidentKey = getIntent().getStringExtra("INCIDENT_KEY");
+        if (incidentKey == null) {
+            Toast.makeText(this, "Incident ID missing.", Toast.LENGTH_LONG).show();
+            finish();
+            return;
+        }
+
+        // Archived reports (see IncidentArchiver) open read-only from their shard
+        archiveShard = getIntent().getStringExtra("ARCHIVE_SHARD");
+        isEditMode = getIntent().getBooleanExtra("IS_EDIT_MODE", false);
+
+        if (FirebaseAuth.getInstance().getCurrentUser() != null) {
+            currentResponderUid = FirebaseAuth.getInstance().getCurrentUser().getUid();
+        } else {
+            currentResponderUid = "Unknown";
+        }
+
+        schema = schema();
+        LinearLayout formFields = findViewById(R.id.formFields);
+        form = new SchemaForm(this, schema, formFields, archiveShard != null);
+        btnSubmit = findViewById(R.id.btnSubmitReport);
+
+        if (isEditMode) {
+            btnSubmit.setText("Update Report");
+            if (archiveShard != null) btnSubmit.setVisibility(View.GONE);
+        }
+
+        if (archiveShard != null) {
+            loadForm();
+        } else {
+            drafts = ReportDrafts.get(this);
+            form.setOnChangeListener(() -> drafts.schedule(schema.agency, incidentKey, this::takeDraft));
+            // An unsent draft reopens as it was left, without waiting on the network; an edit still
+            // fetches the saved report, which may have changed since the draft was taken
+            drafts.load(schema.agency, incidentKey, draft -> {
+                if (isFinishing() || isDestroyed()) return;
+                if (draft == null) {
+                    loadForm();
+                    return;
+                }
+                restoreDraft(draft);
+                if (isEditMode) fetchExistingReport(snapshot -> offerDraft(draft, snapshot));
+                else offerDraft(draft, null);
+            });
+        }
+
+        // Always load header data
+        loadIncident();
+
+        btnSubmit.setOnClickListener(v -> showConfirmationDialog());
+    }
+
+    private void loadIncident() {
+        // Usually opened from ResponderDetailActivity: its cached copy shows at once, then the
+        // live record (a receiver may have changed it since)
+        IresponderRepository.incidentRecord(IresponderRepository.incident(incidentKey, archiveShard))
+                .observe(this, incident -> {
+                    if (incident != null) onIncidentLoaded(incident);
+                });
+    }
+
+    private void onIncidentLoaded(Incident incident) {
+        this.incident = incident;
+        incidentMunicipality = incident.municipality;
+        showIncidentHeader(incident);
+        if (form.values() != null) prefill(incident);
+    }
+
+    private void loadForm() {
+        if (isEditMode) loadExistingReport();
+        else bindForm(schema.blank());
+    }
+
+    private void bindForm(FormValues values) {
+        form.bind(values);
+        if (incident != null) prefill(incident);
+    }
+
+    private void restoreDraft(ReportDraft draft) {
+        loadedReport = draft.loadedReport;
+        existingCreatedAt = draft.createdAt;
+        bindForm(draft.values);
+    }
+
+    // --- Keep the restored draft, or discard it for the saved report (a blank form when new) ---
+    private void offerDraft(ReportDraft draft, DataSnapshot saved) {
+        if (isFinishing() || isDestroyed()) return;
+        boolean savedIsNewer = saved != null && saved.exists()
+                && draft.isOlderThan(saved.child(EpochTimes.UPDATED_AT).getValue(Long.class));
+
+        new AlertDialog.Builder(this)
+                .setTitle("Unsent Draft")
+                .setMessage(savedIsNewer
+                        ? "This report was updated after your draft was saved. Keep your draft, or discard it and open the updated report?"
+                        : "Restored the report you had not submitted. Continue with it, or discard it?")
+                .setPositiveButton(savedIsNewer ? "Keep Draft" : "Continue", null)
+                .setNegativeButton(savedIsNewer ? "Use Updated Report" : "Discard Draft", (dialog, which) -> discardDraft(saved))
+                .show();
+    }
+
+    private void discardDraft(DataSnapshot saved) {
+        drafts.delete(schema.agency, incidentKey);
+        loadedReport = null;
+        existingCreatedAt = null;
+        if (isEditMode) bindExistingReport(saved);
+        else bindForm(schema.blank());
+    }
+
+    private ReportDraft takeDraft() {
+        return new ReportDraft(form.values(), loadedReport, existingCreatedAt, System.currentTimeMillis());
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // The process may not come back: write the pending checkpoint now
+        if (drafts != null) drafts.flush(schema.agency, incidentKey);
+    }
+
+    private interface ReportLoaded {
+        void onLoaded(DataSnapshot snapshot);
+    }
+
+    private void loadExistingReport() {
+        fetchExistingReport(this::bindExistingReport);
+    }
+
+    private void fetchExistingReport(ReportLoaded callback) {
+        IresponderRepository.reports(schema.agency, archiveShard).child(incidentKey)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(DataSnapshot snapshot) {
+                callback.onLoaded(snapshot);
+            }
+            @Override
+            public void onCancelled(DatabaseError error) {
+                Toast.makeText(ReportFormActivity.this, "Failed to load saved report.", Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void bindExistingReport(DataSnapshot snapshot) {
+        Object stored = snapshot != null ? snapshot.getValue() : null;
+        if (stored instanceof Map) {
+            existingCreatedAt = snapshot.child(EpochTimes.CREATED_AT).getValue(Long.class);
+            // Baseline for the edit diff, as stored (legacy vital rows included, so the
+            // edit converts them); the decoded copy changes as the user types
+            loadedReport = schema.stored((Map<String, Object>) stored);
+            bindForm(schema.decode((Map<String, Object>) stored));
+        } else {
+            bindForm(schema.blank());
+        }
+    }
+
+    private void showConfirmationDialog() {
+        // Submitting an edit before the saved report arrives would overwrite it with blanks
+        if (form.values() == null || !form.validate()) return;
+        // The completion carries the incident's municipality; without it the incident would keep
+        // its old place in the municipality lists
+        if (incident == null) {
+            Toast.makeText(this, "Still loading the incident, please try again.", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        new AlertDialog.Builder(this)
+                .setTitle("Submit Report")
+                .setMessage(confirmMessage())
+                .setPositiveButton("Yes, Submit", (dialog, which) -> submitReport())
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void submitReport() {
+        Map<String, Object> reportData = new HashMap<>();
+        reportData.put("incidentKey", incidentKey);
+        reportData.put("responderUid", currentResponderUid);
+        reportData.put("timestamp", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US).format(new Date()));
+        if (existingCreatedAt != null) reportData.put(EpochTimes.CREATED_AT, existingCreatedAt);
+        String vitalsDay = vitalsDay();
+        schema.encode(form.values(), reportData, vitalsDay);
+
+        // Report body and the "Completed" status go out together through the durable outbox
+        ReportOutbox outbox = ReportOutbox.get(this);
+        if (loadedReport != null) {
+            // Editing: send only what differs from the report as it was loaded
+            Map<String, Object> changes = ReportSchema.changes(loadedReport, schema.encode(form.values(), new HashMap<>(), vitalsDay));
+            outbox.submitChanges(schema.agency, incidentKey, submissionMunicipality(), reportData, changes);
+        } else {
+            outbox.submit(schema.agency, incidentKey, submissionMunicipality(), reportData);
+        }
+        // The outbox holds it durably from here on
+        if (drafts != null) drafts.delete(schema.agency, incidentKey);
+
+        if (outbox.isConnected()) {
+            Toast.makeText(this, "Report Submitted!", Toast.LENGTH_LONG).show();
+        } else {
+            Toast.makeText(this, "Report saved. It will be uploaded once you are back online.", Toast.LENGTH_LONG).show();
+        }
+        finish();
+    }
+
+    // Day given to readings that have none yet: an edited report's readings (legacy rows carry no
+    // day) were taken when it was first filed, or failing that on the incident's date; only a
+    // new report's readings are from today
+    private String vitalsDay() {
+        TimeZone zone = TimeZone.getDefault();
+        long at = System.currentTimeMillis();
+        if (existingCreatedAt != null) {
+            at = existingCreatedAt;
+        } else if (loadedReport != null && incident != null) {
+            long incidentAt = EpochTimes.parseIncidentDate(incident.date, incident.time, zone);
+            if (incidentAt != 0) at = incidentAt;
+        }
+        return DashboardCounter.dayKey(at, zone);
+    }
+
+    protected String submissionMunicipality() {
+        return incidentMunicipality;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.iresponderapp;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.iresponderapp.core.ReportSerializer;
+import com.example.iresponderapp.core.SubmissionQueue;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.ValueEventListener;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Durable outbox for agency report submissions.
+// A submission is stored on disk first, then sent as ONE multi-path updateChildren() that writes
+// Reports/{agency}/{incidentKey}, Incidents_/{incidentKey}/Status and the responder's
+// ReportsByResponder index entry together, so the report and the incident status can never
+// disagree. Entries are keyed by agency + incident key: submitting the same incident again
+// replaces the queued entry instead of adding a second one. Failed sends are retried with
+// exponential backoff and again whenever the connection comes back. The send/ack bookkeeping
+// (one write per entry in flight, a newer entry never deleted by an older ack) is core
+// SubmissionQueue; this class stores entries as JSON in SharedPreferences and schedules retries.
+public class ReportOutbox {
+
+    private static final String TAG = "ReportOutbox";
+    private static final String PREFS = "report_outbox";
+
+    private static final long BASE_RETRY_MS = 2_000;
+    private static final long MAX_RETRY_MS = 5 * 60_000;
+
+    private static ReportOutbox instance;
+
+    private final SharedPreferences prefs;
+    private final SubmissionQueue queue;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private final Map<String, Integer> attempts = new HashMap<>();
+    private boolean connected = false;
+    private boolean started = false;
+
+    public static synchronized ReportOutbox get(Context context) {
+        if (instance == null) instance = new ReportOutbox(context.getApplicationContext());
+        return instance;
+    }
+
+    private ReportOutbox(Context context) {
+        prefs = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        queue = new SubmissionQueue(IresponderRepository.store(), new PrefsStorage(), new SubmissionQueue.Listener() {
+            @Override
+            public void onDelivered(String entryKey, Map<String, Object> update) {
+                attempts.remove(entryKey);
+                for (String path : update.keySet()) {
+                    // The IncidentSummaries mirror has a Status path too; count the incident once
+                    if (path.startsWith("Incidents_/") && path.endsWith("/Status")) {
+                        String incidentKey = path.split("/")[1];
+                        IncidentCache.remove(incidentKey);
+                        DashboardStats.recordCompletion(incidentKey);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailed(String entryKey, Exception error) {
+                Log.w(TAG, "Submission " + entryKey + " failed, will retry: " + error.getMessage());
+                scheduleRetry(entryKey);
+            }
+        });
+    }
+
+    // Called once from IresponderApplication: flush whenever the client (re)connects
+    public void start() {
+        if (started) return;
+        started = true;
+
+        FirebaseDatabase.getInstance().getReference(".info/connected")
+                .addValueEventListener(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        Boolean value = snapshot.getValue(Boolean.class);
+                        connected = value != null && value;
+                        if (connected) flush();
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {}
+                });
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    // --- Queue a report and the matching status change, then try to send it ---
+    public void submit(String agency, String incidentKey, Map<String, Object> reportData) {
+        submit(agency, incidentKey, null, reportData);
+    }
+
+    // municipality (when known) keeps the incident in its municipality's Completed list
+    public void submit(String agency, String incidentKey, @Nullable String municipality, Map<String, Object> reportData) {
+        Map<String, Object> update = ReportSerializer.submissionUpdate(agency, incidentKey, municipality,
+                reportData, ServerValue.TIMESTAMP);
+        enqueue(agency + "_" + incidentKey, update);
+    }
+
+    // --- Queue an edit of a stored report: only the changed paths (see ReportSchema.changes) ---
+    public void submitChanges(String agency, String incidentKey, @Nullable String municipality,
+                              Map<String, Object> reportData, Map<String, Object> changes) {
+        String entryKey = agency + "_" + incidentKey;
+        // A queued entry for this report (even one in flight) has not been acknowledged, so the edit's
+        // baseline may not exist on the server yet; replacing that entry with a delta would lose it.
+        // Send the whole report: the queue holds it back until the older write lands, then sends it.
+        // Only a replaced first submission still completes the incident.
+        Map<String, Object> queued = queue.queued(entryKey);
+        if (ReportSerializer.completesIncident(queued, incidentKey)) {
+            submit(agency, incidentKey, municipality, reportData);
+            return;
+        }
+        if (queued != null) {
+            enqueue(entryKey, ReportSerializer.resubmissionUpdate(agency, incidentKey, reportData, ServerValue.TIMESTAMP));
+            return;
+        }
+        Map<String, Object> update = ReportSerializer.editUpdate(agency, incidentKey,
+                reportData, changes, ServerValue.TIMESTAMP);
+        Log.d(TAG, "Edit " + entryKey + ": " + changes.size() + " changed report paths");
+        enqueue(entryKey, update);
+    }
+
+    private void enqueue(String entryKey, Map<String, Object> update) {
+        attempts.remove(entryKey);
+        queue.enqueue(entryKey, update);
+    }
+
+    public void flush() {
+        for (String entryKey : new ArrayList<>(prefs.getAll().keySet())) queue.send(entryKey);
+    }
+
+    private void scheduleRetry(String entryKey) {
+        int attempt = attempts.containsKey(entryKey) ? attempts.get(entryKey) + 1 : 1;
+        attempts.put(entryKey, attempt);
+
+        long delay = Math.min(MAX_RETRY_MS, BASE_RETRY_MS << Math.min(attempt - 1, 16));
+        handler.postDelayed(() -> queue.send(entryKey), delay);
+    }
+
+    // Entries as JSON strings; an unreadable one is dropped rather than retried forever
+    private final class PrefsStorage implements SubmissionQueue.Storage {
+        @Nullable
+        @Override
+        public Map<String, Object> load(String entryKey) {
+            String json = prefs.getString(entryKey, null);
+            if (json == null) return null;
+            try {
+                return toMap(new JSONObject(json));
+            } catch (JSONException e) {
+                Log.e(TAG, "Dropping unreadable outbox entry " + entryKey, e);
+                remove(entryKey);
+                return null;
+            }
+        }
+
+        @Override
+        public void save(String entryKey, Map<String, Object> update) {
+            prefs.edit().putString(entryKey, new JSONObject(update).toString()).apply();
+        }
+
+        @Override
+        public void remove(String entryKey) {
+            prefs.edit().remove(entryKey).apply();
+        }
+    }
+
+    // --- JSON <-> Map, so nested patient/suspect entries survive the round trip (also used by ReportDrafts) ---
+    static Map<String, Object> toMap(JSONObject json) throws JSONException {
+        Map<String, Object> map = new HashMap<>();
+        Iterator<String> keys = json.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            map.put(key, fromJson(json.get(key)));
+        }
+        return map;
+    }
+
+    private static Object fromJson(Object value) throws JSONException {
+        if (value instanceof JSONObject) return toMap((JSONObject) value);
+        if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            List<Object> list = new ArrayList<>();
+            for (int i = 0; i < array.length(); i++) list.add(fromJson(array.get(i)));
+            return list;
+        }
+        if (value == JSONObject.NULL) return null;
+        return value;
+    }
+}
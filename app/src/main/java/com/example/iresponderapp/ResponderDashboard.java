@@ -3,15 +3,15 @@ package com.example.iresponderapp;
 import android.os.Bundle;
 
 import androidx.activity.EdgeToEdge;
-import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.fragment.app.Fragment;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.google.firebase.auth.FirebaseAuth;
 
 public class ResponderDashboard extends AppCompatActivity {
 
     BottomNavigationView bottomNavigationView;
+    private DashboardTabs tabs;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -21,39 +21,31 @@ public class ResponderDashboard extends AppCompatActivity {
 
         bottomNavigationView = findViewById(R.id.bottomNavigation);
 
-        // Load Home fragment first
-        loadFragment(new HomeFragment());
-
-        // Bottom navigation listener
-        bottomNavigationView.setOnItemSelectedListener(item -> {
-
-            Fragment fragment = null;
+        // Mirror this responder's data into the offline store
+        if (FirebaseAuth.getInstance().getCurrentUser() != null) {
+            OfflineSync.startForResponder(FirebaseAuth.getInstance().getCurrentUser().getUid());
+        }
 
-            int itemId = item.getItemId();
+        // One retained fragment per tab; switching tabs shows/hides instead of recreating
+        tabs = new DashboardTabs(getSupportFragmentManager(), R.id.dashboardFragmentContainer, itemId -> {
             if (itemId == R.id.nav_home) {
-                fragment = new HomeFragment();
+                return new HomeFragment();
             } else if (itemId == R.id.nav_alert) {
-                fragment = new AlertFragment();
+                return new AlertFragment();
             } else if (itemId == R.id.nav_forms) {
-                fragment = new FormsFragment();
+                return new FormsFragment();
             } else if (itemId == R.id.nav_profile) {
-                fragment = new ProfileFragment();
+                return new ProfileFragment();
             }
-
-            return loadFragment(fragment);
+            return null;
         });
 
-    }
-
-    // Method to switch fragments
-    private boolean loadFragment(Fragment fragment) {
-        if (fragment != null) {
-            getSupportFragmentManager()
-                    .beginTransaction()
-                    .replace(R.id.dashboardFragmentContainer, fragment)
-                    .commit();
-            return true;
+        // Load Home fragment first (after a recreation the FragmentManager restores the tabs)
+        if (savedInstanceState == null) {
+            tabs.select(R.id.nav_home);
         }
-        return false;
+
+        // Bottom navigation listener
+        bottomNavigationView.setOnItemSelectedListener(item -> tabs.select(item.getItemId()));
     }
 }
@@ -13,11 +13,8 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
+import com.example.iresponderapp.core.Incident;
 import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 import com.squareup.picasso.Picasso;
 
 public class ResponderDetailActivity extends AppCompatActivity {
@@ -68,8 +65,7 @@ public class ResponderDetailActivity extends AppCompatActivity {
 
         // --- 3. Set Firebase Reference and Load Details ---
         if (incidentKey != null) {
-            incidentRef = FirebaseDatabase.getInstance().getReference("IresponderApp")
-                    .child("Incidents_")
+            incidentRef = IresponderRepository.incidents()
                     .child(incidentKey);
             loadIncidentDetails();
         } else {
@@ -94,53 +90,44 @@ public class ResponderDetailActivity extends AppCompatActivity {
     }
 
     private void loadIncidentDetails() {
-        incidentRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    String status = snapshot.child("Status").getValue(String.class);
-                    incidentTypeStr = snapshot.child("incidentType").getValue(String.class); // Get the type
-                    String reporter = snapshot.child("reporterName").getValue(String.class);
-                    String date = snapshot.child("date").getValue(String.class);
-                    String time = snapshot.child("Time").getValue(String.class);
-                    String address = snapshot.child("address").getValue(String.class);
-                    String info = snapshot.child("additionalInfo").getValue(String.class);
-                    String imageUrl = snapshot.child("imageURL").getValue(String.class);
-
-                    // Coordinates
-                    incidentLatitude = snapshot.child("latitude").getValue(String.class);
-                    incidentLongitude = snapshot.child("longitude").getValue(String.class);
-
-                    // Populate UI
-                    detail_incidentCode.setText("Incident #" + incidentCode);
-                    detail_status.setText("Status: " + status);
-                    detail_incidentType.setText("Type: " + incidentTypeStr);
-                    detail_reporterName.setText("Reporter: " + reporter);
-                    detail_dateTime.setText("Date/Time: " + date + ", " + time);
-                    detail_additionalInfo.setText("Additional Info: " + info);
-
-                    detail_address_full.setText("Address: " + address);
-                    detail_coordinate_display.setText(incidentLatitude + ", " + incidentLongitude);
-                    detail_location_context.setText("Camarines Norte, Philippines");
-
-                    if (imageUrl != null && !imageUrl.isEmpty()) {
-                        Picasso.get().load(imageUrl).into(detail_incidentImage);
-                    } else {
-                        detail_incidentImage.setImageResource(R.drawable.placeholder_image);
-                    }
-
-                } else {
-                    Toast.makeText(ResponderDetailActivity.this, "Incident data not found.", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                Log.e(TAG, "Failed to load details: " + error.getMessage());
+        // Shows IncidentCache's copy at once, then the live record (a receiver may have changed it)
+        IresponderRepository.incidentRecord(incidentRef).observe(this, incident -> {
+            if (incident == null) {
+                Toast.makeText(this, "Incident data not found.", Toast.LENGTH_SHORT).show();
+                return;
             }
+            showIncident(incident);
         });
     }
 
+    private void showIncident(Incident incident) {
+        String status = incident.status;
+        incidentTypeStr = incident.incidentType; // Get the type
+        String imageUrl = incident.imageURL;
+
+        // Coordinates
+        incidentLatitude = incident.latitude;
+        incidentLongitude = incident.longitude;
+
+        // Populate UI
+        detail_incidentCode.setText("Incident #" + incidentCode);
+        detail_status.setText("Status: " + status);
+        detail_incidentType.setText("Type: " + incidentTypeStr);
+        detail_reporterName.setText("Reporter: " + incident.reporterName);
+        detail_dateTime.setText("Date/Time: " + incident.date + ", " + incident.time);
+        detail_additionalInfo.setText("Additional Info: " + incident.additionalInfo);
+
+        detail_address_full.setText("Address: " + incident.address);
+        detail_coordinate_display.setText(incidentLatitude + ", " + incidentLongitude);
+        detail_location_context.setText("Camarines Norte, Philippines");
+
+        if (imageUrl != null && !imageUrl.isEmpty()) {
+            Picasso.get().load(imageUrl).into(detail_incidentImage);
+        } else {
+            detail_incidentImage.setImageResource(R.drawable.placeholder_image);
+        }
+    }
+
     private void launchAgencyForm() {
         if (incidentTypeStr == null || incidentTypeStr.isEmpty()) {
             Toast.makeText(this, "Error: Incident type is unknown.", Toast.LENGTH_SHORT).show();
@@ -0,0 +1,150 @@
+package com.example.iresponderapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.iresponderapp.core.Responder;
+import com.example.iresponderapp.core.ResponderMatcher;
+import com.example.iresponderapp.core.StoreQueries;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Receiver-side cache of responder rosters, one per agency + municipality.
+// Each roster is an indexed query on Responders.agencyLocation that stays attached once opened,
+// so the cache is refreshed by Firebase whenever a matching responder changes and reopening the
+// assignment dialog costs nothing.
+public final class ResponderDirectory {
+
+    public interface RosterCallback {
+        void onRoster(List<Responder> responders);
+        void onError(DatabaseError error);
+    }
+
+    public static final String MIGRATION = "Migrations/responderAgencyLocation";
+    private static final String TAG = "ResponderDirectory";
+
+    private static final Map<String, List<Responder>> rosters = new HashMap<>();
+    private static final Map<String, List<RosterCallback>> waiting = new HashMap<>();
+    // Set once the migration flag has been read (or the migration started) in this process
+    private static boolean legacyChecked;
+
+    private ResponderDirectory() {}
+
+    public static void getRoster(String agency, String location, @NonNull RosterCallback callback) {
+        String key = ResponderMatcher.agencyLocationKey(agency, location);
+        migrateLegacyResponders();
+
+        List<Responder> cached = rosters.get(key);
+        if (cached != null) {
+            callback.onRoster(cached);
+            return;
+        }
+
+        // Already being fetched: just wait for the same answer
+        if (waiting.containsKey(key)) {
+            waiting.get(key).add(callback);
+            return;
+        }
+        List<RosterCallback> callbacks = new ArrayList<>();
+        callbacks.add(callback);
+        waiting.put(key, callbacks);
+
+        FirebaseRealtimeStore.unwrap(StoreQueries.respondersAt(IresponderRepository.store(), key))
+                .addValueEventListener(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        // Decode on the worker pool; the caches are only touched on the main thread
+                        AppExecutors.worker().execute(() -> {
+                            List<Responder> roster = new ArrayList<>();
+                            for (DataSnapshot data : snapshot.getChildren()) {
+                                String fullName = data.child("fullName").getValue(String.class);
+                                if (fullName == null) continue;
+                                roster.add(new Responder(data.getKey(), fullName,
+                                        data.child("agency").getValue(String.class),
+                                        data.child("location").getValue(String.class)));
+                            }
+                            AppExecutors.main(() -> publishRoster(key, roster));
+                        });
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        rosters.remove(key);
+                        List<RosterCallback> pending = waiting.remove(key);
+                        if (pending != null) {
+                            for (RosterCallback cb : pending) cb.onError(error);
+                        }
+                    }
+                });
+    }
+
+    private static void publishRoster(String key, List<Responder> roster) {
+        rosters.put(key, Collections.unmodifiableList(roster));
+        List<RosterCallback> pending = waiting.remove(key);
+        if (pending != null) {
+            for (RosterCallback cb : pending) cb.onRoster(rosters.get(key));
+        }
+    }
+
+    // --- One-off migration: write agencyLocation on every responder that lacks it ---
+    // Accounts created before the index existed are tagged once; the indexed roster listeners
+    // then pick them up on their next update. Done-ness is a flag under Migrations/, not an empty
+    // roster: one new-format responder in a roster would otherwise hide its legacy ones for good.
+    private static void migrateLegacyResponders() {
+        if (legacyChecked) return;
+        legacyChecked = true;
+
+        IresponderRepository.root().child(MIGRATION).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Boolean done = snapshot.getValue(Boolean.class);
+                if (done == null || !done) backfillLegacyResponders();
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.w(TAG, "Migration flag unreadable, will retry: " + error.getMessage());
+                legacyChecked = false;
+            }
+        });
+    }
+
+    private static void backfillLegacyResponders() {
+        FirebaseRealtimeStore.unwrap(StoreQueries.respondersWithoutLocationKey(IresponderRepository.store()))
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        // The tags and the flag go out together, so a cut-short run is redone
+                        Map<String, Object> updates = new HashMap<>();
+                        for (DataSnapshot data : snapshot.getChildren()) {
+                            String agency = data.child("agency").getValue(String.class);
+                            String location = data.child("location").getValue(String.class);
+                            if (agency == null || location == null) continue;
+                            updates.put("Responders/" + data.getKey() + "/agencyLocation",
+                                    ResponderMatcher.agencyLocationKey(agency, location));
+                        }
+                        updates.put(MIGRATION, true);
+                        IresponderRepository.root().updateChildren(updates, (error, ref) -> {
+                            if (error != null) {
+                                Log.w(TAG, "Responder backfill failed, will retry: " + error.getMessage());
+                                legacyChecked = false;
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        Log.w(TAG, "Responder backfill query failed: " + error.getMessage());
+                        legacyChecked = false;
+                    }
+                });
+    }
+}
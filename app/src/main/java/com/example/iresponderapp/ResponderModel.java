@@ -1,5 +1,7 @@
 package com.example.iresponderapp;
 
+import com.example.iresponderapp.core.ResponderMatcher;
+
 public class ResponderModel {
 
     public String userId;
@@ -9,6 +11,7 @@ public class ResponderModel {
     public String location; // ⭐ NEW FIELD ADDED
     public String agency;
     public String password;
+    public String agencyLocation; // Indexed "agency_location" key used by the assignment dialog
 
     public ResponderModel() {
         // Required empty constructor for Firebase
@@ -24,6 +27,12 @@ public class ResponderModel {
         this.location = location; // ⭐ INITIALIZING NEW FIELD
         this.agency = agency;
         this.password = password;
+        this.agencyLocation = agencyLocationKey(agency, location);
+    }
+
+    // Normalized composite key, e.g. ("BFP", " Daet ") -> "bfp_daet"
+    public static String agencyLocationKey(String agency, String location) {
+        return ResponderMatcher.agencyLocationKey(agency, location);
     }
 
     // You should add getters and setters if you are following best practices,
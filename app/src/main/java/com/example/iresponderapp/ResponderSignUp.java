@@ -18,7 +18,6 @@ import androidx.core.view.WindowInsetsCompat;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
 
 public class ResponderSignUp extends AppCompatActivity {
 
@@ -102,9 +101,7 @@ public class ResponderSignUp extends AppCompatActivity {
         // -----------------------------
         // ⭐ Realtime DB Reference
         // -----------------------------
-        responderDB = FirebaseDatabase.getInstance()
-                .getReference("IresponderApp")
-                .child("Responders");
+        responderDB = IresponderRepository.responders();
 
         // -----------------------------
         // 🟢 Sign Up Button Logic
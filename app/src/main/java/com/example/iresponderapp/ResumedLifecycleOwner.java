@@ -0,0 +1,47 @@
+package com.example.iresponderapp;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+
+// LifecycleOwner that is only started while its source is RESUMED.
+// A hidden tab (see DashboardTabs) stays STARTED, which would keep its LiveData observers
+// active; observing through this owner pauses them until the tab is shown again.
+public class ResumedLifecycleOwner implements LifecycleOwner, LifecycleEventObserver {
+
+    private final LifecycleRegistry registry = new LifecycleRegistry(this);
+
+    public static LifecycleOwner of(@NonNull LifecycleOwner source) {
+        ResumedLifecycleOwner owner = new ResumedLifecycleOwner();
+        source.getLifecycle().addObserver(owner);
+        return owner;
+    }
+
+    private ResumedLifecycleOwner() {}
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        switch (event) {
+            case ON_CREATE:
+            case ON_PAUSE:
+                registry.setCurrentState(Lifecycle.State.CREATED);
+                break;
+            case ON_RESUME:
+                registry.setCurrentState(Lifecycle.State.RESUMED);
+                break;
+            case ON_DESTROY:
+                registry.setCurrentState(Lifecycle.State.DESTROYED);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @NonNull
+    @Override
+    public Lifecycle getLifecycle() {
+        return registry;
+    }
+}
@@ -0,0 +1,471 @@
+package com.example.iresponderapp;
+
+import android.app.TimePickerDialog;
+import android.content.Context;
+import android.text.Editable;
+import android.text.InputType;
+import android.text.TextWatcher;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
+import android.widget.Button;
+import android.widget.EditText;
+import android.widget.LinearLayout;
+import android.widget.Spinner;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AlertDialog;
+
+import com.example.iresponderapp.core.FormValues;
+import com.example.iresponderapp.core.ReportSchema;
+import com.example.iresponderapp.core.VitalSign;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Renders a ReportSchema into a container and keeps a FormValues model current as the user types.
+// Every input writes straight into the model, so submitting is ReportSchema.encode() over the
+// model with no view walk, and entries removed from a group simply leave the model.
+public final class SchemaForm {
+
+    private static final String TAG = "SchemaForm";
+
+    private final Context context;
+    private final ReportSchema schema;
+    private final LinearLayout container;
+    private final boolean readOnly;
+    private final LayoutInflater inflater;
+
+    // string-array resource name -> options, resolved once per form
+    private final Map<String, String[]> options = new HashMap<>();
+    // Report-level inputs, for setText() and validation errors
+    private final Map<String, EditText> topInputs = new HashMap<>();
+    // Reading rows by readingKey(), and group sections by group key, for validation errors
+    private final Map<String, EditText[]> readingInputs = new HashMap<>();
+    private final Map<String, GroupSection> groups = new HashMap<>();
+    private FormValues values;
+    private int rows;
+    private Runnable onChange;
+    // True while inputs are filled from the model; their watchers then write nothing back
+    private boolean binding;
+
+    public SchemaForm(Context context, ReportSchema schema, LinearLayout container, boolean readOnly) {
+        this.context = context;
+        this.schema = schema;
+        this.container = container;
+        this.readOnly = readOnly;
+        this.inflater = LayoutInflater.from(context);
+    }
+
+    // --- Render the whole form for `values` (schema.blank() or schema.decode(...)) ---
+    public void bind(FormValues values) {
+        long start = System.nanoTime();
+        this.values = values;
+        rows = 0;
+        topInputs.clear();
+        readingInputs.clear();
+        groups.clear();
+        container.removeAllViews();
+        fillInputs(() -> renderRows(schema.topLevel(), new Slot(values.fields), container, new ArrayList<>()));
+        Log.d(TAG, schema.agency + " form: " + rows + " rows in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    public FormValues values() {
+        return values;
+    }
+
+    // Called on the main thread after each user edit (not for values set while binding)
+    public void setOnChangeListener(Runnable onChange) {
+        this.onChange = onChange;
+    }
+
+    // Sets a report-level text field, e.g. a default taken from the incident
+    public void setText(String key, String text) {
+        values.fields.put(key, text);
+        EditText input = topInputs.get(key);
+        if (input != null) fillInputs(() -> input.setText(text));
+    }
+
+    // Flags the first required field left blank, then the first reading that is not a number in
+    // range (opening its entry); true when the form can be submitted
+    public boolean validate() {
+        ReportSchema.Field missing = schema.firstMissing(values);
+        if (missing != null) {
+            EditText input = topInputs.get(missing.key);
+            if (input != null) {
+                input.setError(missing.label + " is required");
+                input.requestFocus();
+            }
+            return false;
+        }
+
+        ReportSchema.Invalid invalid = schema.firstInvalidReading(values);
+        if (invalid == null) return true;
+        GroupSection section = invalid.group != null ? groups.get(invalid.group) : null;
+        if (section != null && section.open != invalid.entry) section.expand(invalid.entry);
+        EditText[] inputs = readingInputs.get(readingKey(invalid.field));
+        if (inputs != null && invalid.take < inputs.length) {
+            inputs[invalid.take].setError(invalid.field.label + ": " + invalid.message);
+            inputs[invalid.take].requestFocus();
+        }
+        return false;
+    }
+
+    private void renderRows(List<ReportSchema.Field> fields, Slot slot, LinearLayout parent, List<Runnable> refreshers) {
+        for (ReportSchema.Field field : fields) {
+            rows++;
+            switch (field.type) {
+                case SECTION:
+                    TextView header = (TextView) inflater.inflate(R.layout.form_section_header, parent, false);
+                    header.setText(field.label);
+                    parent.addView(header);
+                    break;
+                case GROUP:
+                    groups.put(field.key, new GroupSection(field, parent));
+                    break;
+                case CHOICE:
+                    renderChoice(field, slot, parent, refreshers);
+                    break;
+                case READINGS:
+                case READING_TIMES:
+                    renderReadings(field, slot, parent, refreshers);
+                    break;
+                default:
+                    EditText input = renderInput(field, slot, parent, refreshers);
+                    if (field.group == null) topInputs.put(field.key, input);
+                    break;
+            }
+        }
+    }
+
+    // TEXT, MULTILINE, NUMBER, TIME and MULTI_CHOICE all edit one string
+    private EditText renderInput(ReportSchema.Field field, Slot slot, LinearLayout parent, List<Runnable> refreshers) {
+        View row = inflater.inflate(R.layout.form_field_text, parent, false);
+        ((TextView) row.findViewById(R.id.formFieldLabel)).setText(field.label);
+        EditText input = row.findViewById(R.id.formFieldInput);
+
+        switch (field.type) {
+            case MULTILINE:
+                input.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_MULTI_LINE
+                        | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES);
+                input.setMinLines(3);
+                break;
+            case NUMBER:
+                input.setInputType(InputType.TYPE_CLASS_NUMBER);
+                break;
+            case TIME:
+            case MULTI_CHOICE:
+                // Set through a picker, never typed
+                input.setFocusable(false);
+                input.setOnClickListener(v -> {
+                    if (field.type == ReportSchema.Type.TIME) pickTime(input);
+                    else pickMany(field, input);
+                });
+                break;
+            default:
+                input.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_CAP_WORDS);
+                break;
+        }
+
+        Runnable refresh = () -> {
+            Object current = slot.values.get(field.key);
+            input.setText(current instanceof String ? (String) current : "");
+            input.setError(null);
+        };
+        refresh.run();
+        refreshers.add(refresh);
+        input.addTextChangedListener(new AfterTextChanged(text -> put(slot.values, field.key, text)));
+        input.setEnabled(!readOnly);
+        parent.addView(row);
+        return input;
+    }
+
+    private void renderChoice(ReportSchema.Field field, Slot slot, LinearLayout parent, List<Runnable> refreshers) {
+        View row = inflater.inflate(R.layout.form_field_choice, parent, false);
+        ((TextView) row.findViewById(R.id.formFieldLabel)).setText(field.label);
+        Spinner spinner = row.findViewById(R.id.formFieldChoice);
+
+        String[] choices = options(field);
+        spinner.setAdapter(new ArrayAdapter<>(context, android.R.layout.simple_spinner_dropdown_item, choices));
+        Runnable refresh = () -> {
+            int selected = Math.max(0, Arrays.asList(choices).indexOf(slot.values.get(field.key)));
+            spinner.setSelection(selected, false);
+            // An untouched spinner still submits its shown option, as the hand-wired forms did
+            if (choices.length > 0) slot.values.put(field.key, choices[selected]);
+        };
+        refresh.run();
+        refreshers.add(refresh);
+
+        spinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> adapterView, View view, int position, long id) {
+                put(slot.values, field.key, choices[position]);
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> adapterView) {}
+        });
+        spinner.setEnabled(!readOnly);
+        parent.addView(row);
+    }
+
+    private void renderReadings(ReportSchema.Field field, Slot slot, LinearLayout parent, List<Runnable> refreshers) {
+        View row = inflater.inflate(R.layout.row_vital_sign_input, parent, false);
+        ((TextView) row.findViewById(R.id.lblParameter)).setText(field.label);
+
+        // Single readings are typed on the number pad; "120/80" and "10:15" need the slash and colon
+        VitalSign sign = VitalSign.forKey(field.key);
+        int inputType = sign != null && !sign.isPair()
+                ? InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_DECIMAL
+                : InputType.TYPE_CLASS_DATETIME | InputType.TYPE_DATETIME_VARIATION_NORMAL;
+
+        int[] ids = {R.id.inputTime1, R.id.inputTime2, R.id.inputTime3};
+        EditText[] inputs = new EditText[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            inputs[i] = row.findViewById(ids[i]);
+            inputs[i].setInputType(inputType);
+        }
+        readingInputs.put(readingKey(field), inputs);
+
+        Runnable refresh = () -> {
+            List<String> takes = takes(slot.values, field.key);
+            for (int i = 0; i < inputs.length; i++) {
+                inputs[i].setText(takes.get(i));
+                inputs[i].setError(null);
+            }
+        };
+        refresh.run();
+        refreshers.add(refresh);
+        for (int i = 0; i < inputs.length; i++) {
+            final int take = i;
+            inputs[i].addTextChangedListener(new AfterTextChanged(text -> {
+                if (binding) return;
+                List<String> takes = takes(slot.values, field.key);
+                if (takes.get(take).equals(text)) return;
+                takes.set(take, text);
+                changed();
+            }));
+            inputs[i].setEnabled(!readOnly);
+        }
+        parent.addView(row);
+    }
+
+    private static String readingKey(ReportSchema.Field field) {
+        return field.group != null ? field.group + "/" + field.key : field.key;
+    }
+
+    // Model writes from widgets; rebinding or re-selecting the same value is not an edit
+    private void put(Map<String, Object> target, String key, String value) {
+        if (binding || value.equals(target.get(key))) return;
+        target.put(key, value);
+        changed();
+    }
+
+    private void changed() {
+        if (onChange != null) onChange.run();
+    }
+
+    // Runs a render or refresh pass: an empty field's setText("") must not store "" over an
+    // absent key or count as an edit. Nested passes (a group opening while binding) keep the flag.
+    private void fillInputs(Runnable pass) {
+        boolean outer = binding;
+        binding = true;
+        try {
+            pass.run();
+        } finally {
+            binding = outer;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> takes(Map<String, Object> target, String key) {
+        Object stored = target.get(key);
+        List<String> takes = stored instanceof List ? (List<String>) stored : new ArrayList<>();
+        while (takes.size() < ReportSchema.READINGS_PER_ROW) takes.add("");
+        target.put(key, takes);
+        return takes;
+    }
+
+    // --- Repeatable group ---
+    // Entries are one-line summary rows; tapping one opens the group's single editor under it.
+    // The editor is inflated on first open and afterwards only rebound to the tapped entry, so a
+    // 40-patient report costs 40 small rows plus one editor instead of 40 full patient cards.
+    // Entry state lives in values.entries(group); rows and editor hold none of it.
+    private final class GroupSection {
+        final ReportSchema.Field group;
+        final LinearLayout entries;
+        final List<View> entryRows = new ArrayList<>();
+        // Editor inputs write through this; pointing it at another entry rebinds the editor
+        final Slot slot = new Slot(null);
+        final List<Runnable> refreshers = new ArrayList<>();
+        View editor;
+        int open = -1;
+
+        GroupSection(ReportSchema.Field group, LinearLayout parent) {
+            this.group = group;
+            View section = inflater.inflate(R.layout.form_group, parent, false);
+            ((TextView) section.findViewById(R.id.formGroupTitle)).setText(group.label);
+            entries = section.findViewById(R.id.formGroupEntries);
+
+            for (int i = 0; i < values.entries(group.key).size(); i++) addRow();
+            // A lone entry (a new report's blank one, or the common single patient) opens directly
+            if (entryRows.size() == 1) expand(0);
+
+            Button add = section.findViewById(R.id.formGroupAdd);
+            add.setText("+ Add " + group.options);
+            add.setOnClickListener(v -> {
+                values.addEntry(group.key);
+                addRow();
+                expand(entryRows.size() - 1);
+                changed();
+            });
+            add.setVisibility(readOnly ? View.GONE : View.VISIBLE);
+            parent.addView(section);
+        }
+
+        private void addRow() {
+            View row = inflater.inflate(R.layout.form_group_row, entries, false);
+            row.setOnClickListener(v -> {
+                int index = entryRows.indexOf(row);
+                if (index == open) collapse();
+                else expand(index);
+            });
+            View remove = row.findViewById(R.id.btnRemoveEntry);
+            remove.setVisibility(readOnly ? View.GONE : View.VISIBLE);
+            remove.setOnClickListener(v -> remove(entryRows.indexOf(row)));
+            entryRows.add(row);
+            entries.addView(row);
+            summarize(entryRows.size() - 1);
+        }
+
+        private void summarize(int index) {
+            View row = entryRows.get(index);
+            String summary = schema.summary(group.key, values.entries(group.key).get(index));
+            ((TextView) row.findViewById(R.id.entryRowTitle)).setText(group.options + " " + (index + 1));
+            ((TextView) row.findViewById(R.id.entryRowSummary)).setText(summary.isEmpty() ? "Tap to fill in" : summary);
+        }
+
+        private void expand(int index) {
+            collapse();
+            slot.values = values.entries(group.key).get(index);
+            if (editor == null) {
+                editor = inflater.inflate(R.layout.form_group_entry, entries, false);
+                fillInputs(() -> renderRows(schema.fieldsOf(group.key), slot, editor.findViewById(R.id.formEntryFields), refreshers));
+                editor.findViewById(R.id.entryHeaderTitle).setOnClickListener(v -> collapse());
+                View remove = editor.findViewById(R.id.btnRemoveEntry);
+                remove.setVisibility(readOnly ? View.GONE : View.VISIBLE);
+                remove.setOnClickListener(v -> remove(open));
+            } else {
+                fillInputs(() -> {
+                    for (Runnable refresh : refreshers) refresh.run();
+                });
+            }
+            ((TextView) editor.findViewById(R.id.entryHeaderTitle)).setText(group.options + " " + (index + 1));
+
+            View row = entryRows.get(index);
+            row.setVisibility(View.GONE);
+            entries.addView(editor, entries.indexOfChild(row) + 1);
+            open = index;
+        }
+
+        private void collapse() {
+            if (open < 0) return;
+            editor.clearFocus();
+            entries.removeView(editor);
+            entryRows.get(open).setVisibility(View.VISIBLE);
+            summarize(open);
+            open = -1;
+        }
+
+        private void remove(int index) {
+            if (index < 0) return;
+            collapse();
+            values.entries(group.key).remove(index);
+            entries.removeView(entryRows.remove(index));
+            for (int i = index; i < entryRows.size(); i++) summarize(i);
+            changed();
+        }
+    }
+
+    private String[] options(ReportSchema.Field field) {
+        String[] cached = options.get(field.options);
+        if (cached == null) {
+            int id = context.getResources().getIdentifier(field.options, "array", context.getPackageName());
+            cached = id != 0 ? context.getResources().getStringArray(id) : new String[0];
+            options.put(field.options, cached);
+        }
+        return cached;
+    }
+
+    private void pickTime(EditText input) {
+        Calendar now = Calendar.getInstance();
+        TimePickerDialog picker = new TimePickerDialog(context, (timePicker, hour, minute) ->
+                input.setText(String.format(Locale.US, "%02d:%02d", hour, minute)),
+                now.get(Calendar.HOUR_OF_DAY), now.get(Calendar.MINUTE), true);
+        picker.setTitle("Select Time");
+        picker.show();
+    }
+
+    // Checked state is re-read from the field's text each time the dialog opens
+    private void pickMany(ReportSchema.Field field, EditText input) {
+        String[] choices = options(field);
+        boolean[] checked = new boolean[choices.length];
+        List<String> current = Arrays.asList(input.getText().toString().split(",\\s*"));
+        for (int i = 0; i < choices.length; i++) checked[i] = current.contains(choices[i]);
+
+        new AlertDialog.Builder(context)
+                .setTitle("Select " + field.label)
+                .setMultiChoiceItems(choices, checked, (dialog, position, isChecked) -> checked[position] = isChecked)
+                .setPositiveButton("OK", (dialog, which) -> {
+                    StringBuilder joined = new StringBuilder();
+                    for (int i = 0; i < choices.length; i++) {
+                        if (!checked[i]) continue;
+                        if (joined.length() > 0) joined.append(", ");
+                        joined.append(choices[i]);
+                    }
+                    input.setText(joined.toString());
+                })
+                .setNegativeButton("Dismiss", null)
+                .setNeutralButton("Clear All", (dialog, which) -> input.setText(""))
+                .show();
+    }
+
+    // The map a set of inputs currently writes into
+    private static final class Slot {
+        Map<String, Object> values;
+
+        Slot(Map<String, Object> values) {
+            this.values = values;
+        }
+    }
+
+    private interface TextSink {
+        void accept(String text);
+    }
+
+    private static final class AfterTextChanged implements TextWatcher {
+        private final TextSink sink;
+
+        AfterTextChanged(TextSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+        @Override
+        public void afterTextChanged(Editable s) {
+            sink.accept(s.toString());
+        }
+    }
+}
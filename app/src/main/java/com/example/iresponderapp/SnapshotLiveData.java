@@ -0,0 +1,44 @@
+package com.example.iresponderapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+// Shared, lifecycle-aware value listener on one query (see IresponderRepository)
+public class SnapshotLiveData extends LingeringLiveData<DataSnapshot> {
+
+    private static final String TAG = "SnapshotLiveData";
+
+    private final Query query;
+    private final ValueEventListener listener = new ValueEventListener() {
+        @Override
+        public void onDataChange(@NonNull DataSnapshot snapshot) {
+            setValue(snapshot);
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            // Permission or index errors: the observers keep the last value
+            Log.w(TAG, "Listener on " + query.getRef().getPath() + " cancelled: " + error.getMessage());
+        }
+    };
+
+    SnapshotLiveData(Query query) {
+        this.query = query;
+    }
+
+    @Override
+    protected void attach() {
+        query.addValueEventListener(listener);
+    }
+
+    @Override
+    protected void detach() {
+        query.removeEventListener(listener);
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.iresponderapp;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.iresponderapp.core.IncidentArchiver;
+import com.example.iresponderapp.core.ReportSerializer;
+import com.example.iresponderapp.core.StoreQueries;
+import com.example.iresponderapp.core.SubmittedReport;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Time-ordered, paginated list of one responder's submitted reports across all agencies.
+// Reads the ReportsByResponder/{uid} index (written by ReportOutbox with each submission)
+// newest first, PAGE_SIZE at a time, using a (submittedAt, key) cursor. Loaded pages live in
+// this process-wide instance, so resuming the Forms tab only fetches reports newer than the
+// newest one already loaded instead of re-reading three whole agency folders.
+public class SubmittedReportFeed {
+
+    public interface Listener {
+        void onReportsChanged(List<SubmittedReport> reports, boolean hasMore);
+        void onError(DatabaseError error);
+    }
+
+    public static final int PAGE_SIZE = 20;
+    // Migrations/reportsIndex/{uid} is true once the uid's pre-index reports have been indexed
+    public static final String MIGRATION = "Migrations/reportsIndex";
+    private static final String TAG = "SubmittedReportFeed";
+
+    private static SubmittedReportFeed instance;
+
+    private final String uid;
+    private final DatabaseReference indexRef;
+
+    private final Map<String, SubmittedReport> byKey = new HashMap<>();
+    private List<SubmittedReport> sorted = Collections.emptyList();
+    private final LatestOnly<List<SubmittedReport>> sorter = new LatestOnly<>();
+
+    // Cursors: oldest loaded entry (for the next page) and newest (for refreshes)
+    private Long oldestAt;
+    private String oldestKey;
+    private Long newestAt;
+    private String newestKey;
+
+    private boolean hasMore = true;
+    private boolean loading = false;
+    private boolean migrationChecked = false;
+    private Listener listener;
+
+    public static synchronized SubmittedReportFeed get(String uid) {
+        if (instance == null || !instance.uid.equals(uid)) instance = new SubmittedReportFeed(uid);
+        return instance;
+    }
+
+    private SubmittedReportFeed(String uid) {
+        this.uid = uid;
+        indexRef = IresponderRepository.root().child(StoreQueries.REPORTS_BY_RESPONDER).child(uid);
+    }
+
+    public void setListener(@Nullable Listener listener) {
+        this.listener = listener;
+    }
+
+    public List<SubmittedReport> getReports() {
+        return sorted;
+    }
+
+    public boolean isEmpty() {
+        return byKey.isEmpty();
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    // --- Older page: entries strictly before the oldest loaded one ---
+    public void loadNextPage() {
+        if (loading || !hasMore) return;
+        if (!migrationChecked) {
+            checkMigration();
+            return;
+        }
+        loading = true;
+
+        Query query = FirebaseRealtimeStore.unwrap(
+                StoreQueries.reportIndexPage(IresponderRepository.store(), uid, oldestAt, oldestKey, PAGE_SIZE));
+
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                decodeOffMain(snapshot, (keys, page) -> {
+                    loading = false;
+
+                    if (!page.isEmpty()) {
+                        // Children arrive oldest first, so the first one is the next cursor
+                        oldestAt = page.get(0).submittedAt;
+                        oldestKey = keys.get(0);
+                    }
+                    for (int i = 0; i < page.size(); i++) add(keys.get(i), page.get(i));
+
+                    hasMore = page.size() == PAGE_SIZE;
+                    publish();
+                });
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                loading = false;
+                if (listener != null) listener.onError(error);
+            }
+        });
+    }
+
+    // --- Newer entries only: new submissions and edited reports since the last load ---
+    public void refreshNewer() {
+        if (newestAt == null) {
+            loadNextPage();
+            return;
+        }
+
+        FirebaseRealtimeStore.unwrap(StoreQueries.reportIndexNewer(IresponderRepository.store(), uid, newestAt, newestKey))
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        if (!snapshot.hasChildren()) return;
+                        decodeOffMain(snapshot, (keys, page) -> {
+                            for (int i = 0; i < page.size(); i++) add(keys.get(i), page.get(i));
+                            publish();
+                        });
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        if (listener != null) listener.onError(error);
+                    }
+                });
+    }
+
+    private void add(String indexKey, SubmittedReport report) {
+        byKey.put(indexKey, report);
+        if (newestAt == null || report.submittedAt > newestAt
+                || (report.submittedAt == newestAt && indexKey.compareTo(newestKey) > 0)) {
+            newestAt = report.submittedAt;
+            newestKey = indexKey;
+        }
+    }
+
+    // Sorting runs on the worker pool; a newer publish supersedes one still sorting
+    private void publish() {
+        List<SubmittedReport> reports = new ArrayList<>(byKey.values());
+        boolean more = hasMore;
+        sorter.submit(() -> {
+            Collections.sort(reports, ReportSerializer.NEWEST_FIRST);
+            return Collections.unmodifiableList(reports);
+        }, result -> {
+            sorted = result;
+            if (listener != null) listener.onReportsChanged(sorted, more);
+        });
+    }
+
+    private interface PageDecoded {
+        void onDecoded(List<String> keys, List<SubmittedReport> page);
+    }
+
+    // Decodes a result set on the worker pool, then hands it back on the main thread
+    private static void decodeOffMain(DataSnapshot snapshot, PageDecoded callback) {
+        AppExecutors.worker().execute(() -> {
+            List<String> keys = new ArrayList<>();
+            List<SubmittedReport> page = new ArrayList<>();
+            for (DataSnapshot data : snapshot.getChildren()) {
+                keys.add(data.getKey());
+                page.add(decode(data));
+            }
+            AppExecutors.main(() -> callback.onDecoded(keys, page));
+        });
+    }
+
+    private static SubmittedReport decode(DataSnapshot data) {
+        Long submittedAt = data.child("submittedAt").getValue(Long.class);
+        return new SubmittedReport(
+                data.child("agency").getValue(String.class),
+                data.child("incidentKey").getValue(String.class),
+                data.child("displayName").getValue(String.class),
+                data.child("timestamp").getValue(String.class),
+                submittedAt != null ? submittedAt : 0,
+                data.child(IncidentArchiver.ARCHIVE_FIELD).getValue(String.class));
+    }
+
+    // --- One-time migration: index reports filed before ReportsByResponder existed ---
+    // Gated on a per-user flag, not on an empty index: once one report had gone through the index,
+    // "index is empty" never held again and every older report stayed missing from the Forms tab.
+    private void checkMigration() {
+        loading = true;
+        IresponderRepository.root().child(MIGRATION).child(uid)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        Boolean done = snapshot.getValue(Boolean.class);
+                        if (done != null && done) {
+                            migrationDone();
+                            return;
+                        }
+                        backfillFromAgencyFolders();
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        loading = false;
+                        if (listener != null) listener.onError(error);
+                    }
+                });
+    }
+
+    // Entries already in the index keep their submittedAt; only missing ones are written
+    private void backfillFromAgencyFolders() {
+        indexRef.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot indexed) {
+                Map<String, Object> update = new HashMap<>();
+                int[] pending = {ReportSerializer.AGENCIES.length};
+                boolean[] failed = {false};
+
+                for (String agency : ReportSerializer.AGENCIES) {
+                    FirebaseRealtimeStore.unwrap(StoreQueries.agencyReportsBy(IresponderRepository.store(), agency, uid))
+                            .addListenerForSingleValueEvent(new ValueEventListener() {
+                                @Override
+                                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                                    for (DataSnapshot data : snapshot.getChildren()) {
+                                        if (!(data.getValue() instanceof Map)) continue;
+                                        String incidentKey = data.getKey();
+                                        String indexKey = ReportSerializer.indexKey(agency, incidentKey);
+                                        if (indexed.hasChild(indexKey)) continue;
+                                        @SuppressWarnings("unchecked")
+                                        Map<String, Object> report = (Map<String, Object>) data.getValue();
+                                        update.put(StoreQueries.REPORTS_BY_RESPONDER + "/" + uid + "/" + indexKey,
+                                                ReportSerializer.indexEntry(agency, incidentKey, report,
+                                                        ReportSerializer.parseLegacyTimestamp(report.get("timestamp"))));
+                                    }
+                                    if (--pending[0] == 0) finishBackfill(update, failed[0]);
+                                }
+
+                                @Override
+                                public void onCancelled(@NonNull DatabaseError error) {
+                                    Log.w(TAG, agency + " reports not indexed: " + error.getMessage());
+                                    failed[0] = true;
+                                    if (--pending[0] == 0) finishBackfill(update, failed[0]);
+                                }
+                            });
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.w(TAG, "Report index unreadable, backfill skipped: " + error.getMessage());
+                migrationDone();
+            }
+        });
+    }
+
+    // The entries and the flag go out together; after a failed agency read the flag is left unset
+    // so the next launch tries again. Either way this instance moves on to the index.
+    private void finishBackfill(Map<String, Object> update, boolean failed) {
+        if (!failed) update.put(MIGRATION + "/" + uid, true);
+        if (update.isEmpty()) {
+            migrationDone();
+            return;
+        }
+        IresponderRepository.root().updateChildren(update).addOnCompleteListener(task -> {
+            if (!task.isSuccessful()) Log.w(TAG, "Report index backfill not written", task.getException());
+            migrationDone();
+        });
+    }
+
+    private void migrationDone() {
+        migrationChecked = true;
+        loading = false;
+        loadNextPage();
+    }
+}
@@ -17,24 +17,29 @@ import android.widget.Spinner;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import com.google.firebase.database.DataSnapshot;
+import com.example.iresponderapp.core.EpochTimes;
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.IncidentSummaries;
+import com.example.iresponderapp.core.Responder;
+import com.example.iresponderapp.core.ResponderMatcher;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
+import com.google.firebase.database.ServerValue;
 import com.squareup.picasso.Picasso;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class activity_incident_details extends AppCompatActivity {
 
     private static final String TAG = "IncidentDetailsAct";
 
     private DatabaseReference incidentRef;
-    private DatabaseReference respondersRef;
+    // What the screen shows; an action goes ahead only while the record still matches it
+    private Incident shownIncident;
 
     private TextView detail_incidentCode, detail_status, detail_incidentType,
             detail_reporterName, detail_dateTime, detail_additionalInfo;
@@ -49,6 +54,9 @@ public class activity_incident_details extends AppCompatActivity {
     private String incidentKey;
     private String incidentAgency;
     private String incidentLocation;
+    // null when neither the incident nor its address names a municipality
+    private String incidentMunicipality;
+    private final LatestOnly<Map<String, String>> rosterLabels = new LatestOnly<>();
 
 
     @Override
@@ -76,10 +84,8 @@ public class activity_incident_details extends AppCompatActivity {
         incidentKey = getIntent().getStringExtra("INCIDENT_KEY");
 
         if (incidentKey != null) {
-            incidentRef = FirebaseDatabase.getInstance().getReference("IresponderApp")
-                    .child("Incidents_")
+            incidentRef = IresponderRepository.incidents()
                     .child(incidentKey);
-            respondersRef = FirebaseDatabase.getInstance().getReference("IresponderApp").child("Responders");
 
             loadIncidentDetails();
         } else {
@@ -89,83 +95,66 @@ public class activity_incident_details extends AppCompatActivity {
     }
 
     private void loadIncidentDetails() {
-        incidentRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-
-                    String code = getIntent().getStringExtra("INCIDENT_CODE");
-                    String status = snapshot.child("Status").getValue(String.class);
-                    String type = snapshot.child("incidentType").getValue(String.class);
-                    String reporter = snapshot.child("reporterName").getValue(String.class);
-                    String date = snapshot.child("date").getValue(String.class);
-                    String time = snapshot.child("Time").getValue(String.class);
-                    String address = snapshot.child("address").getValue(String.class);
-                    incidentLatitude = snapshot.child("latitude").getValue(String.class);
-                    incidentLongitude = snapshot.child("longitude").getValue(String.class);
-                    String info = snapshot.child("additionalInfo").getValue(String.class);
-                    String imageUrl = snapshot.child("imageURL").getValue(String.class);
-
-                    // --- Derive Agency ---
-                    if ("Fire".equalsIgnoreCase(type)) {
-                        incidentAgency = "BFP";
-                    } else if ("Crime".equalsIgnoreCase(type)) {
-                        incidentAgency = "PNP";
-                    } else {
-                        incidentAgency = "MDRRMO";
-                    }
-
-                    // --- FIX: Detect Location dynamically from Address ---
-                    if (address != null) {
-                        String addrLower = address.toLowerCase();
-                        if (addrLower.contains("daet")) {
-                            incidentLocation = "Daet";
-                        } else if (addrLower.contains("labo")) {
-                            incidentLocation = "Labo";
-                        } else if (addrLower.contains("basud")) {
-                            incidentLocation = "Basud";
-                        } else {
-                            incidentLocation = "Daet"; // Default Fallback
-                        }
-                    } else {
-                        incidentLocation = "Daet";
-                    }
+        // Shows IncidentCache's copy at once, then the live record (another receiver may have acted on it)
+        IresponderRepository.incidentRecord(incidentRef).observe(this, incident -> {
+            if (incident == null) {
+                Toast.makeText(this, "Incident data not found.", Toast.LENGTH_SHORT).show();
+                finish();
+                return;
+            }
+            showIncident(incident);
+        });
+    }
 
-                    // --- Populate Views ---
-                    detail_incidentCode.setText("Incident #" + code);
-                    detail_status.setText("Status: " + status);
-                    detail_incidentType.setText("Type: " + type);
-                    detail_reporterName.setText("Reporter: " + reporter);
-                    detail_dateTime.setText("Date/Time: " + date + ", " + time);
-                    detail_additionalInfo.setText("Additional Info: " + info);
+    private void showIncident(Incident incident) {
+        shownIncident = incident;
+        String code = getIntent().getStringExtra("INCIDENT_CODE");
+        String status = incident.status;
+        String type = incident.incidentType;
+        String reporter = incident.reporterName;
+        String date = incident.date;
+        String time = incident.time;
+        String address = incident.address;
+        incidentLatitude = incident.latitude;
+        incidentLongitude = incident.longitude;
+        String info = incident.additionalInfo;
+        String imageUrl = incident.imageURL;
+
+        // --- Derive Agency ---
+        if ("Fire".equalsIgnoreCase(type)) {
+            incidentAgency = "BFP";
+        } else if ("Crime".equalsIgnoreCase(type)) {
+            incidentAgency = "PNP";
+        } else {
+            incidentAgency = "MDRRMO";
+        }
 
-                    detail_address_full.setText("Address: " + address);
-                    detail_coordinate_display.setText(incidentLatitude + ", " + incidentLongitude);
+        // --- Municipality: stored on the incident, else named in the address ---
+        incidentMunicipality = incident.municipality;
+        incidentLocation = incidentMunicipality != null ? incidentMunicipality : "Daet"; // Default Fallback
 
-                    // Show the derived location
-                    detail_location_context.setText(incidentLocation + ", Camarines Norte");
+        // --- Populate Views ---
+        detail_incidentCode.setText("Incident #" + code);
+        detail_status.setText("Status: " + status);
+        detail_incidentType.setText("Type: " + type);
+        detail_reporterName.setText("Reporter: " + reporter);
+        detail_dateTime.setText("Date/Time: " + date + ", " + time);
+        detail_additionalInfo.setText("Additional Info: " + info);
 
-                    if (imageUrl != null && !imageUrl.isEmpty()) {
-                        Picasso.get().load(imageUrl).into(detail_incidentImage);
-                    } else {
-                        detail_incidentImage.setImageResource(R.drawable.placeholder_image);
-                    }
+        detail_address_full.setText("Address: " + address);
+        detail_coordinate_display.setText(incidentLatitude + ", " + incidentLongitude);
 
-                    // --- Attach Click Listeners ---
-                    setupActionListeners();
+        // Show the derived location
+        detail_location_context.setText(incidentLocation + ", Camarines Norte");
 
-                } else {
-                    Toast.makeText(activity_incident_details.this, "Incident data not found.", Toast.LENGTH_SHORT).show();
-                    finish();
-                }
-            }
+        if (imageUrl != null && !imageUrl.isEmpty()) {
+            Picasso.get().load(imageUrl).into(detail_incidentImage);
+        } else {
+            detail_incidentImage.setImageResource(R.drawable.placeholder_image);
+        }
 
-            @Override
-            public void onCancelled(DatabaseError error) {
-                Log.e(TAG, "Database Error: " + error.getMessage());
-                Toast.makeText(activity_incident_details.this, "Failed to load details: " + error.getMessage(), Toast.LENGTH_LONG).show();
-            }
-        });
+        // --- Attach Click Listeners ---
+        setupActionListeners();
     }
 
     private void setupActionListeners() {
@@ -201,43 +190,20 @@ public class activity_incident_details extends AppCompatActivity {
     // --- ESCALATION: Step 1 (Fetch Responders) ---
     private void showAssignmentDialog(String key, String code, String agency, String location) {
 
-        // Fetch ALL responders and then filter locally by agency AND location.
-        respondersRef.addListenerForSingleValueEvent(new ValueEventListener() {
+        // One indexed (and cached) read of just the responders with this agency AND location
+        ResponderDirectory.getRoster(agency, location, new ResponderDirectory.RosterCallback() {
             @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                final Map<String, String> responderMap = new HashMap<>();
-                final List<String> responderNames = new ArrayList<>();
-
-                // Add default "unassigned" option
-                responderNames.add("--- Select Responder ---");
-                responderMap.put("--- Select Responder ---", null);
-
-                for (DataSnapshot data : snapshot.getChildren()) {
-                    String rAgency = data.child("agency").getValue(String.class);
-                    String rLocation = data.child("location").getValue(String.class);
-                    String rFullName = data.child("fullName").getValue(String.class);
-
-                    // Ensure string safety
-                    if (rAgency != null && rLocation != null && rFullName != null) {
-
-                        boolean agencyMatches = rAgency.trim().equalsIgnoreCase(agency);
-                        boolean locationMatches = rLocation.trim().equalsIgnoreCase(location);
-
-                        // Filter by matching both AGENCY and LOCATION
-                        if (agencyMatches && locationMatches) {
-                            String uniqueName = rFullName + " (" + rAgency + " " + rLocation + ")";
-                            responderNames.add(uniqueName);
-                            responderMap.put(uniqueName, data.getKey()); // Store UID as value
-                        }
-                    }
-                }
-
-                // Step 2: Display the dialog with the filtered list
-                displayResponderDialog(key, code, responderNames, responderMap, agency, location);
+            public void onRoster(List<Responder> responders) {
+                // Build the labels off the main thread; a second tap supersedes the first
+                rosterLabels.submit(() -> ResponderMatcher.assignmentChoices(responders), responderMap -> {
+                    if (isFinishing()) return;
+                    // Step 2: Display the dialog with the filtered list
+                    displayResponderDialog(key, code, new ArrayList<>(responderMap.keySet()), responderMap, agency, location);
+                });
             }
 
             @Override
-            public void onCancelled(DatabaseError error) {
+            public void onError(DatabaseError error) {
                 Toast.makeText(activity_incident_details.this, "Failed to fetch responders: " + error.getMessage(), Toast.LENGTH_SHORT).show();
             }
         });
@@ -277,13 +243,27 @@ public class activity_incident_details extends AppCompatActivity {
 
     // --- ESCALATION: Step 3 (Update Firebase) ---
     private void updateIncidentAssignment(String key, String code, String uid, String name) {
+        withCurrentIncident(previous -> assign(key, code, uid, name, previous));
+    }
+
+    // previous is the record as read from the server just now, so the counter of the responder it
+    // is taken from (see DashboardStats.recordAssignment) is the right one
+    private void assign(String key, String code, String uid, String name, Incident previous) {
+        String day = DashboardStats.todayKey();
+
         Map<String, Object> updates = new HashMap<>();
         updates.put("Status", "Assigned");
         updates.put("AssignedResponderUID", uid);
         updates.put("AssignedResponderName", name);
+        updates.put("assignedAt", ServerValue.TIMESTAMP);
+        updates.put("assignedDay", day);
+        updates.put(EpochTimes.UPDATED_AT, ServerValue.TIMESTAMP);
 
-        incidentRef.updateChildren(updates)
+        // The incident, its list summary and its municipality's queues change together
+        IresponderRepository.root().updateChildren(IncidentSummaries.incidentUpdate(key, incidentMunicipality, updates))
                 .addOnSuccessListener(aVoid -> {
+                    DashboardStats.recordAssignment(uid, day, previous);
+                    IncidentCache.remove(key);
                     Toast.makeText(this, code + " assigned to " + name + ".", Toast.LENGTH_LONG).show();
                     finish();
                 })
@@ -297,20 +277,63 @@ public class activity_incident_details extends AppCompatActivity {
         new AlertDialog.Builder(this)
                 .setTitle("Confirm Incident Rejection")
                 .setMessage("You are confirming that no responders will attend to the reported incident. The incident status will be marked as Rejected. Are you sure you want to reject this incident?")
-                .setPositiveButton("Yes, Reject Incident", (dialog, which) -> {
-                    incidentRef.child("Status").setValue("Rejected")
+                .setPositiveButton("Yes, Reject Incident", (dialog, which) -> withCurrentIncident(current -> {
+                    Map<String, Object> updates = new HashMap<>();
+                    updates.put("Status", "Rejected");
+                    updates.put(EpochTimes.UPDATED_AT, ServerValue.TIMESTAMP);
+
+                    IresponderRepository.root().updateChildren(IncidentSummaries.incidentUpdate(key, incidentMunicipality, updates))
                             .addOnSuccessListener(aVoid -> {
+                                IncidentCache.remove(key);
                                 Toast.makeText(this, code + " has been rejected.", Toast.LENGTH_LONG).show();
                                 finish();
                             })
                             .addOnFailureListener(e -> {
                                 Toast.makeText(this, "Failed to reject incident.", Toast.LENGTH_SHORT).show();
                             });
-                })
+                }))
                 .setNegativeButton("Cancel", null)
                 .show();
     }
 
+    private interface IncidentAction {
+        void run(Incident current);
+    }
+
+    // --- Re-read the record before acting on it ---
+    // The screen may still show a copy another receiver has since assigned or rejected; the live
+    // listener catches up eventually, but an action must not go out on the strength of it.
+    private void withCurrentIncident(IncidentAction action) {
+        incidentRef.get()
+                .addOnSuccessListener(snapshot -> {
+                    if (isFinishing()) return;
+                    if (!snapshot.exists()) {
+                        Toast.makeText(this, "This incident no longer exists.", Toast.LENGTH_SHORT).show();
+                        finish();
+                        return;
+                    }
+                    Incident current = IncidentSnapshots.fromSnapshot(snapshot);
+                    IncidentCache.put(current);
+                    if ("Completed".equalsIgnoreCase(current.status) || "Rejected".equalsIgnoreCase(current.status)) {
+                        showIncident(current);
+                        Toast.makeText(this, "This incident is already " + current.status + ".", Toast.LENGTH_LONG).show();
+                        return;
+                    }
+                    if (shownIncident == null
+                            || !Objects.equals(current.status, shownIncident.status)
+                            || !Objects.equals(current.assignedResponderUid, shownIncident.assignedResponderUid)) {
+                        showIncident(current);
+                        Toast.makeText(this, "This incident was just updated by someone else. Please review it again.", Toast.LENGTH_LONG).show();
+                        return;
+                    }
+                    action.run(current);
+                })
+                .addOnFailureListener(e -> {
+                    Log.w(TAG, "Incident " + incidentKey + " not re-read", e);
+                    Toast.makeText(this, "Could not check the incident, please try again.", Toast.LENGTH_SHORT).show();
+                });
+    }
+
     // =======================================================================
     //                        UTILITY METHODS (MAP FIX)
     // =======================================================================
@@ -14,9 +14,9 @@ import android.widget.Toast;
 import androidx.activity.EdgeToEdge;
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.iresponderapp.core.Municipalities;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
 
 public class receiverSignUp extends AppCompatActivity {
 
@@ -38,7 +38,7 @@ public class receiverSignUp extends AppCompatActivity {
         //   Firebase Setup
         // -------------------------
         mAuth = FirebaseAuth.getInstance();
-        dbRef = FirebaseDatabase.getInstance().getReference("IresponderApp").child("Receivers");
+        dbRef = IresponderRepository.receivers();
 
         // -------------------------
         //   Initialize UI
@@ -77,7 +77,9 @@ public class receiverSignUp extends AppCompatActivity {
                 "San Vicente",
                 "Santa Elena",
                 "Talisay",
-                "Vinzons"
+                "Vinzons",
+                // Provincial supervisors see every municipality's queue
+                Municipalities.PROVINCE_WIDE
         };
         ArrayAdapter<String> locationAdapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_dropdown_item, locations);
         locationSpinner.setAdapter(locationAdapter);
@@ -0,0 +1,29 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+// JMH micro-benchmarks for the :core hot paths. Run with ./gradlew :benchmark:jmh;
+// results land in build/results/jmh/results.json
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    jmh(project(":core"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    benchmarkMode.set(listOf("thrpt"))
+    timeUnit.set("s")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // gc.alloc.rate.norm = bytes allocated per operation
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    // e.g. ./gradlew :benchmark:jmh -Pjmh.includes=StatusFilter
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+}
@@ -0,0 +1,84 @@
+package com.example.iresponderapp.benchmark;
+
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.Responder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Synthetic, seeded fixtures shaped like the production nodes, so runs are comparable.
+final class Datasets {
+
+    static final String[] AGENCIES = {"PNP", "BFP", "MDRRMO"};
+    static final String[] LOCATIONS = {"Daet", "Labo", "Vinzons", "Talisay", "Basud", "Mercedes",
+            "Paracale", "Jose Panganiban", "Capalonga", "Santa Elena", "San Vicente", "San Lorenzo Ruiz"};
+    static final String[] STATUSES = {"Pending", "Assigned", "Completed", "Rejected", "Declined"};
+    static final String[] TYPES = {"Fire", "Crime", "Medical", "Flood", "Vehicular Accident"};
+
+    private Datasets() {}
+
+    // Raw Incidents_ children as a DataSnapshot's getValue() would return them
+    static List<Map<String, Object>> incidentFields(int count) {
+        Random random = new Random(42);
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> fields = new HashMap<>();
+            String agency = pick(random, AGENCIES);
+            fields.put("incidentType", pick(random, TYPES));
+            fields.put("date", "2025-" + two(1 + random.nextInt(12)) + "-" + two(1 + random.nextInt(28)));
+            fields.put("Time", two(random.nextInt(24)) + ":" + two(random.nextInt(60)));
+            fields.put("address", "Purok " + (1 + random.nextInt(7)) + ", " + pick(random, LOCATIONS));
+            fields.put("Status", pick(random, STATUSES));
+            fields.put("agency", agency);
+            fields.put("reporterName", "Reporter " + random.nextInt(5000));
+            fields.put("additionalInfo", "Caller reports incident near landmark #" + random.nextInt(100));
+            fields.put("imageURL", "https://example.invalid/incidents/" + i + ".jpg");
+            // Coordinates arrive as numbers from some clients
+            fields.put("latitude", 14.0 + random.nextDouble());
+            fields.put("longitude", 122.5 + random.nextDouble());
+            fields.put("AssignedResponderUID", "uid-" + random.nextInt(1000));
+            fields.put("AssignedResponderName", "Responder " + random.nextInt(1000));
+            fields.put("assignedAt", 1_733_000_000_000L + random.nextInt(1_000_000_000));
+            rows.add(fields);
+        }
+        return rows;
+    }
+
+    static List<String> keys(int count) {
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) keys.add(String.format("-Oinc%08d", i));
+        return keys;
+    }
+
+    static List<Incident> incidents(int count) {
+        List<Map<String, Object>> rows = incidentFields(count);
+        List<String> keys = keys(count);
+        List<Incident> incidents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) incidents.add(Incident.fromMap(keys.get(i), rows.get(i)));
+        return incidents;
+    }
+
+    // Mixed-case, padded agency/location values, as typed in by the registration form
+    static List<Responder> responders(int count) {
+        Random random = new Random(7);
+        List<Responder> responders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String agency = pick(random, AGENCIES);
+            String location = pick(random, LOCATIONS);
+            if (random.nextBoolean()) location = " " + location.toUpperCase() + " ";
+            responders.add(new Responder("uid-" + i, "Responder " + i, agency, location));
+        }
+        return responders;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String two(int value) {
+        return value < 10 ? "0" + value : Integer.toString(value);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.iresponderapp.benchmark;
+
+import com.example.iresponderapp.core.Incident;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Decoding a whole result set, as IncidentFeed and the Accomplished pager do per load
+@State(Scope.Benchmark)
+public class IncidentDecodeBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<String> keys;
+    private List<Map<String, Object>> rows;
+
+    @Setup
+    public void setUp() {
+        keys = Datasets.keys(size);
+        rows = Datasets.incidentFields(size);
+    }
+
+    @Benchmark
+    public List<Incident> decodeAll() {
+        List<Incident> decoded = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            decoded.add(Incident.fromMap(keys.get(i), rows.get(i)));
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.iresponderapp.benchmark;
+
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.IncidentListModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+// One child delta applied to a live list (IncidentFeed), and the per-burst snapshot it publishes
+@State(Scope.Benchmark)
+public class IncidentListModelBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Incident> incidents;
+    private IncidentListModel model;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        incidents = Datasets.incidents(size);
+        model = new IncidentListModel(null);
+        String previous = null;
+        for (Incident incident : incidents) {
+            model.add(incident, previous);
+            previous = incident.key;
+        }
+    }
+
+    // onChildChanged on a row anywhere in the list
+    @Benchmark
+    public boolean changeOne() {
+        next = (next + 7919) % size;
+        return model.change(incidents.get(next));
+    }
+
+    // onChildMoved to the front and back again: two shifts and the renumbering they cause
+    @Benchmark
+    public int moveOneAndBack() {
+        next = (next + 7919) % size;
+        Incident incident = incidents.get(next);
+        String previous = next == 0 ? null : incidents.get(next - 1).key;
+        model.move(incident.key, null);
+        model.move(incident.key, previous);
+        return model.size();
+    }
+
+    // The copy a publish makes after a change
+    @Benchmark
+    public List<Incident> changeThenSnapshot() {
+        next = (next + 7919) % size;
+        model.change(incidents.get(next));
+        return model.snapshot();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.iresponderapp.benchmark;
+
+import com.example.iresponderapp.core.FormValues;
+import com.example.iresponderapp.core.ReportSchema;
+import com.example.iresponderapp.core.ReportSchemas;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The model side of opening and submitting an MDRRMO form in edit mode: decoding the stored
+// report into FormValues and encoding them back, one pass over the schema each.
+@State(Scope.Benchmark)
+public class ReportFormBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int patients;
+
+    private final ReportSchema schema = ReportSchemas.MDRRMO;
+    private Map<String, Object> stored;
+    private FormValues values;
+
+    @Setup
+    public void setUp() {
+        stored = new HashMap<>();
+        stored.put("natureOfCall", "Emergency");
+        stored.put("incidentLocation", "Purok 3, Daet");
+        stored.put("narrative", "Responded to a two-vehicle collision.");
+        List<Map<String, Object>> list = new ArrayList<>(patients);
+        for (int i = 0; i < patients; i++) list.add(ReportSerializationBenchmark.patient(i));
+        stored.put("patients", list);
+        values = schema.decode(stored);
+    }
+
+    @Benchmark
+    public FormValues decode() {
+        return schema.decode(stored);
+    }
+
+    @Benchmark
+    public Map<String, Object> encode() {
+        return schema.encode(values, new HashMap<>());
+    }
+}
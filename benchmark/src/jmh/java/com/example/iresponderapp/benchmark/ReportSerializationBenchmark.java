@@ -0,0 +1,97 @@
+package com.example.iresponderapp.benchmark;
+
+import com.example.iresponderapp.core.ReportSerializer;
+import com.example.iresponderapp.core.VitalSign;
+import com.example.iresponderapp.core.VitalSigns;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Building an MDRRMO report body, then the multi-path update the outbox sends. The form's field
+// values are fixed strings here; ReportFormBenchmark covers the schema decode/encode around it.
+@State(Scope.Benchmark)
+public class ReportSerializationBenchmark {
+
+    // Three takes per sign, as typed; patients store them as the compact vitals node
+    static final String[][] READINGS = {
+            {"obs_time", "10:00", "10:15", "10:30"},
+            {"bp", "120/80", "118/76", "116/74"},
+            {"pulse_rate", "88", "92", "96"},
+            {"resp_rate", "18", "20", "22"},
+            {"spo2", "98", "97", "97"},
+            {"temp", "36.8", "37.1", "37.4"},
+            {"glucose", "110", "", ""},
+            {"pain", "7", "6", "4"},
+            {"cap_vital", "2", "2", "3"},
+    };
+
+    @Param({"1", "5", "20"})
+    public int patients;
+
+    @Benchmark
+    public Map<String, Object> mdrrmoSubmission() {
+        Map<String, Object> reportData = new HashMap<>();
+        reportData.put("incidentKey", "-Oinc00000001");
+        reportData.put("responderUid", "uid-1");
+        reportData.put("timestamp", "2025-12-04 10:00");
+        reportData.put("natureOfCall", "Emergency");
+        reportData.put("emergencyType", "Trauma");
+        reportData.put("areaType", "Urban");
+        reportData.put("incidentLocation", "Purok 3, Daet");
+        reportData.put("narrative", "Responded to a two-vehicle collision.");
+        reportData.put("facilityType", "Hospital");
+        reportData.put("facilityName", "Provincial Hospital");
+        for (String stage : new String[]{"call", "dispatch", "scene", "depart", "facility", "handover", "clear", "base"}) {
+            reportData.put("time_" + stage, "10:00");
+        }
+
+        List<Map<String, Object>> patientsList = new ArrayList<>(patients);
+        for (int i = 0; i < patients; i++) patientsList.add(patient(i));
+        reportData.put("patients", patientsList);
+
+        return ReportSerializer.submissionUpdate("MDRRMO", "-Oinc00000001", reportData, 1_733_000_000_000L);
+    }
+
+    static VitalSigns vitals() {
+        List<String> times = Collections.emptyList();
+        Map<VitalSign, List<String>> takes = new EnumMap<>(VitalSign.class);
+        for (String[] row : READINGS) {
+            List<String> typed = Arrays.asList(row[1], row[2], row[3]);
+            if (row[0].equals(VitalSigns.TIMES_KEY)) times = typed;
+            else takes.put(VitalSign.forKey(row[0]), typed);
+        }
+        return VitalSigns.fromTakes("2025-12-04", times, takes);
+    }
+
+    static Map<String, Object> patient(int index) {
+        Map<String, Object> p = new HashMap<>();
+        p.put("name", "Patient " + index);
+        p.put("age", "34");
+        p.put("sex", "F");
+        p.put("address", "Purok 1, Labo");
+        p.put("nextOfKin", "Relative " + index);
+        p.put("chiefComplaint", "Laceration, left forearm");
+        for (String field : new String[]{"c_spine", "airway", "breathing", "pulse", "skin", "loc",
+                "consciousness", "cap_refill", "signs", "allergies", "meds", "history", "oral", "events",
+                "manage_airway", "manage_circ", "manage_wound", "manage_immob", "manage_other",
+                "injury_type", "affected_body_parts", "patient_narrative"}) {
+            p.put(field, "value");
+        }
+        p.put(VitalSigns.NODE, vitals().toStored());
+        p.put("gcs_eye", "4");
+        p.put("gcs_verbal", "5");
+        p.put("gcs_motor", "6");
+        p.put("gcs_total", "15");
+        return p;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.iresponderapp.benchmark;
+
+import com.example.iresponderapp.core.Responder;
+import com.example.iresponderapp.core.ResponderMatcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+
+// The agency + location scan behind the assignment spinner, over a 1k roster
+@State(Scope.Benchmark)
+public class ResponderMatchBenchmark {
+
+    private List<Responder> roster;
+
+    @Setup
+    public void setUp() {
+        roster = Datasets.responders(1000);
+    }
+
+    @Benchmark
+    public List<Responder> select() {
+        return ResponderMatcher.select(roster, "BFP", "Daet");
+    }
+
+    @Benchmark
+    public Map<String, String> selectAndLabel() {
+        return ResponderMatcher.assignmentChoices(ResponderMatcher.select(roster, "BFP", "Daet"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.iresponderapp.benchmark;
+
+import com.example.iresponderapp.core.Incident;
+import com.example.iresponderapp.core.StatusFilter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+// Per-status filtering of an already decoded list (the Accomplished tabs)
+@State(Scope.Benchmark)
+public class StatusFilterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"ASSIGNED", "REJECTED", "ALL"})
+    public StatusFilter filter;
+
+    private List<Incident> incidents;
+
+    @Setup
+    public void setUp() {
+        incidents = Datasets.incidents(size);
+    }
+
+    @Benchmark
+    public List<Incident> statusFilter() {
+        return filter.apply(incidents);
+    }
+}
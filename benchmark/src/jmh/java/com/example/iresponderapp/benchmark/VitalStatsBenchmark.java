@@ -0,0 +1,77 @@
+package com.example.iresponderapp.benchmark;
+
+import com.example.iresponderapp.core.VitalSign;
+import com.example.iresponderapp.core.VitalSigns;
+import com.example.iresponderapp.core.VitalStats;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Provincial vital-sign statistics over a day's MDRRMO reports: the same patients stored as the
+// compact vitals node and as the {t1, t2, t3} rows older builds wrote.
+@State(Scope.Benchmark)
+public class VitalStatsBenchmark {
+
+    @Param({"100", "2000"})
+    public int reports;
+
+    private List<Map<String, Object>> legacy;
+    private List<Map<String, Object>> compact;
+
+    @Setup
+    public void setUp() {
+        legacy = new ArrayList<>(reports);
+        compact = new ArrayList<>(reports);
+        for (int r = 0; r < reports; r++) {
+            List<Map<String, Object>> patients = new ArrayList<>();
+            for (int i = 0; i < 1 + r % 3; i++) {
+                patients.add(ReportSerializationBenchmark.patient(i));
+            }
+            Map<String, Object> report = new HashMap<>();
+            report.put("patients", patients);
+            compact.add(report);
+            legacy.add(asLegacyRows(report));
+        }
+    }
+
+    // The same report as an older build stored it: patient() vitals node swapped for per-sign rows
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asLegacyRows(Map<String, Object> report) {
+        List<Map<String, Object>> patients = new ArrayList<>();
+        for (Map<String, Object> stored : (List<Map<String, Object>>) report.get("patients")) {
+            Map<String, Object> patient = new HashMap<>(stored);
+            patient.remove(VitalSigns.NODE);
+            for (String[] row : ReportSerializationBenchmark.READINGS) patient.put(row[0], row(row[1], row[2], row[3]));
+            patients.add(patient);
+        }
+        Map<String, Object> legacyReport = new HashMap<>();
+        legacyReport.put("patients", patients);
+        return legacyReport;
+    }
+
+    private static Map<String, String> row(String t1, String t2, String t3) {
+        Map<String, String> row = new HashMap<>();
+        row.put("t1", t1);
+        row.put("t2", t2);
+        row.put("t3", t3);
+        return row;
+    }
+
+    @Benchmark
+    public Map<VitalSign, VitalStats> compact() {
+        return VitalStats.over(compact);
+    }
+
+    @Benchmark
+    public Map<VitalSign, VitalStats> legacy() {
+        return VitalStats.over(legacy);
+    }
+}
@@ -0,0 +1,13 @@
+plugins {
+    `java-library`
+}
+
+// Android-free domain logic shared by :app, unit-tested and benchmarked on a plain JVM
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
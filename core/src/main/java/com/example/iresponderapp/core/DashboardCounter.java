@@ -0,0 +1,65 @@
+package com.example.iresponderapp.core;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+// Day keys for the ResponderStats counters, plus a full recount used to check or rebuild them
+public final class DashboardCounter {
+
+    public static final class Counts {
+        public final int active;
+        public final int completed;
+        // Keys of the completed incidents counted, for marking them as counted
+        public final List<String> completedKeys;
+
+        Counts(int active, List<String> completedKeys) {
+            this.active = active;
+            this.completed = completedKeys.size();
+            this.completedKeys = Collections.unmodifiableList(completedKeys);
+        }
+
+        public int total() {
+            return active + completed;
+        }
+    }
+
+    private DashboardCounter() {}
+
+    // Locale-independent "yyyy-MM-dd" in the given zone
+    public static String dayKey(long epochMillis, TimeZone zone) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+        format.setTimeZone(zone);
+        return format.format(new Date(epochMillis));
+    }
+
+    // Counts one responder's incidents for a day, bucketed by assignedDay (falling back to the
+    // reported date for incidents assigned before assignedDay existed). Takes full Incidents_
+    // records: summaries carry no assignedDay. The legacy date is stored unpadded ("2025-12-4"),
+    // so it is parsed and re-keyed in `zone` rather than compared as text.
+    public static Counts count(Iterable<Incident> incidents, String dayKey, TimeZone zone) {
+        int active = 0;
+        List<String> completed = new ArrayList<>();
+        for (Incident incident : incidents) {
+            if (!dayKey.equals(dayOf(incident, zone))) continue;
+
+            if ("Completed".equalsIgnoreCase(incident.status)) {
+                completed.add(incident.key);
+            } else {
+                active++;
+            }
+        }
+        return new Counts(active, completed);
+    }
+
+    // assignedDay, else the reported date as a day key; null when neither is readable
+    private static String dayOf(Incident incident, TimeZone zone) {
+        if (incident.assignedDay != null) return incident.assignedDay;
+        long reported = EpochTimes.parseIncidentDate(incident.date, null, zone);
+        return reported != 0 ? dayKey(reported, zone) : null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.iresponderapp.core;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+// Numeric (epoch-millisecond) record times, and readers for the legacy string formats.
+// createdAt/updatedAt/submittedAt are what range and recency queries order on; the strings
+// ("2025-12-4" + "10:42", "yyyy-MM-dd HH:mm[:ss]") are kept for display only.
+public final class EpochTimes {
+
+    public static final String CREATED_AT = "createdAt";
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String SUBMITTED_AT = "submittedAt";
+
+    private static final String PUSH_CHARS = "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz";
+
+    private EpochTimes() {}
+
+    // Push keys start with their creation time in 8 base-64 characters; 0 when key is not one
+    public static long fromPushKey(String key) {
+        if (key == null || key.length() != 20) return 0;
+        long time = 0;
+        for (int i = 0; i < 8; i++) {
+            int digit = PUSH_CHARS.indexOf(key.charAt(i));
+            if (digit < 0) return 0;
+            time = time * 64 + digit;
+        }
+        return time;
+    }
+
+    // Incident "date" ("2025-12-4" or "2025-12-04") plus an optional "Time" ("10:42",
+    // "10:42:05" or "10:42 AM"); 0 when the date is unreadable
+    public static long parseIncidentDate(String date, String time, TimeZone zone) {
+        if (date == null) return 0;
+        if (time != null) {
+            for (String pattern : new String[]{"yyyy-M-d HH:mm:ss", "yyyy-M-d h:mm a", "yyyy-M-d HH:mm"}) {
+                long parsed = parse(date.trim() + " " + time.trim(), pattern, zone);
+                if (parsed != 0) return parsed;
+            }
+        }
+        return parse(date.trim(), "yyyy-M-d", zone);
+    }
+
+    // Report "timestamp" ("yyyy-MM-dd HH:mm:ss" from PNP/BFP, "yyyy-MM-dd HH:mm" from MDRRMO)
+    public static long parseReportTimestamp(Object timestamp, TimeZone zone) {
+        if (timestamp == null) return 0;
+        for (String pattern : new String[]{"yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm"}) {
+            long parsed = parse(timestamp.toString(), pattern, zone);
+            if (parsed != 0) return parsed;
+        }
+        return 0;
+    }
+
+    // [start, end) of a "yyyy-MM-dd" day key in the zone, for startAt/endAt range queries
+    public static long[] dayRange(String dayKey, TimeZone zone) {
+        long start = parse(dayKey, "yyyy-MM-dd", zone);
+        Calendar calendar = Calendar.getInstance(zone, Locale.US);
+        calendar.setTimeInMillis(start);
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        return new long[]{start, calendar.getTimeInMillis()};
+    }
+
+    private static long parse(String text, String pattern, TimeZone zone) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+        format.setTimeZone(zone);
+        format.setLenient(false);
+        try {
+            return format.parse(text).getTime();
+        } catch (ParseException e) {
+            return 0;
+        }
+    }
+}
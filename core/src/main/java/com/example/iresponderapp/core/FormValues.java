@@ -0,0 +1,61 @@
+package com.example.iresponderapp.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Values of one report form, keyed like the stored report: report-level fields by key and each
+// repeatable group as a list of entries. Text fields hold a String, READINGS and READING_TIMES
+// fields a List<String> of ReportSchema.READINGS_PER_ROW takes. Every group entry carries its stored child
+// key under ENTRY_KEY, so an edit can address Reports/{agency}/{incidentKey}/{group}/{key} directly.
+public final class FormValues {
+
+    // '.' cannot appear in a database key, so this never collides with a stored field
+    public static final String ENTRY_KEY = ".key";
+    // "yyyy-MM-dd" the entry's vital-sign readings were first taken on (see VitalSigns)
+    public static final String VITALS_DAY = ".vitalsDay";
+
+    private static long lastKeyMillis;
+    private static int keySequence;
+
+    public final Map<String, Object> fields = new HashMap<>();
+    public final Map<String, List<Map<String, Object>>> groups = new HashMap<>();
+
+    public List<Map<String, Object>> entries(String group) {
+        List<Map<String, Object>> entries = groups.get(group);
+        if (entries == null) {
+            entries = new ArrayList<>();
+            groups.put(group, entries);
+        }
+        return entries;
+    }
+
+    public Map<String, Object> addEntry(String group) {
+        return addEntry(group, newEntryKey());
+    }
+
+    public Map<String, Object> addEntry(String group, String key) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put(ENTRY_KEY, key);
+        entries(group).add(entry);
+        return entry;
+    }
+
+    // Key for a new entry: "e" + base-36 millis + a per-millisecond sequence. Keys sort in creation
+    // order, after the "0", "1", ... indexes of entries that older builds stored as arrays.
+    public static synchronized String newEntryKey() {
+        long now = System.currentTimeMillis();
+        if (now > lastKeyMillis || keySequence > 999) {
+            lastKeyMillis = Math.max(now, lastKeyMillis + 1);
+            keySequence = 0;
+        }
+        return "e" + Long.toString(lastKeyMillis, 36) + String.format(Locale.ROOT, "%03d", keySequence++);
+    }
+
+    public String text(String key) {
+        Object value = fields.get(key);
+        return value instanceof String ? (String) value : "";
+    }
+}
@@ -0,0 +1,713 @@
+package com.example.iresponderapp.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+// Deterministic, in-process RealtimeStore for tests and load runs; no network, no Android.
+// Data lives in one tree of key-ordered maps. Every read, listener start and write is delivered
+// through a Scheduler after an injectable latency, as if the server answered; writes always land
+// in the order they were issued. Child listeners keep a sorted index of their result and apply
+// writes incrementally, and one-shot reads go through per-ordering indexes, so one changed child
+// or one bounded page costs O(log n) even on a 100k-child node.
+// Arrays are stored as index-keyed maps, the way the server stores them.
+// Not thread-safe: drive it from one thread (a VirtualClock, or the caller with the default
+// direct scheduler).
+public final class InMemoryRealtimeStore implements RealtimeStore {
+
+    public interface Scheduler {
+        long now();
+        void schedule(long delayMillis, Runnable task);
+    }
+
+    private static final String PUSH_CHARS = "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz";
+    private static final Map<String, Object> SERVER_TIMESTAMP = Collections.singletonMap(".sv", "timestamp");
+
+    private final Scheduler scheduler;
+    private final TreeMap<String, Object> root = new TreeMap<>(QuerySpec.KEY_ORDER);
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final Map<String, ChildIndex> indexes = new HashMap<>();
+
+    private final List<List<String>> deniedReads = new ArrayList<>();
+    private LongSupplier latency = () -> 0;
+    private long lastWriteAt = Long.MIN_VALUE;
+    private long pushCounter;
+
+    // Runs everything synchronously on the calling thread, ignoring latency
+    public InMemoryRealtimeStore() {
+        this(new DirectScheduler());
+    }
+
+    public InMemoryRealtimeStore(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public void setLatency(long millis) {
+        setLatency(() -> millis);
+    }
+
+    // E.g. a seeded Random for jitter; queried once per operation
+    public void setLatency(LongSupplier latency) {
+        this.latency = latency;
+    }
+
+    // One-shot reads at or under `path` fail from now on, like a security rule denying them
+    public void denyReads(String path) {
+        deniedReads.add(segments(path));
+    }
+
+    public int listenerCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public Ref ref(String path) {
+        return new MemoryRef(segments(path));
+    }
+
+    @Override
+    public Object serverTimestamp() {
+        return SERVER_TIMESTAMP;
+    }
+
+    // --- Queries ---
+    private class MemoryQuery implements Query {
+        final List<String> path;
+        final QuerySpec spec;
+
+        MemoryQuery(List<String> path, QuerySpec spec) {
+            this.path = path;
+            this.spec = spec;
+        }
+
+        private Query with(QuerySpec next) {
+            return new MemoryQuery(path, next);
+        }
+
+        @Override public Query orderByChild(String child) { return with(spec.orderByChild(child)); }
+        @Override public Query orderByKey() { return with(spec.orderByKey()); }
+        @Override public Query startAt(Object value) { return with(spec.start(value, null, true)); }
+        @Override public Query startAt(Object value, String key) { return with(spec.start(value, key, true)); }
+        @Override public Query startAfter(Object value) { return with(spec.start(value, null, false)); }
+        @Override public Query startAfter(Object value, String key) { return with(spec.start(value, key, false)); }
+        @Override public Query endAt(Object value) { return with(spec.end(value, null, true)); }
+        @Override public Query endBefore(Object value, String key) { return with(spec.end(value, key, false)); }
+        @Override public Query equalTo(Object value) { return with(spec.start(value, null, true).end(value, null, true)); }
+        @Override public Query limitToFirst(int limit) { return with(spec.limit(limit, false)); }
+        @Override public Query limitToLast(int limit) { return with(spec.limit(limit, true)); }
+
+        @Override
+        public void get(ValueListener listener) {
+            if (isDenied(path)) {
+                scheduler.schedule(latency.getAsLong(),
+                        () -> listener.onError(new IllegalStateException("Permission denied: " + String.join("/", path))));
+                return;
+            }
+            scheduler.schedule(latency.getAsLong(),
+                    () -> listener.onValue(new StoreSnapshot(lastSegment(path), evaluate(path, spec))));
+        }
+
+        @Override
+        public Registration addValueListener(ValueListener listener) {
+            return subscribe(new ValueSubscription(path, spec, listener));
+        }
+
+        @Override
+        public Registration addChildListener(ChildListener listener) {
+            return subscribe(new ChildSubscription(path, spec, listener));
+        }
+    }
+
+    private final class MemoryRef extends MemoryQuery implements Ref {
+
+        MemoryRef(List<String> path) {
+            super(path, QuerySpec.ALL);
+        }
+
+        @Override
+        public String getKey() {
+            return lastSegment(path);
+        }
+
+        @Override
+        public String getPath() {
+            return String.join("/", path);
+        }
+
+        @Override
+        public Ref child(String childPath) {
+            List<String> full = new ArrayList<>(path);
+            full.addAll(segments(childPath));
+            return new MemoryRef(full);
+        }
+
+        @Override
+        public Ref push() {
+            return child(nextPushKey());
+        }
+
+        @Override
+        public void setValue(Object value, Completion completion) {
+            Map<List<String>, Object> writes = new HashMap<>();
+            writes.put(path, value);
+            write(writes, completion);
+        }
+
+        @Override
+        public void updateChildren(Map<String, Object> update, Completion completion) {
+            Map<List<String>, Object> writes = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : update.entrySet()) {
+                List<String> full = new ArrayList<>(path);
+                full.addAll(segments(entry.getKey()));
+                writes.put(full, entry.getValue());
+            }
+            write(writes, completion);
+        }
+
+        @Override
+        public void removeValue(Completion completion) {
+            setValue(null, completion);
+        }
+
+        @Override
+        public void runTransaction(Transaction transaction, TransactionCompletion completion) {
+            transact(path, transaction, completion);
+        }
+    }
+
+    // --- Writes: applied together, then every affected listener is told once ---
+    private void write(Map<List<String>, Object> writes, Completion completion) {
+        long now = scheduler.now();
+        long dueAt = Math.max(now + latency.getAsLong(), lastWriteAt);
+        lastWriteAt = dueAt;
+
+        scheduler.schedule(dueAt - now, () -> {
+            long appliedAt = scheduler.now();
+            for (Map.Entry<List<String>, Object> entry : writes.entrySet()) {
+                put(entry.getKey(), normalize(entry.getValue(), appliedAt));
+            }
+            updateIndexes(writes.keySet());
+            notifyWritten(writes.keySet());
+            if (completion != null) completion.onComplete(null);
+        });
+    }
+
+    // Ordered with the writes; the current value is read and replaced in the same task, so no
+    // other write can land in between and the transaction never has to be retried
+    private void transact(List<String> path, Transaction transaction, TransactionCompletion completion) {
+        long now = scheduler.now();
+        long dueAt = Math.max(now + latency.getAsLong(), lastWriteAt);
+        lastWriteAt = dueAt;
+
+        scheduler.schedule(dueAt - now, () -> {
+            Object next = transaction.apply(evaluate(path, QuerySpec.ALL));
+            if (next == Transaction.ABORT) {
+                if (completion != null) completion.onComplete(null, false);
+                return;
+            }
+            put(path, normalize(next, scheduler.now()));
+            updateIndexes(Collections.singleton(path));
+            notifyWritten(Collections.singleton(path));
+            if (completion != null) completion.onComplete(null, true);
+        });
+    }
+
+    private void put(List<String> path, Object value) {
+        if (path.isEmpty()) {
+            root.clear();
+            if (value instanceof Map) root.putAll(castMap(value));
+            return;
+        }
+
+        // Walk down, creating (or, for removals, pruning) intermediate nodes
+        Deque<TreeMap<String, Object>> parents = new ArrayDeque<>();
+        TreeMap<String, Object> node = root;
+        for (int i = 0; i < path.size() - 1; i++) {
+            parents.push(node);
+            Object next = node.get(path.get(i));
+            if (!(next instanceof TreeMap)) {
+                if (value == null) return;
+                next = new TreeMap<String, Object>(QuerySpec.KEY_ORDER);
+                node.put(path.get(i), next);
+            }
+            node = castMap(next);
+        }
+
+        String leaf = path.get(path.size() - 1);
+        if (value != null) {
+            node.put(leaf, value);
+            return;
+        }
+        node.remove(leaf);
+        for (int i = path.size() - 2; i >= 0 && node.isEmpty(); i--) {
+            node = parents.pop();
+            node.remove(path.get(i));
+        }
+    }
+
+    private void notifyWritten(Set<List<String>> paths) {
+        for (Subscription subscription : new ArrayList<>(subscriptions)) {
+            if (!subscription.active || !subscription.started) continue;
+
+            Set<String> touched = new LinkedHashSet<>();
+            boolean everything = false;
+            for (List<String> written : paths) {
+                if (isPrefix(written, subscription.path)) {
+                    everything = true;
+                    break;
+                }
+                if (isPrefix(subscription.path, written)) touched.add(written.get(subscription.path.size()));
+            }
+            if (everything) subscription.onWrite(null);
+            else if (!touched.isEmpty()) subscription.onWrite(touched);
+        }
+    }
+
+    // --- Reads ---
+    private Object read(List<String> path) {
+        Object node = root;
+        for (String segment : path) {
+            if (!(node instanceof Map)) return null;
+            node = ((Map<?, ?>) node).get(segment);
+        }
+        return node;
+    }
+
+    private Object evaluate(List<String> path, QuerySpec spec) {
+        Object node = read(path);
+        if (spec.isDefault()) return copy(node);
+        if (!(node instanceof Map)) return null;
+
+        NavigableSet<Row> range = index(path, spec).range(spec);
+        List<Row> rows = new ArrayList<>();
+        Iterator<Row> it = spec.fromEnd ? range.descendingIterator() : range.iterator();
+        while (it.hasNext() && (spec.limit == 0 || rows.size() < spec.limit)) rows.add(it.next());
+        if (spec.fromEnd) Collections.reverse(rows);
+        if (rows.isEmpty()) return null;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Row row : rows) result.put(row.key, copy(row.value));
+        return result;
+    }
+
+    // --- Indexes: what .indexOn gives the server, so a bounded query costs O(log n + limit) ---
+    private ChildIndex index(List<String> path, QuerySpec spec) {
+        String id = String.join("/", path) + "|" + (spec.byChild ? spec.orderByChild : ".key");
+        ChildIndex index = indexes.get(id);
+        if (index == null) {
+            index = new ChildIndex(path, spec);
+            indexes.put(id, index);
+        }
+        return index;
+    }
+
+    private void updateIndexes(Set<List<String>> written) {
+        Iterator<ChildIndex> it = indexes.values().iterator();
+        while (it.hasNext()) {
+            ChildIndex index = it.next();
+            for (List<String> path : written) {
+                if (isPrefix(path, index.path)) {
+                    // Rebuilt on next use
+                    it.remove();
+                    break;
+                }
+                if (isPrefix(index.path, path)) index.update(path.get(index.path.size()));
+            }
+        }
+    }
+
+    // All children of one node in one ordering; rows point at the live values (never handed out)
+    private final class ChildIndex {
+        final List<String> path;
+        final QuerySpec ordering;
+        final TreeSet<Row> rows;
+        final Map<String, Row> byKey = new HashMap<>();
+
+        ChildIndex(List<String> path, QuerySpec ordering) {
+            this.path = path;
+            this.ordering = ordering;
+            this.rows = new TreeSet<>((a, b) -> ordering.compare(a.key, a.sort, b.key, b.sort));
+            Object node = read(path);
+            if (node instanceof Map) {
+                for (Map.Entry<String, Object> child : castMap(node).entrySet()) {
+                    add(child.getKey(), child.getValue());
+                }
+            }
+        }
+
+        void update(String key) {
+            Row old = byKey.remove(key);
+            if (old != null) rows.remove(old);
+            Object node = read(path);
+            if (node instanceof Map) add(key, ((Map<?, ?>) node).get(key));
+        }
+
+        private void add(String key, Object value) {
+            if (value == null) return;
+            Row row = new Row(key, ordering.sortValue(key, value), value);
+            rows.add(row);
+            byKey.put(key, row);
+        }
+
+        NavigableSet<Row> range(QuerySpec spec) {
+            Row from = spec.start != null ? probe(spec, spec.start, true) : null;
+            Row to = spec.end != null ? probe(spec, spec.end, false) : null;
+            if (from != null && to != null) {
+                if (rows.comparator().compare(from, to) > 0) return Collections.emptyNavigableSet();
+                return rows.subSet(from, spec.start.inclusive, to, spec.end.inclusive);
+            }
+            if (from != null) return rows.tailSet(from, spec.start.inclusive);
+            if (to != null) return rows.headSet(to, spec.end.inclusive);
+            return rows;
+        }
+
+        private Row probe(QuerySpec spec, QuerySpec.Bound bound, boolean isStart) {
+            return new Row(spec.boundKey(bound, isStart), spec.boundSort(bound), null);
+        }
+    }
+
+    // --- Listeners ---
+    private Registration subscribe(Subscription subscription) {
+        subscriptions.add(subscription);
+        scheduler.schedule(latency.getAsLong(), () -> {
+            if (!subscription.active) return;
+            subscription.started = true;
+            subscription.start();
+        });
+        return subscription;
+    }
+
+    private abstract static class Subscription implements Registration {
+        final List<String> path;
+        final QuerySpec spec;
+        boolean active = true;
+        boolean started = false;
+
+        Subscription(List<String> path, QuerySpec spec) {
+            this.path = path;
+            this.spec = spec;
+        }
+
+        abstract void start();
+
+        // touched: children of this path that were written, or null when everything may have changed
+        abstract void onWrite(Set<String> touched);
+    }
+
+    private final class ValueSubscription extends Subscription {
+        final ValueListener listener;
+        Object last;
+
+        ValueSubscription(List<String> path, QuerySpec spec, ValueListener listener) {
+            super(path, spec);
+            this.listener = listener;
+        }
+
+        @Override
+        void start() {
+            last = evaluate(path, spec);
+            listener.onValue(new StoreSnapshot(lastSegment(path), last));
+        }
+
+        @Override
+        void onWrite(Set<String> touched) {
+            Object current = evaluate(path, spec);
+            if (Objects.equals(current, last)) return;
+            last = current;
+            listener.onValue(new StoreSnapshot(lastSegment(path), current));
+        }
+
+        @Override
+        public void remove() {
+            active = false;
+            subscriptions.remove(this);
+        }
+    }
+
+    private static final class Row {
+        final String key;
+        final Object sort;
+        final Object value;
+
+        Row(String key, Object sort, Object value) {
+            this.key = key;
+            this.sort = sort;
+            this.value = value;
+        }
+
+        StoreSnapshot snapshot() {
+            return new StoreSnapshot(key, value);
+        }
+    }
+
+    private final class ChildSubscription extends Subscription {
+        final ChildListener listener;
+        // In-range children only, in query order; rows hold private copies of the values
+        final TreeSet<Row> index;
+        final Map<String, Row> rows = new HashMap<>();
+
+        ChildSubscription(List<String> path, QuerySpec spec, ChildListener listener) {
+            super(path, spec);
+            this.listener = listener;
+            this.index = new TreeSet<>((a, b) -> spec.compare(a.key, a.sort, b.key, b.sort));
+        }
+
+        @Override
+        void start() {
+            for (String key : children().keySet()) update(key);
+            String previous = null;
+            for (Row row : window().values()) {
+                listener.onChildAdded(row.snapshot(), previous);
+                previous = row.key;
+            }
+        }
+
+        @Override
+        void onWrite(Set<String> touched) {
+            if (touched == null) {
+                touched = new LinkedHashSet<>(rows.keySet());
+                touched.addAll(children().keySet());
+            }
+            if (spec.limit > 0) applyWindowed(touched);
+            else applyUnbounded(touched);
+        }
+
+        // Without a limit only the written children can change, so events are local
+        private void applyUnbounded(Set<String> touched) {
+            for (String key : touched) {
+                Row old = rows.get(key);
+                String oldPrevious = old != null ? previousKey(old) : null;
+                Row current = update(key);
+                if (current == old || !active) continue;
+
+                if (current == null) {
+                    listener.onChildRemoved(old.snapshot());
+                } else if (old == null) {
+                    listener.onChildAdded(current.snapshot(), previousKey(current));
+                } else {
+                    String previous = previousKey(current);
+                    listener.onChildChanged(current.snapshot(), previous);
+                    if (!Objects.equals(previous, oldPrevious)) listener.onChildMoved(current.snapshot(), previous);
+                }
+            }
+        }
+
+        // With a limit, a write can also push other children into or out of the window
+        private void applyWindowed(Set<String> touched) {
+            Map<String, Row> before = window();
+            Map<String, String> previousBefore = previousKeys(before);
+            for (String key : touched) update(key);
+            Map<String, Row> after = window();
+
+            for (Row row : before.values()) {
+                if (!after.containsKey(row.key) && active) listener.onChildRemoved(row.snapshot());
+            }
+            String previous = null;
+            for (Row row : after.values()) {
+                if (!active) return;
+                Row old = before.get(row.key);
+                if (old == null) {
+                    listener.onChildAdded(row.snapshot(), previous);
+                } else if (old != row) {
+                    listener.onChildChanged(row.snapshot(), previous);
+                    if (!Objects.equals(previous, previousBefore.get(row.key))) {
+                        listener.onChildMoved(row.snapshot(), previous);
+                    }
+                }
+                previous = row.key;
+            }
+        }
+
+        // Re-reads one child into the index; returns the (possibly unchanged) row, or null
+        private Row update(String key) {
+            Row old = rows.get(key);
+            Object value = children().get(key);
+            if (old != null && Objects.equals(old.value, value)) return old;
+
+            Row current = null;
+            if (value != null) {
+                Object sort = spec.sortValue(key, value);
+                if (spec.inRange(key, sort)) current = new Row(key, sort, copy(value));
+            }
+            if (old != null) {
+                index.remove(old);
+                rows.remove(key);
+            }
+            if (current != null) {
+                index.add(current);
+                rows.put(key, current);
+            }
+            return current;
+        }
+
+        private String previousKey(Row row) {
+            Row lower = index.lower(row);
+            return lower != null ? lower.key : null;
+        }
+
+        private Map<String, Row> window() {
+            Map<String, Row> window = new LinkedHashMap<>();
+            if (spec.limit == 0) {
+                for (Row row : index) window.put(row.key, row);
+            } else if (!spec.fromEnd) {
+                Iterator<Row> it = index.iterator();
+                while (it.hasNext() && window.size() < spec.limit) {
+                    Row row = it.next();
+                    window.put(row.key, row);
+                }
+            } else {
+                List<Row> tail = new ArrayList<>(spec.limit);
+                Iterator<Row> it = index.descendingIterator();
+                while (it.hasNext() && tail.size() < spec.limit) tail.add(it.next());
+                Collections.reverse(tail);
+                for (Row row : tail) window.put(row.key, row);
+            }
+            return window;
+        }
+
+        private Map<String, String> previousKeys(Map<String, Row> window) {
+            Map<String, String> previous = new HashMap<>();
+            String last = null;
+            for (String key : window.keySet()) {
+                previous.put(key, last);
+                last = key;
+            }
+            return previous;
+        }
+
+        private Map<String, Object> children() {
+            Object node = read(path);
+            return node instanceof Map ? castMap(node) : Collections.emptyMap();
+        }
+
+        @Override
+        public void remove() {
+            active = false;
+            subscriptions.remove(this);
+        }
+    }
+
+    // --- Values ---
+
+    // Server placeholders resolved, numbers widened, arrays turned into maps, empty maps dropped
+    private static Object normalize(Object value, long now) {
+        if (value == null || value instanceof String || value instanceof Boolean
+                || value instanceof Long || value instanceof Double) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Float) return ((Float) value).doubleValue();
+        if (SERVER_TIMESTAMP.equals(value)) return now;
+
+        TreeMap<String, Object> node = new TreeMap<>(QuerySpec.KEY_ORDER);
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> child : ((Map<?, ?>) value).entrySet()) {
+                Object normalized = normalize(child.getValue(), now);
+                if (normalized != null) node.put(String.valueOf(child.getKey()), normalized);
+            }
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            for (int i = 0; i < list.size(); i++) {
+                Object normalized = normalize(list.get(i), now);
+                if (normalized != null) node.put(Integer.toString(i), normalized);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getName());
+        }
+        return node.isEmpty() ? null : node;
+    }
+
+    // Listeners get their own copies, so later writes never change a delivered snapshot
+    private static Object copy(Object value) {
+        if (!(value instanceof Map)) return value;
+        Map<String, Object> node = castMap(value);
+        Map<String, Object> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> child : node.entrySet()) {
+            copy.put(child.getKey(), copy(child.getValue()));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <M extends Map<String, Object>> M castMap(Object value) {
+        return (M) value;
+    }
+
+    private String nextPushKey() {
+        char[] id = new char[20];
+        long time = scheduler.now();
+        for (int i = 7; i >= 0; i--) {
+            id[i] = PUSH_CHARS.charAt((int) (time % 64));
+            time /= 64;
+        }
+        // A counter instead of random bits keeps keys unique, ordered and reproducible
+        long counter = pushCounter++;
+        for (int i = 19; i >= 8; i--) {
+            id[i] = PUSH_CHARS.charAt((int) (counter % 64));
+            counter /= 64;
+        }
+        return new String(id);
+    }
+
+    private boolean isDenied(List<String> path) {
+        for (List<String> denied : deniedReads) {
+            if (path.size() >= denied.size() && path.subList(0, denied.size()).equals(denied)) return true;
+        }
+        return false;
+    }
+
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) segments.add(segment);
+        }
+        return segments;
+    }
+
+    private static String lastSegment(List<String> path) {
+        return path.isEmpty() ? null : path.get(path.size() - 1);
+    }
+
+    private static boolean isPrefix(List<String> prefix, List<String> path) {
+        return prefix.size() <= path.size() && prefix.equals(path.subList(0, prefix.size()));
+    }
+
+    // Runs tasks inline; tasks scheduled from inside a task run after it, not nested in it
+    private static final class DirectScheduler implements Scheduler {
+        private final Deque<Runnable> queue = new ArrayDeque<>();
+        private boolean running;
+
+        @Override
+        public long now() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public void schedule(long delayMillis, Runnable task) {
+            queue.add(task);
+            if (running) return;
+            running = true;
+            try {
+                Runnable next;
+                while ((next = queue.poll()) != null) next.run();
+            } finally {
+                running = false;
+            }
+        }
+    }
+}
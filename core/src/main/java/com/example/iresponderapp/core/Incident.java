@@ -0,0 +1,139 @@
+package com.example.iresponderapp.core;
+
+import java.util.Map;
+import java.util.Objects;
+
+// Immutable view of one Incidents_ record, keyed on its push key.
+// equals() compares every field so list diffs can tell when a card must be rebound.
+public final class Incident implements Keyed {
+
+    public final String key;
+    public final String incidentType;
+    public final String date;
+    public final String time;
+    public final String address;
+    public final String status;
+    public final String agency;
+    public final String reporterName;
+    public final String additionalInfo;
+    public final String imageURL;
+    public final String latitude;
+    public final String longitude;
+    public final String assignedResponderUid;
+    public final String assignedResponderName;
+    public final String assignedDay;
+    // Stored municipality, else the one named in the address (see Municipalities)
+    public final String municipality;
+
+    private Incident(Builder b) {
+        this.key = b.key;
+        this.incidentType = b.incidentType;
+        this.date = b.date;
+        this.time = b.time;
+        this.address = b.address;
+        this.status = b.status;
+        this.agency = b.agency;
+        this.reporterName = b.reporterName;
+        this.additionalInfo = b.additionalInfo;
+        this.imageURL = b.imageURL;
+        this.latitude = b.latitude;
+        this.longitude = b.longitude;
+        this.assignedResponderUid = b.assignedResponderUid;
+        this.assignedResponderName = b.assignedResponderName;
+        this.assignedDay = b.assignedDay;
+        this.municipality = b.municipality != null ? b.municipality : Municipalities.fromAddress(b.address);
+    }
+
+    public static Builder builder(String key) {
+        return new Builder(key);
+    }
+
+    // --- Decodes a plain field map, e.g. a snapshot's getValue() or a test fixture ---
+    public static Incident fromMap(String key, Map<String, ?> fields) {
+        Builder b = builder(key);
+        for (Map.Entry<String, ?> field : fields.entrySet()) {
+            b.set(field.getKey(), field.getValue());
+        }
+        return b.build();
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Incident)) return false;
+        Incident other = (Incident) o;
+        return Objects.equals(key, other.key)
+                && Objects.equals(incidentType, other.incidentType)
+                && Objects.equals(date, other.date)
+                && Objects.equals(time, other.time)
+                && Objects.equals(address, other.address)
+                && Objects.equals(status, other.status)
+                && Objects.equals(agency, other.agency)
+                && Objects.equals(reporterName, other.reporterName)
+                && Objects.equals(additionalInfo, other.additionalInfo)
+                && Objects.equals(imageURL, other.imageURL)
+                && Objects.equals(latitude, other.latitude)
+                && Objects.equals(longitude, other.longitude)
+                && Objects.equals(assignedResponderUid, other.assignedResponderUid)
+                && Objects.equals(assignedResponderName, other.assignedResponderName)
+                && Objects.equals(assignedDay, other.assignedDay)
+                && Objects.equals(municipality, other.municipality);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, incidentType, date, time, address, status, agency);
+    }
+
+    // One-pass decoder: callers feed each (field, value) pair once, in any order
+    public static final class Builder {
+        private final String key;
+        private String incidentType, date, time, address, status, agency;
+        private String reporterName, additionalInfo, imageURL, latitude, longitude;
+        private String assignedResponderUid, assignedResponderName, assignedDay, municipality;
+
+        private Builder(String key) {
+            this.key = key;
+        }
+
+        // Field names as stored in Incidents_; unknown fields are ignored
+        public Builder set(String field, Object value) {
+            if (field == null) return this;
+            String text = asString(value);
+
+            switch (field) {
+                case "incidentType": incidentType = text; break;
+                case "date": date = text; break;
+                case "Time": time = text; break;
+                case "address": address = text; break;
+                case "Status": status = text; break;
+                case "agency": agency = text; break;
+                case "reporterName": reporterName = text; break;
+                case "additionalInfo": additionalInfo = text; break;
+                case "imageURL": imageURL = text; break;
+                case "latitude": latitude = text; break;
+                case "longitude": longitude = text; break;
+                case "AssignedResponderUID": assignedResponderUid = text; break;
+                case "AssignedResponderName": assignedResponderName = text; break;
+                case "assignedDay": assignedDay = text; break;
+                case "municipality": municipality = Municipalities.canonical(text); break;
+                default: break;
+            }
+            return this;
+        }
+
+        public Incident build() {
+            return new Incident(this);
+        }
+
+        // Tolerates numbers and booleans written by other clients
+        private static String asString(Object value) {
+            return value != null ? value.toString() : null;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.iresponderapp.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.function.IntConsumer;
+
+// Moves closed incidents out of the hot nodes into month shards, keyed by creation month:
+//   Incidents_/{key}            -> IncidentsArchive/{yyyy}/{MM}/{key}
+//   IncidentSummaries/{key}     -> IncidentSummariesArchive/{yyyy}/{MM}/{key}
+//   Reports/{agency}/{key}      -> ReportsArchive/{yyyy}/{MM}/{agency}/{key}
+// and lists the shard under ArchiveShards/{yyyy}/{MM}. Candidates come from the summaries'
+// updatedAt index (last change older than maxAge). A batch is first copied into its shards in
+// one multi-path update; each incident then leaves Incidents_ in a transaction that only removes
+// it if its updatedAt and Status are still the ones that were copied, and only then are its hot
+// summary and reports removed. An incident changed meanwhile (reopened, or its report edited,
+// which stamps the incident too) stays hot and its copies are dropped; an interrupted run leaves
+// at most a duplicate in the shard, rewritten by the next run. Hot queries then only ever see
+// recent history.
+public final class IncidentArchiver {
+
+    public interface Listener {
+        void onBatch(int scanned, int archived);
+        void onFinished(int archived);
+        void onError(Exception error);
+    }
+
+    public static final List<String> ARCHIVED_STATUSES =
+            Collections.unmodifiableList(Arrays.asList("Completed", "Rejected"));
+
+    public static final String INCIDENTS_ARCHIVE = "IncidentsArchive";
+    public static final String SUMMARIES_ARCHIVE = "IncidentSummariesArchive";
+    public static final String REPORTS_ARCHIVE = "ReportsArchive";
+    public static final String SHARDS = "ArchiveShards";
+
+    // Set on the ReportsByResponder entry of a moved report, so the Forms tab can find it
+    public static final String ARCHIVE_FIELD = "archive";
+
+    public static final long DEFAULT_MAX_AGE = 90L * 24 * 60 * 60 * 1000;
+    public static final int DEFAULT_BATCH = 50;
+
+    private final RealtimeStore store;
+    private final TimeZone zone;
+    private final long maxAge;
+    private final int batchSize;
+    private boolean running = false;
+
+    public IncidentArchiver(RealtimeStore store, TimeZone zone, long maxAge, int batchSize) {
+        this.store = store;
+        this.zone = zone;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+    }
+
+    // "yyyy/MM" shard of an epoch time in the zone
+    public static String shardOf(long time, TimeZone zone) {
+        Calendar calendar = Calendar.getInstance(zone, Locale.US);
+        calendar.setTimeInMillis(time);
+        return String.format(Locale.US, "%04d/%02d", calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1);
+    }
+
+    public static boolean isArchivable(String status) {
+        for (String archived : ARCHIVED_STATUSES) {
+            if (archived.equalsIgnoreCase(status)) return true;
+        }
+        return false;
+    }
+
+    // Shards listed under ArchiveShards, newest first
+    public static List<String> shardsNewestFirst(StoreSnapshot shards) {
+        List<String> list = new ArrayList<>();
+        for (StoreSnapshot year : shards.getChildren()) {
+            for (StoreSnapshot month : year.getChildren()) list.add(year.getKey() + "/" + month.getKey());
+        }
+        Collections.sort(list, Collections.reverseOrder());
+        return list;
+    }
+
+    public void run(long now, Listener listener) {
+        if (running) return;
+        running = true;
+        nextBatch(now - maxAge, null, null, 0, listener);
+    }
+
+    // --- Step 1: summaries last changed before the cutoff, after the (lastAt, lastKey) cursor ---
+    private void nextBatch(long cutoff, Long lastAt, String lastKey, int archivedSoFar, Listener listener) {
+        RealtimeStore.Query query = store.ref(StoreQueries.INCIDENT_SUMMARIES).orderByChild(EpochTimes.UPDATED_AT);
+        // Summaries without a numeric updatedAt sort first and have no known age: skip them
+        query = lastAt == null ? query.startAt(0) : query.startAfter(lastAt, lastKey);
+
+        query.endAt(cutoff).limitToFirst(batchSize).get(new RealtimeStore.ValueListener() {
+            @Override
+            public void onValue(StoreSnapshot batch) {
+                List<StoreSnapshot> summaries = batch.getChildren();
+                List<String> keys = new ArrayList<>();
+                for (StoreSnapshot summary : summaries) {
+                    if (isArchivable(summary.child("Status").getValue(String.class))) keys.add(summary.getKey());
+                }
+                if (summaries.isEmpty()) {
+                    finish(archivedSoFar, listener);
+                    return;
+                }
+
+                StoreSnapshot last = summaries.get(summaries.size() - 1);
+                Long nextAt = last.child(EpochTimes.UPDATED_AT).getValue(Long.class);
+                boolean more = summaries.size() == batchSize;
+                move(keys, moved -> {
+                    listener.onBatch(summaries.size(), moved);
+                    if (more) nextBatch(cutoff, nextAt, last.getKey(), archivedSoFar + moved, listener);
+                    else finish(archivedSoFar + moved, listener);
+                }, listener);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                fail(error, listener);
+            }
+        });
+    }
+
+    // --- Step 2: read each full incident and its reports, then copy them all into the shards ---
+    private void move(List<String> keys, IntConsumer moved, Listener listener) {
+        if (keys.isEmpty()) {
+            moved.accept(0);
+            return;
+        }
+        // Incidents under their key, reports under "{agency}/{key}"
+        Map<String, StoreSnapshot> read = new HashMap<>();
+        int[] pending = {keys.size() * (1 + ReportSerializer.AGENCIES.length)};
+        boolean[] failed = {false};
+
+        Runnable write = () -> {
+            Map<String, Object> update = new HashMap<>();
+            List<String> copied = new ArrayList<>();
+            for (String key : keys) {
+                if (addCopy(update, key, read)) copied.add(key);
+            }
+            store.ref("").updateChildren(update, error -> {
+                if (error != null) fail(error, listener);
+                else release(copied, read, moved, listener);
+            });
+        };
+
+        for (String key : keys) {
+            store.ref(StoreQueries.INCIDENTS).child(key).get(collect(read, key, pending, failed, write, listener));
+            for (String agency : ReportSerializer.AGENCIES) {
+                store.ref(StoreQueries.REPORTS).child(agency).child(key)
+                        .get(collect(read, agency + "/" + key, pending, failed, write, listener));
+            }
+        }
+    }
+
+    private RealtimeStore.ValueListener collect(Map<String, StoreSnapshot> read, String slot, int[] pending,
+                                                boolean[] failed, Runnable whenAllRead, Listener listener) {
+        return new RealtimeStore.ValueListener() {
+            @Override
+            public void onValue(StoreSnapshot snapshot) {
+                read.put(slot, snapshot);
+                if (--pending[0] == 0 && !failed[0]) whenAllRead.run();
+            }
+
+            @Override
+            public void onError(Exception error) {
+                if (failed[0]) return;
+                failed[0] = true;
+                fail(error, listener);
+            }
+        };
+    }
+
+    // --- Step 3: each incident leaves the hot nodes only if it is still what was copied ---
+    private void release(List<String> keys, Map<String, StoreSnapshot> read, IntConsumer moved, Listener listener) {
+        if (keys.isEmpty()) {
+            moved.accept(0);
+            return;
+        }
+        Map<String, Object> update = new HashMap<>();
+        int[] pending = {keys.size()};
+        int[] released = {0};
+        boolean[] failed = {false};
+
+        for (String key : keys) {
+            StoreSnapshot copied = read.get(key);
+            store.ref(StoreQueries.INCIDENTS).child(key).runTransaction(current -> {
+                // Null before the backend has the value: "removing" it lets the backend retry with the real one
+                if (current == null) return null;
+                return isUnchanged(current, copied) ? null : RealtimeStore.Transaction.ABORT;
+            }, (error, committed) -> {
+                if (failed[0]) return;
+                if (error != null) {
+                    failed[0] = true;
+                    fail(error, listener);
+                    return;
+                }
+                if (committed) {
+                    released[0]++;
+                    addHotRemoval(update, key, read);
+                } else {
+                    addCopyRemoval(update, key, read);
+                }
+                if (--pending[0] == 0) {
+                    store.ref("").updateChildren(update, writeError -> {
+                        if (writeError != null) fail(writeError, listener);
+                        else moved.accept(released[0]);
+                    });
+                }
+            });
+        }
+    }
+
+    private static boolean isUnchanged(Object current, StoreSnapshot copied) {
+        if (!(current instanceof Map)) return false;
+        Map<?, ?> fields = (Map<?, ?>) current;
+        Object status = fields.get("Status");
+        return status != null && isArchivable(status.toString())
+                && sameTime(fields.get(EpochTimes.UPDATED_AT), copied.child(EpochTimes.UPDATED_AT).getValue());
+    }
+
+    private static boolean sameTime(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) return ((Number) a).longValue() == ((Number) b).longValue();
+        return a == null && b == null;
+    }
+
+    private String shardOf(String key, StoreSnapshot incident) {
+        long createdAt = EpochTimes.fromPushKey(key);
+        Long stored = incident.child(EpochTimes.CREATED_AT).getValue(Long.class);
+        if (stored != null) createdAt = stored;
+        if (createdAt == 0) {
+            Long updatedAt = incident.child(EpochTimes.UPDATED_AT).getValue(Long.class);
+            createdAt = updatedAt != null ? updatedAt : 0;
+        }
+        return shardOf(createdAt, zone);
+    }
+
+    // The shard copies of one incident, its summary and its reports; false when it is gone
+    @SuppressWarnings("unchecked")
+    private boolean addCopy(Map<String, Object> update, String key, Map<String, StoreSnapshot> read) {
+        StoreSnapshot incident = read.get(key);
+        if (incident == null || !(incident.getValue() instanceof Map)) return false;
+        Map<String, Object> fields = (Map<String, Object>) incident.getValue();
+        String shard = shardOf(key, incident);
+
+        update.put(INCIDENTS_ARCHIVE + "/" + shard + "/" + key, fields);
+        update.put(SUMMARIES_ARCHIVE + "/" + shard + "/" + key, IncidentSummaries.project(key, fields));
+        update.put(SHARDS + "/" + shard, true);
+
+        for (String agency : ReportSerializer.AGENCIES) {
+            StoreSnapshot report = read.get(agency + "/" + key);
+            if (report == null || !(report.getValue() instanceof Map)) continue;
+            update.put(REPORTS_ARCHIVE + "/" + shard + "/" + agency + "/" + key, report.getValue());
+        }
+        return true;
+    }
+
+    // Once the incident itself has left Incidents_: its summary and reports, and the index
+    // entries pointed at the shard
+    @SuppressWarnings("unchecked")
+    private void addHotRemoval(Map<String, Object> update, String key, Map<String, StoreSnapshot> read) {
+        String shard = shardOf(key, read.get(key));
+        update.put(StoreQueries.INCIDENT_SUMMARIES + "/" + key, null);
+
+        for (String agency : ReportSerializer.AGENCIES) {
+            StoreSnapshot report = read.get(agency + "/" + key);
+            if (report == null || !(report.getValue() instanceof Map)) continue;
+            Map<String, Object> body = (Map<String, Object>) report.getValue();
+            update.put(StoreQueries.REPORTS + "/" + agency + "/" + key, null);
+
+            // The whole index entry is rewritten, so reports filed before the index existed get one too
+            String responderUid = report.child("responderUid").getValue(String.class);
+            if (responderUid != null) {
+                Long submittedAt = report.child(EpochTimes.SUBMITTED_AT).getValue(Long.class);
+                Map<String, Object> entry = ReportSerializer.indexEntry(agency, key, body, submittedAt != null
+                        ? submittedAt : EpochTimes.parseReportTimestamp(body.get("timestamp"), zone));
+                entry.put(ARCHIVE_FIELD, shard);
+                update.put(StoreQueries.REPORTS_BY_RESPONDER + "/" + responderUid + "/"
+                        + ReportSerializer.indexKey(agency, key), entry);
+            }
+        }
+    }
+
+    // The incident changed after it was copied: the hot records stay authoritative
+    private void addCopyRemoval(Map<String, Object> update, String key, Map<String, StoreSnapshot> read) {
+        String shard = shardOf(key, read.get(key));
+        update.put(INCIDENTS_ARCHIVE + "/" + shard + "/" + key, null);
+        update.put(SUMMARIES_ARCHIVE + "/" + shard + "/" + key, null);
+        for (String agency : ReportSerializer.AGENCIES) {
+            update.put(REPORTS_ARCHIVE + "/" + shard + "/" + agency + "/" + key, null);
+        }
+    }
+
+    private void finish(int archived, Listener listener) {
+        running = false;
+        listener.onFinished(archived);
+    }
+
+    private void fail(Exception error, Listener listener) {
+        if (!running) return;
+        running = false;
+        listener.onError(error);
+    }
+}
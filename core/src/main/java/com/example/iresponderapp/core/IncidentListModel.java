@@ -0,0 +1,108 @@
+package com.example.iresponderapp.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Ordered, keyed rows behind one live incident list (see the app's IncidentFeed), patched in
+// place by child deltas. A key -> position index finds a row without scanning: a change is O(1),
+// and an insert, removal or move only pays the array shift after its position. Positions past
+// the first shifted row are renumbered lazily, on the next lookup that needs them, so a burst
+// of shifts costs one renumbering. Not thread-safe: the feed drives it from its serial lane.
+// snapshot() copies the visible rows once per publish rather than per delta, since listeners
+// get an immutable list; IncidentListModelBenchmark measures that copy against the deltas.
+public final class IncidentListModel {
+
+    private final IncidentRules.Rule filter;
+    private final ArrayList<Incident> rows = new ArrayList<>();
+    private final Map<String, Integer> positions = new HashMap<>();
+    // positions is exact for rows [0, indexedUpTo)
+    private int indexedUpTo = 0;
+    // Last snapshot(), until the next change
+    private List<Incident> published;
+
+    // filter may be null to show every row
+    public IncidentListModel(IncidentRules.Rule filter) {
+        this.filter = filter;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    // After previousKey (first when null or unknown, as Firebase's previousChildName means)
+    public void add(Incident incident, String previousKey) {
+        if (positions.containsKey(incident.key)) remove(incident.key);
+        insert(previousKey == null ? 0 : positionOf(previousKey) + 1, incident);
+    }
+
+    // False when the key is not in the model
+    public boolean change(Incident incident) {
+        int position = positionOf(incident.key);
+        if (position < 0) return false;
+        rows.set(position, incident);
+        published = null;
+        return true;
+    }
+
+    public Incident remove(String key) {
+        int position = positionOf(key);
+        if (position < 0) return null;
+        Incident removed = rows.remove(position);
+        positions.remove(key);
+        indexedUpTo = Math.min(indexedUpTo, position);
+        published = null;
+        return removed;
+    }
+
+    public void move(String key, String previousKey) {
+        Incident incident = remove(key);
+        if (incident != null) add(incident, previousKey);
+    }
+
+    public void clear() {
+        rows.clear();
+        positions.clear();
+        indexedUpTo = 0;
+        published = null;
+    }
+
+    // Immutable rows in query order that pass the filter; the same list until the next change
+    public List<Incident> snapshot() {
+        if (published != null) return published;
+        List<Incident> visible;
+        if (filter == null) {
+            visible = new ArrayList<>(rows);
+        } else {
+            visible = new ArrayList<>(rows.size());
+            for (Incident incident : rows) {
+                if (filter.accept(incident)) visible.add(incident);
+            }
+        }
+        published = Collections.unmodifiableList(visible);
+        return published;
+    }
+
+    // Children normally arrive in query order, so the common case is an append that keeps the
+    // index exact
+    private void insert(int position, Incident incident) {
+        boolean append = position == rows.size();
+        rows.add(position, incident);
+        positions.put(incident.key, position);
+        if (append && indexedUpTo == position) indexedUpTo = position + 1;
+        else indexedUpTo = Math.min(indexedUpTo, position);
+        published = null;
+    }
+
+    // -1 when the key is not in the model
+    private int positionOf(String key) {
+        Integer position = positions.get(key);
+        if (position == null) return -1;
+        if (position < indexedUpTo) return position;
+        for (int i = indexedUpTo; i < rows.size(); i++) positions.put(rows.get(i).key, i);
+        indexedUpTo = rows.size();
+        return positions.get(key);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.iresponderapp.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Per-screen inclusion rules for incident lists
+public final class IncidentRules {
+
+    public interface Rule {
+        boolean accept(Incident incident);
+    }
+
+    // Alert tab: incidents actively assigned to the responder
+    public static final Rule ASSIGNED = incident ->
+            incident.status != null && incident.status.equalsIgnoreCase("Assigned");
+
+    // Home tab: assigned to the responder and not completed yet (all dates)
+    public static final Rule ONGOING = incident -> !"Completed".equalsIgnoreCase(incident.status);
+
+    // Receiver queue: only incidents with the fields a card needs
+    public static final Rule LISTABLE = incident -> incident.key != null && incident.incidentType != null
+            && incident.date != null && incident.address != null;
+
+    private IncidentRules() {}
+
+    public static List<Incident> apply(List<Incident> incidents, Rule rule) {
+        List<Incident> visible = new ArrayList<>(incidents.size());
+        for (Incident incident : incidents) {
+            if (rule.accept(incident)) visible.add(incident);
+        }
+        return Collections.unmodifiableList(visible);
+    }
+}
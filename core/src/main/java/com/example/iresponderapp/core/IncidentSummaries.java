@@ -0,0 +1,132 @@
+package com.example.iresponderapp.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// IncidentSummaries/{key}: the few Incidents_ fields a list card shows or a list query orders on.
+// Lists query this node and decode summaries; the full incident (description, photo, coordinates,
+// reporter) is only fetched when a detail screen opens. Every write this app makes to a summary
+// field goes through mirror(), so the two nodes change in the same multi-path update.
+// Summaries are partitioned by municipality (see Municipalities): each carries a derived
+// "{municipality}_{Status}" key that the per-receiver queries filter on. Cards get the
+// municipality itself back from the address, so it is not copied.
+public final class IncidentSummaries {
+
+    public static final String MUNICIPALITY = "municipality";
+    public static final String MUNICIPALITY_STATUS = "municipalityStatus";
+
+    public static final Set<String> FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "incidentType", "date", "Time", "address", "Status", "agency", "AssignedResponderUID",
+            EpochTimes.CREATED_AT, EpochTimes.UPDATED_AT)));
+
+    private static final String INCIDENT_PREFIX = StoreQueries.INCIDENTS + "/";
+
+    private IncidentSummaries() {}
+
+    // Summary of one full incident record
+    public static Map<String, Object> project(Map<String, ?> incident) {
+        Map<String, Object> summary = new HashMap<>();
+        for (Map.Entry<String, ?> field : incident.entrySet()) {
+            if (FIELDS.contains(field.getKey())) summary.put(field.getKey(), field.getValue());
+        }
+        // Reporter-written incidents only have an address; the partition is derived from it
+        String municipality = municipalityOf(incident);
+        Object status = incident.get("Status");
+        if (municipality != null && status != null) {
+            summary.put(MUNICIPALITY_STATUS, Municipalities.statusKey(municipality, status.toString()));
+        }
+        return summary;
+    }
+
+    // Same, for the incident stored under `key`: the reporter app writes no createdAt/updatedAt,
+    // so the summary gets them from missingTimes() and the time-ordered summary queries (and
+    // IncidentArchiver) still see the incident
+    public static Map<String, Object> project(String key, Map<String, ?> incident) {
+        Map<String, Object> summary = project(incident);
+        summary.putAll(missingTimes(key, incident));
+        return summary;
+    }
+
+    // createdAt from the push key and updatedAt as the latest known change, for a record that
+    // lacks them; only the missing fields are returned (none when key is not a push key)
+    public static Map<String, Object> missingTimes(String key, Map<String, ?> incident) {
+        Map<String, Object> times = new HashMap<>();
+        long pushed = EpochTimes.fromPushKey(key);
+        if (pushed == 0) return times;
+
+        Object stored = incident.get(EpochTimes.CREATED_AT);
+        long createdAt = stored instanceof Number ? ((Number) stored).longValue() : pushed;
+        if (!(stored instanceof Number)) times.put(EpochTimes.CREATED_AT, createdAt);
+        if (!(incident.get(EpochTimes.UPDATED_AT) instanceof Number)) {
+            long updatedAt = createdAt;
+            for (String field : new String[]{"assignedAt", "completedAt"}) {
+                Object at = incident.get(field);
+                if (at instanceof Number) updatedAt = Math.max(updatedAt, ((Number) at).longValue());
+            }
+            times.put(EpochTimes.UPDATED_AT, updatedAt);
+        }
+        return times;
+    }
+
+    // Stored municipality field, else the one named in the address
+    public static String municipalityOf(Map<String, ?> incident) {
+        Object stored = incident.get(MUNICIPALITY);
+        String municipality = stored != null ? Municipalities.canonical(stored.toString()) : null;
+        if (municipality != null) return municipality;
+        Object address = incident.get("address");
+        return address != null ? Municipalities.fromAddress(address.toString()) : null;
+    }
+
+    // Root-relative update writing `fields` to Incidents_/{key} and its summary together
+    public static Map<String, Object> incidentUpdate(String key, Map<String, Object> fields) {
+        return incidentUpdate(key, null, fields);
+    }
+
+    // Same, for an incident of a known municipality: a Status change then keeps the
+    // municipalityStatus key current, and the municipality is stored on the incident too
+    public static Map<String, Object> incidentUpdate(String key, String municipality, Map<String, Object> fields) {
+        Map<String, Object> update = new HashMap<>();
+        if (municipality != null) update.put(INCIDENT_PREFIX + key + "/" + MUNICIPALITY, municipality);
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            update.put(INCIDENT_PREFIX + key + "/" + field.getKey(), field.getValue());
+        }
+        return mirror(update);
+    }
+
+    // Adds the IncidentSummaries paths matching the Incidents_ paths of a root-relative update:
+    // a whole incident becomes its projection, a summary field is copied, other fields are skipped.
+    // A Status write also rewrites municipalityStatus from the municipality written alongside it;
+    // without one the key is left as it is (clearing it would drop the incident from every
+    // municipality's lists), so writers should pass the municipality whenever it is known.
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> mirror(Map<String, Object> update) {
+        Map<String, Object> summaries = new HashMap<>();
+        for (Map.Entry<String, Object> entry : update.entrySet()) {
+            String path = entry.getKey();
+            if (!path.startsWith(INCIDENT_PREFIX)) continue;
+
+            String rest = path.substring(INCIDENT_PREFIX.length());
+            int slash = rest.indexOf('/');
+            if (slash < 0) {
+                Object incident = entry.getValue();
+                summaries.put(StoreQueries.INCIDENT_SUMMARIES + "/" + rest,
+                        incident instanceof Map ? project(rest, (Map<String, ?>) incident) : null);
+            } else if (FIELDS.contains(rest.substring(slash + 1))) {
+                summaries.put(StoreQueries.INCIDENT_SUMMARIES + "/" + rest, entry.getValue());
+                String key = rest.substring(0, slash);
+                Object municipality = update.get(INCIDENT_PREFIX + key + "/" + MUNICIPALITY);
+                Object status = entry.getValue();
+                if (rest.substring(slash + 1).equals("Status") && municipality != null && status != null) {
+                    summaries.put(StoreQueries.INCIDENT_SUMMARIES + "/" + key + "/" + MUNICIPALITY_STATUS,
+                            Municipalities.statusKey(municipality.toString(), status.toString()));
+                }
+            }
+        }
+        update.putAll(summaries);
+        return update;
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.iresponderapp.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Projects incidents this app did not write (the reporter app creates them) into
+// IncidentSummaries. Incidents_ is walked in push-key order from a cursor stored under
+// Migrations/, BATCH children per read and one multi-path update per batch; once caught up it
+// follows the incidents after the cursor, so each incident is downloaded in full once, plus
+// the incidents whose updatedAt moves past a second stored mark, so a later change to an older
+// incident (by another receiver or a web console) is projected again.
+// Several receivers may project at once. A batch is read before it is written, so it may be
+// older than a summary another receiver's IncidentSummaries.incidentUpdate() wrote meanwhile:
+// a summary whose updatedAt is at least the record's only gets the fields it is missing. An
+// update that lands between the read and the write is re-projected by the change listener.
+public final class IncidentSummaryProjector {
+
+    public interface Listener {
+        void onProjected(int count);
+        void onError(Exception error);
+    }
+
+    // Renamed whenever the projection gains fields, so existing summaries are re-projected once
+    // (v2: municipality and municipalityStatus)
+    public static final String STATE = "Migrations/incidentSummariesV2";
+    public static final String CURSOR = STATE + "/cursor";
+    // Highest Incidents_ updatedAt already projected by the change listener
+    public static final String CHANGED_SINCE = STATE + "/changedSince";
+    public static final int DEFAULT_BATCH = 200;
+
+    private final RealtimeStore store;
+    private final int batchSize;
+    private RealtimeStore.Registration following;
+    private RealtimeStore.Registration followingChanges;
+    private boolean running = false;
+    private long changedSince;
+
+    public IncidentSummaryProjector(RealtimeStore store, int batchSize) {
+        this.store = store;
+        this.batchSize = batchSize;
+    }
+
+    public void start(Listener listener) {
+        if (running) return;
+        running = true;
+        store.ref(STATE).get(new RealtimeStore.ValueListener() {
+            @Override
+            public void onValue(StoreSnapshot state) {
+                if (!running) return;
+                String cursor = state.child("cursor").getValue(String.class);
+                Long since = state.child("changedSince").getValue(Long.class);
+                if (since != null) {
+                    changedSince = since;
+                    catchUp(cursor, listener);
+                } else {
+                    startChangesFromNow(cursor, listener);
+                }
+            }
+
+            @Override
+            public void onError(Exception error) {
+                fail(error, listener);
+            }
+        });
+    }
+
+    public void stop() {
+        running = false;
+        if (following != null) {
+            following.remove();
+            following = null;
+        }
+        if (followingChanges != null) {
+            followingChanges.remove();
+            followingChanges = null;
+        }
+    }
+
+    // --- Step 0 (no mark stored yet): changes are followed from the newest updatedAt there is ---
+    private void startChangesFromNow(String cursor, Listener listener) {
+        store.ref(StoreQueries.INCIDENTS).orderByChild(EpochTimes.UPDATED_AT).limitToLast(1)
+                .get(new RealtimeStore.ValueListener() {
+                    @Override
+                    public void onValue(StoreSnapshot newest) {
+                        if (!running) return;
+                        for (StoreSnapshot incident : newest.getChildren()) {
+                            Long updatedAt = incident.child(EpochTimes.UPDATED_AT).getValue(Long.class);
+                            if (updatedAt != null) changedSince = updatedAt;
+                        }
+                        catchUp(cursor, listener);
+                    }
+
+                    @Override
+                    public void onError(Exception error) {
+                        fail(error, listener);
+                    }
+                });
+    }
+
+    // --- Step 1: existing incidents, in batches ---
+    private void catchUp(String cursor, Listener listener) {
+        RealtimeStore.Query query = store.ref(StoreQueries.INCIDENTS).orderByKey();
+        if (cursor != null) query = query.startAfter(cursor);
+
+        query.limitToFirst(batchSize).get(new RealtimeStore.ValueListener() {
+            @Override
+            public void onValue(StoreSnapshot batch) {
+                if (!running) return;
+                List<StoreSnapshot> incidents = batch.getChildren();
+                if (incidents.isEmpty()) {
+                    follow(cursor, listener);
+                    return;
+                }
+                String last = incidents.get(incidents.size() - 1).getKey();
+                readSummaries(cursor, last, incidents, listener);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                fail(error, listener);
+            }
+        });
+    }
+
+    // The summaries already stored for the batch's key range, to keep newer ones
+    private void readSummaries(String cursor, String last, List<StoreSnapshot> incidents, Listener listener) {
+        RealtimeStore.Query query = store.ref(StoreQueries.INCIDENT_SUMMARIES).orderByKey();
+        if (cursor != null) query = query.startAfter(cursor);
+
+        query.endAt(last).get(new RealtimeStore.ValueListener() {
+            @Override
+            public void onValue(StoreSnapshot summaries) {
+                if (!running) return;
+                Map<String, Object> update = new HashMap<>();
+                for (StoreSnapshot incident : incidents) {
+                    putSummary(update, incident, summaries.child(incident.getKey()));
+                }
+                update.put(CURSOR, last);
+                update.put(CHANGED_SINCE, changedSince);
+
+                store.ref("").updateChildren(update, error -> {
+                    if (error != null) {
+                        fail(error, listener);
+                        return;
+                    }
+                    listener.onProjected(incidents.size());
+                    if (!running) return;
+                    if (incidents.size() < batchSize) follow(last, listener);
+                    else catchUp(last, listener);
+                });
+            }
+
+            @Override
+            public void onError(Exception error) {
+                fail(error, listener);
+            }
+        });
+    }
+
+    // --- Step 2: incidents created (or still being edited) after the cursor, and changes to
+    // any incident after the changedSince mark ---
+    private void follow(String cursor, Listener listener) {
+        RealtimeStore.Query query = store.ref(StoreQueries.INCIDENTS).orderByKey();
+        if (cursor != null) query = query.startAfter(cursor);
+
+        following = query.addChildListener(new RealtimeStore.ChildListener() {
+            @Override
+            public void onChildAdded(StoreSnapshot incident, String previousKey) {
+                project(incident, CURSOR, incident.getKey(), listener);
+            }
+
+            @Override
+            public void onChildChanged(StoreSnapshot incident, String previousKey) {
+                project(incident, null, null, listener);
+            }
+
+            @Override
+            public void onChildRemoved(StoreSnapshot incident) {
+                store.ref(StoreQueries.INCIDENT_SUMMARIES).child(incident.getKey()).removeValue(null);
+            }
+
+            @Override
+            public void onChildMoved(StoreSnapshot incident, String previousKey) {}
+
+            @Override
+            public void onError(Exception error) {
+                fail(error, listener);
+            }
+        });
+
+        // Removals are left to the key listener and IncidentArchiver: an incident also leaves
+        // this range when it is archived
+        followingChanges = store.ref(StoreQueries.INCIDENTS).orderByChild(EpochTimes.UPDATED_AT)
+                .startAfter(changedSince).addChildListener(new RealtimeStore.ChildListener() {
+                    @Override
+                    public void onChildAdded(StoreSnapshot incident, String previousKey) {
+                        changed(incident);
+                    }
+
+                    @Override
+                    public void onChildChanged(StoreSnapshot incident, String previousKey) {
+                        changed(incident);
+                    }
+
+                    private void changed(StoreSnapshot incident) {
+                        Long updatedAt = incident.child(EpochTimes.UPDATED_AT).getValue(Long.class);
+                        if (updatedAt == null) return;
+                        changedSince = Math.max(changedSince, updatedAt);
+                        project(incident, CHANGED_SINCE, changedSince, listener);
+                    }
+
+                    @Override
+                    public void onChildRemoved(StoreSnapshot incident) {}
+
+                    @Override
+                    public void onChildMoved(StoreSnapshot incident, String previousKey) {}
+
+                    @Override
+                    public void onError(Exception error) {
+                        fail(error, listener);
+                    }
+                });
+    }
+
+    // A live event carries the record as it is now, so its whole projection is written
+    private void project(StoreSnapshot incident, String markPath, Object mark, Listener listener) {
+        Map<String, Object> update = new HashMap<>();
+        putSummary(update, incident, null);
+        if (markPath != null) update.put(markPath, mark);
+        store.ref("").updateChildren(update, error -> {
+            if (error != null) fail(error, listener);
+            else listener.onProjected(1);
+        });
+    }
+
+    // The whole projection, or (when `stored` is at least as new as the record) only the fields
+    // the stored summary lacks. Reporter-written records carry no times, so the projection
+    // derives them from the key (see IncidentSummaries.project(key, incident)); a record without
+    // its own updatedAt cannot be shown older than the summary and is projected whole.
+    @SuppressWarnings("unchecked")
+    private static void putSummary(Map<String, Object> update, StoreSnapshot incident, StoreSnapshot stored) {
+        String path = StoreQueries.INCIDENT_SUMMARIES + "/" + incident.getKey();
+        Object fields = incident.getValue();
+        if (!(fields instanceof Map)) {
+            update.put(path, null);
+            return;
+        }
+        Map<String, Object> summary = IncidentSummaries.project(incident.getKey(), (Map<String, ?>) fields);
+        if (stored == null || !stored.exists() || isNewer(incident, stored)) {
+            update.put(path, summary);
+            return;
+        }
+        for (Map.Entry<String, Object> field : summary.entrySet()) {
+            if (!stored.child(field.getKey()).exists()) update.put(path + "/" + field.getKey(), field.getValue());
+        }
+    }
+
+    private static boolean isNewer(StoreSnapshot incident, StoreSnapshot stored) {
+        Long summaryAt = stored.child(EpochTimes.UPDATED_AT).getValue(Long.class);
+        Long recordAt = incident.child(EpochTimes.UPDATED_AT).getValue(Long.class);
+        return summaryAt == null || recordAt == null || recordAt > summaryAt;
+    }
+
+    private void fail(Exception error, Listener listener) {
+        if (!running) return;
+        stop();
+        listener.onError(error);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.iresponderapp.core;
+
+// Anything with a stable identity, e.g. a push key; list adapters diff rows by it
+public interface Keyed {
+    String getKey();
+}
@@ -0,0 +1,86 @@
+package com.example.iresponderapp.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// The municipalities of Camarines Norte that receivers and responders are tied to (the sign-up
+// spinners list the same names). Incident lists are partitioned on them: every summary carries a
+// municipality and a "{municipality}_{Status}" key, so a receiver's queue is one equalTo query
+// over its own slice. A profile location that is not a municipality means the province-wide view.
+public final class Municipalities {
+
+    public static final List<String> ALL = Collections.unmodifiableList(Arrays.asList(
+            "Basud", "Capalonga", "Daet", "Jose Panganiban", "Labo", "Mercedes", "Paracale",
+            "San Lorenzo Ruiz", "San Vicente", "Santa Elena", "Talisay", "Vinzons"));
+
+    // Sign-up choice for provincial supervisors
+    public static final String PROVINCE_WIDE = "Provincial (all municipalities)";
+
+    // Common spellings in reporter addresses -> canonical name
+    private static final String[][] ALIASES = {
+            {"sta. elena", "Santa Elena"}, {"sta elena", "Santa Elena"}, {"jose pang", "Jose Panganiban"},
+            {"sl ruiz", "San Lorenzo Ruiz"}, {"s.l. ruiz", "San Lorenzo Ruiz"}
+    };
+
+    private Municipalities() {}
+
+    // Canonical name for a profile location or a stored municipality field, or null
+    public static String canonical(String name) {
+        if (name == null) return null;
+        String wanted = name.trim();
+        for (String municipality : ALL) {
+            if (municipality.equalsIgnoreCase(wanted)) return municipality;
+        }
+        return null;
+    }
+
+    // The municipality a user's queries are scoped to; null means province-wide
+    public static String scopeOf(String profileLocation) {
+        return canonical(profileLocation);
+    }
+
+    // Municipality named in a free-text address. The last whole-word match wins, since
+    // addresses run street, barangay, municipality, province.
+    public static String fromAddress(String address) {
+        if (address == null) return null;
+        String text = address.toLowerCase(Locale.ROOT);
+        String found = null;
+        int foundAt = -1;
+        for (String municipality : ALL) {
+            int at = lastWordIndex(text, municipality.toLowerCase(Locale.ROOT));
+            if (at > foundAt) {
+                found = municipality;
+                foundAt = at;
+            }
+        }
+        for (String[] alias : ALIASES) {
+            int at = lastWordIndex(text, alias[0]);
+            if (at > foundAt) {
+                found = alias[1];
+                foundAt = at;
+            }
+        }
+        return found;
+    }
+
+    // Normalized partition key, e.g. "San Vicente" -> "san vicente" (same rule as agencyLocation)
+    public static String key(String municipality) {
+        return municipality != null ? municipality.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    // Value of the summaries' municipalityStatus index, e.g. ("Daet", "Pending") -> "daet_Pending"
+    public static String statusKey(String municipality, String status) {
+        return key(municipality) + "_" + status;
+    }
+
+    private static int lastWordIndex(String text, String word) {
+        Matcher matcher = Pattern.compile("(?<![a-z])" + Pattern.quote(word) + "(?![a-z])").matcher(text);
+        int last = -1;
+        while (matcher.find()) last = matcher.start();
+        return last;
+    }
+}
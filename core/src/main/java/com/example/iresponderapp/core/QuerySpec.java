@@ -0,0 +1,174 @@
+package com.example.iresponderapp.core;
+
+import java.util.Comparator;
+import java.util.Map;
+
+// Immutable shape of one query (ordering, start/end bounds, limit) plus the database's ordering
+// rules, so InMemoryRealtimeStore returns children in the order the server would:
+//   keys:   32-bit integer keys first (numerically), then the rest lexicographically
+//   values: missing < false < true < numbers < strings < objects, ties broken by key
+final class QuerySpec {
+
+    static final QuerySpec ALL = new QuerySpec(null, false, null, null, 0, false);
+
+    static final Comparator<String> KEY_ORDER = QuerySpec::compareKeys;
+
+    // Probe keys that sort before / after every real key (compared by identity)
+    static final String MIN_KEY = new String("[MIN]");
+    static final String MAX_KEY = new String("[MAX]");
+
+    static final class Bound {
+        final Object value;
+        // null: the bound covers every key with this value
+        final String key;
+        final boolean inclusive;
+
+        Bound(Object value, String key, boolean inclusive) {
+            this.value = value;
+            this.key = key;
+            this.inclusive = inclusive;
+        }
+    }
+
+    // null with byChild == false orders by key
+    final String orderByChild;
+    final boolean byChild;
+    private final String[] childPath;
+    final Bound start;
+    final Bound end;
+    // 0 = no limit
+    final int limit;
+    final boolean fromEnd;
+
+    private QuerySpec(String orderByChild, boolean byChild, Bound start, Bound end, int limit, boolean fromEnd) {
+        this.orderByChild = orderByChild;
+        this.byChild = byChild;
+        this.childPath = orderByChild != null ? orderByChild.split("/") : new String[0];
+        this.start = start;
+        this.end = end;
+        this.limit = limit;
+        this.fromEnd = fromEnd;
+    }
+
+    QuerySpec orderByChild(String path) {
+        return new QuerySpec(path, true, start, end, limit, fromEnd);
+    }
+
+    QuerySpec orderByKey() {
+        return new QuerySpec(null, false, start, end, limit, fromEnd);
+    }
+
+    QuerySpec start(Object value, String key, boolean inclusive) {
+        return new QuerySpec(orderByChild, byChild, new Bound(value, key, inclusive), end, limit, fromEnd);
+    }
+
+    QuerySpec end(Object value, String key, boolean inclusive) {
+        return new QuerySpec(orderByChild, byChild, start, new Bound(value, key, inclusive), limit, fromEnd);
+    }
+
+    QuerySpec limit(int limit, boolean fromEnd) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive: " + limit);
+        return new QuerySpec(orderByChild, byChild, start, end, limit, fromEnd);
+    }
+
+    boolean isDefault() {
+        return !byChild && start == null && end == null && limit == 0;
+    }
+
+    // --- Evaluation ---
+    Object sortValue(String key, Object child) {
+        if (!byChild) return key;
+        Object node = child;
+        for (String segment : childPath) {
+            if (segment.isEmpty()) continue;
+            node = node instanceof Map ? ((Map<?, ?>) node).get(segment) : null;
+        }
+        return node;
+    }
+
+    int compare(String keyA, Object sortA, String keyB, Object sortB) {
+        if (byChild) {
+            int byValue = compareValues(sortA, sortB);
+            if (byValue != 0) return byValue;
+        }
+        return compareKeys(keyA, keyB);
+    }
+
+    boolean inRange(String key, Object sort) {
+        if (start != null) {
+            int c = compareToBound(key, sort, start);
+            if (start.inclusive ? c < 0 : c <= 0) return false;
+        }
+        if (end != null) {
+            int c = compareToBound(key, sort, end);
+            if (end.inclusive ? c > 0 : c >= 0) return false;
+        }
+        return true;
+    }
+
+    // Sort key of the first (isStart) or last position a bound admits; with `inclusive` it tells
+    // a NavigableSet of children ordered by this spec where the range begins or ends
+    String boundKey(Bound bound, boolean isStart) {
+        if (!byChild) return String.valueOf(bound.value);
+        if (bound.key != null) return bound.key;
+        return isStart == bound.inclusive ? MIN_KEY : MAX_KEY;
+    }
+
+    Object boundSort(Bound bound) {
+        return byChild ? bound.value : String.valueOf(bound.value);
+    }
+
+    // 0 means "exactly at the bound"; a key-less bound treats every key with the value as at it
+    private int compareToBound(String key, Object sort, Bound bound) {
+        if (!byChild) return compareKeys(key, String.valueOf(bound.value));
+        int byValue = compareValues(sort, bound.value);
+        if (byValue != 0 || bound.key == null) return byValue;
+        return compareKeys(key, bound.key);
+    }
+
+    static int compareKeys(String a, String b) {
+        if (a == b) return 0;
+        if (a == MIN_KEY || b == MAX_KEY) return -1;
+        if (a == MAX_KEY || b == MIN_KEY) return 1;
+        Integer intA = asInt(a);
+        Integer intB = asInt(b);
+        if (intA != null && intB != null) return Integer.compare(intA, intB);
+        if (intA != null) return -1;
+        if (intB != null) return 1;
+        return a.compareTo(b);
+    }
+
+    static int compareValues(Object a, Object b) {
+        int rankA = rank(a);
+        int rankB = rank(b);
+        if (rankA != rankB) return Integer.compare(rankA, rankB);
+        switch (rankA) {
+            case 3: return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+            case 4: return ((String) a).compareTo((String) b);
+            default: return 0;
+        }
+    }
+
+    private static int rank(Object value) {
+        if (value == null) return 0;
+        if (value instanceof Boolean) return (Boolean) value ? 2 : 1;
+        if (value instanceof Number) return 3;
+        if (value instanceof String) return 4;
+        return 5;
+    }
+
+    private static Integer asInt(String key) {
+        int length = key.length();
+        if (length == 0 || length > 11) return null;
+        int i = key.charAt(0) == '-' ? 1 : 0;
+        if (i == length) return null;
+        // No leading zeros: "01" is a string key
+        if (key.charAt(i) == '0' && length > i + 1) return null;
+        for (int j = i; j < length; j++) {
+            char c = key.charAt(j);
+            if (c < '0' || c > '9') return null;
+        }
+        long parsed = Long.parseLong(key);
+        return parsed >= Integer.MIN_VALUE && parsed <= Integer.MAX_VALUE ? (int) parsed : null;
+    }
+}
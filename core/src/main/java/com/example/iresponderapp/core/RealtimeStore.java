@@ -0,0 +1,99 @@
+package com.example.iresponderapp.core;
+
+import java.util.Map;
+
+// The slice of the Realtime Database API the app relies on: references, ordered/bounded/limited
+// queries, one-shot reads, value and child listeners, and (multi-path) writes.
+// The app runs on FirebaseRealtimeStore; tests and load runs use InMemoryRealtimeStore.
+public interface RealtimeStore {
+
+    // Reference relative to the store root, e.g. "Incidents_/-Oabc"
+    Ref ref(String path);
+
+    // Placeholder the backend replaces with its own clock at write time
+    Object serverTimestamp();
+
+    interface Query {
+        Query orderByChild(String path);
+        Query orderByKey();
+
+        Query startAt(Object value);
+        Query startAt(Object value, String key);
+        Query startAfter(Object value);
+        Query startAfter(Object value, String key);
+        Query endAt(Object value);
+        Query endBefore(Object value, String key);
+        Query equalTo(Object value);
+
+        Query limitToFirst(int limit);
+        Query limitToLast(int limit);
+
+        // One-shot read of the current result
+        void get(ValueListener listener);
+
+        Registration addValueListener(ValueListener listener);
+        Registration addChildListener(ChildListener listener);
+    }
+
+    interface Ref extends Query {
+        String getKey();
+        String getPath();
+        Ref child(String path);
+
+        // New child with a chronologically ordered push key
+        Ref push();
+
+        void setValue(Object value, Completion completion);
+        // Keys are paths relative to this reference; all of them are applied atomically
+        void updateChildren(Map<String, Object> update, Completion completion);
+        void removeValue(Completion completion);
+
+        // Compare-and-set on this one location; completion may be passed as null
+        void runTransaction(Transaction transaction, TransactionCompletion completion);
+    }
+
+    // Callers that can fail (a denied read, a cancelled listener) override onError; the default
+    // rethrows, so an unhandled error is never silently dropped with the caller waiting forever
+    interface ValueListener {
+        void onValue(StoreSnapshot snapshot);
+
+        default void onError(Exception error) {
+            throw new IllegalStateException("Unhandled store error", error);
+        }
+    }
+
+    interface ChildListener {
+        void onChildAdded(StoreSnapshot snapshot, String previousKey);
+        void onChildChanged(StoreSnapshot snapshot, String previousKey);
+        void onChildRemoved(StoreSnapshot snapshot);
+        void onChildMoved(StoreSnapshot snapshot, String previousKey);
+
+        default void onError(Exception error) {
+            throw new IllegalStateException("Unhandled store error", error);
+        }
+    }
+
+    // error is null on success; completion may be passed as null
+    interface Completion {
+        void onComplete(Exception error);
+    }
+
+    // Given the location's current value (maps and boxed values, as StoreSnapshot.getValue()
+    // returns them), returns the new one (null removes it) or ABORT to leave it as it is. The
+    // backend may first call it with null before it has the value, and again whenever another
+    // write got there first, so it must not have side effects.
+    interface Transaction {
+        Object ABORT = new Object();
+
+        Object apply(Object current);
+    }
+
+    // error is null unless the transaction failed; committed is false when it was aborted
+    interface TransactionCompletion {
+        void onComplete(Exception error, boolean committed);
+    }
+
+    interface Registration {
+        void remove();
+    }
+}
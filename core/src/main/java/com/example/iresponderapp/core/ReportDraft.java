@@ -0,0 +1,87 @@
+package com.example.iresponderapp.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// An unsent report form as checkpointed on the device: the form values plus what an edit needs to
+// resume where it left off (the report as loaded, for ReportSchema.changes(), and its createdAt).
+// toMap() is a deep copy made of plain maps, lists and strings, so it can be handed to another
+// thread and serialized while the form keeps changing.
+public final class ReportDraft {
+
+    public final FormValues values;
+    // Encoded report the edit started from; null for a new report
+    public final Map<String, Object> loadedReport;
+    public final Long createdAt;
+    public final long savedAt;
+
+    public ReportDraft(FormValues values, Map<String, Object> loadedReport, Long createdAt, long savedAt) {
+        this.values = values;
+        this.loadedReport = loadedReport;
+        this.createdAt = createdAt;
+        this.savedAt = savedAt;
+    }
+
+    // True when the stored report was saved after this draft (another device, or an edit that
+    // went out without it), so reopening the draft would hide that newer version
+    public boolean isOlderThan(Long reportUpdatedAt) {
+        return reportUpdatedAt != null && reportUpdatedAt > savedAt;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("fields", copy(values.fields));
+        map.put("groups", copy(values.groups));
+        if (loadedReport != null) map.put("loadedReport", copy(loadedReport));
+        if (createdAt != null) map.put(EpochTimes.CREATED_AT, createdAt);
+        map.put("savedAt", savedAt);
+        return map;
+    }
+
+    // Inverse of toMap(), also accepting what a JSON round trip makes of it (numbers of any width)
+    @SuppressWarnings("unchecked")
+    public static ReportDraft fromMap(Map<String, ?> map) {
+        FormValues values = new FormValues();
+        if (map.get("fields") instanceof Map) {
+            values.fields.putAll((Map<String, Object>) copy(map.get("fields")));
+        }
+        if (map.get("groups") instanceof Map) {
+            for (Map.Entry<String, ?> group : ((Map<String, ?>) map.get("groups")).entrySet()) {
+                List<Map<String, Object>> entries = values.entries(group.getKey());
+                if (!(group.getValue() instanceof List)) continue;
+                for (Object entry : (List<?>) group.getValue()) {
+                    if (entry instanceof Map) entries.add((Map<String, Object>) copy(entry));
+                }
+            }
+        }
+        Map<String, Object> loadedReport = map.get("loadedReport") instanceof Map
+                ? (Map<String, Object>) copy(map.get("loadedReport")) : null;
+        Object createdAt = map.get(EpochTimes.CREATED_AT);
+        Object savedAt = map.get("savedAt");
+        return new ReportDraft(values, loadedReport,
+                createdAt instanceof Number ? ((Number) createdAt).longValue() : null,
+                savedAt instanceof Number ? ((Number) savedAt).longValue() : 0L);
+    }
+
+    // Mutable deep copy; list elements become strings, as READINGS takes are
+    @SuppressWarnings("unchecked")
+    private static Object copy(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> copy = new HashMap<>();
+            for (Map.Entry<String, ?> entry : ((Map<String, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                copy.add(item instanceof Map || item instanceof List ? copy(item) : item != null ? item.toString() : "");
+            }
+            return copy;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,507 @@
+package com.example.iresponderapp.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+// Declarative layout of one agency's report form: a flat, ordered field table. The app renders
+// it (SchemaForm), binds stored values into it and serializes it back to Reports/{agency}, each
+// in one pass over the table, so a new agency form is a new table rather than new view code.
+// Fields of a repeatable group follow its GROUP row and carry the group's key.
+public final class ReportSchema {
+
+    public enum Type {
+        SECTION,        // header row, no value
+        GROUP,          // repeatable entries (patients, suspects, ...), stored by entry key
+        TEXT,
+        MULTILINE,
+        NUMBER,
+        TIME,           // "HH:mm", set with a time picker
+        CHOICE,         // one option of a string-array resource
+        MULTI_CHOICE,   // ", "-joined options of a string-array resource
+        READINGS,       // READINGS_PER_ROW takes of the VitalSign keyed like the field
+        READING_TIMES   // "HH:mm" of each take; with the READINGS rows stored as one VitalSigns node
+    }
+
+    public static final int READINGS_PER_ROW = 3;
+
+    public static final class Field {
+        public final String key;
+        public final String label;
+        public final Type type;
+        // Key of the enclosing GROUP, null for report-level fields
+        public final String group;
+        // string-array resource name for CHOICE/MULTI_CHOICE, entry title for GROUP
+        public final String options;
+        public final boolean required;
+
+        Field(String key, String label, Type type, String group, String options, boolean required) {
+            this.key = key;
+            this.label = label;
+            this.type = type;
+            this.group = group;
+            this.options = options;
+            this.required = required;
+        }
+
+        public boolean hasValue() {
+            return type != Type.SECTION && type != Type.GROUP;
+        }
+    }
+
+    public final String agency;
+    public final List<Field> fields;
+    private final Map<String, List<Field>> groupFields;
+    private final Map<String, Integer> initialEntries;
+    private final Map<String, List<String>> keepIfAny;
+    private final Map<String, List<String>> summaryKeys;
+
+    private ReportSchema(Builder b) {
+        this.agency = b.agency;
+        this.fields = Collections.unmodifiableList(new ArrayList<>(b.fields));
+        this.initialEntries = new HashMap<>(b.initialEntries);
+        this.keepIfAny = new HashMap<>(b.keepIfAny);
+        this.summaryKeys = new HashMap<>(b.summaryKeys);
+
+        Map<String, List<Field>> byGroup = new HashMap<>();
+        for (Field field : fields) {
+            if (field.group != null) byGroup.computeIfAbsent(field.group, g -> new ArrayList<>()).add(field);
+        }
+        this.groupFields = byGroup;
+    }
+
+    public static Builder builder(String agency) {
+        return new Builder(agency);
+    }
+
+    // Report-level rows in render order (group members excluded)
+    public List<Field> topLevel() {
+        List<Field> top = new ArrayList<>();
+        for (Field field : fields) {
+            if (field.group == null) top.add(field);
+        }
+        return top;
+    }
+
+    public List<Field> fieldsOf(String group) {
+        List<Field> members = groupFields.get(group);
+        return members != null ? members : Collections.<Field>emptyList();
+    }
+
+    // Blank entries a new report starts with
+    public int initialEntries(String group) {
+        Integer count = initialEntries.get(group);
+        return count != null ? count : 0;
+    }
+
+    // One-line description of a collapsed group entry, e.g. "Dela Cruz, Juan - 34 - F"; empty when
+    // none of the group's summary fields (or, failing those, its identifying fields) are filled
+    public String summary(String group, Map<String, Object> entry) {
+        List<String> keys = summaryKeys.get(group);
+        if (keys == null) keys = keepIfAny.get(group);
+        if (keys == null) return "";
+        StringBuilder line = new StringBuilder();
+        for (String key : keys) {
+            Object value = entry.get(key);
+            String text = value instanceof String ? ((String) value).trim() : "";
+            if (text.isEmpty()) continue;
+            if (line.length() > 0) line.append(" - ");
+            line.append(text);
+        }
+        return line.toString();
+    }
+
+    // --- A new report: every group gets its initial blank entries ---
+    public FormValues blank() {
+        FormValues values = new FormValues();
+        for (Field field : fields) {
+            if (field.type != Type.GROUP) continue;
+            values.entries(field.key);
+            for (int i = 0; i < initialEntries(field.key); i++) values.addEntry(field.key);
+        }
+        return values;
+    }
+
+    // --- Stored report (a snapshot's getValue()) -> form values ---
+    @SuppressWarnings("unchecked")
+    public FormValues decode(Map<String, ?> report) {
+        FormValues values = new FormValues();
+        decodeLevel(topLevel(), report, values.fields);
+        for (Field field : fields) {
+            if (field.type != Type.GROUP) continue;
+            List<Map<String, Object>> entries = values.entries(field.key);
+            for (Map.Entry<String, Object> child : children(report.get(field.key)).entrySet()) {
+                Map<String, Object> decoded = new HashMap<>();
+                decoded.put(FormValues.ENTRY_KEY, child.getKey());
+                Map<String, ?> source = child.getValue() instanceof Map
+                        ? (Map<String, ?>) child.getValue() : Collections.<String, Object>emptyMap();
+                decodeLevel(fieldsOf(field.key), source, decoded);
+                entries.add(decoded);
+            }
+        }
+        return values;
+    }
+
+    // --- Form values -> stored report fields, written into `report` ---
+    // Groups are written as {entryKey: entry} maps, never arrays, so each entry keeps its path.
+    // Readings taken today (in the device's zone) are dated today unless the entry already has a day.
+    public Map<String, Object> encode(FormValues values, Map<String, Object> report) {
+        return encode(values, report, DashboardCounter.dayKey(System.currentTimeMillis(), TimeZone.getDefault()));
+    }
+
+    // today dates readings that have no day yet; an edit passes the day the report was filed
+    public Map<String, Object> encode(FormValues values, Map<String, Object> report, String today) {
+        encodeLevel(topLevel(), values.fields, report, today);
+        for (Field field : fields) {
+            if (field.type != Type.GROUP) continue;
+            Map<String, Object> entries = new LinkedHashMap<>();
+            for (Map<String, Object> entry : values.entries(field.key)) {
+                Map<String, Object> encoded = new HashMap<>();
+                encodeLevel(fieldsOf(field.key), entry, encoded, today);
+                if (!keep(field.key, encoded)) continue;
+                Object key = entry.get(FormValues.ENTRY_KEY);
+                if (key == null) {
+                    key = FormValues.newEntryKey();
+                    entry.put(FormValues.ENTRY_KEY, key);
+                }
+                entries.put(key.toString(), encoded);
+            }
+            report.put(field.key, entries);
+        }
+        return report;
+    }
+
+    // --- The schema's part of a stored report, as the database holds it ---
+    // The baseline for changes() when editing: unlike encode(decode(report)) it still has what
+    // encode() no longer writes (legacy {t1, t2, t3} vital rows), so the edit deletes it. Text
+    // fields read as decode() sees them, a missing one as "".
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> stored(Map<String, ?> report) {
+        Map<String, Object> stored = storedLevel(topLevel(), report);
+        for (Field field : fields) {
+            if (field.type != Type.GROUP) continue;
+            Map<String, Object> entries = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> child : children(report.get(field.key)).entrySet()) {
+                Map<String, ?> source = child.getValue() instanceof Map
+                        ? (Map<String, ?>) child.getValue() : Collections.<String, Object>emptyMap();
+                entries.put(child.getKey(), storedLevel(fieldsOf(field.key), source));
+            }
+            stored.put(field.key, entries);
+        }
+        return stored;
+    }
+
+    // --- First reading that is not a number in range (or a time that is not HH:mm), or null ---
+    public Invalid firstInvalidReading(FormValues values) {
+        Invalid invalid = invalidIn(topLevel(), values.fields, null, -1);
+        for (Field field : fields) {
+            if (invalid != null) return invalid;
+            if (field.type != Type.GROUP) continue;
+            List<Map<String, Object>> entries = values.entries(field.key);
+            for (int i = 0; i < entries.size() && invalid == null; i++) {
+                invalid = invalidIn(fieldsOf(field.key), entries.get(i), field.key, i);
+            }
+        }
+        return invalid;
+    }
+
+    public static final class Invalid {
+        // Group key and entry index, or null/-1 for a report-level row
+        public final String group;
+        public final int entry;
+        public final Field field;
+        public final int take;
+        public final String message;
+
+        Invalid(String group, int entry, Field field, int take, String message) {
+            this.group = group;
+            this.entry = entry;
+            this.field = field;
+            this.take = take;
+            this.message = message;
+        }
+    }
+
+    // --- Changed paths between two encoded reports, relative to the report node ---
+    // Only leaves that differ are listed; an entry added or removed as a whole is one path (its
+    // body, or null to delete it). No path is a prefix of another, so the result can go straight
+    // into one updateChildren() call.
+    public static Map<String, Object> changes(Map<String, ?> before, Map<String, ?> after) {
+        Map<String, Object> changes = new TreeMap<>();
+        diff("", before, after, changes);
+        return changes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void diff(String prefix, Map<String, ?> before, Map<String, ?> after, Map<String, Object> changes) {
+        Set<String> keys = new HashSet<>(before.keySet());
+        keys.addAll(after.keySet());
+        for (String key : keys) {
+            Object was = absentIfEmpty(before.get(key));
+            Object now = absentIfEmpty(after.get(key));
+            if (was instanceof Map && now instanceof Map) {
+                diff(prefix + key + "/", (Map<String, ?>) was, (Map<String, ?>) now, changes);
+            } else if (was == null ? now != null : !was.equals(now)) {
+                changes.put(prefix + key, now);
+            }
+        }
+    }
+
+    // The database stores no empty nodes: an empty group reads back as absent
+    private static Object absentIfEmpty(Object value) {
+        return value instanceof Map && ((Map<?, ?>) value).isEmpty() ? null : value;
+    }
+
+    // First required report-level field left blank, or null
+    public Field firstMissing(FormValues values) {
+        for (Field field : fields) {
+            if (field.required && field.group == null && values.text(field.key).trim().isEmpty()) return field;
+        }
+        return null;
+    }
+
+    // Entries with none of the group's identifying fields filled are dropped (e.g. a blank suspect)
+    private boolean keep(String group, Map<String, Object> entry) {
+        List<String> identifying = keepIfAny.get(group);
+        if (identifying == null) return true;
+        for (String key : identifying) {
+            Object value = entry.get(key);
+            if (value instanceof String && !((String) value).isEmpty()) return true;
+        }
+        return false;
+    }
+
+    private static void decodeLevel(List<Field> members, Map<String, ?> source, Map<String, Object> out) {
+        VitalSigns vitals = null;
+        for (Field member : members) {
+            if (!member.hasValue()) continue;
+            if (member.type == Type.READINGS || member.type == Type.READING_TIMES) {
+                if (vitals == null) {
+                    vitals = vitalsOf(source);
+                    if (vitals.day != null) out.put(FormValues.VITALS_DAY, vitals.day);
+                }
+                int takes = Math.max(READINGS_PER_ROW, vitals.takes());
+                out.put(member.key, member.type == Type.READING_TIMES
+                        ? vitals.timesAsText(takes) : vitals.takesAsText(VitalSign.forKey(member.key), takes));
+            } else {
+                Object stored = source.get(member.key);
+                out.put(member.key, stored != null ? stored.toString() : "");
+            }
+        }
+    }
+
+    // The compact node when there is one, otherwise the {t1, t2, t3} rows older builds wrote
+    @SuppressWarnings("unchecked")
+    private static VitalSigns vitalsOf(Map<String, ?> source) {
+        Object node = source.get(VitalSigns.NODE);
+        return node instanceof Map ? VitalSigns.fromStored((Map<String, ?>) node) : VitalSigns.fromLegacy(source);
+    }
+
+    private static void encodeLevel(List<Field> members, Map<String, Object> source, Map<String, Object> out, String today) {
+        List<String> times = Collections.emptyList();
+        Map<VitalSign, List<String>> takes = new EnumMap<>(VitalSign.class);
+        for (Field member : members) {
+            if (!member.hasValue()) continue;
+            if (member.type == Type.READING_TIMES) {
+                times = textList(source.get(member.key));
+            } else if (member.type == Type.READINGS) {
+                takes.put(VitalSign.forKey(member.key), textList(source.get(member.key)));
+            } else {
+                Object value = source.get(member.key);
+                out.put(member.key, value instanceof String ? ((String) value).trim() : "");
+            }
+        }
+        if (takes.isEmpty()) return;
+
+        Object day = source.get(FormValues.VITALS_DAY);
+        VitalSigns vitals = VitalSigns.fromTakes(day instanceof String ? (String) day : today, times, takes);
+        if (vitals.isEmpty()) return;
+        // Later encodes of this entry (an edit, a draft) keep the day of its first readings
+        source.put(FormValues.VITALS_DAY, vitals.day);
+        out.put(VitalSigns.NODE, vitals.toStored());
+    }
+
+    private static Invalid invalidIn(List<Field> members, Map<String, Object> source, String group, int entry) {
+        for (Field member : members) {
+            if (member.type != Type.READINGS && member.type != Type.READING_TIMES) continue;
+            List<String> takes = textList(source.get(member.key));
+            for (int i = 0; i < takes.size(); i++) {
+                String text = takes.get(i).trim();
+                if (text.isEmpty()) continue;
+                if (member.type == Type.READING_TIMES) {
+                    if (VitalSigns.parseTime(text) < 0) return new Invalid(group, entry, member, i, "Use HH:mm");
+                    continue;
+                }
+                VitalSign sign = VitalSign.forKey(member.key);
+                if (sign.parse(text) != null) continue;
+                String message = sign.isPair() ? "Use systolic/diastolic, e.g. 120/80"
+                        : "Expected " + VitalSign.formatNumber(sign.min) + "-" + VitalSign.formatNumber(sign.max) + " " + sign.unit;
+                return new Invalid(group, entry, member, i, message);
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> storedLevel(List<Field> members, Map<String, ?> source) {
+        Map<String, Object> stored = new HashMap<>();
+        boolean readings = false;
+        for (Field member : members) {
+            if (!member.hasValue()) continue;
+            Object value = source.get(member.key);
+            if (member.type == Type.READINGS || member.type == Type.READING_TIMES) {
+                readings = true;
+                if (value != null) stored.put(member.key, value);
+            } else {
+                stored.put(member.key, value != null ? value.toString() : "");
+            }
+        }
+        // Rows of the "sao2" alias are the spo2 field's too
+        if (readings && source.get("sao2") != null) stored.put("sao2", source.get("sao2"));
+        if (readings && source.get(VitalSigns.NODE) != null) stored.put(VitalSigns.NODE, source.get(VitalSigns.NODE));
+        return stored;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> textList(Object value) {
+        List<String> text = new ArrayList<>();
+        if (value instanceof List) {
+            for (Object item : (List<Object>) value) text.add(item != null ? item.toString() : "");
+        }
+        return text;
+    }
+
+    // Group entries by child key, in database order. Older builds wrote groups as JSON arrays, which
+    // are stored as children "0", "1", ...; the index is kept as the key so edits address them in place.
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> children(Object stored) {
+        Map<String, Object> children = new TreeMap<>(CHILD_ORDER);
+        if (stored instanceof List) {
+            List<Object> list = (List<Object>) stored;
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) != null) children.put(String.valueOf(i), list.get(i));
+            }
+        } else if (stored instanceof Map) {
+            for (Map.Entry<String, Object> child : ((Map<String, Object>) stored).entrySet()) {
+                if (child.getValue() != null) children.put(child.getKey(), child.getValue());
+            }
+        }
+        return children;
+    }
+
+    // The database's key order: integer keys numerically first, then the rest as strings
+    private static final Comparator<String> CHILD_ORDER = (a, b) -> {
+        Long x = index(a);
+        Long y = index(b);
+        if (x != null && y != null) return x.compareTo(y);
+        if (x != null) return -1;
+        if (y != null) return 1;
+        return a.compareTo(b);
+    };
+
+    private static Long index(String key) {
+        if (key.isEmpty() || key.length() > 18) return null;
+        for (int i = 0; i < key.length(); i++) {
+            if (!Character.isDigit(key.charAt(i))) return null;
+        }
+        return Long.parseLong(key);
+    }
+
+    public static final class Builder {
+        private final String agency;
+        private final List<Field> fields = new ArrayList<>();
+        private final Map<String, Integer> initialEntries = new HashMap<>();
+        private final Map<String, List<String>> keepIfAny = new HashMap<>();
+        private final Map<String, List<String>> summaryKeys = new HashMap<>();
+        private String group;
+
+        private Builder(String agency) {
+            this.agency = agency;
+        }
+
+        public Builder section(String label) {
+            fields.add(new Field(null, label, Type.SECTION, group, null, false));
+            return this;
+        }
+
+        public Builder text(String key, String label) {
+            return add(key, label, Type.TEXT, null, false);
+        }
+
+        public Builder requiredText(String key, String label) {
+            return add(key, label, Type.TEXT, null, true);
+        }
+
+        public Builder multiline(String key, String label) {
+            return add(key, label, Type.MULTILINE, null, false);
+        }
+
+        public Builder requiredMultiline(String key, String label) {
+            return add(key, label, Type.MULTILINE, null, true);
+        }
+
+        public Builder number(String key, String label) {
+            return add(key, label, Type.NUMBER, null, false);
+        }
+
+        public Builder time(String key, String label) {
+            return add(key, label, Type.TIME, null, false);
+        }
+
+        public Builder choice(String key, String label, String optionsArray) {
+            return add(key, label, Type.CHOICE, optionsArray, false);
+        }
+
+        public Builder multiChoice(String key, String label, String optionsArray) {
+            return add(key, label, Type.MULTI_CHOICE, optionsArray, false);
+        }
+
+        // key must be a VitalSign key
+        public Builder readings(String key, String label) {
+            if (VitalSign.forKey(key) == null) throw new IllegalArgumentException("Not a vital sign: " + key);
+            return add(key, label, Type.READINGS, null, false);
+        }
+
+        public Builder readingTimes(String key, String label) {
+            return add(key, label, Type.READING_TIMES, null, false);
+        }
+
+        // Opens a repeatable group; rows up to endGroup() belong to each entry
+        public Builder group(String key, String label, String entryTitle, int initial, String... keepIfAnyOf) {
+            fields.add(new Field(key, label, Type.GROUP, null, entryTitle, false));
+            initialEntries.put(key, initial);
+            if (keepIfAnyOf.length > 0) keepIfAny.put(key, Arrays.asList(keepIfAnyOf));
+            group = key;
+            return this;
+        }
+
+        // Fields of the open group shown on its collapsed entries, in order
+        public Builder summarizedBy(String... keys) {
+            summaryKeys.put(group, Arrays.asList(keys));
+            return this;
+        }
+
+        public Builder endGroup() {
+            group = null;
+            return this;
+        }
+
+        public ReportSchema build() {
+            return new ReportSchema(this);
+        }
+
+        private Builder add(String key, String label, Type type, String options, boolean required) {
+            fields.add(new Field(key, label, type, group, options, required));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.iresponderapp.core;
+
+// The three agency report forms. Keys are the child names already stored under
+// Reports/{agency}/{incidentKey}, so reports written by the hand-wired forms open unchanged.
+public final class ReportSchemas {
+
+    public static final ReportSchema BFP = ReportSchema.builder("BFP")
+            .requiredText("fireLocation", "Location of Fire")
+            .text("areaOwnership", "Area Ownership")
+            .text("classOfFire", "Class of Fire")
+            .multiline("rootCause", "Root Cause of Fire")
+            .multiline("peopleInjured", "People Injured")
+            .build();
+
+    public static final ReportSchema PNP = ReportSchema.builder("PNP")
+            .group("suspects", "Suspects", "Suspect Data", 1, "firstName", "lastName")
+            .summarizedBy("firstName", "lastName", "status")
+            .text("firstName", "First Name")
+            .text("middleName", "Middle Name")
+            .text("lastName", "Last Name")
+            .text("address", "Current Address")
+            .text("occupation", "Occupation")
+            .text("status", "Status/Condition")
+            .endGroup()
+            .group("victims", "Victims", "Victim Data", 1, "firstName", "lastName")
+            .summarizedBy("firstName", "lastName", "status")
+            .text("firstName", "First Name")
+            .text("middleName", "Middle Name")
+            .text("lastName", "Last Name")
+            .text("address", "Current Address")
+            .text("occupation", "Occupation")
+            .text("status", "Status/Condition")
+            .endGroup()
+            .requiredMultiline("narrative", "Narrative of Incident")
+            .build();
+
+    public static final ReportSchema MDRRMO = ReportSchema.builder("MDRRMO")
+            .section("Incident Information")
+            .choice("natureOfCall", "Nature of Call", "nature_of_call_options")
+            .choice("emergencyType", "Type of Emergency", "emergency_type_options")
+            .section("Timings (Tap to Set)")
+            .time("time_call", "Call")
+            .time("time_dispatch", "Dispatch")
+            .time("time_scene", "At Scene")
+            .time("time_depart", "Departure")
+            .time("time_facility", "At Facility")
+            .time("time_handover", "Handover")
+            .time("time_clear", "Clear")
+            .time("time_base", "At Base")
+            .section("Location")
+            .text("incidentLocation", "Incident Address")
+            .choice("areaType", "Area Type", "area_type_options")
+            .group("patients", "Patients", "Patient", 1)
+            .summarizedBy("name", "age", "sex", "chiefComplaint")
+            .section("1. Patient Information")
+            .text("name", "Surname, Name, M.I.")
+            .number("age", "Age")
+            .text("sex", "Sex (M/F)")
+            .text("address", "Address")
+            .text("nextOfKin", "Next of Kin / Contact")
+            .section("2. Primary Survey")
+            .text("chiefComplaint", "Chief Complaint")
+            .choice("c_spine", "C-Spine", "cspine_options")
+            .choice("airway", "Airway", "airway_status_options")
+            .choice("breathing", "Breathing", "breathing_status_options")
+            .choice("pulse", "Pulse", "pulse_status_options")
+            .choice("skin", "Skin", "skin_status_options")
+            .choice("cap_refill", "Cap Refill", "cap_refill_options")
+            .choice("loc", "Loss of Consciousness", "loc_options")
+            .choice("consciousness", "Consciousness (AVPU)", "consciousness_options")
+            .section("3. Secondary Survey (SAMPLE)")
+            .text("signs", "(S) Signs & Symptoms")
+            .text("allergies", "(A) Allergies")
+            .text("meds", "(M) Medications")
+            .text("history", "(P) Past Medical History")
+            .text("oral", "(L) Last Oral Intake")
+            .text("events", "(E) Events Leading To")
+            .section("4. Vital Signs (3 Takes)")
+            .readingTimes("obs_time", "Obs Time")
+            .readings("pulse_rate", "Pulse")
+            .readings("resp_rate", "Resp")
+            .readings("spo2", "SaO2")
+            .readings("bp", "BP")
+            .readings("temp", "Temp")
+            .readings("cap_vital", "Cap Refill")
+            .readings("glucose", "Glucose")
+            .readings("pain", "Pain")
+            .section("5. GCS")
+            .number("gcs_eye", "Eye")
+            .number("gcs_verbal", "Verbal")
+            .number("gcs_motor", "Motor")
+            .number("gcs_total", "Total")
+            .section("6. Management")
+            .choice("manage_airway", "Airway & Breathing", "manage_airway_options")
+            .choice("manage_circ", "Circulation", "manage_circ_options")
+            .choice("manage_wound", "Wound/Burn Care", "manage_wound_options")
+            .choice("manage_immob", "Immobilization", "manage_immob_options")
+            .choice("manage_other", "Other Interventions", "manage_other_options")
+            .section("7. Injury Details")
+            .multiChoice("injury_type", "Injury Type(s) (Tap to Select)", "injury_type_options")
+            .multiChoice("affected_body_parts", "Affected Body Parts (Tap to Select)", "body_parts_options")
+            .multiline("patient_narrative", "Patient Narrative")
+            .endGroup()
+            .section("Receiving Facility")
+            .choice("facilityType", "Facility Type", "facility_type_options")
+            .text("facilityName", "Name of Facility")
+            .section("Narrative Notes")
+            .multiline("narrative", "Chronological Report")
+            .build();
+
+    private ReportSchemas() {}
+
+    public static ReportSchema forAgency(String agency) {
+        switch (agency) {
+            case "BFP": return BFP;
+            case "PNP": return PNP;
+            case "MDRRMO": return MDRRMO;
+            default: throw new IllegalArgumentException("No report form for agency " + agency);
+        }
+    }
+}
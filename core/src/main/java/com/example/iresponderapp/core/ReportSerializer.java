@@ -0,0 +1,151 @@
+package com.example.iresponderapp.core;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+// How a submitted report is laid out in the database.
+// A submission is ONE multi-path update: the report body, the incident's "Completed" status (and
+// its summary) and the responder's ReportsByResponder index entry, so they can never disagree.
+// Only the first submission completes the incident; a later edit or resend of the report only
+// stamps the incident's updatedAt, so completedAt keeps the time the incident was completed.
+public final class ReportSerializer {
+
+    public static final String[] AGENCIES = {"PNP", "BFP", "MDRRMO"};
+
+    // Newest first, ties broken by key so the order is stable
+    public static final Comparator<SubmittedReport> NEWEST_FIRST = (a, b) -> {
+        int byTime = Long.compare(b.submittedAt, a.submittedAt);
+        return byTime != 0 ? byTime : b.getKey().compareTo(a.getKey());
+    };
+
+    private ReportSerializer() {}
+
+    public static String indexKey(String agency, String incidentKey) {
+        return agency + "_" + incidentKey;
+    }
+
+    // serverTimestamp is the backend's "now" placeholder (ServerValue.TIMESTAMP in the app)
+    public static Map<String, Object> submissionUpdate(String agency, String incidentKey,
+                                                       Map<String, Object> report, Object serverTimestamp) {
+        return submissionUpdate(agency, incidentKey, null, report, serverTimestamp);
+    }
+
+    // municipality keeps the incident in its municipality's Completed list (see IncidentSummaries)
+    public static Map<String, Object> submissionUpdate(String agency, String incidentKey, String municipality,
+                                                       Map<String, Object> report, Object serverTimestamp) {
+        // An edited report keeps the createdAt the form loaded with it
+        report.putIfAbsent(EpochTimes.CREATED_AT, serverTimestamp);
+        report.put(EpochTimes.UPDATED_AT, serverTimestamp);
+        report.put(EpochTimes.SUBMITTED_AT, serverTimestamp);
+
+        Map<String, Object> update = new HashMap<>();
+        update.put(reportPath(agency, incidentKey), report);
+        return completion(update, agency, incidentKey, municipality, report, serverTimestamp);
+    }
+
+    // The whole edited report again, for an incident its first submission already completed
+    public static Map<String, Object> resubmissionUpdate(String agency, String incidentKey,
+                                                         Map<String, Object> report, Object serverTimestamp) {
+        report.putIfAbsent(EpochTimes.CREATED_AT, serverTimestamp);
+        report.put(EpochTimes.UPDATED_AT, serverTimestamp);
+        report.put(EpochTimes.SUBMITTED_AT, serverTimestamp);
+
+        Map<String, Object> update = new HashMap<>();
+        update.put(reportPath(agency, incidentKey), report);
+        return reportIndex(update, agency, incidentKey, report, serverTimestamp);
+    }
+
+    // --- An edit of a stored report: only the changed report children go out ---
+    // changes are paths relative to the report (ReportSchema.changes(); null deletes); report is the
+    // full edited report, read only for the responder's index entry. createdAt is left untouched.
+    public static Map<String, Object> editUpdate(String agency, String incidentKey,
+                                                 Map<String, Object> report, Map<String, Object> changes,
+                                                 Object serverTimestamp) {
+        String base = reportPath(agency, incidentKey) + "/";
+        Map<String, Object> update = new HashMap<>();
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            update.put(base + change.getKey(), change.getValue());
+        }
+        update.put(base + "responderUid", report.get("responderUid"));
+        update.put(base + "timestamp", report.get("timestamp"));
+        update.put(base + EpochTimes.UPDATED_AT, serverTimestamp);
+        update.put(base + EpochTimes.SUBMITTED_AT, serverTimestamp);
+        return reportIndex(update, agency, incidentKey, report, serverTimestamp);
+    }
+
+    // True when a (queued) update is a first submission, i.e. it completes the incident
+    public static boolean completesIncident(Map<String, Object> update, String incidentKey) {
+        return update != null && update.containsKey("Incidents_/" + incidentKey + "/Status");
+    }
+
+    public static String reportPath(String agency, String incidentKey) {
+        return "Reports/" + agency + "/" + incidentKey;
+    }
+
+    // The incident's "Completed" status, added to a first submission
+    private static Map<String, Object> completion(Map<String, Object> update, String agency, String incidentKey,
+                                                  String municipality, Map<String, Object> report,
+                                                  Object serverTimestamp) {
+        update.put("Incidents_/" + incidentKey + "/Status", "Completed");
+        if (municipality != null) update.put("Incidents_/" + incidentKey + "/" + IncidentSummaries.MUNICIPALITY, municipality);
+        update.put("Incidents_/" + incidentKey + "/completedAt", serverTimestamp);
+        return reportIndex(update, agency, incidentKey, report, serverTimestamp);
+    }
+
+    // The incident's updatedAt and the responder's index entry, added to every report write
+    private static Map<String, Object> reportIndex(Map<String, Object> update, String agency, String incidentKey,
+                                                   Map<String, Object> report, Object serverTimestamp) {
+        update.put("Incidents_/" + incidentKey + "/" + EpochTimes.UPDATED_AT, serverTimestamp);
+
+        Object responderUid = report.get("responderUid");
+        if (responderUid != null) {
+            update.put("ReportsByResponder/" + responderUid + "/" + indexKey(agency, incidentKey),
+                    indexEntry(agency, incidentKey, report, serverTimestamp));
+        }
+        return IncidentSummaries.mirror(update);
+    }
+
+    // Entry stored under ReportsByResponder/{uid}/{agency}_{incidentKey}
+    public static Map<String, Object> indexEntry(String agency, String incidentKey, Map<String, Object> report, Object submittedAt) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("agency", agency);
+        entry.put("incidentKey", incidentKey);
+        entry.put("displayName", displayName(agency, report));
+        entry.put("timestamp", report.get("timestamp"));
+        entry.put(EpochTimes.SUBMITTED_AT, submittedAt);
+        return entry;
+    }
+
+    // Title shown on the Forms tab, taken from the agency-specific report fields
+    public static String displayName(String agency, Map<String, Object> report) {
+        String displayName = agency + " Incident"; // Default
+
+        if (agency.equals("MDRRMO")) {
+            Object nature = report.get("natureOfCall");
+            Object type = report.get("emergencyType");
+
+            if (nature != null && !nature.toString().isEmpty()) {
+                displayName = nature.toString();
+                if (type != null && !type.toString().isEmpty()) displayName += " (" + type + ")";
+            } else {
+                displayName = "Medical/Trauma Incident";
+            }
+
+        } else if (agency.equals("BFP")) {
+            Object loc = report.get("fireLocation");
+            if (loc != null) displayName = "Fire: " + loc;
+
+        } else if (agency.equals("PNP")) {
+            displayName = "Crime Incident Report";
+        }
+        return displayName;
+    }
+
+    // Legacy reports only carry a formatted "yyyy-MM-dd HH:mm[:ss]" string, written in the
+    // device's zone; 0 when unreadable
+    public static long parseLegacyTimestamp(Object timestamp) {
+        return EpochTimes.parseReportTimestamp(timestamp, TimeZone.getDefault());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.iresponderapp.core;
+
+import java.util.Objects;
+
+// A responder as listed in the assignment dialog
+public final class Responder implements Keyed {
+
+    public final String uid;
+    public final String fullName;
+    public final String agency;
+    public final String location;
+
+    public Responder(String uid, String fullName, String agency, String location) {
+        this.uid = uid;
+        this.fullName = fullName;
+        this.agency = agency;
+        this.location = location;
+    }
+
+    // Unique, human-readable spinner label, e.g. "Juan Cruz (BFP Daet)"
+    public String assignmentLabel() {
+        return fullName + " (" + agency + " " + location + ")";
+    }
+
+    @Override
+    public String getKey() {
+        return uid;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Responder)) return false;
+        Responder other = (Responder) o;
+        return Objects.equals(uid, other.uid)
+                && Objects.equals(fullName, other.fullName)
+                && Objects.equals(agency, other.agency)
+                && Objects.equals(location, other.location);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(uid, fullName, agency, location);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.iresponderapp.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Which responders may take an incident: same agency AND same municipality, compared on the
+// normalized agencyLocation key that Responders is indexed on.
+public final class ResponderMatcher {
+
+    public static final String NO_SELECTION = "--- Select Responder ---";
+
+    private ResponderMatcher() {}
+
+    // Normalized composite key, e.g. ("BFP", " Daet ") -> "bfp_daet"
+    public static String agencyLocationKey(String agency, String location) {
+        String a = agency != null ? agency.trim().toLowerCase(Locale.ROOT) : "";
+        String l = location != null ? location.trim().toLowerCase(Locale.ROOT) : "";
+        return a + "_" + l;
+    }
+
+    public static boolean matches(Responder responder, String agency, String location) {
+        return responder.fullName != null
+                && agencyLocationKey(responder.agency, responder.location).equals(agencyLocationKey(agency, location));
+    }
+
+    public static List<Responder> select(Iterable<Responder> responders, String agency, String location) {
+        String wanted = agencyLocationKey(agency, location);
+        List<Responder> matched = new ArrayList<>();
+        for (Responder responder : responders) {
+            if (responder.fullName != null && agencyLocationKey(responder.agency, responder.location).equals(wanted)) {
+                matched.add(responder);
+            }
+        }
+        return matched;
+    }
+
+    // Spinner label -> uid, in roster order, led by the "no selection" placeholder (uid null)
+    public static Map<String, String> assignmentChoices(List<Responder> roster) {
+        Map<String, String> choices = new LinkedHashMap<>();
+        choices.put(NO_SELECTION, null);
+        for (Responder responder : roster) {
+            choices.put(responder.assignmentLabel(), responder.uid);
+        }
+        return choices;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.iresponderapp.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Accomplished tab filters, each mapped to the exact "Status" values it shows.
+// The values double as equalTo() keys on the Status index.
+public enum StatusFilter {
+
+    ASSIGNED("Assigned"),
+    REJECTED("Rejected", "Declined"),
+    // Every finalized (non-pending) status
+    ALL("Assigned", "Rejected", "Declined", "Completed");
+
+    private final List<String> statuses;
+
+    StatusFilter(String... statuses) {
+        this.statuses = Collections.unmodifiableList(Arrays.asList(statuses));
+    }
+
+    public List<String> statuses() {
+        return statuses;
+    }
+
+    public boolean accepts(Incident incident) {
+        if (incident.status == null) return false;
+        for (String status : statuses) {
+            if (status.equalsIgnoreCase(incident.status)) return true;
+        }
+        return false;
+    }
+
+    public List<Incident> apply(List<Incident> incidents) {
+        return IncidentRules.apply(incidents, this::accepts);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.iresponderapp.core;
+
+// The query behind each screen, defined once against RealtimeStore so the app (through
+// FirebaseRealtimeStore) and the in-memory load tests run exactly the same shapes.
+// Paths are relative to the IresponderApp root; every ordered child has an .indexOn rule.
+// Incident lists read IncidentSummaries; the full Incidents_ record is read per detail screen.
+public final class StoreQueries {
+
+    public static final String INCIDENTS = "Incidents_";
+    // List-card projection of Incidents_ (see IncidentSummaries)
+    public static final String INCIDENT_SUMMARIES = "IncidentSummaries";
+    public static final String RESPONDERS = "Responders";
+    public static final String REPORTS = "Reports";
+    public static final String REPORTS_BY_RESPONDER = "ReportsByResponder";
+
+    private StoreQueries() {}
+
+    // Home / Alert / On Process: everything assigned to one responder
+    public static RealtimeStore.Query assignedIncidents(RealtimeStore store, String responderUid) {
+        return store.ref(INCIDENT_SUMMARIES).orderByChild("AssignedResponderUID").equalTo(responderUid);
+    }
+
+    // Full records of the same incidents, for recounts that need fields summaries leave out
+    public static RealtimeStore.Query assignedIncidentRecords(RealtimeStore store, String responderUid) {
+        return store.ref(INCIDENTS).orderByChild("AssignedResponderUID").equalTo(responderUid);
+    }
+
+    // Receiver queue
+    public static RealtimeStore.Query pendingIncidents(RealtimeStore store) {
+        return store.ref(INCIDENT_SUMMARIES).orderByChild("Status").equalTo("Pending");
+    }
+
+    // Receiver queue of one municipality; a null municipality is the province-wide queue
+    public static RealtimeStore.Query pendingIncidents(RealtimeStore store, String municipality) {
+        if (municipality == null) return pendingIncidents(store);
+        return store.ref(INCIDENT_SUMMARIES).orderByChild(IncidentSummaries.MUNICIPALITY_STATUS)
+                .equalTo(Municipalities.statusKey(municipality, "Pending"));
+    }
+
+    // Accomplished tab: one status, newest first by push key, pageSize rows before beforeKey
+    public static RealtimeStore.Query statusPage(RealtimeStore store, String status, String beforeKey, int pageSize) {
+        return statusPage(store, INCIDENT_SUMMARIES, "Status", status, beforeKey, pageSize);
+    }
+
+    // Same page limited to one municipality (null: province-wide)
+    public static RealtimeStore.Query statusPage(RealtimeStore store, String municipality, String status,
+                                                 String beforeKey, int pageSize) {
+        if (municipality == null) return statusPage(store, status, beforeKey, pageSize);
+        return statusPage(store, INCIDENT_SUMMARIES, IncidentSummaries.MUNICIPALITY_STATUS,
+                Municipalities.statusKey(municipality, status), beforeKey, pageSize);
+    }
+
+    // Same page over one archive shard ("yyyy/MM", see IncidentArchiver)
+    public static RealtimeStore.Query archivedStatusPage(RealtimeStore store, String shard, String status,
+                                                        String beforeKey, int pageSize) {
+        return archivedStatusPage(store, shard, null, status, beforeKey, pageSize);
+    }
+
+    public static RealtimeStore.Query archivedStatusPage(RealtimeStore store, String shard, String municipality,
+                                                        String status, String beforeKey, int pageSize) {
+        String node = IncidentArchiver.SUMMARIES_ARCHIVE + "/" + shard;
+        if (municipality == null) return statusPage(store, node, "Status", status, beforeKey, pageSize);
+        return statusPage(store, node, IncidentSummaries.MUNICIPALITY_STATUS,
+                Municipalities.statusKey(municipality, status), beforeKey, pageSize);
+    }
+
+    // Every archive shard, as ArchiveShards/{yyyy}/{MM}: true
+    public static RealtimeStore.Query archiveShards(RealtimeStore store) {
+        return store.ref(IncidentArchiver.SHARDS);
+    }
+
+    // pageSize rows of `node` whose `child` equals `value`, before beforeKey
+    private static RealtimeStore.Query statusPage(RealtimeStore store, String node, String child, String value,
+                                                  String beforeKey, int pageSize) {
+        RealtimeStore.Query query = store.ref(node).orderByChild(child);
+        query = beforeKey == null
+                ? query.equalTo(value)
+                : query.startAt(value).endBefore(value, beforeKey);
+        return query.limitToLast(pageSize);
+    }
+
+    // Assignment dialog: responders of one agency in one municipality
+    public static RealtimeStore.Query respondersAt(RealtimeStore store, String agencyLocationKey) {
+        return store.ref(RESPONDERS).orderByChild("agencyLocation").equalTo(agencyLocationKey);
+    }
+
+    // Profiles written before agencyLocation existed
+    public static RealtimeStore.Query respondersWithoutLocationKey(RealtimeStore store) {
+        return store.ref(RESPONDERS).orderByChild("agencyLocation").endAt(null);
+    }
+
+    // Legacy push-keyed responder profile for a uid
+    public static RealtimeStore.Query legacyResponder(RealtimeStore store, String uid) {
+        return store.ref(RESPONDERS).orderByChild("userId").equalTo(uid).limitToFirst(1);
+    }
+
+    // One agency's reports filed by one responder
+    public static RealtimeStore.Query agencyReportsBy(RealtimeStore store, String agency, String responderUid) {
+        return store.ref(REPORTS).child(agency).orderByChild("responderUid").equalTo(responderUid);
+    }
+
+    // Forms tab: pageSize index entries older than the (oldestAt, oldestKey) cursor
+    public static RealtimeStore.Query reportIndexPage(RealtimeStore store, String responderUid,
+                                                      Long oldestAt, String oldestKey, int pageSize) {
+        RealtimeStore.Query query = store.ref(REPORTS_BY_RESPONDER).child(responderUid).orderByChild("submittedAt");
+        if (oldestAt != null) query = query.endBefore(oldestAt, oldestKey);
+        return query.limitToLast(pageSize);
+    }
+
+    // Forms tab refresh: index entries newer than the (newestAt, newestKey) cursor
+    public static RealtimeStore.Query reportIndexNewer(RealtimeStore store, String responderUid,
+                                                       long newestAt, String newestKey) {
+        return store.ref(REPORTS_BY_RESPONDER).child(responderUid).orderByChild("submittedAt")
+                .startAfter(newestAt, newestKey);
+    }
+
+    // Incidents created in [from, to] (epoch ms, inclusive), e.g. one day from EpochTimes.dayRange
+    public static RealtimeStore.Query incidentsCreatedBetween(RealtimeStore store, long from, long to) {
+        return store.ref(INCIDENT_SUMMARIES).orderByChild(EpochTimes.CREATED_AT).startAt(from).endAt(to);
+    }
+
+    // Incidents changed after `since`, for catching up after a reconnect
+    public static RealtimeStore.Query incidentsUpdatedSince(RealtimeStore store, long since) {
+        return store.ref(INCIDENT_SUMMARIES).orderByChild(EpochTimes.UPDATED_AT).startAfter(since);
+    }
+
+    // Agency reports submitted in [from, to] (epoch ms, inclusive)
+    public static RealtimeStore.Query agencyReportsSubmittedBetween(RealtimeStore store, String agency,
+                                                                    long from, long to) {
+        return store.ref(REPORTS).child(agency).orderByChild(EpochTimes.SUBMITTED_AT).startAt(from).endAt(to);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.iresponderapp.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Immutable result of a read: a key plus a plain value (String, Long, Double, Boolean, or a
+// Map of children in result order). Mirrors the DataSnapshot accessors the app uses.
+public final class StoreSnapshot {
+
+    private final String key;
+    private final Object value;
+
+    public StoreSnapshot(String key, Object value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public boolean exists() {
+        return value != null;
+    }
+
+    public boolean hasChildren() {
+        return value instanceof Map && !((Map<?, ?>) value).isEmpty();
+    }
+
+    public int getChildrenCount() {
+        return value instanceof Map ? ((Map<?, ?>) value).size() : 0;
+    }
+
+    // Nested paths such as "bp/t1" are allowed; a missing child is an empty snapshot
+    public StoreSnapshot child(String path) {
+        Object node = value;
+        String childKey = key;
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            childKey = segment;
+            node = node instanceof Map ? ((Map<?, ?>) node).get(segment) : null;
+        }
+        return new StoreSnapshot(childKey, node);
+    }
+
+    public List<StoreSnapshot> getChildren() {
+        if (!(value instanceof Map)) return Collections.emptyList();
+        Map<?, ?> children = (Map<?, ?>) value;
+        List<StoreSnapshot> list = new ArrayList<>(children.size());
+        for (Map.Entry<?, ?> child : children.entrySet()) {
+            list.add(new StoreSnapshot(String.valueOf(child.getKey()), child.getValue()));
+        }
+        return list;
+    }
+
+    // Numeric values are widened/narrowed the way DataSnapshot.getValue(Class) does;
+    // a value of another type reads as null
+    public <T> T getValue(Class<T> type) {
+        if (value == null) return null;
+        if (type.isInstance(value)) return type.cast(value);
+        if (value instanceof Number) {
+            Number number = (Number) value;
+            if (type == Long.class) return type.cast(number.longValue());
+            if (type == Integer.class) return type.cast(number.intValue());
+            if (type == Double.class) return type.cast(number.doubleValue());
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "StoreSnapshot{" + key + "=" + value + "}";
+    }
+}
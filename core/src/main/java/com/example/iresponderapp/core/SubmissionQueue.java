@@ -0,0 +1,93 @@
+package com.example.iresponderapp.core;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Send/ack bookkeeping of the report outbox (ReportOutbox in the app), free of Android so it can
+// run against InMemoryRealtimeStore. Each entry is one multi-path update kept in Storage until the
+// store acknowledges it, with at most one write per entry in flight. Re-queueing an entry while
+// its older write is in flight bumps the entry's version: the older ack then leaves the entry
+// alone and the newer payload goes out right away, instead of the ack deleting it unsent.
+// Not thread-safe: call it and complete its writes on one thread (the main thread in the app).
+public final class SubmissionQueue {
+
+    // The durable side of the queue, by entry key (SharedPreferences JSON in the app)
+    public interface Storage {
+        // null when the entry is not queued (or unreadable)
+        Map<String, Object> load(String entryKey);
+
+        void save(String entryKey, Map<String, Object> update);
+
+        void remove(String entryKey);
+    }
+
+    public interface Listener {
+        void onDelivered(String entryKey, Map<String, Object> update);
+
+        // The entry stays queued; retrying (send() again) is up to the caller
+        void onFailed(String entryKey, Exception error);
+    }
+
+    private final RealtimeStore store;
+    private final Storage storage;
+    private final Listener listener;
+
+    private final Set<String> inFlight = new HashSet<>();
+    // Bumped by every enqueue; only lives as long as the process, like the writes it guards
+    private final Map<String, Long> versions = new HashMap<>();
+
+    public SubmissionQueue(RealtimeStore store, Storage storage, Listener listener) {
+        this.store = store;
+        this.storage = storage;
+        this.listener = listener;
+    }
+
+    // --- Store the update (replacing any queued one for this entry), then try to send it ---
+    public void enqueue(String entryKey, Map<String, Object> update) {
+        storage.save(entryKey, update);
+        versions.put(entryKey, version(entryKey) + 1);
+        send(entryKey);
+    }
+
+    // Sends the stored entry unless a write for it is already in flight; no-op if none is queued
+    public void send(String entryKey) {
+        if (inFlight.contains(entryKey)) return;
+        Map<String, Object> update = storage.load(entryKey);
+        if (update == null) return;
+
+        inFlight.add(entryKey);
+        long version = version(entryKey);
+        store.ref("").updateChildren(update, error -> {
+            inFlight.remove(entryKey);
+            if (error != null) {
+                listener.onFailed(entryKey, error);
+                return;
+            }
+            boolean superseded = version(entryKey) != version;
+            if (!superseded) storage.remove(entryKey);
+            listener.onDelivered(entryKey, update);
+            if (superseded) send(entryKey);
+        });
+    }
+
+    public boolean isInFlight(String entryKey) {
+        return inFlight.contains(entryKey);
+    }
+
+    // True from enqueue() until the store acknowledges the entry's latest payload, in flight or not
+    public boolean isQueued(String entryKey) {
+        return storage.load(entryKey) != null;
+    }
+
+    // The entry's latest payload until the store acknowledges it; null when none is queued
+    public Map<String, Object> queued(String entryKey) {
+        return storage.load(entryKey);
+    }
+
+    private long version(String entryKey) {
+        Long version = versions.get(entryKey);
+        return version != null ? version : 0;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.iresponderapp.core;
+
+import java.util.Objects;
+
+// One row of the Forms tab: a report filed under Reports/{agency}/{incidentKey}, listed through
+// its ReportsByResponder/{uid}/{agency}_{incidentKey} index entry
+public final class SubmittedReport implements Keyed {
+
+    public final String agency;
+    public final String incidentKey;
+    public final String displayName;
+    public final String timestamp;
+    public final long submittedAt;
+    // "yyyy/MM" once the report was moved to ReportsArchive (see IncidentArchiver), else null
+    public final String archiveShard;
+
+    public SubmittedReport(String agency, String incidentKey, String displayName, String timestamp, long submittedAt) {
+        this(agency, incidentKey, displayName, timestamp, submittedAt, null);
+    }
+
+    public SubmittedReport(String agency, String incidentKey, String displayName, String timestamp, long submittedAt,
+                           String archiveShard) {
+        this.agency = agency;
+        this.incidentKey = incidentKey;
+        this.displayName = displayName;
+        this.timestamp = timestamp;
+        this.submittedAt = submittedAt;
+        this.archiveShard = archiveShard;
+    }
+
+    @Override
+    public String getKey() {
+        return agency + "/" + incidentKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SubmittedReport)) return false;
+        SubmittedReport other = (SubmittedReport) o;
+        return submittedAt == other.submittedAt
+                && Objects.equals(agency, other.agency)
+                && Objects.equals(incidentKey, other.incidentKey)
+                && Objects.equals(displayName, other.displayName)
+                && Objects.equals(timestamp, other.timestamp)
+                && Objects.equals(archiveShard, other.archiveShard);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(agency, incidentKey, displayName, timestamp);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.iresponderapp.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+// Resumable, batched migration that gives legacy Incidents_ and Reports records numeric
+// createdAt/updatedAt (and submittedAt for reports). Each node is walked in key order, BATCH
+// children per read; every batch is ONE multi-path update that also advances the node's cursor
+// under Migrations/epochTimestamps, so an interrupted run resumes after the last written batch
+// and a finished node is never scanned again. Records that already have a field keep it.
+// Incidents the reporter app writes after the run still have no times of their own; their
+// summaries get them from the push key (IncidentSummaries.project(key, incident)).
+public final class TimestampBackfill {
+
+    public interface Listener {
+        void onBatch(String node, int scanned, int converted);
+        void onFinished();
+        void onError(Exception error);
+    }
+
+    public static final String MIGRATION = "Migrations/epochTimestamps";
+    public static final int DEFAULT_BATCH = 200;
+
+    private static final String[] NODES = {StoreQueries.INCIDENTS,
+            StoreQueries.REPORTS + "/PNP", StoreQueries.REPORTS + "/BFP", StoreQueries.REPORTS + "/MDRRMO"};
+
+    private final RealtimeStore store;
+    private final TimeZone zone;
+    private final int batchSize;
+    private boolean running = false;
+
+    // zone: the one the legacy date strings were written in
+    public TimestampBackfill(RealtimeStore store, TimeZone zone, int batchSize) {
+        this.store = store;
+        this.zone = zone;
+        this.batchSize = batchSize;
+    }
+
+    public void run(Listener listener) {
+        if (running) return;
+        running = true;
+        runNode(0, listener);
+    }
+
+    // Cursor location of one node, e.g. Migrations/epochTimestamps/Reports_PNP
+    public static String cursorPath(String node) {
+        return MIGRATION + "/" + node.replace('/', '_');
+    }
+
+    private void runNode(int index, Listener listener) {
+        if (index == NODES.length) {
+            running = false;
+            listener.onFinished();
+            return;
+        }
+        String node = NODES[index];
+        store.ref(cursorPath(node)).get(new RealtimeStore.ValueListener() {
+            @Override
+            public void onValue(StoreSnapshot state) {
+                if (Boolean.TRUE.equals(state.child("done").getValue(Boolean.class))) {
+                    runNode(index + 1, listener);
+                } else {
+                    runBatch(index, state.child("cursor").getValue(String.class), listener);
+                }
+            }
+
+            @Override
+            public void onError(Exception error) {
+                running = false;
+                listener.onError(error);
+            }
+        });
+    }
+
+    private void runBatch(int index, String cursor, Listener listener) {
+        String node = NODES[index];
+        RealtimeStore.Query query = store.ref(node).orderByKey();
+        if (cursor != null) query = query.startAfter(cursor);
+
+        query.limitToFirst(batchSize).get(new RealtimeStore.ValueListener() {
+            @Override
+            public void onValue(StoreSnapshot batch) {
+                List<StoreSnapshot> records = batch.getChildren();
+                Map<String, Object> update = new HashMap<>();
+                int converted = 0;
+                for (StoreSnapshot record : records) {
+                    Map<String, Object> fields = node.equals(StoreQueries.INCIDENTS)
+                            ? incidentTimes(record, zone) : reportTimes(record, zone);
+                    for (Map.Entry<String, Object> field : fields.entrySet()) {
+                        update.put(node + "/" + record.getKey() + "/" + field.getKey(), field.getValue());
+                    }
+                    if (!fields.isEmpty()) converted++;
+                }
+
+                boolean done = records.size() < batchSize;
+                if (!records.isEmpty()) {
+                    update.put(cursorPath(node) + "/cursor", records.get(records.size() - 1).getKey());
+                }
+                if (done) update.put(cursorPath(node) + "/done", true);
+
+                final int convertedCount = converted;
+                store.ref("").updateChildren(IncidentSummaries.mirror(update), error -> {
+                    if (error != null) {
+                        running = false;
+                        listener.onError(error);
+                        return;
+                    }
+                    listener.onBatch(node, records.size(), convertedCount);
+                    if (done) runNode(index + 1, listener);
+                    else runBatch(index, records.get(records.size() - 1).getKey(), listener);
+                });
+            }
+
+            @Override
+            public void onError(Exception error) {
+                running = false;
+                listener.onError(error);
+            }
+        });
+    }
+
+    // createdAt from the push key (exact), else from the date/Time strings; updatedAt is the
+    // latest known change. Only missing fields are returned.
+    static Map<String, Object> incidentTimes(StoreSnapshot incident, TimeZone zone) {
+        Map<String, Object> fields = new HashMap<>();
+        Long createdAt = incident.child(EpochTimes.CREATED_AT).getValue(Long.class);
+        if (createdAt == null) {
+            long derived = EpochTimes.fromPushKey(incident.getKey());
+            if (derived == 0) {
+                derived = EpochTimes.parseIncidentDate(incident.child("date").getValue(String.class),
+                        incident.child("Time").getValue(String.class), zone);
+            }
+            if (derived != 0) {
+                createdAt = derived;
+                fields.put(EpochTimes.CREATED_AT, derived);
+            }
+        }
+
+        if (!incident.child(EpochTimes.UPDATED_AT).exists()) {
+            long updatedAt = createdAt != null ? createdAt : 0;
+            for (String field : new String[]{"assignedAt", "completedAt"}) {
+                Long at = incident.child(field).getValue(Long.class);
+                if (at != null) updatedAt = Math.max(updatedAt, at);
+            }
+            if (updatedAt != 0) fields.put(EpochTimes.UPDATED_AT, updatedAt);
+        }
+        return fields;
+    }
+
+    // All three come from the submission time when the report predates them
+    static Map<String, Object> reportTimes(StoreSnapshot report, TimeZone zone) {
+        Map<String, Object> fields = new HashMap<>();
+        Long submittedAt = report.child(EpochTimes.SUBMITTED_AT).getValue(Long.class);
+        if (submittedAt == null) {
+            long parsed = EpochTimes.parseReportTimestamp(report.child("timestamp").getValue(), zone);
+            if (parsed == 0) return fields;
+            submittedAt = parsed;
+            fields.put(EpochTimes.SUBMITTED_AT, parsed);
+        }
+        if (!report.child(EpochTimes.CREATED_AT).exists()) fields.put(EpochTimes.CREATED_AT, submittedAt);
+        if (!report.child(EpochTimes.UPDATED_AT).exists()) fields.put(EpochTimes.UPDATED_AT, submittedAt);
+        return fields;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.iresponderapp.core;
+
+import java.util.PriorityQueue;
+
+// Deterministic time source for InMemoryRealtimeStore: nothing runs until the test advances the
+// clock, and tasks due at the same instant run in the order they were scheduled.
+public final class VirtualClock implements InMemoryRealtimeStore.Scheduler {
+
+    private static final class Task {
+        final long dueAt;
+        final long sequence;
+        final Runnable runnable;
+
+        Task(long dueAt, long sequence, Runnable runnable) {
+            this.dueAt = dueAt;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+    }
+
+    private final PriorityQueue<Task> queue = new PriorityQueue<>((a, b) -> a.dueAt != b.dueAt
+            ? Long.compare(a.dueAt, b.dueAt) : Long.compare(a.sequence, b.sequence));
+    private long now;
+    private long sequence;
+
+    public VirtualClock(long startMillis) {
+        this.now = startMillis;
+    }
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    @Override
+    public void schedule(long delayMillis, Runnable task) {
+        queue.add(new Task(now + Math.max(0, delayMillis), sequence++, task));
+    }
+
+    // Runs everything due within the next millis (including tasks those tasks schedule)
+    public void advanceBy(long millis) {
+        long target = now + millis;
+        while (!queue.isEmpty() && queue.peek().dueAt <= target) {
+            Task task = queue.poll();
+            now = task.dueAt;
+            task.runnable.run();
+        }
+        now = target;
+    }
+
+    // Runs until nothing is left, jumping the clock forward as needed
+    public void runUntilIdle() {
+        while (!queue.isEmpty()) {
+            Task task = queue.poll();
+            now = Math.max(now, task.dueAt);
+            task.runnable.run();
+        }
+    }
+
+    public int pendingTasks() {
+        return queue.size();
+    }
+}
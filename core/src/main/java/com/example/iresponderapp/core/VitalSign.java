@@ -0,0 +1,81 @@
+package com.example.iresponderapp.core;
+
+import java.util.regex.Pattern;
+
+// Vital signs taken on MDRRMO patients. The key is the field key the form and the stored
+// "vitals" node use; min/max bound what is accepted as a reading (anything outside is a typo).
+public enum VitalSign {
+    PULSE("pulse_rate", "bpm", 20, 250),
+    RESPIRATION("resp_rate", "/min", 2, 80),
+    SPO2("spo2", "%", 40, 100),
+    // "systolic/diastolic"; aggregates use the systolic value
+    BLOOD_PRESSURE("bp", "mmHg", 30, 300),
+    TEMPERATURE("temp", "C", 25, 45),
+    CAP_REFILL("cap_vital", "s", 0, 15),
+    GLUCOSE("glucose", "mg/dL", 10, 1000),
+    PAIN("pain", "/10", 0, 10);
+
+    private static final Pattern DECIMAL = Pattern.compile("[0-9]{1,4}(\\.[0-9]{1,2})?");
+
+    public final String key;
+    public final String unit;
+    public final double min;
+    public final double max;
+
+    VitalSign(String key, String unit, double min, double max) {
+        this.key = key;
+        this.unit = unit;
+        this.min = min;
+        this.max = max;
+    }
+
+    public boolean isPair() {
+        return this == BLOOD_PRESSURE;
+    }
+
+    // null when the key is not a vital sign; "sao2" is what some older screens called SpO2
+    public static VitalSign forKey(String key) {
+        if ("sao2".equals(key)) return SPO2;
+        for (VitalSign sign : values()) {
+            if (sign.key.equals(key)) return sign;
+        }
+        return null;
+    }
+
+    // A reading as typed -> {value} or {systolic, diastolic}; null if it is not a number in range
+    public double[] parse(String text) {
+        if (text == null) return null;
+        String trimmed = text.trim();
+        if (isPair()) {
+            int slash = trimmed.indexOf('/');
+            if (slash < 0) return null;
+            double systolic = number(trimmed.substring(0, slash));
+            double diastolic = number(trimmed.substring(slash + 1));
+            if (!inRange(systolic) || !inRange(diastolic) || diastolic >= systolic) return null;
+            return new double[]{systolic, diastolic};
+        }
+        double value = number(trimmed);
+        return inRange(value) ? new double[]{value} : null;
+    }
+
+    public String format(double[] reading) {
+        String text = formatNumber(reading[0]);
+        return isPair() ? text + "/" + formatNumber(reading[1]) : text;
+    }
+
+    // 98.0 -> "98", 36.5 -> "36.5"
+    static String formatNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) return Long.toString((long) value);
+        return Double.toString(value);
+    }
+
+    private boolean inRange(double value) {
+        return value >= min && value <= max;
+    }
+
+    // Plain decimals only: no signs, exponents or the "d"/"f" suffixes parseDouble would accept
+    private static double number(String text) {
+        String trimmed = text.trim();
+        return DECIMAL.matcher(trimmed).matches() ? Double.parseDouble(trimmed) : Double.NaN;
+    }
+}
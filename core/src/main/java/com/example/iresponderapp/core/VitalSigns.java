@@ -0,0 +1,232 @@
+package com.example.iresponderapp.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+// One patient's vital signs as typed numeric series. Each take has a time (minutes after midnight
+// of `day`, running past 1440 when the run crosses midnight) and each sign has at most one
+// reading per take. Stored under the patient as one compact "vitals" node:
+//   {day: "2025-12-04", at: "600,615,630", pulse_rate: "88,92,", bp: "120/80,118/76,"}
+// The times are written once and every series lists its values in take order, blank where that
+// take has no reading. Patients written before this node existed keep {t1, t2, t3} string rows,
+// which fromLegacy() reads.
+public final class VitalSigns {
+
+    public static final String NODE = "vitals";
+    public static final String DAY = "day";
+    public static final String AT = "at";
+    public static final String TIMES_KEY = "obs_time";
+
+    public static final class Observation {
+        // Minutes after midnight of the record's day; -1 when the take has no time
+        public final int minute;
+        public final double value;
+        // Diastolic for blood pressure, NaN otherwise
+        public final double second;
+
+        Observation(int minute, double value, double second) {
+            this.minute = minute;
+            this.value = value;
+            this.second = second;
+        }
+    }
+
+    // "yyyy-MM-dd" of the first take; null when unknown (legacy rows)
+    public final String day;
+    private final int[] minutes;
+    private final Map<VitalSign, double[][]> readings;
+
+    private VitalSigns(String day, int[] minutes, Map<VitalSign, double[][]> readings) {
+        this.day = day;
+        this.minutes = minutes;
+        this.readings = readings;
+    }
+
+    // --- From the form: "HH:mm" per take and the typed readings per sign ---
+    // Readings that do not parse are left out; ReportSchema.firstInvalidReading() catches them first.
+    public static VitalSigns fromTakes(String day, List<String> times, Map<VitalSign, List<String>> takes) {
+        int count = times.size();
+        for (List<String> values : takes.values()) count = Math.max(count, values.size());
+
+        int[] minutes = new int[count];
+        int previous = -1;
+        for (int i = 0; i < count; i++) {
+            int minute = i < times.size() ? parseTime(times.get(i)) : -1;
+            // A later take earlier on the clock was taken after midnight
+            while (minute >= 0 && previous >= 0 && minute < previous) minute += 24 * 60;
+            minutes[i] = minute;
+            if (minute >= 0) previous = minute;
+        }
+
+        Map<VitalSign, double[][]> readings = new EnumMap<>(VitalSign.class);
+        for (Map.Entry<VitalSign, List<String>> entry : takes.entrySet()) {
+            double[][] series = new double[count][];
+            boolean any = false;
+            for (int i = 0; i < entry.getValue().size(); i++) {
+                series[i] = entry.getKey().parse(entry.getValue().get(i));
+                any |= series[i] != null;
+            }
+            if (any) readings.put(entry.getKey(), series);
+        }
+        return new VitalSigns(day, minutes, readings);
+    }
+
+    // --- From a stored "vitals" node ---
+    public static VitalSigns fromStored(Map<String, ?> node) {
+        String[] at = split(node.get(AT));
+        int[] minutes = new int[at.length];
+        for (int i = 0; i < at.length; i++) minutes[i] = parseInt(at[i]);
+
+        Map<VitalSign, double[][]> readings = new EnumMap<>(VitalSign.class);
+        for (VitalSign sign : VitalSign.values()) {
+            String[] values = split(node.get(sign.key));
+            if (values.length == 0) continue;
+            double[][] series = new double[Math.max(values.length, minutes.length)][];
+            for (int i = 0; i < values.length; i++) series[i] = values[i].isEmpty() ? null : sign.parse(values[i]);
+            readings.put(sign, series);
+        }
+        Object day = node.get(DAY);
+        return new VitalSigns(day instanceof String ? (String) day : null,
+                minutes.length >= maxLength(readings) ? minutes : pad(minutes, maxLength(readings)), readings);
+    }
+
+    // --- From a patient entry written as {t1, t2, t3} string rows ---
+    @SuppressWarnings("unchecked")
+    public static VitalSigns fromLegacy(Map<String, ?> entry) {
+        Map<VitalSign, List<String>> takes = new EnumMap<>(VitalSign.class);
+        for (Map.Entry<String, ?> field : entry.entrySet()) {
+            VitalSign sign = VitalSign.forKey(field.getKey());
+            if (sign == null || !(field.getValue() instanceof Map)) continue;
+            // "spo2" wins over the older "sao2" when a patient somehow has both
+            if (takes.containsKey(sign) && !sign.key.equals(field.getKey())) continue;
+            takes.put(sign, legacyRow((Map<String, ?>) field.getValue()));
+        }
+        Object times = entry.get(TIMES_KEY);
+        return fromTakes(null, times instanceof Map ? legacyRow((Map<String, ?>) times) : Collections.<String>emptyList(), takes);
+    }
+
+    public boolean isEmpty() {
+        return readings.isEmpty();
+    }
+
+    public int takes() {
+        return minutes.length;
+    }
+
+    // Observations of one sign in take order, readings only
+    public List<Observation> series(VitalSign sign) {
+        double[][] series = readings.get(sign);
+        if (series == null) return Collections.emptyList();
+        List<Observation> observations = new ArrayList<>();
+        for (int i = 0; i < series.length; i++) {
+            if (series[i] == null) continue;
+            observations.add(new Observation(i < minutes.length ? minutes[i] : -1, series[i][0],
+                    series[i].length > 1 ? series[i][1] : Double.NaN));
+        }
+        return observations;
+    }
+
+    // Epoch millis of an observation in the zone, or -1 when the take or the day is unknown
+    public long epochMillis(Observation observation, TimeZone zone) {
+        if (observation.minute < 0 || day == null) return -1;
+        long midnight = EpochTimes.dayRange(day, zone)[0];
+        return midnight == 0 ? -1 : midnight + observation.minute * 60_000L;
+    }
+
+    // --- Back to the form: "HH:mm" per take and the readings as text ---
+    public List<String> timesAsText(int count) {
+        List<String> times = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int minute = i < minutes.length ? minutes[i] : -1;
+            times.add(minute < 0 ? "" : String.format(Locale.ROOT, "%02d:%02d", (minute / 60) % 24, minute % 60));
+        }
+        return times;
+    }
+
+    public List<String> takesAsText(VitalSign sign, int count) {
+        double[][] series = readings.get(sign);
+        List<String> takes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            takes.add(series != null && i < series.length && series[i] != null ? sign.format(series[i]) : "");
+        }
+        return takes;
+    }
+
+    // --- The compact "vitals" node ---
+    public Map<String, Object> toStored() {
+        Map<String, Object> node = new HashMap<>();
+        if (day != null) node.put(DAY, day);
+        // No times at all is "", not a row of commas
+        StringBuilder at = new StringBuilder();
+        boolean timed = false;
+        for (int i = 0; i < minutes.length; i++) {
+            if (i > 0) at.append(',');
+            if (minutes[i] >= 0) at.append(minutes[i]);
+            timed |= minutes[i] >= 0;
+        }
+        node.put(AT, timed ? at.toString() : "");
+        for (Map.Entry<VitalSign, double[][]> entry : readings.entrySet()) {
+            StringBuilder values = new StringBuilder();
+            double[][] series = entry.getValue();
+            for (int i = 0; i < minutes.length; i++) {
+                if (i > 0) values.append(',');
+                if (i < series.length && series[i] != null) values.append(entry.getKey().format(series[i]));
+            }
+            node.put(entry.getKey().key, values.toString());
+        }
+        return node;
+    }
+
+    private static List<String> legacyRow(Map<String, ?> row) {
+        List<String> takes = new ArrayList<>();
+        for (int i = 1; i <= ReportSchema.READINGS_PER_ROW; i++) {
+            Object take = row.get("t" + i);
+            takes.add(take != null ? take.toString() : "");
+        }
+        return takes;
+    }
+
+    // "HH:mm" or "H:mm" -> minutes after midnight, -1 if blank or not a time
+    static int parseTime(String text) {
+        if (text == null) return -1;
+        String[] parts = text.trim().split(":");
+        if (parts.length != 2) return -1;
+        int hours = parseInt(parts[0]);
+        int minutes = parseInt(parts[1]);
+        if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59 || parts[1].trim().length() != 2) return -1;
+        return hours * 60 + minutes;
+    }
+
+    private static int parseInt(String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty() || trimmed.length() > 5) return -1;
+        for (int i = 0; i < trimmed.length(); i++) {
+            if (!Character.isDigit(trimmed.charAt(i))) return -1;
+        }
+        return Integer.parseInt(trimmed);
+    }
+
+    // "a,b,,c" keeps its blanks; a missing or empty node field has no takes
+    private static String[] split(Object text) {
+        if (!(text instanceof String) || ((String) text).isEmpty()) return new String[0];
+        return ((String) text).split(",", -1);
+    }
+
+    private static int maxLength(Map<VitalSign, double[][]> readings) {
+        int max = 0;
+        for (double[][] series : readings.values()) max = Math.max(max, series.length);
+        return max;
+    }
+
+    private static int[] pad(int[] minutes, int length) {
+        int[] padded = new int[length];
+        for (int i = 0; i < length; i++) padded[i] = i < minutes.length ? minutes[i] : -1;
+        return padded;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.iresponderapp.core;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Running statistics of one vital sign over many patients, for provincial EMS summaries.
+// Accumulates in constant memory, so a caller can stream Reports/MDRRMO through it one report at
+// a time. Blood pressure statistics are over the systolic value.
+public final class VitalStats {
+
+    public final VitalSign sign;
+
+    private long readings;
+    private long patients;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    // Per-patient change from the first to the last timed reading, per hour
+    private long trends;
+    private double trendSum;
+
+    public VitalStats(VitalSign sign) {
+        this.sign = sign;
+    }
+
+    // --- One patient's series ---
+    public void add(List<VitalSigns.Observation> series) {
+        if (series.isEmpty()) return;
+        patients++;
+        VitalSigns.Observation first = null;
+        VitalSigns.Observation last = null;
+        for (VitalSigns.Observation observation : series) {
+            readings++;
+            sum += observation.value;
+            min = Math.min(min, observation.value);
+            max = Math.max(max, observation.value);
+            if (observation.minute < 0) continue;
+            if (first == null) first = observation;
+            last = observation;
+        }
+        if (first != null && last.minute > first.minute) {
+            trends++;
+            trendSum += (last.value - first.value) / ((last.minute - first.minute) / 60.0);
+        }
+    }
+
+    public long readings() {
+        return readings;
+    }
+
+    public long patients() {
+        return patients;
+    }
+
+    // NaN until a reading has been added
+    public double min() {
+        return readings > 0 ? min : Double.NaN;
+    }
+
+    public double max() {
+        return readings > 0 ? max : Double.NaN;
+    }
+
+    public double mean() {
+        return readings > 0 ? sum / readings : Double.NaN;
+    }
+
+    // Mean per-hour change over patients with at least two timed readings; NaN if none
+    public double meanChangePerHour() {
+        return trends > 0 ? trendSum / trends : Double.NaN;
+    }
+
+    // --- Every sign over a stream of stored MDRRMO reports (Reports/MDRRMO/{incidentKey} values) ---
+    public static Map<VitalSign, VitalStats> over(Iterable<? extends Map<String, ?>> reports) {
+        Map<VitalSign, VitalStats> stats = new EnumMap<>(VitalSign.class);
+        for (VitalSign sign : VitalSign.values()) stats.put(sign, new VitalStats(sign));
+        for (Map<String, ?> report : reports) {
+            for (Object patient : patients(report.get("patients"))) {
+                VitalSigns vitals = of(patient);
+                if (vitals == null) continue;
+                for (VitalStats sign : stats.values()) sign.add(vitals.series(sign.sign));
+            }
+        }
+        return stats;
+    }
+
+    // The compact node when the patient has one, otherwise its legacy {t1, t2, t3} rows
+    @SuppressWarnings("unchecked")
+    private static VitalSigns of(Object patient) {
+        if (!(patient instanceof Map)) return null;
+        Map<String, ?> entry = (Map<String, ?>) patient;
+        Object node = entry.get(VitalSigns.NODE);
+        return node instanceof Map ? VitalSigns.fromStored((Map<String, ?>) node) : VitalSigns.fromLegacy(entry);
+    }
+
+    // Patients are stored by entry key; older reports hold them as an array
+    @SuppressWarnings("unchecked")
+    private static Iterable<?> patients(Object stored) {
+        if (stored instanceof Map) return ((Map<String, ?>) stored).values();
+        if (stored instanceof List) return (List<?>) stored;
+        return Collections.emptyList();
+    }
+}
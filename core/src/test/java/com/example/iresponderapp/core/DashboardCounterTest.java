@@ -0,0 +1,38 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class DashboardCounterTest {
+
+    @Test
+    public void dayKey_usesTheGivenZone() {
+        long instant = 1733331600000L; // 2024-12-04T17:00:00Z
+        assertEquals("2024-12-04", DashboardCounter.dayKey(instant, TimeZone.getTimeZone("UTC")));
+        assertEquals("2024-12-05", DashboardCounter.dayKey(instant, TimeZone.getTimeZone("Asia/Manila")));
+    }
+
+    @Test
+    public void count_bucketsByAssignedDayThenReportedDate() {
+        Incident activeToday = Incident.builder("1").set("Status", "Assigned").set("assignedDay", "2025-12-04").build();
+        Incident completedToday = Incident.builder("2").set("Status", "Completed").set("assignedDay", "2025-12-04").build();
+        // Legacy records store the reported date unpadded
+        Incident legacyToday = Incident.builder("3").set("Status", "Assigned").set("date", "2025-12-4").build();
+        Incident legacyEarlier = Incident.builder("5").set("Status", "Assigned").set("date", "2025-12-14").build();
+        Incident undated = Incident.builder("6").set("Status", "Assigned").build();
+        Incident yesterday = Incident.builder("4").set("Status", "Completed").set("assignedDay", "2025-12-03").build();
+
+        DashboardCounter.Counts counts = DashboardCounter.count(
+                Arrays.asList(activeToday, completedToday, legacyToday, legacyEarlier, undated, yesterday),
+                "2025-12-04", TimeZone.getTimeZone("Asia/Manila"));
+
+        assertEquals(2, counts.active);
+        assertEquals(1, counts.completed);
+        assertEquals(3, counts.total());
+        assertEquals(Arrays.asList("2"), counts.completedKeys);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class EpochTimesTest {
+
+    private static final TimeZone MANILA = TimeZone.getTimeZone("Asia/Manila");
+
+    // 2025-12-04T02:42:00Z = 10:42 in Manila
+    private static final long DEC_4_1042 = 1764816120000L;
+
+    @Test
+    public void fromPushKey_roundTripsThePushTime() {
+        InMemoryRealtimeStore store = new InMemoryRealtimeStore(new VirtualClock(DEC_4_1042));
+        assertEquals(DEC_4_1042, EpochTimes.fromPushKey(store.ref("Incidents_").push().getKey()));
+    }
+
+    @Test
+    public void fromPushKey_rejectsOtherKeys() {
+        assertEquals(0, EpochTimes.fromPushKey("incident1"));
+        assertEquals(0, EpochTimes.fromPushKey(null));
+        assertEquals(0, EpochTimes.fromPushKey("-Oabc!defghijklmnopq"));
+    }
+
+    @Test
+    public void parseIncidentDate_readsEachLegacyTimeFormat() {
+        assertEquals(DEC_4_1042, EpochTimes.parseIncidentDate("2025-12-4", "10:42", MANILA));
+        assertEquals(DEC_4_1042, EpochTimes.parseIncidentDate("2025-12-04", "10:42 AM", MANILA));
+        assertEquals(DEC_4_1042 + 5000, EpochTimes.parseIncidentDate("2025-12-4", "10:42:05", MANILA));
+    }
+
+    @Test
+    public void parseIncidentDate_fallsBackToTheDayWhenTimeIsUnreadable() {
+        long midnight = EpochTimes.parseIncidentDate("2025-12-4", null, MANILA);
+        assertEquals(midnight, EpochTimes.parseIncidentDate("2025-12-4", "noon-ish", MANILA));
+        assertEquals(DEC_4_1042 - (10 * 60 + 42) * 60_000L, midnight);
+        assertEquals(0, EpochTimes.parseIncidentDate("yesterday", "10:42", MANILA));
+    }
+
+    @Test
+    public void parseReportTimestamp_readsBothReportFormats() {
+        assertEquals(DEC_4_1042, EpochTimes.parseReportTimestamp("2025-12-04 10:42", MANILA));
+        assertEquals(DEC_4_1042 + 5000, EpochTimes.parseReportTimestamp("2025-12-04 10:42:05", MANILA));
+        assertEquals(0, EpochTimes.parseReportTimestamp("", MANILA));
+    }
+
+    @Test
+    public void dayRange_coversOneLocalDay() {
+        long start = EpochTimes.parseIncidentDate("2025-12-4", null, MANILA);
+        assertArrayEquals(new long[]{start, start + 86_400_000L}, EpochTimes.dayRange("2025-12-04", MANILA));
+    }
+}
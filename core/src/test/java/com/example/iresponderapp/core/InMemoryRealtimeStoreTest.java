@@ -0,0 +1,243 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryRealtimeStoreTest {
+
+    private VirtualClock clock;
+    private InMemoryRealtimeStore store;
+
+    @Before
+    public void setUp() {
+        clock = new VirtualClock(1_000_000L);
+        store = new InMemoryRealtimeStore(clock);
+    }
+
+    private static Map<String, Object> incident(String status, Object assignedAt) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("Status", status);
+        fields.put("assignedAt", assignedAt);
+        return fields;
+    }
+
+    private void seed(String path, Map<String, Object> children) {
+        store.ref(path).updateChildren(children, null);
+        clock.runUntilIdle();
+    }
+
+    private List<String> keysOf(RealtimeStore.Query query) {
+        List<String> keys = new ArrayList<>();
+        query.get(snapshot -> {
+            for (StoreSnapshot child : snapshot.getChildren()) keys.add(child.getKey());
+        });
+        clock.runUntilIdle();
+        return keys;
+    }
+
+    @Test
+    public void orderByChild_equalTo_andLimits() {
+        Map<String, Object> children = new HashMap<>();
+        children.put("a", incident("Pending", 3));
+        children.put("b", incident("Assigned", 1));
+        children.put("c", incident("Pending", 2));
+        children.put("d", incident("Pending", 1));
+        seed("Incidents_", children);
+
+        RealtimeStore.Ref incidents = store.ref("Incidents_");
+        assertEquals(Arrays.asList("a", "c", "d"), keysOf(incidents.orderByChild("Status").equalTo("Pending")));
+        assertEquals(Arrays.asList("b", "d", "c", "a"), keysOf(incidents.orderByChild("assignedAt")));
+        assertEquals(Arrays.asList("c", "a"), keysOf(incidents.orderByChild("assignedAt").limitToLast(2)));
+        assertEquals(Arrays.asList("a", "b"), keysOf(incidents.orderByKey().limitToFirst(2)));
+        assertEquals(Arrays.asList("d", "c"),
+                keysOf(incidents.orderByChild("assignedAt").startAfter(1, "b").endBefore(3, "a")));
+    }
+
+    @Test
+    public void valueOrdering_followsTheServerRules() {
+        Map<String, Object> children = new HashMap<>();
+        children.put("str", Map.of("v", "x"));
+        children.put("num", Map.of("v", 5));
+        children.put("yes", Map.of("v", true));
+        children.put("no", Map.of("v", false));
+        children.put("none", Map.of("other", 1));
+        children.put("obj", Map.of("v", Map.of("k", 1)));
+        seed("Mixed", children);
+
+        assertEquals(Arrays.asList("none", "no", "yes", "num", "str", "obj"),
+                keysOf(store.ref("Mixed").orderByChild("v")));
+        // Integer keys sort numerically and before string keys
+        seed("Keys", Map.of("10", 1, "9", 1, "a", 1));
+        assertEquals(Arrays.asList("9", "10", "a"), keysOf(store.ref("Keys")));
+    }
+
+    @Test
+    public void childEvents_areIncremental() {
+        seed("Incidents_", Map.of("a", incident("Pending", 1), "b", incident("Assigned", 2)));
+
+        List<String> events = new ArrayList<>();
+        RealtimeStore.Registration registration = store.ref("Incidents_").orderByChild("Status").equalTo("Pending")
+                .addChildListener(new RecordingChildListener(events));
+        clock.runUntilIdle();
+        assertEquals(Arrays.asList("added a after null"), events);
+
+        events.clear();
+        store.ref("Incidents_/b/Status").setValue("Pending", null);
+        store.ref("Incidents_/a/assignedAt").setValue(9, null);
+        store.ref("Incidents_/c").setValue(incident("Assigned", 3), null);
+        clock.runUntilIdle();
+        assertEquals(Arrays.asList("added b after a", "changed a after null"), events);
+
+        events.clear();
+        store.ref("Incidents_/a").removeValue(null);
+        clock.runUntilIdle();
+        assertEquals(Arrays.asList("removed a"), events);
+
+        registration.remove();
+        assertEquals(0, store.listenerCount());
+        store.ref("Incidents_/b").removeValue(null);
+        clock.runUntilIdle();
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void childEvents_keepALimitedWindow() {
+        seed("Idx", Map.of("a", Map.of("at", 1), "b", Map.of("at", 2), "c", Map.of("at", 3)));
+
+        List<String> events = new ArrayList<>();
+        store.ref("Idx").orderByChild("at").limitToLast(2).addChildListener(new RecordingChildListener(events));
+        clock.runUntilIdle();
+        assertEquals(Arrays.asList("added b after null", "added c after b"), events);
+
+        events.clear();
+        store.ref("Idx/d").setValue(Map.of("at", 4), null);
+        clock.runUntilIdle();
+        assertEquals(Arrays.asList("removed b", "added d after c"), events);
+
+        events.clear();
+        store.ref("Idx/c/at").setValue(5, null);
+        clock.runUntilIdle();
+        assertEquals(Arrays.asList("changed c after d", "moved c after d"), events);
+    }
+
+    @Test
+    public void valueListener_firesOnlyOnChange() {
+        List<Object> values = new ArrayList<>();
+        store.ref("Stats/u1").addValueListener(snapshot -> values.add(snapshot.child("active").getValue(Long.class)));
+        clock.runUntilIdle();
+
+        store.ref("Stats/u1/active").setValue(1, null);
+        store.ref("Stats/u2/active").setValue(7, null);
+        store.ref("Stats/u1/active").setValue(1, null);
+        clock.runUntilIdle();
+
+        assertEquals(Arrays.asList(null, 1L), values);
+    }
+
+    @Test
+    public void latency_delaysDeliveryButKeepsWriteOrder() {
+        long[] latencies = {50, 10};
+        int[] call = {0};
+        store.setLatency(() -> latencies[call[0]++ % latencies.length]);
+
+        List<String> landed = new ArrayList<>();
+        store.ref("Node").setValue("first", error -> landed.add("first@" + clock.now()));
+        store.ref("Node").setValue("second", error -> landed.add("second@" + clock.now()));
+        clock.advanceBy(20);
+        assertTrue(landed.isEmpty());
+
+        clock.advanceBy(30);
+        assertEquals(Arrays.asList("first@1000050", "second@1000050"), landed);
+        store.setLatency(0);
+        assertEquals("second", read("Node"));
+    }
+
+    @Test
+    public void multiPathUpdates_resolveServerTimestampsAndPrune() {
+        store.setLatency(5);
+        Map<String, Object> update = new HashMap<>();
+        update.put("Reports/BFP/k/note", "x");
+        update.put("Incidents_/k/completedAt", store.serverTimestamp());
+        store.ref("").updateChildren(update, null);
+        clock.advanceBy(5);
+
+        assertEquals(1_000_005L, read("Incidents_/k/completedAt"));
+        store.ref("Reports/BFP/k/note").removeValue(null);
+        clock.runUntilIdle();
+        assertNull(read("Reports"));
+    }
+
+    @Test
+    public void pushKeys_areOrderedAndUnique() {
+        String first = store.ref("Incidents_").push().getKey();
+        String second = store.ref("Incidents_").push().getKey();
+        clock.advanceBy(1);
+        String later = store.ref("Incidents_").push().getKey();
+
+        assertEquals(20, first.length());
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(second.compareTo(later) < 0);
+        assertFalse(first.equals(second));
+    }
+
+    private Object read(String path) {
+        Object[] value = new Object[1];
+        store.ref(path).get(snapshot -> value[0] = snapshot.getValue());
+        clock.runUntilIdle();
+        return value[0];
+    }
+
+    @Test
+    public void runTransaction_replacesOrKeepsTheCurrentValue() {
+        store.ref("Counters/a").setValue(1L, null);
+        clock.runUntilIdle();
+        boolean[] committed = new boolean[2];
+
+        store.ref("Counters/a").runTransaction(current -> ((Long) current) + 1, (error, done) -> committed[0] = done);
+        store.ref("Counters/a").runTransaction(current -> RealtimeStore.Transaction.ABORT, (error, done) -> committed[1] = done);
+        clock.runUntilIdle();
+
+        assertEquals(2L, read("Counters/a"));
+        assertTrue(committed[0]);
+        assertFalse(committed[1]);
+    }
+
+    static final class RecordingChildListener implements RealtimeStore.ChildListener {
+        private final List<String> events;
+
+        RecordingChildListener(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void onChildAdded(StoreSnapshot snapshot, String previousKey) {
+            events.add("added " + snapshot.getKey() + " after " + previousKey);
+        }
+
+        @Override
+        public void onChildChanged(StoreSnapshot snapshot, String previousKey) {
+            events.add("changed " + snapshot.getKey() + " after " + previousKey);
+        }
+
+        @Override
+        public void onChildRemoved(StoreSnapshot snapshot) {
+            events.add("removed " + snapshot.getKey());
+        }
+
+        @Override
+        public void onChildMoved(StoreSnapshot snapshot, String previousKey) {
+            events.add("moved " + snapshot.getKey() + " after " + previousKey);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IncidentArchiverTest {
+
+    private static final TimeZone MANILA = TimeZone.getTimeZone("Asia/Manila");
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    // 2025-12-04T02:42:00Z
+    private static final long NOW = 1764816120000L;
+
+    private VirtualClock clock;
+    private InMemoryRealtimeStore store;
+    private int archived = -1;
+
+    @Before
+    public void setUp() {
+        clock = new VirtualClock(NOW);
+        store = new InMemoryRealtimeStore(clock);
+    }
+
+    private void incident(String key, String status, long createdAt, long updatedAt) {
+        Map<String, Object> incident = new HashMap<>();
+        incident.put("incidentType", "Fire");
+        incident.put("date", "2025-1-1");
+        incident.put("address", "Daet");
+        incident.put("Status", status);
+        incident.put("additionalInfo", "full record only");
+        incident.put(EpochTimes.CREATED_AT, createdAt);
+        incident.put(EpochTimes.UPDATED_AT, updatedAt);
+        Map<String, Object> update = new HashMap<>();
+        update.put(StoreQueries.INCIDENTS + "/" + key, incident);
+        store.ref("").updateChildren(IncidentSummaries.mirror(update), null);
+        clock.runUntilIdle();
+    }
+
+    private void report(String agency, String key, String responderUid) {
+        Map<String, Object> report = new HashMap<>();
+        report.put("responderUid", responderUid);
+        report.put("narrative", "report body");
+        report.put("timestamp", "2025-08-02 09:00:00");
+        store.ref(StoreQueries.REPORTS + "/" + agency + "/" + key).setValue(report, null);
+        clock.runUntilIdle();
+    }
+
+    private Object read(String path) {
+        Object[] value = new Object[1];
+        store.ref(path).get(snapshot -> value[0] = snapshot.getValue());
+        clock.runUntilIdle();
+        return value[0];
+    }
+
+    private List<String> keysOf(RealtimeStore.Query query) {
+        List<String> keys = new ArrayList<>();
+        query.get(snapshot -> {
+            for (StoreSnapshot child : snapshot.getChildren()) keys.add(child.getKey());
+        });
+        clock.runUntilIdle();
+        return keys;
+    }
+
+    private void archive(int batchSize) {
+        startArchive(batchSize);
+        clock.runUntilIdle();
+    }
+
+    private void startArchive(int batchSize) {
+        new IncidentArchiver(store, MANILA, 30 * DAY, batchSize).run(NOW, new IncidentArchiver.Listener() {
+            @Override
+            public void onBatch(int scanned, int archivedInBatch) {}
+
+            @Override
+            public void onFinished(int count) {
+                archived = count;
+            }
+
+            @Override
+            public void onError(Exception error) {
+                throw new AssertionError(error);
+            }
+        });
+    }
+
+    @Test
+    public void shardOf_usesTheLocalMonth() {
+        // 2025-10-31T20:00:00Z is already November in Manila
+        assertEquals("2025/11", IncidentArchiver.shardOf(1761940800000L, MANILA));
+        assertEquals("2025/10", IncidentArchiver.shardOf(1761940800000L, TimeZone.getTimeZone("UTC")));
+    }
+
+    @Test
+    public void movesOldClosedIncidentsWithTheirReports() {
+        long august = NOW - 120 * DAY;
+        incident("old-done", "Completed", august, august + DAY);
+        report("BFP", "old-done", "uid-1");
+
+        archive(10);
+
+        assertEquals(1, archived);
+        assertNull(read(StoreQueries.INCIDENTS + "/old-done"));
+        assertNull(read(StoreQueries.INCIDENT_SUMMARIES + "/old-done"));
+        assertNull(read(StoreQueries.REPORTS + "/BFP/old-done"));
+
+        assertEquals("full record only", read("IncidentsArchive/2025/08/old-done/additionalInfo"));
+        assertEquals("Completed", read("IncidentSummariesArchive/2025/08/old-done/Status"));
+        assertNull(read("IncidentSummariesArchive/2025/08/old-done/additionalInfo"));
+        assertEquals("report body", read("ReportsArchive/2025/08/BFP/old-done/narrative"));
+        assertEquals(true, read("ArchiveShards/2025/08"));
+
+        String index = StoreQueries.REPORTS_BY_RESPONDER + "/uid-1/" + ReportSerializer.indexKey("BFP", "old-done");
+        assertEquals("2025/08", read(index + "/archive"));
+        assertEquals("old-done", read(index + "/incidentKey"));
+    }
+
+    @Test
+    public void keepsRecentAndOpenIncidentsHot() {
+        long old = NOW - 60 * DAY;
+        incident("old-pending", "Pending", old, old);
+        incident("old-assigned", "Assigned", old, old);
+        incident("recent-done", "Completed", old, NOW - DAY);
+        incident("old-rejected", "Rejected", old, old);
+
+        archive(10);
+
+        assertEquals(1, archived);
+        assertEquals(Arrays.asList("old-assigned", "old-pending", "recent-done"),
+                keysOf(store.ref(StoreQueries.INCIDENTS).orderByKey()));
+        assertEquals(Arrays.asList("old-rejected"), keysOf(StoreQueries.archivedStatusPage(
+                store, IncidentArchiver.shardOf(old, MANILA), "Rejected", null, 20)));
+    }
+
+    @Test
+    public void walksPastOpenIncidentsAcrossBatches() {
+        long old = NOW - 60 * DAY;
+        for (int i = 0; i < 7; i++) incident("open-" + i, "Pending", old, old + i);
+        for (int i = 0; i < 5; i++) incident("done-" + i, "Completed", old, old + 10 + i);
+
+        archive(3);
+
+        assertEquals(5, archived);
+        assertEquals(7, keysOf(StoreQueries.pendingIncidents(store)).size());
+        assertEquals(0, keysOf(StoreQueries.statusPage(store, "Completed", null, 20)).size());
+    }
+
+    @Test
+    public void anIncidentReopenedDuringTheMove_staysHot() {
+        long august = NOW - 120 * DAY;
+        incident("reopened", "Completed", august, august + DAY);
+        report("BFP", "reopened", "uid-1");
+        incident("done", "Completed", august, august + DAY);
+
+        // Query, reads and the shard copy each take 10 ms; the reopening lands after the copy
+        store.setLatency(10);
+        startArchive(10);
+        clock.advanceBy(25);
+        Map<String, Object> reopen = new HashMap<>();
+        reopen.put("Status", "Assigned");
+        reopen.put(EpochTimes.UPDATED_AT, NOW);
+        store.ref("").updateChildren(IncidentSummaries.incidentUpdate("reopened", "daet", reopen), null);
+        clock.runUntilIdle();
+
+        assertEquals(1, archived);
+        assertEquals("Assigned", read(StoreQueries.INCIDENTS + "/reopened/Status"));
+        assertEquals("Assigned", read(StoreQueries.INCIDENT_SUMMARIES + "/reopened/Status"));
+        assertEquals("report body", read(StoreQueries.REPORTS + "/BFP/reopened/narrative"));
+        assertNull(read("IncidentsArchive/2025/08/reopened"));
+        assertNull(read("ReportsArchive/2025/08/BFP/reopened"));
+
+        assertNull(read(StoreQueries.INCIDENTS + "/done"));
+        assertEquals("full record only", read("IncidentsArchive/2025/08/done/additionalInfo"));
+    }
+
+    @Test
+    public void shardsNewestFirst_flattensYearsAndMonths() {
+        incident("a", "Completed", NOW - 400 * DAY, NOW - 400 * DAY);
+        incident("b", "Completed", NOW - 100 * DAY, NOW - 100 * DAY);
+        incident("c", "Completed", NOW - 70 * DAY, NOW - 70 * DAY);
+        archive(10);
+
+        List<String> shards = new ArrayList<>();
+        StoreQueries.archiveShards(store).get(snapshot -> shards.addAll(IncidentArchiver.shardsNewestFirst(snapshot)));
+        clock.runUntilIdle();
+
+        assertEquals(Arrays.asList("2025/09", "2025/08", "2024/10"), shards);
+        assertFalse(IncidentArchiver.isArchivable("Pending"));
+        assertTrue(IncidentArchiver.isArchivable("completed"));
+    }
+}
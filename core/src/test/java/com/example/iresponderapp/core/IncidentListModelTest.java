@@ -0,0 +1,90 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class IncidentListModelTest {
+
+    private static Incident withStatus(String key, String status) {
+        return Incident.builder(key).set("Status", status).build();
+    }
+
+    private static List<String> keys(List<Incident> incidents) {
+        List<String> keys = new ArrayList<>();
+        for (Incident incident : incidents) keys.add(incident.key);
+        return keys;
+    }
+
+    private static IncidentListModel model(String... keys) {
+        IncidentListModel model = new IncidentListModel(null);
+        String previous = null;
+        for (String key : keys) {
+            model.add(withStatus(key, "Pending"), previous);
+            previous = key;
+        }
+        return model;
+    }
+
+    @Test
+    public void add_placesRowsAfterTheirPreviousKey() {
+        IncidentListModel model = model("a", "c");
+        model.add(withStatus("b", "Pending"), "a");
+        model.add(withStatus("first", "Pending"), null);
+
+        assertEquals(Arrays.asList("first", "a", "b", "c"), keys(model.snapshot()));
+    }
+
+    @Test
+    public void lookupsAfterShifts_findTheRightRows() {
+        IncidentListModel model = model("a", "b", "c", "d", "e");
+        model.remove("b");
+        model.add(withStatus("x", "Pending"), null);
+        model.move("e", "x");
+
+        model.change(withStatus("d", "Assigned"));
+        model.add(withStatus("after-c", "Pending"), "c");
+
+        List<Incident> rows = model.snapshot();
+        assertEquals(Arrays.asList("x", "e", "a", "c", "after-c", "d"), keys(rows));
+        assertEquals("Assigned", rows.get(5).status);
+    }
+
+    @Test
+    public void changeAndRemove_ignoreUnknownKeys() {
+        IncidentListModel model = model("a");
+
+        assertFalse(model.change(withStatus("nope", "Assigned")));
+        assertNull(model.remove("nope"));
+        assertEquals(1, model.size());
+    }
+
+    @Test
+    public void snapshot_isReusedUntilTheNextChange() {
+        IncidentListModel model = model("a", "b");
+        List<Incident> first = model.snapshot();
+
+        assertSame(first, model.snapshot());
+        model.change(withStatus("a", "Assigned"));
+        assertEquals("Assigned", model.snapshot().get(0).status);
+        assertEquals("Pending", first.get(0).status);
+    }
+
+    @Test
+    public void snapshot_appliesTheFilter() {
+        IncidentListModel model = new IncidentListModel(IncidentRules.ASSIGNED);
+        model.add(withStatus("a", "Assigned"), null);
+        model.add(withStatus("b", "Completed"), "a");
+
+        assertEquals(Arrays.asList("a"), keys(model.snapshot()));
+        model.change(withStatus("b", "Assigned"));
+        assertEquals(Arrays.asList("a", "b"), keys(model.snapshot()));
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IncidentSummariesTest {
+
+    private static Map<String, Object> fullIncident() {
+        Map<String, Object> incident = new HashMap<>();
+        incident.put("incidentType", "Fire");
+        incident.put("date", "2025-12-4");
+        incident.put("Time", "10:42");
+        incident.put("address", "Purok 1, Brgy. Lag-on, Daet, Camarines Norte");
+        incident.put("Status", "Pending");
+        incident.put("agency", "BFP");
+        incident.put("createdAt", 1764816120000L);
+        incident.put("reporterName", "Juan Dela Cruz");
+        incident.put("reporterContact", "09171234567");
+        incident.put("additionalInfo", "Smoke coming from the second floor of a two-storey residential house, "
+                + "neighbours report two people still inside and the road is partly blocked by parked tricycles.");
+        incident.put("imageURL", "https://firebasestorage.googleapis.com/v0/b/iresponder.appspot.com/o/"
+                + "incident_images%2F1764816120000.jpg?alt=media&token=0d9c8f1e-7b6a-4c5d-9e8f-1a2b3c4d5e6f");
+        incident.put("latitude", "14.111528");
+        incident.put("longitude", "122.955056");
+        return incident;
+    }
+
+    @Test
+    public void project_keepsOnlyListFields() {
+        Map<String, Object> summary = IncidentSummaries.project(fullIncident());
+
+        // No AssignedResponderUID/updatedAt yet, plus the derived municipalityStatus
+        assertEquals(IncidentSummaries.FIELDS.size() - 1, summary.size());
+        assertEquals("Fire", summary.get("incidentType"));
+        assertEquals(1764816120000L, summary.get("createdAt"));
+        assertFalse(summary.containsKey("additionalInfo"));
+        assertFalse(summary.containsKey("imageURL"));
+    }
+
+    @Test
+    public void summary_isSeveralTimesSmallerThanTheIncident() {
+        Map<String, Object> incident = fullIncident();
+        int full = incident.toString().length();
+        int summary = IncidentSummaries.project(incident).toString().length();
+        assertTrue("full " + full + " vs summary " + summary, full >= 3 * summary);
+    }
+
+    @Test
+    public void summary_decodesToTheFieldsACardBinds() {
+        Incident card = Incident.fromMap("-Ok1", IncidentSummaries.project(fullIncident()));
+        assertEquals("Daet", card.municipality);
+
+        assertTrue(IncidentRules.LISTABLE.accept(card));
+        assertEquals("10:42", card.time);
+        assertEquals("BFP", card.agency);
+        assertNull(card.additionalInfo);
+    }
+
+    @Test
+    public void mirror_copiesSummaryFieldsAndWholeIncidents() {
+        Map<String, Object> update = new HashMap<>();
+        update.put("Incidents_/a/Status", "Assigned");
+        update.put("Incidents_/a/AssignedResponderName", "Responder 7");
+        update.put("Incidents_/b", fullIncident());
+        update.put("Incidents_/c", null);
+        update.put("Reports/BFP/a", new HashMap<>());
+
+        IncidentSummaries.mirror(update);
+
+        assertEquals("Assigned", update.get("IncidentSummaries/a/Status"));
+        assertFalse(update.containsKey("IncidentSummaries/a/AssignedResponderName"));
+        assertEquals(IncidentSummaries.project(fullIncident()), update.get("IncidentSummaries/b"));
+        assertTrue(update.containsKey("IncidentSummaries/c"));
+        assertNull(update.get("IncidentSummaries/c"));
+        // A Status write without a municipality leaves the municipality key alone
+        assertFalse(update.containsKey("IncidentSummaries/a/municipalityStatus"));
+        assertEquals(8, update.size());
+    }
+
+    @Test
+    public void mirror_rewritesTheMunicipalityKeyWithAStatus() {
+        Map<String, Object> update = IncidentSummaries.incidentUpdate("a", "daet",
+                Collections.<String, Object>singletonMap("Status", "Completed"));
+        assertEquals("daet_Completed", update.get("IncidentSummaries/a/municipalityStatus"));
+    }
+
+    @Test
+    public void project_derivesMissingTimesFromThePushKey() {
+        String key = "-Ofk0F1r3AAAAAAAAAAA";
+        long pushed = EpochTimes.fromPushKey(key);
+        Map<String, Object> incident = fullIncident();
+        incident.remove("createdAt");
+        incident.put("assignedAt", pushed + 60_000L);
+
+        Map<String, Object> summary = IncidentSummaries.project(key, incident);
+        assertEquals(pushed, summary.get("createdAt"));
+        assertEquals(pushed + 60_000L, summary.get("updatedAt"));
+
+        // Stored times are kept, and a key that is not a push key derives nothing
+        assertEquals(1764816120000L, IncidentSummaries.project(key, fullIncident()).get("createdAt"));
+        assertEquals(IncidentSummaries.project(incident), IncidentSummaries.project("b", incident));
+    }
+
+    @Test
+    public void project_partitionsByMunicipality() {
+        Map<String, Object> summary = IncidentSummaries.project(fullIncident());
+        assertEquals("daet_Pending", summary.get("municipalityStatus"));
+
+        // A stored municipality wins over the address
+        Map<String, Object> incident = fullIncident();
+        incident.put("municipality", "san vicente");
+        summary = IncidentSummaries.project(incident);
+        assertEquals("san vicente_Pending", summary.get("municipalityStatus"));
+
+        incident.remove("municipality");
+        incident.put("address", "Km 5 Maharlika Highway");
+        summary = IncidentSummaries.project(incident);
+        assertFalse(summary.containsKey("municipalityStatus"));
+        assertNull(Incident.fromMap("k", summary).municipality);
+    }
+
+    @Test
+    public void incidentUpdate_writesBothNodesAtomically() {
+        VirtualClock clock = new VirtualClock(0);
+        InMemoryRealtimeStore store = new InMemoryRealtimeStore(clock);
+        store.ref("").updateChildren(IncidentSummaries.mirror(singleIncident("k", fullIncident())), null);
+
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("Status", "Assigned");
+        fields.put("AssignedResponderUID", "uid-1");
+        store.ref("").updateChildren(IncidentSummaries.incidentUpdate("k", "Daet", fields), null);
+        clock.runUntilIdle();
+
+        Object[] rows = new Object[1];
+        StoreQueries.assignedIncidents(store, "uid-1").get(snapshot -> rows[0] = snapshot.child("k").getValue());
+        clock.runUntilIdle();
+
+        Map<String, Object> expected = IncidentSummaries.project(fullIncident());
+        expected.putAll(fields);
+        expected.put("municipalityStatus", "daet_Assigned");
+        assertEquals(expected, rows[0]);
+
+        // The incident has left Daet's pending queue
+        int[] pending = {-1};
+        StoreQueries.pendingIncidents(store, "Daet").get(snapshot -> pending[0] = snapshot.getChildren().size());
+        clock.runUntilIdle();
+        assertEquals(0, pending[0]);
+    }
+
+    private static Map<String, Object> singleIncident(String key, Map<String, Object> incident) {
+        Map<String, Object> update = new HashMap<>();
+        update.put(StoreQueries.INCIDENTS + "/" + key, incident);
+        return update;
+    }
+}
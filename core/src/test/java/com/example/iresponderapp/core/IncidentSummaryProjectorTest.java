@@ -0,0 +1,189 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class IncidentSummaryProjectorTest {
+
+    private VirtualClock clock;
+    private InMemoryRealtimeStore store;
+    private IncidentSummaryProjector projector;
+    private int projected;
+
+    @Before
+    public void setUp() {
+        clock = new VirtualClock(1_764_816_120_000L);
+        store = new InMemoryRealtimeStore(clock);
+        projector = new IncidentSummaryProjector(store, 3);
+    }
+
+    // What the reporter app writes: a full incident under a push key
+    private String report(String type) {
+        Map<String, Object> incident = new HashMap<>();
+        incident.put("incidentType", type);
+        incident.put("date", "2025-12-4");
+        incident.put("address", "Daet");
+        incident.put("Status", "Pending");
+        incident.put("additionalInfo", "details only the detail screen shows");
+        RealtimeStore.Ref ref = store.ref(StoreQueries.INCIDENTS).push();
+        ref.setValue(incident, null);
+        clock.advanceBy(1000L);
+        return ref.getKey();
+    }
+
+    private void start() {
+        projector.start(new IncidentSummaryProjector.Listener() {
+            @Override
+            public void onProjected(int count) {
+                projected += count;
+            }
+
+            @Override
+            public void onError(Exception error) {
+                throw new AssertionError(error);
+            }
+        });
+        clock.runUntilIdle();
+    }
+
+    private Object read(String path) {
+        Object[] value = new Object[1];
+        store.ref(path).get(snapshot -> value[0] = snapshot.getValue());
+        clock.runUntilIdle();
+        return value[0];
+    }
+
+    private List<String> pendingKeys() {
+        List<String> keys = new ArrayList<>();
+        StoreQueries.pendingIncidents(store).get(snapshot -> {
+            for (StoreSnapshot child : snapshot.getChildren()) keys.add(child.getKey());
+        });
+        clock.runUntilIdle();
+        return keys;
+    }
+
+    @Test
+    public void catchesUpInBatches_thenFollowsNewIncidents() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 7; i++) keys.add(report("Fire"));
+        clock.runUntilIdle();
+
+        start();
+        assertEquals(7, projected);
+        assertEquals(keys, pendingKeys());
+        assertEquals(keys.get(6), read(IncidentSummaryProjector.CURSOR));
+        assertNull(read(StoreQueries.INCIDENT_SUMMARIES + "/" + keys.get(0) + "/additionalInfo"));
+
+        String later = report("Crime");
+        clock.runUntilIdle();
+        assertEquals("Crime", read(StoreQueries.INCIDENT_SUMMARIES + "/" + later + "/incidentType"));
+        assertEquals(later, read(IncidentSummaryProjector.CURSOR));
+    }
+
+    @Test
+    public void follow_givesAReporterIncidentTimesFromItsPushKey() {
+        start();
+        long reportedAt = clock.now();
+        String key = report("Fire");
+        clock.runUntilIdle();
+
+        String summary = StoreQueries.INCIDENT_SUMMARIES + "/" + key;
+        assertEquals(reportedAt, read(summary + "/" + EpochTimes.CREATED_AT));
+        assertEquals(reportedAt, read(summary + "/" + EpochTimes.UPDATED_AT));
+        // The record itself is left as the reporter wrote it
+        assertNull(read(StoreQueries.INCIDENTS + "/" + key + "/" + EpochTimes.CREATED_AT));
+    }
+
+    @Test
+    public void resumesFromTheStoredCursor() {
+        String first = report("Fire");
+        String second = report("Flood");
+        store.ref(IncidentSummaryProjector.CURSOR).setValue(first, null);
+        clock.runUntilIdle();
+
+        start();
+
+        assertEquals(1, projected);
+        assertNull(read(StoreQueries.INCIDENT_SUMMARIES + "/" + first));
+        assertEquals("Flood", read(StoreQueries.INCIDENT_SUMMARIES + "/" + second + "/incidentType"));
+    }
+
+    private void write(Map<String, Object> update) {
+        store.ref("").updateChildren(update, null);
+        clock.runUntilIdle();
+    }
+
+    @Test
+    public void catchUp_keepsASummaryNewerThanTheRecordItRead() {
+        String key = report("Fire");
+        Map<String, Object> stamp = new HashMap<>();
+        stamp.put(StoreQueries.INCIDENTS + "/" + key + "/" + EpochTimes.UPDATED_AT, 100L);
+        // Another receiver assigned it after this batch's record was stamped, summary only
+        stamp.put(StoreQueries.INCIDENT_SUMMARIES + "/" + key + "/Status", "Assigned");
+        stamp.put(StoreQueries.INCIDENT_SUMMARIES + "/" + key + "/" + EpochTimes.UPDATED_AT, 200L);
+        write(stamp);
+
+        start();
+
+        assertEquals("Assigned", read(StoreQueries.INCIDENT_SUMMARIES + "/" + key + "/Status"));
+        assertEquals(200L, read(StoreQueries.INCIDENT_SUMMARIES + "/" + key + "/" + EpochTimes.UPDATED_AT));
+        // Fields the summary lacked are still filled in
+        assertEquals("Fire", read(StoreQueries.INCIDENT_SUMMARIES + "/" + key + "/incidentType"));
+    }
+
+    @Test
+    public void catchUp_replacesASummaryOlderThanTheRecord() {
+        String key = report("Fire");
+        Map<String, Object> stamp = new HashMap<>();
+        stamp.put(StoreQueries.INCIDENTS + "/" + key + "/Status", "Rejected");
+        stamp.put(StoreQueries.INCIDENTS + "/" + key + "/" + EpochTimes.UPDATED_AT, 300L);
+        stamp.put(StoreQueries.INCIDENT_SUMMARIES + "/" + key + "/Status", "Pending");
+        stamp.put(StoreQueries.INCIDENT_SUMMARIES + "/" + key + "/" + EpochTimes.UPDATED_AT, 200L);
+        write(stamp);
+
+        start();
+
+        assertEquals("Rejected", read(StoreQueries.INCIDENT_SUMMARIES + "/" + key + "/Status"));
+    }
+
+    @Test
+    public void follow_reprojectsAChangeToAnIncidentBeforeTheCursor() {
+        String older = report("Fire");
+        report("Flood");
+        clock.runUntilIdle();
+        start();
+
+        // Edited by a writer that does not mirror summaries, after the catch-up passed it
+        Map<String, Object> edit = new HashMap<>();
+        edit.put(StoreQueries.INCIDENTS + "/" + older + "/Status", "Rejected");
+        edit.put(StoreQueries.INCIDENTS + "/" + older + "/" + EpochTimes.UPDATED_AT, clock.now());
+        write(edit);
+
+        assertEquals("Rejected", read(StoreQueries.INCIDENT_SUMMARIES + "/" + older + "/Status"));
+        assertEquals(clock.now(), read(IncidentSummaryProjector.CHANGED_SINCE));
+        assertFalse(pendingKeys().contains(older));
+    }
+
+    @Test
+    public void stop_detachesTheFollowListener() {
+        report("Fire");
+        clock.runUntilIdle();
+        start();
+
+        projector.stop();
+        assertEquals(0, store.listenerCount());
+
+        String unseen = report("Crime");
+        clock.runUntilIdle();
+        assertNull(read(StoreQueries.INCIDENT_SUMMARIES + "/" + unseen));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class IncidentTest {
+
+    @Test
+    public void fromMap_readsStoredFieldNames() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("incidentType", "Fire");
+        fields.put("Time", "10:42");
+        fields.put("Status", "Assigned");
+        fields.put("AssignedResponderUID", "uid-1");
+        fields.put("assignedDay", "2025-12-04");
+
+        Incident incident = Incident.fromMap("-Oabc", fields);
+
+        assertEquals("-Oabc", incident.getKey());
+        assertEquals("Fire", incident.incidentType);
+        assertEquals("10:42", incident.time);
+        assertEquals("Assigned", incident.status);
+        assertEquals("uid-1", incident.assignedResponderUid);
+        assertEquals("2025-12-04", incident.assignedDay);
+        assertNull(incident.address);
+    }
+
+    @Test
+    public void fromMap_stringifiesNumbersAndIgnoresUnknownFields() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("latitude", 14.11);
+        fields.put("longitude", 122.95);
+        fields.put("somethingElse", true);
+
+        Incident incident = Incident.fromMap("k", fields);
+
+        assertEquals("14.11", incident.latitude);
+        assertEquals("122.95", incident.longitude);
+    }
+
+    @Test
+    public void equals_detectsAnyChangedField() {
+        Incident a = Incident.builder("k").set("Status", "Pending").set("address", "Daet").build();
+        Incident b = Incident.builder("k").set("Status", "Pending").set("address", "Daet").build();
+        Incident c = Incident.builder("k").set("Status", "Pending").set("address", "Labo").build();
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, c);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MunicipalitiesTest {
+
+    @Test
+    public void fromAddress_findsTheMunicipalityWord() {
+        assertEquals("Daet", Municipalities.fromAddress("Purok 1, Brgy. Lag-on, Daet, Camarines Norte"));
+        assertEquals("San Lorenzo Ruiz", Municipalities.fromAddress("Brgy. Matacong, SAN LORENZO RUIZ"));
+        assertEquals("Santa Elena", Municipalities.fromAddress("Poblacion, Sta. Elena"));
+        // Whole words only: "Laborer" is not Labo
+        assertNull(Municipalities.fromAddress("Laborers' Village, Km 5"));
+        assertNull(Municipalities.fromAddress(null));
+    }
+
+    @Test
+    public void fromAddress_prefersTheLastMention() {
+        // Street named after another town, in Labo
+        assertEquals("Labo", Municipalities.fromAddress("Vinzons Avenue, Brgy. Anameam, Labo"));
+    }
+
+    @Test
+    public void scopeOf_treatsNonMunicipalitiesAsProvinceWide() {
+        assertEquals("Jose Panganiban", Municipalities.scopeOf(" jose panganiban "));
+        assertNull(Municipalities.scopeOf(Municipalities.PROVINCE_WIDE));
+        assertNull(Municipalities.scopeOf(null));
+    }
+
+    @Test
+    public void statusKey_matchesTheAgencyLocationNormalization() {
+        assertEquals("san vicente_Pending", Municipalities.statusKey(" San Vicente", "Pending"));
+        assertEquals(ResponderMatcher.agencyLocationKey("BFP", "Labo"), "bfp_" + Municipalities.key("Labo"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReportDraftTest {
+
+    @Test
+    public void toMap_roundTripsAHalfFilledPatientReport() {
+        FormValues values = ReportSchemas.MDRRMO.blank();
+        values.fields.put("time_call", "09:58");
+        Map<String, Object> patient = values.entries("patients").get(0);
+        patient.put("name", "Dela Cruz, Juan");
+        patient.put("bp", Arrays.asList("120/80", "", ""));
+        Map<String, Object> loaded = new HashMap<>();
+        loaded.put("narrative", "Before the edit");
+
+        ReportDraft restored = ReportDraft.fromMap(new ReportDraft(values, loaded, 1_700_000_000_000L, 42L).toMap());
+
+        assertEquals("09:58", restored.values.text("time_call"));
+        Map<String, Object> restoredPatient = restored.values.entries("patients").get(0);
+        assertEquals("Dela Cruz, Juan", restoredPatient.get("name"));
+        assertEquals(patient.get(FormValues.ENTRY_KEY), restoredPatient.get(FormValues.ENTRY_KEY));
+        assertEquals(Arrays.asList("120/80", "", ""), restoredPatient.get("bp"));
+        assertEquals("Before the edit", restored.loadedReport.get("narrative"));
+        assertEquals(Long.valueOf(1_700_000_000_000L), restored.createdAt);
+        assertEquals(42L, restored.savedAt);
+        // The restored form encodes exactly as the original would have
+        assertEquals(ReportSchemas.MDRRMO.encode(values, new HashMap<>()),
+                ReportSchemas.MDRRMO.encode(restored.values, new HashMap<>()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void toMap_isADeepCopy() {
+        FormValues values = ReportSchemas.PNP.blank();
+        values.entries("suspects").get(0).put("lastName", "Santos");
+        Map<String, Object> snapshot = new ReportDraft(values, null, null, 1L).toMap();
+
+        // The form keeps changing after the checkpoint is taken
+        values.entries("suspects").get(0).put("lastName", "Reyes");
+        values.addEntry("victims");
+
+        Map<String, Object> groups = (Map<String, Object>) snapshot.get("groups");
+        Map<String, Object> suspect = ((List<Map<String, Object>>) groups.get("suspects")).get(0);
+        assertEquals("Santos", suspect.get("lastName"));
+        assertEquals(1, ((List<?>) groups.get("victims")).size());
+    }
+
+    @Test
+    public void fromMap_acceptsJsonNumberWidthsAndMissingParts() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("savedAt", 7);
+        ReportDraft draft = ReportDraft.fromMap(map);
+
+        assertEquals(7L, draft.savedAt);
+        assertNull(draft.createdAt);
+        assertNull(draft.loadedReport);
+        assertEquals("", draft.values.text("narrative"));
+    }
+
+    @Test
+    public void isOlderThan_comparesWithTheStoredReportsUpdatedAt() {
+        ReportDraft draft = new ReportDraft(new FormValues(), null, null, 1_000L);
+
+        assertTrue(draft.isOlderThan(1_001L));
+        assertFalse(draft.isOlderThan(1_000L));
+        assertFalse(draft.isOlderThan(null));
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReportSchemaTest {
+
+    @Test
+    public void mdrrmoReport_roundTripsThroughTheForm() {
+        Map<String, Object> patient = new HashMap<>();
+        patient.put("name", "Dela Cruz, Juan");
+        patient.put("airway", "Patent");
+        patient.put("spo2", readings("98", "97", ""));
+        patient.put("obs_time", readings("10:00", "10:15", "10:30"));
+        patient.put("injury_type", "Laceration, Abrasion");
+
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("natureOfCall", "Emergency");
+        stored.put("time_call", "09:58");
+        stored.put("incidentLocation", "Purok 3, Daet");
+        stored.put("patients", new ArrayList<>(Arrays.asList(patient)));
+
+        FormValues values = ReportSchemas.MDRRMO.decode(stored);
+        assertEquals("Emergency", values.text("natureOfCall"));
+        assertEquals(Arrays.asList("98", "97", ""), values.entries("patients").get(0).get("spo2"));
+
+        Map<String, Object> encoded = ReportSchemas.MDRRMO.encode(values, new HashMap<>(), "2025-12-04");
+        assertEquals("09:58", encoded.get("time_call"));
+        assertEquals("", encoded.get("facilityName"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> written = ((Map<String, Map<String, Object>>) encoded.get("patients")).get("0");
+        // Every value the old edit screen dropped (choices, obs_time, spo2) survives the round trip
+        assertEquals("Patent", written.get("airway"));
+        assertEquals("Laceration, Abrasion", written.get("injury_type"));
+        // The legacy rows come back as one dated vitals node
+        Map<String, Object> vitals = new HashMap<>();
+        vitals.put("day", "2025-12-04");
+        vitals.put("at", "600,615,630");
+        vitals.put("spo2", "98,97,");
+        assertEquals(vitals, written.get("vitals"));
+        assertNull(written.get("spo2"));
+        assertNull(written.get("obs_time"));
+
+        // Decoding the new node gives the form back exactly
+        Map<String, Object> reloaded = ReportSchemas.MDRRMO.decode(encoded).entries("patients").get(0);
+        assertEquals(Arrays.asList("10:00", "10:15", "10:30"), reloaded.get("obs_time"));
+        assertEquals(Arrays.asList("98", "97", ""), reloaded.get("spo2"));
+        assertEquals("2025-12-04", reloaded.get(FormValues.VITALS_DAY));
+    }
+
+    @Test
+    public void encode_keepsTheDayOfTheFirstReadings() {
+        FormValues values = ReportSchemas.MDRRMO.blank();
+        Map<String, Object> patient = values.entries("patients").get(0);
+        patient.put("name", "Reyes, Ana");
+        patient.put("obs_time", Arrays.asList("23:50", "00:05", ""));
+        patient.put("pulse_rate", Arrays.asList("110", "96", ""));
+        ReportSchemas.MDRRMO.encode(values, new HashMap<>(), "2025-12-04");
+
+        // Edited after midnight: still the 4th, the second take 15 minutes after the first
+        Map<String, Object> encoded = ReportSchemas.MDRRMO.encode(values, new HashMap<>(), "2025-12-05");
+        Map<?, ?> vitals = (Map<?, ?>) ((Map<?, ?>) ((Map<?, ?>) encoded.get("patients"))
+                .get(patient.get(FormValues.ENTRY_KEY))).get("vitals");
+        assertEquals("2025-12-04", vitals.get("day"));
+        assertEquals("1430,1445,", vitals.get("at"));
+    }
+
+    @Test
+    public void firstInvalidReading_pointsAtTheTake() {
+        FormValues values = ReportSchemas.MDRRMO.blank();
+        values.addEntry("patients");
+        Map<String, Object> patient = values.entries("patients").get(1);
+        patient.put("bp", Arrays.asList("120/80", "80/120", ""));
+        assertNull(ReportSchemas.MDRRMO.firstInvalidReading(ReportSchemas.MDRRMO.blank()));
+
+        ReportSchema.Invalid invalid = ReportSchemas.MDRRMO.firstInvalidReading(values);
+        assertEquals("patients", invalid.group);
+        assertEquals(1, invalid.entry);
+        assertEquals("bp", invalid.field.key);
+        assertEquals(1, invalid.take);
+
+        patient.put("bp", Arrays.asList("120/80", "", ""));
+        patient.put("obs_time", Arrays.asList("9.30", "", ""));
+        assertEquals("obs_time", ReportSchemas.MDRRMO.firstInvalidReading(values).field.key);
+    }
+
+    @Test
+    public void encode_dropsGroupEntriesWithoutAName() {
+        FormValues values = ReportSchemas.PNP.blank();
+        values.entries("suspects").get(0).put("address", "Labo");
+        Map<String, Object> named = values.addEntry("suspects");
+        named.put("lastName", "  Santos ");
+        values.fields.put("narrative", "Theft at the public market.");
+
+        Map<String, Object> encoded = ReportSchemas.PNP.encode(values, new HashMap<>());
+        Map<?, ?> suspects = (Map<?, ?>) encoded.get("suspects");
+        assertEquals(1, suspects.size());
+        assertEquals("Santos", ((Map<?, ?>) suspects.get(named.get(FormValues.ENTRY_KEY))).get("lastName"));
+        assertTrue(((Map<?, ?>) encoded.get("victims")).isEmpty());
+    }
+
+    @Test
+    public void blank_startsEachGroupWithItsInitialEntries() {
+        FormValues values = ReportSchemas.PNP.blank();
+        assertEquals(1, values.entries("suspects").size());
+        assertEquals(1, values.entries("victims").size());
+        assertEquals(1, ReportSchemas.MDRRMO.blank().entries("patients").size());
+    }
+
+    @Test
+    public void firstMissing_reportsTheRequiredField() {
+        FormValues values = ReportSchemas.BFP.blank();
+        values.fields.put("fireLocation", "   ");
+        assertEquals("fireLocation", ReportSchemas.BFP.firstMissing(values).key);
+
+        values.fields.put("fireLocation", "Warehouse, Brgy. Bagasbas");
+        assertNull(ReportSchemas.BFP.firstMissing(values));
+    }
+
+    @Test
+    public void decode_acceptsGroupsStoredAsMaps() {
+        Map<String, Object> victim = new HashMap<>();
+        victim.put("firstName", "Ana");
+        Map<String, Object> victims = new HashMap<>();
+        victims.put("-Ovictim1", victim);
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("victims", victims);
+
+        FormValues values = ReportSchemas.PNP.decode(stored);
+        assertEquals("Ana", values.entries("victims").get(0).get("firstName"));
+        assertEquals("", values.entries("victims").get(0).get("lastName"));
+        assertTrue(values.entries("suspects").isEmpty());
+    }
+
+    @Test
+    public void summary_joinsTheFilledSummaryFields() {
+        Map<String, Object> patient = new HashMap<>();
+        patient.put("name", "Dela Cruz, Juan");
+        patient.put("sex", " M ");
+        patient.put("age", "");
+        assertEquals("Dela Cruz, Juan - M", ReportSchemas.MDRRMO.summary("patients", patient));
+        assertEquals("", ReportSchemas.PNP.summary("victims", new HashMap<>()));
+    }
+
+    @Test
+    public void changes_ofAOneCharacterFix_isOneLeaf() {
+        Map<String, Object> stored = mdrrmoReport(20);
+        Map<String, Object> loaded = ReportSchemas.MDRRMO.stored(stored);
+
+        FormValues values = ReportSchemas.MDRRMO.decode(stored);
+        values.fields.put("narrative", "Responded to a two-vehicle collision!");
+        values.entries("patients").get(7).put("spo2", Arrays.asList("98", "96", ""));
+        Map<String, Object> changes = ReportSchema.changes(loaded, ReportSchemas.MDRRMO.encode(values, new HashMap<>()));
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("narrative", "Responded to a two-vehicle collision!");
+        expected.put("patients/7/vitals/spo2", "98,96,");
+        assertEquals(expected, changes);
+    }
+
+    @Test
+    public void changes_convertLegacyVitalRowsOnEdit() {
+        Map<String, Object> patient = new HashMap<>();
+        patient.put("name", "Dela Cruz, Juan");
+        patient.put("sao2", readings("98", "97", ""));
+        patient.put("obs_time", readings("10:00", "10:15", ""));
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("patients", new ArrayList<>(Arrays.asList(patient)));
+
+        FormValues values = ReportSchemas.MDRRMO.decode(stored);
+        assertEquals(Arrays.asList("98", "97", ""), values.entries("patients").get(0).get("spo2"));
+        Map<String, Object> changes = ReportSchema.changes(ReportSchemas.MDRRMO.stored(stored),
+                ReportSchemas.MDRRMO.encode(values, new HashMap<>(), "2025-12-04"));
+
+        // The rows are deleted and the node written, in the same update
+        assertTrue(changes.containsKey("patients/0/sao2"));
+        assertNull(changes.get("patients/0/sao2"));
+        assertTrue(changes.containsKey("patients/0/obs_time"));
+        Map<?, ?> vitals = (Map<?, ?>) changes.get("patients/0/vitals");
+        assertEquals("98,97,", vitals.get("spo2"));
+        assertEquals("600,615,", vitals.get("at"));
+        assertEquals("2025-12-04", vitals.get("day"));
+        assertEquals(3, changes.size());
+    }
+
+    @Test
+    public void changes_addAndRemoveWholeEntriesByKey() {
+        // Written by an older build as an array with a hole at index 1
+        Map<String, Object> stored = mdrrmoReport(3);
+        ((List<?>) stored.get("patients")).set(1, null);
+        Map<String, Object> loaded = ReportSchemas.MDRRMO.stored(stored);
+
+        FormValues values = ReportSchemas.MDRRMO.decode(stored);
+        assertEquals("2", values.entries("patients").get(1).get(FormValues.ENTRY_KEY));
+        values.entries("patients").remove(0);
+        Map<String, Object> added = values.addEntry("patients");
+        added.put("name", "Reyes, Ana");
+        Map<String, Object> changes = ReportSchema.changes(loaded, ReportSchemas.MDRRMO.encode(values, new HashMap<>()));
+
+        assertEquals(2, changes.size());
+        assertTrue(changes.containsKey("patients/0"));
+        assertNull(changes.get("patients/0"));
+        assertEquals("Reyes, Ana", ((Map<?, ?>) changes.get("patients/" + added.get(FormValues.ENTRY_KEY))).get("name"));
+    }
+
+    @Test
+    public void decode_ordersNewEntriesAfterLegacyIndexes() {
+        Map<String, Object> patients = new HashMap<>();
+        String later = FormValues.newEntryKey();
+        String earlier = "e0000001000";
+        for (String key : new String[]{later, "10", earlier, "2"}) {
+            Map<String, Object> patient = new HashMap<>();
+            patient.put("name", key);
+            patients.put(key, patient);
+        }
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("patients", patients);
+
+        List<String> order = new ArrayList<>();
+        for (Map<String, Object> entry : ReportSchemas.MDRRMO.decode(stored).entries("patients")) {
+            order.add((String) entry.get("name"));
+        }
+        assertEquals(Arrays.asList("2", "10", earlier, later), order);
+        assertTrue(FormValues.newEntryKey().compareTo(later) > 0);
+    }
+
+    private static Map<String, Object> mdrrmoReport(int patients) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (int i = 0; i < patients; i++) {
+            Map<String, Object> patient = new HashMap<>();
+            patient.put("name", "Patient " + i);
+            Map<String, Object> vitals = new HashMap<>();
+            vitals.put("day", "2025-12-04");
+            vitals.put("at", "600,615,");
+            vitals.put("spo2", "98,97,");
+            patient.put("vitals", vitals);
+            list.add(patient);
+        }
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("narrative", "Responded to a two-vehicle collision.");
+        stored.put("patients", list);
+        return stored;
+    }
+
+    private static Map<String, String> readings(String t1, String t2, String t3) {
+        Map<String, String> row = new HashMap<>();
+        row.put("t1", t1);
+        row.put("t2", t2);
+        row.put("t3", t3);
+        return row;
+    }
+}
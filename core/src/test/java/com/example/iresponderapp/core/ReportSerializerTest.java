@@ -0,0 +1,152 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ReportSerializerTest {
+
+    private static final Object NOW = "server-now";
+
+    @Test
+    public void submissionUpdate_writesReportStatusAndIndexTogether() {
+        Map<String, Object> report = new HashMap<>();
+        report.put("responderUid", "uid-1");
+        report.put("fireLocation", "Market");
+        report.put("timestamp", "2025-12-04 10:00:00");
+
+        Map<String, Object> update = ReportSerializer.submissionUpdate("BFP", "-Ok1", report, NOW);
+
+        assertSame(report, update.get("Reports/BFP/-Ok1"));
+        assertEquals(NOW, report.get("submittedAt"));
+        assertEquals(NOW, report.get("createdAt"));
+        assertEquals(NOW, report.get("updatedAt"));
+        assertEquals(NOW, update.get("Incidents_/-Ok1/updatedAt"));
+        assertEquals("Completed", update.get("Incidents_/-Ok1/Status"));
+        assertEquals(NOW, update.get("Incidents_/-Ok1/completedAt"));
+        assertEquals("Completed", update.get("IncidentSummaries/-Ok1/Status"));
+        assertEquals(NOW, update.get("IncidentSummaries/-Ok1/updatedAt"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> entry = (Map<String, Object>) update.get("ReportsByResponder/uid-1/BFP_-Ok1");
+        assertEquals("Fire: Market", entry.get("displayName"));
+        assertEquals("-Ok1", entry.get("incidentKey"));
+        assertEquals(NOW, entry.get("submittedAt"));
+    }
+
+    @Test
+    public void submissionUpdate_skipsIndexWithoutResponder() {
+        Map<String, Object> update = ReportSerializer.submissionUpdate("PNP", "k", new HashMap<>(), NOW);
+        // report, incident Status/completedAt/updatedAt, summary Status/updatedAt
+        assertEquals(6, update.size());
+        assertFalse(update.keySet().stream().anyMatch(path -> path.startsWith("ReportsByResponder/")));
+    }
+
+    @Test
+    public void submissionUpdate_movesTheIncidentToItsMunicipalitysCompletedList() {
+        Map<String, Object> update = ReportSerializer.submissionUpdate("BFP", "-Ok1", "Labo", new HashMap<>(), NOW);
+
+        assertEquals("Labo", update.get("Incidents_/-Ok1/municipality"));
+        assertEquals("labo_Completed", update.get("IncidentSummaries/-Ok1/municipalityStatus"));
+        // Unknown municipality: the stored key is left alone rather than cleared
+        update = ReportSerializer.submissionUpdate("BFP", "-Ok1", new HashMap<>(), NOW);
+        assertFalse(update.containsKey("IncidentSummaries/-Ok1/municipalityStatus"));
+    }
+
+    @Test
+    public void submissionUpdate_keepsCreatedAtOfAnEditedReport() {
+        Map<String, Object> report = new HashMap<>();
+        report.put("createdAt", 1_700_000_000_000L);
+
+        ReportSerializer.submissionUpdate("PNP", "k", report, NOW);
+
+        assertEquals(1_700_000_000_000L, report.get("createdAt"));
+        assertEquals(NOW, report.get("updatedAt"));
+    }
+
+    @Test
+    public void editUpdate_writesOnlyTheChangedPaths() {
+        Map<String, Object> report = new HashMap<>();
+        report.put("responderUid", "uid-1");
+        report.put("timestamp", "2025-12-04 11:00:00");
+        report.put("narrative", "Fixed typo");
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("narrative", "Fixed typo");
+        changes.put("patients/e1", null);
+
+        Map<String, Object> update = ReportSerializer.editUpdate("MDRRMO", "-Ok1", report, changes, NOW);
+
+        assertEquals("Fixed typo", update.get("Reports/MDRRMO/-Ok1/narrative"));
+        assertTrue(update.containsKey("Reports/MDRRMO/-Ok1/patients/e1"));
+        assertNull(update.get("Reports/MDRRMO/-Ok1/patients/e1"));
+        assertEquals(NOW, update.get("Reports/MDRRMO/-Ok1/submittedAt"));
+        assertFalse(update.containsKey("Reports/MDRRMO/-Ok1"));
+        assertFalse(update.containsKey("Reports/MDRRMO/-Ok1/createdAt"));
+        assertTrue(update.containsKey("ReportsByResponder/uid-1/MDRRMO_-Ok1"));
+        // The first submission already completed the incident
+        assertFalse(update.containsKey("Incidents_/-Ok1/Status"));
+        assertFalse(update.containsKey("Incidents_/-Ok1/completedAt"));
+        assertFalse(update.containsKey("IncidentSummaries/-Ok1/municipalityStatus"));
+        assertEquals(NOW, update.get("Incidents_/-Ok1/updatedAt"));
+        assertFalse(ReportSerializer.completesIncident(update, "-Ok1"));
+    }
+
+    @Test
+    public void resubmissionUpdate_sendsTheWholeReportWithoutCompletingAgain() {
+        Map<String, Object> report = new HashMap<>();
+        report.put("responderUid", "uid-1");
+        report.put("narrative", "Fixed typo");
+
+        Map<String, Object> update = ReportSerializer.resubmissionUpdate("BFP", "-Ok1", report, NOW);
+
+        assertEquals(report, update.get("Reports/BFP/-Ok1"));
+        assertEquals(NOW, update.get("Incidents_/-Ok1/updatedAt"));
+        assertFalse(update.containsKey("Incidents_/-Ok1/Status"));
+        assertFalse(update.containsKey("Incidents_/-Ok1/completedAt"));
+        assertTrue(ReportSerializer.completesIncident(
+                ReportSerializer.submissionUpdate("BFP", "-Ok1", new HashMap<>(), NOW), "-Ok1"));
+    }
+
+    @Test
+    public void displayName_perAgency() {
+        Map<String, Object> mdrrmo = new HashMap<>();
+        assertEquals("Medical/Trauma Incident", ReportSerializer.displayName("MDRRMO", mdrrmo));
+        mdrrmo.put("natureOfCall", "Emergency");
+        mdrrmo.put("emergencyType", "Trauma");
+        assertEquals("Emergency (Trauma)", ReportSerializer.displayName("MDRRMO", mdrrmo));
+        assertEquals("Crime Incident Report", ReportSerializer.displayName("PNP", new HashMap<>()));
+        assertEquals("BFP Incident", ReportSerializer.displayName("BFP", new HashMap<>()));
+    }
+
+    @Test
+    public void parseLegacyTimestamp_acceptsBothFormats() {
+        assertTrue(ReportSerializer.parseLegacyTimestamp("2025-12-04 10:00:30") > 0);
+        assertEquals(ReportSerializer.parseLegacyTimestamp("2025-12-04 10:00:00"),
+                ReportSerializer.parseLegacyTimestamp("2025-12-04 10:00"));
+        assertEquals(0, ReportSerializer.parseLegacyTimestamp("yesterday"));
+        assertEquals(0, ReportSerializer.parseLegacyTimestamp(null));
+    }
+
+    @Test
+    public void newestFirst_breaksTiesByKey() {
+        SubmittedReport old = new SubmittedReport("PNP", "a", "x", null, 100);
+        SubmittedReport newer = new SubmittedReport("PNP", "b", "x", null, 200);
+        SubmittedReport tie = new SubmittedReport("BFP", "c", "x", null, 200);
+
+        List<SubmittedReport> reports = new ArrayList<>(Arrays.asList(old, tie, newer));
+        Collections.sort(reports, ReportSerializer.NEWEST_FIRST);
+
+        assertEquals(Arrays.asList(newer, tie, old), reports);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResponderMatcherTest {
+
+    @Test
+    public void agencyLocationKey_isNormalized() {
+        assertEquals("bfp_daet", ResponderMatcher.agencyLocationKey("BFP", " Daet "));
+        assertEquals("_", ResponderMatcher.agencyLocationKey(null, null));
+    }
+
+    @Test
+    public void matches_requiresSameAgencyAndLocation() {
+        Responder responder = new Responder("u1", "Ana", "PNP", "Labo");
+
+        assertTrue(ResponderMatcher.matches(responder, "pnp", "LABO"));
+        assertFalse(ResponderMatcher.matches(responder, "PNP", "Daet"));
+        assertFalse(ResponderMatcher.matches(responder, "BFP", "Labo"));
+        assertFalse(ResponderMatcher.matches(new Responder("u2", null, "PNP", "Labo"), "PNP", "Labo"));
+    }
+
+    @Test
+    public void select_filtersRoster() {
+        List<Responder> all = Arrays.asList(
+                new Responder("u1", "Ana", "PNP", "Labo"),
+                new Responder("u2", "Ben", "BFP", "Labo"),
+                new Responder("u3", "Cai", "PNP", "Labo"));
+
+        List<Responder> matched = ResponderMatcher.select(all, "PNP", "Labo");
+
+        assertEquals(2, matched.size());
+        assertEquals("u1", matched.get(0).uid);
+        assertEquals("u3", matched.get(1).uid);
+    }
+
+    @Test
+    public void assignmentChoices_startWithPlaceholder() {
+        Map<String, String> choices = ResponderMatcher.assignmentChoices(
+                Arrays.asList(new Responder("u1", "Ana", "PNP", "Labo")));
+
+        List<String> labels = new ArrayList<>(choices.keySet());
+        assertEquals(ResponderMatcher.NO_SELECTION, labels.get(0));
+        assertNull(choices.get(ResponderMatcher.NO_SELECTION));
+        assertEquals("u1", choices.get("Ana (PNP Labo)"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StatusFilterTest {
+
+    private static Incident withStatus(String key, String status) {
+        return Incident.builder(key).set("Status", status).build();
+    }
+
+    @Test
+    public void statuses_matchTheAccomplishedTabs() {
+        assertEquals(Arrays.asList("Assigned"), StatusFilter.ASSIGNED.statuses());
+        assertEquals(Arrays.asList("Rejected", "Declined"), StatusFilter.REJECTED.statuses());
+        assertEquals(Arrays.asList("Assigned", "Rejected", "Declined", "Completed"), StatusFilter.ALL.statuses());
+    }
+
+    @Test
+    public void all_excludesPendingAndMissingStatus() {
+        assertFalse(StatusFilter.ALL.accepts(withStatus("a", "Pending")));
+        assertFalse(StatusFilter.ALL.accepts(withStatus("b", null)));
+        assertTrue(StatusFilter.ALL.accepts(withStatus("c", "completed")));
+    }
+
+    @Test
+    public void apply_keepsOrder() {
+        List<Incident> incidents = Arrays.asList(
+                withStatus("1", "Declined"), withStatus("2", "Assigned"), withStatus("3", "Rejected"));
+
+        List<Incident> rejected = StatusFilter.REJECTED.apply(incidents);
+
+        assertEquals(2, rejected.size());
+        assertEquals("1", rejected.get(0).key);
+        assertEquals("3", rejected.get(1).key);
+    }
+
+    @Test
+    public void incidentRules_screenFilters() {
+        Incident completed = withStatus("1", "Completed");
+        Incident assigned = withStatus("2", "ASSIGNED");
+
+        assertTrue(IncidentRules.ASSIGNED.accept(assigned));
+        assertFalse(IncidentRules.ONGOING.accept(completed));
+        assertTrue(IncidentRules.ONGOING.accept(assigned));
+
+        Incident incomplete = Incident.builder("3").set("incidentType", "Flood").build();
+        Incident listable = Incident.builder("4").set("incidentType", "Flood")
+                .set("date", "2025-12-04").set("address", "Daet").build();
+        assertFalse(IncidentRules.LISTABLE.accept(incomplete));
+        assertTrue(IncidentRules.LISTABLE.accept(listable));
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.iresponderapp.core;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Every screen's query at production scale: 100k incidents, 1k responders, 500 reports for one
+// responder, served by the in-memory store with 20 ms of simulated latency.
+public class StoreQueriesLoadTest {
+
+    private static final int INCIDENTS = 100_000;
+    private static final int RESPONDERS = 1_000;
+    private static final int REPORTS = 500;
+    private static final String[] STATUSES = {"Pending", "Assigned", "Completed", "Rejected", "Declined"};
+    private static final String[] LOCATIONS = {"Daet", "Labo", "Vinzons", "Talisay", "Basud", "Mercedes"};
+    private static final int PAGE_SIZE = 20;
+
+    private static VirtualClock clock;
+    private static InMemoryRealtimeStore store;
+    private static final Map<String, Object> fixture = new HashMap<>();
+    private static final Map<String, Integer> statusCounts = new HashMap<>();
+    private static final Map<String, Integer> assignedCounts = new HashMap<>();
+    private static final Map<String, Integer> locationCounts = new HashMap<>();
+    private static final Map<String, Integer> municipalityStatusCounts = new HashMap<>();
+
+    @BeforeClass
+    public static void seed() {
+        Random random = new Random(42);
+        Map<String, Object> update = fixture;
+        for (int i = 0; i < INCIDENTS; i++) {
+            String status = STATUSES[random.nextInt(STATUSES.length)];
+            String uid = "uid-" + random.nextInt(RESPONDERS);
+            Map<String, Object> incident = new HashMap<>();
+            incident.put("incidentType", "Fire");
+            incident.put("date", "2025-12-04");
+            String municipality = LOCATIONS[i % LOCATIONS.length];
+            incident.put("address", "Purok 1, " + municipality);
+            incident.put("Status", status);
+            incident.put("AssignedResponderUID", uid);
+            update.put(StoreQueries.INCIDENTS + "/" + incidentKey(i), incident);
+            statusCounts.merge(status, 1, Integer::sum);
+            municipalityStatusCounts.merge(Municipalities.statusKey(municipality, status), 1, Integer::sum);
+            assignedCounts.merge(uid, 1, Integer::sum);
+        }
+        IncidentSummaries.mirror(update);
+        for (int i = 0; i < RESPONDERS; i++) {
+            String agency = ReportSerializer.AGENCIES[i % ReportSerializer.AGENCIES.length];
+            String location = LOCATIONS[random.nextInt(LOCATIONS.length)];
+            String key = ResponderMatcher.agencyLocationKey(agency, location);
+            Map<String, Object> responder = new HashMap<>();
+            responder.put("fullName", "Responder " + i);
+            responder.put("agency", agency);
+            responder.put("location", location);
+            responder.put("agencyLocation", key);
+            update.put(StoreQueries.RESPONDERS + "/uid-" + i, responder);
+            locationCounts.merge(key, 1, Integer::sum);
+        }
+        for (int i = 0; i < REPORTS; i++) {
+            Map<String, Object> report = new HashMap<>();
+            report.put("responderUid", "uid-1");
+            update.put(StoreQueries.REPORTS_BY_RESPONDER + "/uid-1/" + ReportSerializer.indexKey("BFP", incidentKey(i)),
+                    ReportSerializer.indexEntry("BFP", incidentKey(i), report, 1_733_000_000_000L + (i / 2) * 1000L));
+        }
+        store = freshStore();
+    }
+
+    private static InMemoryRealtimeStore freshStore() {
+        clock = new VirtualClock(1_733_000_000_000L);
+        InMemoryRealtimeStore seeded = new InMemoryRealtimeStore(clock);
+        seeded.setLatency(20);
+        seeded.ref("").updateChildren(fixture, null);
+        clock.runUntilIdle();
+        return seeded;
+    }
+
+    private static String incidentKey(int i) {
+        return String.format("-Oinc%07d", i);
+    }
+
+    private static List<StoreSnapshot> fetch(RealtimeStore.Query query) {
+        List<StoreSnapshot> rows = new ArrayList<>();
+        query.get(snapshot -> rows.addAll(snapshot.getChildren()));
+        clock.runUntilIdle();
+        return rows;
+    }
+
+    @Test
+    public void assignedAndPendingQueries() {
+        assertEquals((int) assignedCounts.get("uid-7"), fetch(StoreQueries.assignedIncidents(store, "uid-7")).size());
+        assertEquals((int) statusCounts.get("Pending"), fetch(StoreQueries.pendingIncidents(store)).size());
+    }
+
+    @Test
+    public void statusPagesWalkEveryIncidentNewestFirst() {
+        int seen = 0;
+        String beforeKey = null;
+        while (true) {
+            List<StoreSnapshot> page = fetch(StoreQueries.statusPage(store, "Completed", beforeKey, PAGE_SIZE));
+            for (StoreSnapshot row : page) {
+                assertEquals("Completed", row.child("Status").getValue(String.class));
+                if (beforeKey != null) assertTrue(row.getKey().compareTo(beforeKey) < 0);
+            }
+            seen += page.size();
+            if (page.size() < PAGE_SIZE) break;
+            beforeKey = page.get(0).getKey();
+        }
+        assertEquals((int) statusCounts.get("Completed"), seen);
+    }
+
+    @Test
+    public void municipalityQueriesReadOnlyTheirSlice() {
+        List<StoreSnapshot> pending = fetch(StoreQueries.pendingIncidents(store, "Labo"));
+        assertEquals((int) municipalityStatusCounts.get("labo_Pending"), pending.size());
+        for (StoreSnapshot row : pending) assertEquals("labo_Pending", row.child("municipalityStatus").getValue(String.class));
+        // Province-wide view for supervisors
+        assertEquals((int) statusCounts.get("Pending"), fetch(StoreQueries.pendingIncidents(store, null)).size());
+
+        int seen = 0;
+        String beforeKey = null;
+        while (true) {
+            List<StoreSnapshot> page = fetch(StoreQueries.statusPage(store, "Talisay", "Rejected", beforeKey, PAGE_SIZE));
+            for (StoreSnapshot row : page) {
+                assertEquals("talisay_Rejected", row.child("municipalityStatus").getValue(String.class));
+                if (beforeKey != null) assertTrue(row.getKey().compareTo(beforeKey) < 0);
+            }
+            seen += page.size();
+            if (page.size() < PAGE_SIZE) break;
+            beforeKey = page.get(0).getKey();
+        }
+        assertEquals((int) municipalityStatusCounts.get("talisay_Rejected"), seen);
+    }
+
+    @Test
+    public void respondersByAgencyAndLocation() {
+        String key = ResponderMatcher.agencyLocationKey("BFP", "Labo");
+        List<StoreSnapshot> rows = fetch(StoreQueries.respondersAt(store, key));
+        assertEquals((int) locationCounts.get(key), rows.size());
+        assertEquals(0, fetch(StoreQueries.respondersWithoutLocationKey(store)).size());
+    }
+
+    @Test
+    public void reportIndexPagesNewestFirstWithTies() {
+        List<String> keys = new ArrayList<>();
+        Long oldestAt = null;
+        String oldestKey = null;
+        while (true) {
+            List<StoreSnapshot> page = fetch(StoreQueries.reportIndexPage(store, "uid-1", oldestAt, oldestKey, PAGE_SIZE));
+            for (int i = page.size() - 1; i >= 0; i--) keys.add(page.get(i).getKey());
+            if (page.size() < PAGE_SIZE) break;
+            oldestAt = page.get(0).child("submittedAt").getValue(Long.class);
+            oldestKey = page.get(0).getKey();
+        }
+        assertEquals(REPORTS, keys.size());
+        assertEquals(REPORTS, new HashSet<>(keys).size());
+
+        long newestAt = 1_733_000_000_000L + ((REPORTS - 1) / 2) * 1000L;
+        assertEquals(0, fetch(StoreQueries.reportIndexNewer(store, "uid-1", newestAt, keys.get(0))).size());
+    }
+
+    @Test
+    public void liveAssignedListTracksStatusChurn() {
+        // Writes below would disturb the counts the other tests check
+        store = freshStore();
+        Map<String, String> live = new LinkedHashMap<>();
+        RealtimeStore.Registration registration = StoreQueries.assignedIncidents(store, "uid-3")
+                .addChildListener(new RealtimeStore.ChildListener() {
+                    @Override
+                    public void onChildAdded(StoreSnapshot snapshot, String previousKey) {
+                        live.put(snapshot.getKey(), snapshot.child("Status").getValue(String.class));
+                    }
+
+                    @Override
+                    public void onChildChanged(StoreSnapshot snapshot, String previousKey) {
+                        live.put(snapshot.getKey(), snapshot.child("Status").getValue(String.class));
+                    }
+
+                    @Override
+                    public void onChildRemoved(StoreSnapshot snapshot) {
+                        live.remove(snapshot.getKey());
+                    }
+
+                    @Override
+                    public void onChildMoved(StoreSnapshot snapshot, String previousKey) {}
+                });
+        clock.runUntilIdle();
+        assertEquals((int) assignedCounts.get("uid-3"), live.size());
+
+        // 1000 writes across the whole node: reassignments and status changes
+        Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            String key = incidentKey(random.nextInt(INCIDENTS));
+            Map<String, Object> fields = new HashMap<>();
+            fields.put("Status", STATUSES[random.nextInt(STATUSES.length)]);
+            if (random.nextInt(4) == 0) fields.put("AssignedResponderUID", "uid-3");
+            store.ref("").updateChildren(IncidentSummaries.incidentUpdate(key, fields), null);
+        }
+        clock.runUntilIdle();
+
+        Map<String, String> expected = new HashMap<>();
+        for (StoreSnapshot row : fetch(StoreQueries.assignedIncidents(store, "uid-3"))) {
+            expected.put(row.getKey(), row.child("Status").getValue(String.class));
+        }
+        assertEquals(expected, live);
+
+        registration.remove();
+        assertEquals(0, store.listenerCount());
+        store = freshStore();
+    }
+}
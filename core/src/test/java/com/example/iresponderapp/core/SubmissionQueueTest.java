@@ -0,0 +1,182 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SubmissionQueueTest {
+
+    private VirtualClock clock;
+    private InMemoryRealtimeStore store;
+    private final Map<String, Map<String, Object>> stored = new HashMap<>();
+    private final List<String> delivered = new ArrayList<>();
+    private final List<String> failed = new ArrayList<>();
+    private SubmissionQueue queue;
+
+    @Before
+    public void setUp() {
+        clock = new VirtualClock(1_000_000L);
+        store = new InMemoryRealtimeStore(clock);
+        store.setLatency(500);
+        queue = new SubmissionQueue(store, new SubmissionQueue.Storage() {
+            @Override
+            public Map<String, Object> load(String entryKey) {
+                return stored.get(entryKey);
+            }
+
+            @Override
+            public void save(String entryKey, Map<String, Object> update) {
+                stored.put(entryKey, update);
+            }
+
+            @Override
+            public void remove(String entryKey) {
+                stored.remove(entryKey);
+            }
+        }, new SubmissionQueue.Listener() {
+            @Override
+            public void onDelivered(String entryKey, Map<String, Object> update) {
+                delivered.add(entryKey);
+            }
+
+            @Override
+            public void onFailed(String entryKey, Exception error) {
+                failed.add(entryKey);
+            }
+        });
+    }
+
+    private static Map<String, Object> report(String narrative) {
+        Map<String, Object> update = new HashMap<>();
+        update.put("Reports/BFP/-Oinc1/narrative", narrative);
+        update.put("Incidents_/-Oinc1/Status", "Completed");
+        return update;
+    }
+
+    private Object read(String path) {
+        Object[] value = new Object[1];
+        store.ref(path).get(snapshot -> value[0] = snapshot.getValue());
+        clock.runUntilIdle();
+        return value[0];
+    }
+
+    @Test
+    public void enqueue_deliversAndClearsTheEntry() {
+        queue.enqueue("BFP_-Oinc1", report("First draft"));
+        assertTrue(queue.isInFlight("BFP_-Oinc1"));
+        clock.runUntilIdle();
+
+        assertEquals("First draft", read("Reports/BFP/-Oinc1/narrative"));
+        assertTrue(stored.isEmpty());
+        assertFalse(queue.isInFlight("BFP_-Oinc1"));
+    }
+
+    @Test
+    public void enqueueWhileInFlight_theOlderAckDoesNotDropTheNewerEntry() {
+        queue.enqueue("BFP_-Oinc1", report("First draft"));
+        clock.advanceBy(200);
+        queue.enqueue("BFP_-Oinc1", report("Corrected"));
+
+        // The first write lands; the correction is still queued and goes out right after
+        clock.advanceBy(300);
+        assertEquals(1, delivered.size());
+        assertEquals("Corrected", stored.get("BFP_-Oinc1").get("Reports/BFP/-Oinc1/narrative"));
+        assertTrue(queue.isInFlight("BFP_-Oinc1"));
+
+        clock.runUntilIdle();
+        assertEquals("Corrected", read("Reports/BFP/-Oinc1/narrative"));
+        assertTrue(stored.isEmpty());
+        assertEquals(2, delivered.size());
+        assertTrue(failed.isEmpty());
+    }
+
+    // --- ReportOutbox.submitChanges: a delta only when nothing for the report is queued ---
+    private void submitChanges(Map<String, Object> edited, Map<String, Object> changes) {
+        Map<String, Object> queued = queue.queued("BFP_-Oinc1");
+        Map<String, Object> update;
+        if (ReportSerializer.completesIncident(queued, "-Oinc1")) {
+            update = ReportSerializer.submissionUpdate("BFP", "-Oinc1", "daet", edited, 2_000L);
+        } else if (queued != null) {
+            update = ReportSerializer.resubmissionUpdate("BFP", "-Oinc1", edited, 2_000L);
+        } else {
+            update = ReportSerializer.editUpdate("BFP", "-Oinc1", edited, changes, 2_000L);
+        }
+        queue.enqueue("BFP_-Oinc1", update);
+    }
+
+    private static Map<String, Object> fullReport(String narrative) {
+        Map<String, Object> report = new HashMap<>();
+        report.put("responderUid", "u1");
+        report.put("timestamp", "2026-10-17 08:00");
+        report.put("location", "Vinzons Ave");
+        report.put("narrative", narrative);
+        return report;
+    }
+
+    @Test
+    public void editWhileTheSubmissionIsInFlight_sendsTheWholeEditedReportAfterIt() {
+        queue.enqueue("BFP_-Oinc1", ReportSerializer.submissionUpdate("BFP", "-Oinc1", "daet",
+                fullReport("First draft"), 1_000L));
+        clock.advanceBy(200);
+        assertTrue(queue.isQueued("BFP_-Oinc1"));
+
+        submitChanges(fullReport("Corrected"), Collections.singletonMap("narrative", "Corrected"));
+        clock.runUntilIdle();
+
+        assertEquals("Corrected", read("Reports/BFP/-Oinc1/narrative"));
+        assertEquals("Vinzons Ave", read("Reports/BFP/-Oinc1/location"));
+        assertFalse(queue.isQueued("BFP_-Oinc1"));
+        assertEquals(2, delivered.size());
+    }
+
+    @Test
+    public void editAfterTheSubmissionLanded_sendsOnlyTheChangedPaths() {
+        queue.enqueue("BFP_-Oinc1", ReportSerializer.submissionUpdate("BFP", "-Oinc1", "daet",
+                fullReport("First draft"), 1_000L));
+        clock.runUntilIdle();
+        assertFalse(queue.isQueued("BFP_-Oinc1"));
+
+        submitChanges(fullReport("Corrected"), Collections.singletonMap("narrative", "Corrected"));
+        assertFalse(stored.get("BFP_-Oinc1").containsKey("Reports/BFP/-Oinc1"));
+        clock.runUntilIdle();
+
+        assertEquals("Corrected", read("Reports/BFP/-Oinc1/narrative"));
+        assertEquals("Vinzons Ave", read("Reports/BFP/-Oinc1/location"));
+    }
+
+    @Test
+    public void editsAfterTheSubmissionLanded_keepTheCompletionTime() {
+        queue.enqueue("BFP_-Oinc1", ReportSerializer.submissionUpdate("BFP", "-Oinc1", "daet",
+                fullReport("First draft"), 1_000L));
+        clock.runUntilIdle();
+
+        // A second edit while the first is still queued resends the whole report, still as an edit
+        submitChanges(fullReport("Corrected"), Collections.singletonMap("narrative", "Corrected"));
+        submitChanges(fullReport("Corrected again"), Collections.singletonMap("narrative", "Corrected again"));
+        assertFalse(ReportSerializer.completesIncident(stored.get("BFP_-Oinc1"), "-Oinc1"));
+        clock.runUntilIdle();
+
+        assertEquals("Corrected again", read("Reports/BFP/-Oinc1/narrative"));
+        assertEquals(1_000L, read("Incidents_/-Oinc1/completedAt"));
+        assertEquals(2_000L, read("Incidents_/-Oinc1/updatedAt"));
+    }
+
+    @Test
+    public void send_ofAnEntryAlreadyInFlightWritesOnce() {
+        queue.enqueue("BFP_-Oinc1", report("First draft"));
+        queue.send("BFP_-Oinc1");
+        queue.send("BFP_-Oinc2");
+        clock.runUntilIdle();
+
+        assertEquals(1, delivered.size());
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TimestampBackfillTest {
+
+    private static final TimeZone MANILA = TimeZone.getTimeZone("Asia/Manila");
+    private static final long DEC_4 = 1764816120000L;
+
+    private VirtualClock clock;
+    private InMemoryRealtimeStore store;
+    private final List<String> batches = new ArrayList<>();
+    private boolean finished;
+    private Exception failed;
+
+    @Before
+    public void setUp() {
+        clock = new VirtualClock(DEC_4);
+        store = new InMemoryRealtimeStore(clock);
+    }
+
+    // Pushes `count` incidents one minute apart; returns their keys in order
+    private List<String> seedIncidents(int count) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> incident = new HashMap<>();
+            incident.put("Status", "Pending");
+            RealtimeStore.Ref ref = store.ref(StoreQueries.INCIDENTS).push();
+            ref.setValue(incident, null);
+            keys.add(ref.getKey());
+            clock.advanceBy(60_000L);
+        }
+        clock.runUntilIdle();
+        return keys;
+    }
+
+    private void put(String path, Object value) {
+        store.ref(path).setValue(value, null);
+        clock.runUntilIdle();
+    }
+
+    private Object read(String path) {
+        Object[] value = new Object[1];
+        store.ref(path).get(snapshot -> value[0] = snapshot.getValue());
+        clock.runUntilIdle();
+        return value[0];
+    }
+
+    private void runBackfill(int batchSize) {
+        runBackfill(new TimestampBackfill(store, MANILA, batchSize));
+        assertNull(failed);
+    }
+
+    private void runBackfill(TimestampBackfill backfill) {
+        backfill.run(new TimestampBackfill.Listener() {
+            @Override
+            public void onBatch(String node, int scanned, int converted) {
+                batches.add(node + ":" + scanned + ":" + converted);
+            }
+
+            @Override
+            public void onFinished() {
+                finished = true;
+            }
+
+            @Override
+            public void onError(Exception error) {
+                failed = error;
+            }
+        });
+        clock.runUntilIdle();
+    }
+
+    @Test
+    public void incidents_getCreatedAtFromTheirPushKeys() {
+        List<String> keys = seedIncidents(5);
+        runBackfill(2);
+
+        assertTrue(finished);
+        for (int i = 0; i < keys.size(); i++) {
+            String path = StoreQueries.INCIDENTS + "/" + keys.get(i);
+            assertEquals(DEC_4 + i * 60_000L, read(path + "/createdAt"));
+            assertEquals(DEC_4 + i * 60_000L, read(path + "/updatedAt"));
+        }
+        // 2 + 2 + 1: the short batch marks the node done
+        assertEquals(3, batches.stream().filter(b -> b.startsWith(StoreQueries.INCIDENTS)).count());
+        assertEquals(true, read(TimestampBackfill.cursorPath(StoreQueries.INCIDENTS) + "/done"));
+    }
+
+    @Test
+    public void nonPushKeys_fallBackToDateStrings_andUpdatedAtTracksLaterChanges() {
+        Map<String, Object> incident = new HashMap<>();
+        incident.put("date", "2025-12-4");
+        incident.put("Time", "10:42");
+        incident.put("completedAt", DEC_4 + 3_600_000L);
+        put(StoreQueries.INCIDENTS + "/legacy1", incident);
+
+        runBackfill(10);
+
+        assertEquals(DEC_4, read(StoreQueries.INCIDENTS + "/legacy1/createdAt"));
+        assertEquals(DEC_4 + 3_600_000L, read(StoreQueries.INCIDENTS + "/legacy1/updatedAt"));
+    }
+
+    @Test
+    public void reports_getAllThreeFieldsFromTheirTimestampString() {
+        Map<String, Object> report = new HashMap<>();
+        report.put("timestamp", "2025-12-04 10:42:00");
+        put(StoreQueries.REPORTS + "/BFP/inc1", report);
+
+        Map<String, Object> unreadable = new HashMap<>();
+        unreadable.put("timestamp", "sometime");
+        put(StoreQueries.REPORTS + "/BFP/inc2", unreadable);
+
+        runBackfill(10);
+
+        assertEquals(DEC_4, read(StoreQueries.REPORTS + "/BFP/inc1/submittedAt"));
+        assertEquals(DEC_4, read(StoreQueries.REPORTS + "/BFP/inc1/createdAt"));
+        assertEquals(DEC_4, read(StoreQueries.REPORTS + "/BFP/inc1/updatedAt"));
+        assertNull(read(StoreQueries.REPORTS + "/BFP/inc2/submittedAt"));
+        assertTrue(batches.contains(StoreQueries.REPORTS + "/BFP:2:1"));
+    }
+
+    @Test
+    public void existingFields_areNeverOverwritten() {
+        List<String> keys = seedIncidents(1);
+        String path = StoreQueries.INCIDENTS + "/" + keys.get(0);
+        put(path + "/createdAt", 42L);
+
+        runBackfill(10);
+
+        assertEquals(42L, read(path + "/createdAt"));
+    }
+
+    @Test
+    public void resumesAfterTheStoredCursor() {
+        List<String> keys = seedIncidents(4);
+        put(TimestampBackfill.cursorPath(StoreQueries.INCIDENTS) + "/cursor", keys.get(1));
+
+        runBackfill(10);
+
+        assertNull(read(StoreQueries.INCIDENTS + "/" + keys.get(0) + "/createdAt"));
+        assertNull(read(StoreQueries.INCIDENTS + "/" + keys.get(1) + "/createdAt"));
+        assertEquals(DEC_4 + 2 * 60_000L, read(StoreQueries.INCIDENTS + "/" + keys.get(2) + "/createdAt"));
+        assertTrue(batches.contains(StoreQueries.INCIDENTS + ":2:2"));
+    }
+
+    @Test
+    public void aFinishedMigrationDoesNotRescan() {
+        seedIncidents(3);
+        runBackfill(10);
+        batches.clear();
+
+        runBackfill(10);
+
+        assertTrue(finished);
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void backfilledIncidents_answerCreatedAtRangeQueries() {
+        List<String> keys = seedIncidents(10);
+        runBackfill(4);
+
+        List<String> inRange = new ArrayList<>();
+        StoreQueries.incidentsCreatedBetween(store, DEC_4 + 3 * 60_000L, DEC_4 + 5 * 60_000L).get(snapshot -> {
+            for (StoreSnapshot child : snapshot.getChildren()) inRange.add(child.getKey());
+        });
+        clock.runUntilIdle();
+
+        assertEquals(keys.subList(3, 6), inRange);
+    }
+
+    @Test
+    public void aDeniedRead_isReportedAndDoesNotLeaveTheBackfillRunning() {
+        seedIncidents(2);
+        store.denyReads(TimestampBackfill.MIGRATION);
+        TimestampBackfill backfill = new TimestampBackfill(store, MANILA, 10);
+
+        runBackfill(backfill);
+        assertNotNull(failed);
+        assertFalse(finished);
+
+        // A run still marked as running would return without calling back at all
+        failed = null;
+        runBackfill(backfill);
+        assertNotNull(failed);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class VitalSignsTest {
+
+    private static final TimeZone MANILA = TimeZone.getTimeZone("Asia/Manila");
+
+    @Test
+    public void parse_acceptsPlainNumbersInRangeOnly() {
+        assertArrayEquals(new double[]{36.5}, VitalSign.TEMPERATURE.parse(" 36.5 "), 0);
+        assertArrayEquals(new double[]{120, 80}, VitalSign.BLOOD_PRESSURE.parse("120/80"), 0);
+        assertNull(VitalSign.PULSE.parse("ninety"));
+        assertNull(VitalSign.PULSE.parse("9e1"));
+        assertNull(VitalSign.SPO2.parse("101"));
+        assertNull(VitalSign.BLOOD_PRESSURE.parse("80/120"));
+        assertNull(VitalSign.BLOOD_PRESSURE.parse("120"));
+        assertEquals(VitalSign.SPO2, VitalSign.forKey("sao2"));
+        assertEquals("120/80", VitalSign.BLOOD_PRESSURE.format(new double[]{120, 80}));
+    }
+
+    @Test
+    public void toStored_writesTimesOnceAndKeepsTakesAligned() {
+        Map<VitalSign, List<String>> takes = new EnumMap<>(VitalSign.class);
+        takes.put(VitalSign.PULSE, Arrays.asList("88", "", "96"));
+        takes.put(VitalSign.BLOOD_PRESSURE, Arrays.asList("120/80", "118/76", ""));
+        takes.put(VitalSign.GLUCOSE, Arrays.asList("", "", ""));
+        VitalSigns vitals = VitalSigns.fromTakes("2025-12-04", Arrays.asList("10:00", "10:15", ""), takes);
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("day", "2025-12-04");
+        expected.put("at", "600,615,");
+        expected.put("pulse_rate", "88,,96");
+        expected.put("bp", "120/80,118/76,");
+        assertEquals(expected, vitals.toStored());
+
+        VitalSigns stored = VitalSigns.fromStored(vitals.toStored());
+        assertEquals(Arrays.asList("88", "", "96"), stored.takesAsText(VitalSign.PULSE, 3));
+        assertEquals(Arrays.asList("10:00", "10:15", ""), stored.timesAsText(3));
+        List<VitalSigns.Observation> bp = stored.series(VitalSign.BLOOD_PRESSURE);
+        assertEquals(2, bp.size());
+        assertEquals(76, bp.get(1).second, 0);
+        assertEquals(-1, stored.series(VitalSign.PULSE).get(1).minute);
+    }
+
+    @Test
+    public void fromTakes_runsPastMidnight() {
+        Map<VitalSign, List<String>> takes = new EnumMap<>(VitalSign.class);
+        takes.put(VitalSign.PULSE, Arrays.asList("110", "96"));
+        VitalSigns vitals = VitalSigns.fromTakes("2025-12-04", Arrays.asList("23:50", "00:05"), takes);
+
+        VitalSigns.Observation second = vitals.series(VitalSign.PULSE).get(1);
+        assertEquals(24 * 60 + 5, second.minute);
+        // 2025-12-05 00:05 in Manila (UTC+8)
+        assertEquals(1_764_864_300_000L, vitals.epochMillis(second, MANILA));
+        assertEquals(Arrays.asList("23:50", "00:05"), vitals.timesAsText(2));
+    }
+
+    @Test
+    public void fromLegacy_readsRowsAndDropsTyposFromTheSeries() {
+        Map<String, Object> patient = new HashMap<>();
+        patient.put("sao2", row("98", "9O", ""));
+        patient.put("obs_time", row("10:00", "10:15", "10:30"));
+        patient.put("name", "Dela Cruz, Juan");
+        VitalSigns vitals = VitalSigns.fromLegacy(patient);
+
+        assertNull(vitals.day);
+        assertEquals(1, vitals.series(VitalSign.SPO2).size());
+        assertEquals(600, vitals.series(VitalSign.SPO2).get(0).minute);
+        assertEquals(-1, vitals.epochMillis(vitals.series(VitalSign.SPO2).get(0), MANILA));
+        assertTrue(VitalSigns.fromLegacy(Collections.<String, Object>emptyMap()).isEmpty());
+    }
+
+    private static Map<String, String> row(String t1, String t2, String t3) {
+        Map<String, String> row = new HashMap<>();
+        row.put("t1", t1);
+        row.put("t2", t2);
+        row.put("t3", t3);
+        return row;
+    }
+}
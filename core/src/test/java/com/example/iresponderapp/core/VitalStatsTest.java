@@ -0,0 +1,49 @@
+package com.example.iresponderapp.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VitalStatsTest {
+
+    @Test
+    public void over_mixesCompactAndLegacyPatients() {
+        Map<String, Object> compact = new HashMap<>();
+        Map<String, Object> vitals = new HashMap<>();
+        vitals.put("day", "2025-12-04");
+        vitals.put("at", "600,630,");
+        vitals.put("pulse_rate", "100,90,");
+        compact.put("vitals", vitals);
+        Map<String, Object> patients = new HashMap<>();
+        patients.put("e1", compact);
+
+        // Written by an older build: patients as an array, readings as {t1, t2, t3} rows
+        Map<String, Object> legacy = new HashMap<>();
+        Map<String, String> pulse = new HashMap<>();
+        pulse.put("t1", "80");
+        pulse.put("t2", "not taken");
+        legacy.put("pulse_rate", pulse);
+
+        Map<String, Object> first = new HashMap<>();
+        first.put("patients", patients);
+        Map<String, Object> second = new HashMap<>();
+        second.put("patients", Arrays.asList(legacy, null));
+        List<Map<String, Object>> reports = Arrays.asList(first, second, new HashMap<>());
+
+        VitalStats stats = VitalStats.over(reports).get(VitalSign.PULSE);
+        assertEquals(2, stats.patients());
+        assertEquals(3, stats.readings());
+        assertEquals(80, stats.min(), 0);
+        assertEquals(100, stats.max(), 0);
+        assertEquals(90, stats.mean(), 1e-9);
+        // Only the compact patient has two timed readings: -10 over half an hour
+        assertEquals(-20, stats.meanChangePerHour(), 1e-9);
+        assertTrue(Double.isNaN(VitalStats.over(reports).get(VitalSign.GLUCOSE).mean()));
+    }
+}